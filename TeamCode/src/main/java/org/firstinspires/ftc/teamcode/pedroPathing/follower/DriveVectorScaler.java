@@ -16,6 +16,19 @@ public class DriveVectorScaler {
     // This is ordered left front, left back, right front, right back. These are also normalized.
     private Vector[] mecanumVectors;
 
+    // These are reused by getDrivePowers every loop, so that nothing new is created.
+    // This contains a copy of the mecanum wheel vectors
+    private final Vector[] mecanumVectorsCopy = {new Vector(), new Vector(), new Vector(), new Vector()};
+    // this contains the pathing vectors, one for each side (heading control requires 2)
+    private final Vector[] truePathingVectors = {new Vector(), new Vector()};
+    private final Vector leftSideVector = new Vector();
+    private final Vector rightSideVector = new Vector();
+    private final Vector scaledVector = new Vector();
+    // these are the clamped copies of the input vectors, so that the caller's vectors aren't changed
+    private final Vector clampedCorrectivePower = new Vector();
+    private final Vector clampedHeadingPower = new Vector();
+    private final Vector clampedPathingPower = new Vector();
+
     /**
      * This creates a new DriveVectorScaler, which takes in various movement vectors and outputs
      * the wheel drive powers necessary to move in the intended direction, given the true movement
@@ -36,7 +49,8 @@ public class DriveVectorScaler {
      * This takes in vectors for corrective power, heading power, and pathing power and outputs
      * an Array of four doubles, one for each wheel's motor power.
      *
-     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude. The
+     * input Vectors themselves aren't changed, since the clamping is done on copies of them.
      *
      * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
      *                        translational power Vector to correct onto the Bezier curve the Follower
@@ -51,58 +65,76 @@ public class DriveVectorScaler {
      * @return this returns an Array of doubles with a length of 4, which contains the wheel powers.
      */
     public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading) {
-        // clamps down the magnitudes of the input vectors
-        if (correctivePower.getMagnitude() > 1) correctivePower.setMagnitude(1);
-        if (headingPower.getMagnitude() > 1) headingPower.setMagnitude(1);
-        if (pathingPower.getMagnitude() > 1) pathingPower.setMagnitude(1);
-
-        // the powers for the wheel vectors
-        double [] wheelPowers = new double[4];
-
-        // This contains a copy of the mecanum wheel vectors
-        Vector[] mecanumVectorsCopy = new Vector[4];
+        return getDrivePowers(correctivePower, headingPower, pathingPower, robotHeading, new double[4]);
+    }
 
-        // this contains the pathing vectors, one for each side (heading control requires 2)
-        Vector[] truePathingVectors = new Vector[2];
+    /**
+     * This does the same thing as getDrivePowers(Vector correctivePower, Vector headingPower,
+     * Vector pathingPower, double robotHeading), but writes the wheel powers into a specified Array
+     * of doubles and only uses Vectors that were created with the DriveVectorScaler, so that nothing
+     * new is created. This is what the Follower uses every loop.
+     *
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude. The
+     * input Vectors themselves aren't changed, since the clamping is done on copies of them.
+     *
+     * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
+     *                        translational power Vector to correct onto the Bezier curve the Follower
+     *                        is following.
+     * @param headingPower this Vector points in the direction of the robot's current heaing, and
+     *                     the magnitude tells the robot how much it should turn and in which
+     *                     direction.
+     * @param pathingPower this Vector points in the direction the robot needs to go to continue along
+     *                     the Path.
+     * @param robotHeading this is the current heading of the robot, which is used to calculate how
+     *                     much power to allocate to each wheel.
+     * @param wheelPowers the Array of doubles to write the wheel powers into. This must have a
+     *                    length of at least 4.
+     * @return this returns the wheelPowers Array.
+     */
+    public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        // clamps down the magnitudes of copies of the input vectors
+        correctivePower = clamp(correctivePower, clampedCorrectivePower);
+        headingPower = clamp(headingPower, clampedHeadingPower);
+        pathingPower = clamp(pathingPower, clampedPathingPower);
 
         if (correctivePower.getMagnitude() == 1) {
             // checks for corrective power equal to 1 in magnitude. if equal to one, then set pathing power to that
-            truePathingVectors[0] = MathFunctions.copyVector(correctivePower);
-            truePathingVectors[1] = MathFunctions.copyVector(correctivePower);
+            MathFunctions.copyVector(correctivePower, truePathingVectors[0]);
+            MathFunctions.copyVector(correctivePower, truePathingVectors[1]);
         } else {
             // corrective power did not take up all the power, so add on heading power
-            Vector leftSideVector = MathFunctions.subtractVectors(correctivePower, headingPower);
-            Vector rightSideVector = MathFunctions.addVectors(correctivePower, headingPower);
+            MathFunctions.subtractVectors(correctivePower, headingPower, leftSideVector);
+            MathFunctions.addVectors(correctivePower, headingPower, rightSideVector);
 
             if (leftSideVector.getMagnitude() > 1 || rightSideVector.getMagnitude() > 1) {
                 //if the combined corrective and heading power is greater than 1, then scale down heading power
-                double headingScalingFactor = Math.min(findNormalizingScaling(correctivePower, headingPower), findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1)));
-                truePathingVectors[0] = MathFunctions.subtractVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
-                truePathingVectors[1] = MathFunctions.addVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+                double headingScalingFactor = Math.min(findNormalizingScaling(correctivePower, headingPower), findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1, scaledVector)));
+                MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor, scaledVector);
+                MathFunctions.subtractVectors(correctivePower, scaledVector, truePathingVectors[0]);
+                MathFunctions.addVectors(correctivePower, scaledVector, truePathingVectors[1]);
             } else {
                 // if we're here then we can add on some drive power but scaled down to 1
-                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower);
-                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower);
+                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower, truePathingVectors[0]);
+                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower, truePathingVectors[1]);
 
                 if (leftSideVectorWithPathing.getMagnitude() > 1 || rightSideVectorWithPathing.getMagnitude() > 1) {
                     // too much power now, so we scale down the pathing vector
                     double pathingScalingFactor = Math.min(findNormalizingScaling(leftSideVector, pathingPower), findNormalizingScaling(rightSideVector, pathingPower));
-                    truePathingVectors[0] = MathFunctions.addVectors(leftSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                    truePathingVectors[1] = MathFunctions.addVectors(rightSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                } else {
-                    // just add the vectors together and you get the final vector
-                    truePathingVectors[0] = MathFunctions.copyVector(leftSideVectorWithPathing);
-                    truePathingVectors[1] = MathFunctions.copyVector(rightSideVectorWithPathing);
+                    MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor, scaledVector);
+                    MathFunctions.addVectors(leftSideVector, scaledVector, truePathingVectors[0]);
+                    MathFunctions.addVectors(rightSideVector, scaledVector, truePathingVectors[1]);
                 }
+                // otherwise, just adding the vectors together gives the final vectors, which are
+                // already in truePathingVectors
             }
         }
 
-        truePathingVectors[0] = MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0);
-        truePathingVectors[1] = MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0);
+        MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0, truePathingVectors[0]);
+        MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0, truePathingVectors[1]);
 
         for (int i = 0; i < mecanumVectorsCopy.length; i++) {
-            // this copies the vectors from mecanumVectors but creates new references for them
-            mecanumVectorsCopy[i] = MathFunctions.copyVector(mecanumVectors[i]);
+            // this copies the vectors from mecanumVectors into the reused copies
+            MathFunctions.copyVector(mecanumVectors[i], mecanumVectorsCopy[i]);
 
             mecanumVectorsCopy[i].rotateVector(robotHeading);
         }
@@ -123,6 +155,19 @@ public class DriveVectorScaler {
         return wheelPowers;
     }
 
+    /**
+     * This copies a Vector into another Vector and clamps the copy to be at most 1 in magnitude.
+     *
+     * @param vector the Vector to copy.
+     * @param output the Vector to write the clamped copy into.
+     * @return returns the output Vector.
+     */
+    private static Vector clamp(Vector vector, Vector output) {
+        MathFunctions.copyVector(vector, output);
+        if (output.getMagnitude() > 1) output.setMagnitude(1);
+        return output;
+    }
+
     /**
      * This takes in two Vectors, one static and one variable, and returns the scaling factor that,
      * when multiplied to the variable Vector, results in magnitude of the sum of the static Vector
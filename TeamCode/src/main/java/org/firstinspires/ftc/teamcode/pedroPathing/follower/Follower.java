@@ -1,36 +1,16 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.follower;
 
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.drivePIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.drivePIDFSwitch;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.forwardZeroPowerAcceleration;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.headingPIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.headingPIDFSwitch;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.lateralZeroPowerAcceleration;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.leftFrontMotorName;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.leftRearMotorName;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.rightFrontMotorName;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.rightRearMotorName;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.secondaryDrivePIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.secondaryHeadingPIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.secondaryTranslationalPIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.translationalPIDFFeedForward;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.translationalPIDFSwitch;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.useSecondaryDrivePID;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.useSecondaryHeadingPID;
-import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.useSecondaryTranslationalPID;
-
 import android.util.Log;
 
-import com.acmerobotics.dashboard.config.Config;
 import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
-import com.qualcomm.robotcore.util.ElapsedTime;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.PoseUpdater;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierPoint;
@@ -39,16 +19,24 @@ import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathBuilder;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathCallback;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChainIndex;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
-import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.AveragedVelocityEstimator;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.DashboardPoseTracker;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.Drawing;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.FilteredPIDFController;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.FlightRecorder;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.KalmanFilter;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.LoopClock;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.PIDFController;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.PoseMessage;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Timer;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -62,9 +50,24 @@ import java.util.List;
  * @author Harrison Womack - 10158 Scott's Bots
  * @version 1.0, 3/4/2024
  */
-@Config
 public class Follower {
+    // These are the names of the values the Follower records into a FlightRecorder every loop, in
+    // the order they are recorded. The tag of every record is the index of the current Path.
+    public static final String[] FLIGHT_RECORD_FIELDS = {
+            "dt", "x", "y", "heading", "closestX", "closestY", "closestHeading", "t",
+            "driveError", "headingError",
+            "driveVectorX", "driveVectorY", "headingVectorX", "headingVectorY",
+            "translationalVectorX", "translationalVectorY", "centripetalVectorX", "centripetalVectorY",
+            "correctiveVectorX", "correctiveVectorY",
+            "power0", "power1", "power2", "power3"
+    };
+    public static final int FLIGHT_RECORDER_CAPACITY = 2048;
+
     private HardwareMap hardwareMap;
+    private Localizer localizer;
+    private FollowerConfig config;
+    private Clock clock = Clock.SYSTEM;
+    private LoopClock loopClock;
 
     private DcMotorEx leftFront;
     private DcMotorEx leftRear;
@@ -77,14 +80,14 @@ public class Follower {
     private PoseUpdater poseUpdater;
     private DashboardPoseTracker dashboardPoseTracker;
 
-    private Pose closestPose;
+    private Pose closestPose = new Pose();
 
     private Path currentPath;
 
     private PathChain currentPathChain;
 
-    private final int BEZIER_CURVE_BINARY_STEP_LIMIT = FollowerConstants.BEZIER_CURVE_BINARY_STEP_LIMIT;
-    private final int AVERAGED_VELOCITY_SAMPLE_NUMBER = FollowerConstants.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+    private int BEZIER_CURVE_BINARY_STEP_LIMIT;
+    private int AVERAGED_VELOCITY_SAMPLE_NUMBER;
 
     private int chainIndex;
 
@@ -100,22 +103,20 @@ public class Follower {
     private double maxPower = 1;
     private double previousSecondaryTranslationalIntegral;
     private double previousTranslationalIntegral;
-    private double holdPointTranslationalScaling = FollowerConstants.holdPointTranslationalScaling;
-    private double holdPointHeadingScaling = FollowerConstants.holdPointHeadingScaling;
+    private double holdPointTranslationalScaling;
+    private double holdPointHeadingScaling;
     public double driveError;
     public double headingError;
 
     private long reachedParametricPathEndTime;
 
-    private double[] drivePowers;
+    private double[] drivePowers = new double[4];
     private double[] teleopDriveValues;
 
-    private ArrayList<Vector> velocities = new ArrayList<>();
-    private ArrayList<Vector> accelerations = new ArrayList<>();
+    private AveragedVelocityEstimator velocityEstimator;
 
-    private Vector averageVelocity;
-    private Vector averagePreviousVelocity;
-    private Vector averageAcceleration;
+    private final Vector averagePreviousVelocity = new Vector();
+    private final Vector averageAcceleration = new Vector();
     private Vector secondaryTranslationalIntegralVector;
     private Vector translationalIntegralVector;
     private Vector teleopDriveVector;
@@ -126,29 +127,50 @@ public class Follower {
     public Vector centripetalVector;
     public Vector correctiveVector;
 
-    private PIDFController secondaryTranslationalPIDF = new PIDFController(FollowerConstants.secondaryTranslationalPIDFCoefficients);
-    private PIDFController secondaryTranslationalIntegral = new PIDFController(FollowerConstants.secondaryTranslationalIntegral);
-    private PIDFController translationalPIDF = new PIDFController(FollowerConstants.translationalPIDFCoefficients);
-    private PIDFController translationalIntegral = new PIDFController(FollowerConstants.translationalIntegral);
-    private PIDFController secondaryHeadingPIDF = new PIDFController(FollowerConstants.secondaryHeadingPIDFCoefficients);
-    private PIDFController headingPIDF = new PIDFController(FollowerConstants.headingPIDFCoefficients);
-    private FilteredPIDFController secondaryDrivePIDF = new FilteredPIDFController(FollowerConstants.secondaryDrivePIDFCoefficients);
-    private FilteredPIDFController drivePIDF = new FilteredPIDFController(FollowerConstants.drivePIDFCoefficients);
-
-    private KalmanFilter driveKalmanFilter = new KalmanFilter(FollowerConstants.driveKalmanFilterParameters);
+    // These are reused every loop, so that update() doesn't create any new objects while following
+    // a Path or holding a point. This keeps the garbage collector from pausing the loop mid-Path.
+    private final Pose currentPose = new Pose();
+    private final Vector currentVelocity = new Vector();
+    private final Vector closestPointTangent = new Vector();
+    private final Vector closestPointNormal = new Vector();
+    private final Vector unitTangent = new Vector();
+    private final Vector projectionVector = new Vector();
+    private final Vector integralIncrementVector = new Vector();
+    private final Vector endTangent = new Vector();
+    private final Vector endOffset = new Vector();
+    private final Vector distanceToGoalVector = new Vector();
+    private final Vector velocityAlongPath = new Vector();
+    private final Vector forwardHeadingVector = new Vector();
+    private final Vector lateralHeadingVector = new Vector();
+    private final Vector forwardVelocityError = new Vector();
+    private final Vector lateralVelocityError = new Vector();
+    private final Vector velocityErrorVector = new Vector();
+    private final Vector holdTranslationalVector = new Vector();
+    private final Vector holdHeadingVector = new Vector();
+    private final Vector zeroVector = new Vector();
+
+    private PIDFController secondaryTranslationalPIDF;
+    private PIDFController secondaryTranslationalIntegral;
+    private PIDFController translationalPIDF;
+    private PIDFController translationalIntegral;
+    private PIDFController secondaryHeadingPIDF;
+    private PIDFController headingPIDF;
+    private FilteredPIDFController secondaryDrivePIDF;
+    private FilteredPIDFController drivePIDF;
+
+    private KalmanFilter driveKalmanFilter;
     private double[] driveErrors;
     private double rawDriveError;
     private double previousRawDriveError;
 
-    public static boolean drawOnDashboard = true;
-    public static boolean useTranslational = true;
-    public static boolean useCentripetal = true;
-    public static boolean useHeading = true;
-    public static boolean useDrive = true;
-
     private boolean logDebug = false;
 
-    private ElapsedTime zeroVelocityDetectedTimer;
+    private Timer zeroVelocityDetectedTimer;
+
+    private volatile FlightRecorder flightRecorder;
+    private final double[] flightRecord = new double[FLIGHT_RECORD_FIELDS.length];
+    private long previousLoopTime;
+    private boolean hasPreviousLoopTime;
 
     /**
      * This creates a new Follower given a HardwareMap.
@@ -156,16 +178,69 @@ public class Follower {
      * @param hardwareMap HardwareMap required
      */
     public Follower(HardwareMap hardwareMap) {
-        this.hardwareMap = hardwareMap;
-        initialize();
+        this(hardwareMap, FollowerConfig.fromFollowerConstants());
     }
 
     public Follower(HardwareMap hardwareMap, boolean isAuto) {
         this.hardwareMap = hardwareMap;
+        this.config = FollowerConfig.fromFollowerConstants();
         teleopDrive = !isAuto;
         initialize();
     }
 
+    /**
+     * This creates a new Follower given a HardwareMap and a FollowerConfig, instead of the values
+     * currently in FollowerConstants.
+     *
+     * @param hardwareMap HardwareMap required
+     * @param config the FollowerConfig to use
+     */
+    public Follower(HardwareMap hardwareMap, FollowerConfig config) {
+        this.hardwareMap = hardwareMap;
+        this.config = config;
+        initialize();
+    }
+
+    /**
+     * This creates a new Follower given a HardwareMap and a Localizer, instead of the default
+     * PinpointLocalizer. This is used to run the Follower on a simulated robot.
+     *
+     * @param hardwareMap HardwareMap required
+     * @param localizer the Localizer to use
+     */
+    public Follower(HardwareMap hardwareMap, Localizer localizer) {
+        this(hardwareMap, localizer, FollowerConfig.fromFollowerConstants());
+    }
+
+    /**
+     * This creates a new Follower given a HardwareMap, a Localizer, and a FollowerConfig.
+     *
+     * @param hardwareMap HardwareMap required
+     * @param localizer the Localizer to use
+     * @param config the FollowerConfig to use
+     */
+    public Follower(HardwareMap hardwareMap, Localizer localizer, FollowerConfig config) {
+        this(hardwareMap, localizer, config, Clock.SYSTEM);
+    }
+
+    /**
+     * This creates a new Follower given a HardwareMap, a Localizer, a FollowerConfig, and a Clock to
+     * get the time from, instead of the real time. This is used to run the Follower faster than real
+     * time in a simulation, with a SimulatedClock.
+     *
+     * @param hardwareMap HardwareMap required
+     * @param localizer the Localizer to use, or null for the default one
+     * @param config the FollowerConfig to use
+     * @param clock the Clock to get the time from
+     */
+    public Follower(HardwareMap hardwareMap, Localizer localizer, FollowerConfig config, Clock clock) {
+        this.hardwareMap = hardwareMap;
+        this.localizer = localizer;
+        this.config = config;
+        this.clock = clock;
+        initialize();
+    }
+
     /**
      * This initializes the follower.
      * In this, the DriveVectorScaler and PoseUpdater is instantiated, the drive motors are
@@ -173,13 +248,37 @@ public class Follower {
      * second derivatives for teleop are set.
      */
     public void initialize() {
-        driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
-        poseUpdater = new PoseUpdater(hardwareMap);
+        BEZIER_CURVE_BINARY_STEP_LIMIT = config.BEZIER_CURVE_BINARY_STEP_LIMIT;
+        AVERAGED_VELOCITY_SAMPLE_NUMBER = config.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+        velocityEstimator = new AveragedVelocityEstimator(AVERAGED_VELOCITY_SAMPLE_NUMBER);
+        holdPointTranslationalScaling = config.holdPointTranslationalScaling;
+        holdPointHeadingScaling = config.holdPointHeadingScaling;
+
+        // Everything the Follower makes gets the time from the LoopClock, so the time is only read
+        // once per loop and is the same everywhere during that loop.
+        loopClock = new LoopClock(clock);
+
+        secondaryTranslationalPIDF = new PIDFController(config.secondaryTranslationalPIDFCoefficients, loopClock);
+        secondaryTranslationalIntegral = new PIDFController(config.secondaryTranslationalIntegral, loopClock);
+        translationalPIDF = new PIDFController(config.translationalPIDFCoefficients, loopClock);
+        translationalIntegral = new PIDFController(config.translationalIntegral, loopClock);
+        secondaryHeadingPIDF = new PIDFController(config.secondaryHeadingPIDFCoefficients, loopClock);
+        headingPIDF = new PIDFController(config.headingPIDFCoefficients, loopClock);
+        secondaryDrivePIDF = new FilteredPIDFController(config.secondaryDrivePIDFCoefficients, loopClock);
+        drivePIDF = new FilteredPIDFController(config.drivePIDFCoefficients, loopClock);
+        driveKalmanFilter = new KalmanFilter(config.driveKalmanFilterParameters);
+
+        driveVectorScaler = new DriveVectorScaler(config.frontLeftVector);
+        if (localizer != null) {
+            poseUpdater = new PoseUpdater(hardwareMap, localizer, loopClock);
+        } else {
+            poseUpdater = new PoseUpdater(hardwareMap, loopClock);
+        }
 
-        leftFront = hardwareMap.get(DcMotorEx.class, leftFrontMotorName);
-        leftRear = hardwareMap.get(DcMotorEx.class, leftRearMotorName);
-        rightRear = hardwareMap.get(DcMotorEx.class, rightRearMotorName);
-        rightFront = hardwareMap.get(DcMotorEx.class, rightFrontMotorName);
+        leftFront = hardwareMap.get(DcMotorEx.class, config.leftFrontMotorName);
+        leftRear = hardwareMap.get(DcMotorEx.class, config.leftRearMotorName);
+        rightRear = hardwareMap.get(DcMotorEx.class, config.rightRearMotorName);
+        rightFront = hardwareMap.get(DcMotorEx.class, config.rightFrontMotorName);
 
         // TODO: Make sure that this is the direction your motors need to be reversed in.
         leftFront.setDirection(DcMotorSimple.Direction.REVERSE);
@@ -201,7 +300,7 @@ public class Follower {
             }
         }
 
-        dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
+        dashboardPoseTracker = new DashboardPoseTracker(poseUpdater, config.POSE_HISTORY_LENGTH, config.POSE_HISTORY_UPDATE_TIME, config.POSE_HISTORY_MIN_DISTANCE, loopClock);
 
         breakFollowing();
 
@@ -260,6 +359,72 @@ public class Follower {
         poseUpdater.setPose(pose);
     }
 
+    /**
+     * This returns the Clock the Follower gets the time from. This is read once at the start of
+     * every update, so it gives the same time for the whole loop.
+     *
+     * @return returns the Follower's Clock.
+     */
+    public Clock getClock() {
+        return loopClock;
+    }
+
+    /**
+     * This returns the Follower's time in milliseconds, as of the start of the last update.
+     *
+     * @return returns the time in milliseconds.
+     */
+    private long getTimeMillis() {
+        return loopClock.nanoTime() / 1000000;
+    }
+
+    /**
+     * This writes where the robot was at some time in the past into a Pose. This is meant for
+     * things measured with a delay, like AprilTag detections.
+     *
+     * @param time the time from getClock() to find the pose at.
+     * @param output the Pose to write the pose into.
+     * @return returns if the pose at that time is known.
+     */
+    public boolean getPoseAt(long time, Pose output) {
+        return poseUpdater.getPoseAt(time, output);
+    }
+
+    /**
+     * This corrects the current pose with a pose that was measured at some time in the past, like
+     * from an AprilTag, by replaying everything the robot did since then on top of it.
+     *
+     * @param time the time from getClock() the pose was measured at.
+     * @param correctedPose the pose the robot was at, at that time.
+     * @return returns if the pose could be corrected.
+     */
+    public boolean correctPoseAt(long time, Pose correctedPose) {
+        return poseUpdater.correctPoseAt(time, correctedPose);
+    }
+
+    /**
+     * This returns where the robot is predicted to be when the motor powers set in this update take
+     * effect, using the POSE_PREDICTION_LATENCY in the FollowerConfig. This is the pose the
+     * corrections are calculated against if using the predicted pose is turned on. This creates a
+     * new Pose every call, so use getPredictedPose(Pose) in code that runs every loop.
+     *
+     * @return returns the predicted pose.
+     */
+    public Pose getPredictedPose() {
+        return getPredictedPose(new Pose());
+    }
+
+    /**
+     * This writes where the robot is predicted to be when the motor powers set in this update take
+     * effect into a specified Pose, so that nothing new is created.
+     *
+     * @param output the Pose to write the predicted pose into.
+     * @return returns the output Pose.
+     */
+    public Pose getPredictedPose(Pose output) {
+        return poseUpdater.getPredictedPose(config.POSE_PREDICTION_LATENCY / 1000.0, output);
+    }
+
     /**
      * This returns the current velocity of the robot as a Vector.
      *
@@ -381,9 +546,9 @@ public class Follower {
         holdingPosition = true;
         isBusy = false;
         followingPathChain = false;
-        currentPath = new Path(point);
+        currentPath = new Path(point, config);
         currentPath.setConstantHeadingInterpolation(heading);
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
+        currentPath.getClosestPoint(poseUpdater.getPose(), 1, closestPose);
     }
 
     /**
@@ -398,7 +563,8 @@ public class Follower {
         isBusy = true;
         followingPathChain = false;
         currentPath = path;
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+        currentPath.resetClosestPointSearch();
+        currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
 
         Log.d("Follower_logger::", "*** followPath_current_pose: "
                 + new PoseMessage(poseUpdater.getPose())
@@ -426,18 +592,19 @@ public class Follower {
         breakFollowing();
         holdPositionAtEnd = holdEnd;
         pathStartTimes = new long[pathChain.size()];
-        pathStartTimes[0] = System.currentTimeMillis();
+        pathStartTimes[0] = getTimeMillis();
         isBusy = true;
         followingPathChain = true;
         chainIndex = 0;
         currentPathChain = pathChain;
         currentPath = pathChain.getPath(chainIndex);
+        currentPath.resetClosestPointSearch();
         Log.d("Follower_logger::", "*** followPath_current_pose: "
                 + new PoseMessage(poseUpdater.getPose())
                 + " | ( " + currentPath.getFirstControlPoint().getX() + ", " + currentPath.getFirstControlPoint().getY() + ")"
                     + " | ( " + currentPath.getLastControlPoint().getX() + ", " + currentPath.getLastControlPoint().getY() + ")"
         );
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+        currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
     }
 
     /**
@@ -459,21 +626,35 @@ public class Follower {
 
     /**
      * This calls an update to the PoseUpdater, which updates the robot's current position estimate.
-     * This also updates all the Follower's PIDFs, which updates the motor powers.
+     * This also updates all the Follower's PIDFs, which updates the motor powers. If using the
+     * predicted pose is turned on in the FollowerConfig, the corrections are calculated against
+     * where the robot will be when the motors respond instead of where it was last seen.
      */
     public void update() {
+        loopClock.update();
         poseUpdater.update();
+        if (config.usePredictedPose) {
+            poseUpdater.getPredictedPose(config.POSE_PREDICTION_LATENCY / 1000.0, currentPose);
+        } else {
+            poseUpdater.getPose(currentPose);
+        }
+        poseUpdater.getVelocity(currentVelocity);
 
-        if (drawOnDashboard) {
+        if (config.drawOnDashboard) {
             dashboardPoseTracker.update();
         }
 
         if (!teleopDrive) {
             if (currentPath != null) {
                 if (holdingPosition) {
-                    closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
+                    currentPath.getClosestPoint(currentPose, 1, closestPose);
 
-                    drivePowers = driveVectorScaler.getDrivePowers(MathFunctions.scalarMultiplyVector(getTranslationalCorrection(), holdPointTranslationalScaling), MathFunctions.scalarMultiplyVector(getHeadingVector(), holdPointHeadingScaling), new Vector(), poseUpdater.getPose().getHeading());
+                    updateTranslationalCorrection();
+                    updateHeadingVector();
+                    MathFunctions.scalarMultiplyVector(translationalVector, holdPointTranslationalScaling, holdTranslationalVector);
+                    MathFunctions.scalarMultiplyVector(headingVector, holdPointHeadingScaling, holdHeadingVector);
+                    zeroVector.setComponents(0, 0);
+                    driveVectorScaler.getDrivePowers(holdTranslationalVector, holdHeadingVector, zeroVector, currentPose.getHeading(), drivePowers);
 
                     limitDrivePowers();
 
@@ -482,11 +663,17 @@ public class Follower {
                     }
                 } else {
                     if (isBusy) {
-                        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+                        currentPath.getClosestPoint(currentPose, BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
 
-                        if (followingPathChain) updateCallbacks();
+                        if (followingPathChain) {
+                            reseedClosestPoint();
+                            updateCallbacks();
+                        }
 
-                        drivePowers = driveVectorScaler.getDrivePowers(getCorrectiveVector(), getHeadingVector(), getDriveVector(), poseUpdater.getPose().getHeading());
+                        updateCorrectiveVector();
+                        updateHeadingVector();
+                        updateDriveVector();
+                        driveVectorScaler.getDrivePowers(correctiveVector, headingVector, driveVector, currentPose.getHeading(), drivePowers);
 
                         limitDrivePowers();
 
@@ -503,16 +690,16 @@ public class Follower {
                     // try to fix the robot stop near the end issue
                     // if robot is almost reach the end and velocity is close to zero
                     // then, break the following if other criteria meet
-                    if(poseUpdater.getVelocity().getMagnitude() < 1.0 && currentPath.getClosestPointTValue() > 0.8
+                    if(currentVelocity.getMagnitude() < 1.0 && currentPath.getClosestPointTValue() > 0.8
                             && zeroVelocityDetectedTimer == null && isBusy) {
-                        zeroVelocityDetectedTimer = new ElapsedTime(ElapsedTime.Resolution.MILLISECONDS);
+                        zeroVelocityDetectedTimer = new Timer(loopClock);
                         Log.d("Follower_logger", "!!!! Robot stuck !!!!");
 
                         debugLog();
                     }
 
                     if (currentPath.isAtParametricEnd() ||
-                            (zeroVelocityDetectedTimer!= null && zeroVelocityDetectedTimer.milliseconds() > 500.0)) {
+                            (zeroVelocityDetectedTimer!= null && zeroVelocityDetectedTimer.getElapsedTime() > 500)) {
                         if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
 
                             if(logDebug) {
@@ -520,24 +707,25 @@ public class Follower {
                             }
                             // Not at last path, keep going
                             breakFollowing();
-                            pathStartTimes[chainIndex] = System.currentTimeMillis();
+                            pathStartTimes[chainIndex] = getTimeMillis();
                             isBusy = true;
                             followingPathChain = true;
                             chainIndex++;
                             currentPath = currentPathChain.getPath(chainIndex);
-                            closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+                            currentPath.resetClosestPointSearch();
+                            currentPath.getClosestPoint(currentPose, BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
                         } else {
                             // At last path, run some end detection stuff
                             // set isBusy to false if at end
                             if (!reachedParametricPathEnd) {
                                 reachedParametricPathEnd = true;
-                                reachedParametricPathEndTime = System.currentTimeMillis();
+                                reachedParametricPathEndTime = getTimeMillis();
                             }
 
-                            if ((System.currentTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) ||
-                                    (poseUpdater.getVelocity().getMagnitude() < currentPath.getPathEndVelocityConstraint()
-                                            && MathFunctions.distance(poseUpdater.getPose(), closestPose) < currentPath.getPathEndTranslationalConstraint() &&
-                                            MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
+                            if ((getTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) ||
+                                    (currentVelocity.getMagnitude() < currentPath.getPathEndVelocityConstraint()
+                                            && MathFunctions.distance(currentPose, closestPose) < currentPath.getPathEndTranslationalConstraint() &&
+                                            MathFunctions.getSmallestAngleDifference(currentPose.getHeading(), currentPath.getClosestPointHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
                                 if (holdPositionAtEnd) {
                                     holdPositionAtEnd = false;
                                     holdPoint(new BezierPoint(currentPath.getLastControlPoint()), currentPath.getHeadingGoal(1));
@@ -562,12 +750,12 @@ public class Follower {
                 }
             }
         } else {
-            velocities.add(poseUpdater.getVelocity());
-            velocities.remove(velocities.get(velocities.size() - 1));
+            velocityEstimator.add(currentVelocity, loopClock.nanoTime());
 
             calculateAveragedVelocityAndAcceleration();
 
-            drivePowers = driveVectorScaler.getDrivePowers(getCentripetalForceCorrection(), teleopHeadingVector, teleopDriveVector, poseUpdater.getPose().getHeading());
+            updateCentripetalForceCorrection();
+            driveVectorScaler.getDrivePowers(centripetalVector, teleopHeadingVector, teleopDriveVector, currentPose.getHeading(), drivePowers);
 
             limitDrivePowers();
 
@@ -576,6 +764,94 @@ public class Follower {
                 //Log.d("driver_motor_logger", String.format("%3.2f", drivePowers[i]));
             }
         }
+
+        FlightRecorder recorder = flightRecorder;
+        if (recorder != null) {
+            recordFlight(recorder);
+        }
+    }
+
+    /**
+     * This records this loop into the FlightRecorder. This only copies numbers that update() already
+     * calculated, so it doesn't slow down the loop or create any new objects.
+     *
+     * @param recorder the FlightRecorder to record into.
+     */
+    private void recordFlight(FlightRecorder recorder) {
+        long now = loopClock.nanoTime();
+        int i = 0;
+        flightRecord[i++] = hasPreviousLoopTime ? (now - previousLoopTime) / 1e9 : 0;
+        previousLoopTime = now;
+        hasPreviousLoopTime = true;
+        flightRecord[i++] = currentPose.getX();
+        flightRecord[i++] = currentPose.getY();
+        flightRecord[i++] = currentPose.getHeading();
+        flightRecord[i++] = closestPose.getX();
+        flightRecord[i++] = closestPose.getY();
+        flightRecord[i++] = closestPose.getHeading();
+        flightRecord[i++] = isBusy ? currentPath.getClosestPointTValue() : Double.NaN;
+        flightRecord[i++] = driveError;
+        flightRecord[i++] = headingError;
+        i = recordVector(driveVector, i);
+        i = recordVector(headingVector, i);
+        i = recordVector(translationalVector, i);
+        i = recordVector(centripetalVector, i);
+        i = recordVector(correctiveVector, i);
+        for (int j = 0; j < drivePowers.length; j++) {
+            flightRecord[i++] = drivePowers[j];
+        }
+        recorder.record(now, chainIndex, flightRecord);
+    }
+
+    /**
+     * This puts the components of a Vector into the flight record.
+     *
+     * @param vector the Vector to record.
+     * @param index the index in the flight record to put the x component at.
+     * @return returns the index after the y component.
+     */
+    private int recordVector(Vector vector, int index) {
+        flightRecord[index] = vector.getXComponent();
+        flightRecord[index + 1] = vector.getYComponent();
+        return index + 2;
+    }
+
+    /**
+     * This starts recording every loop into a file, using a FlightRecorder. The fields recorded are
+     * in FLIGHT_RECORD_FIELDS. If the Follower was already recording, that recording is stopped first.
+     *
+     * @param file the file to record into.
+     * @throws IOException if the file can't be opened.
+     */
+    public void startFlightRecorder(File file) throws IOException {
+        stopFlightRecorder();
+        FlightRecorder recorder = new FlightRecorder(file, FLIGHT_RECORD_FIELDS, FLIGHT_RECORDER_CAPACITY);
+        recorder.start();
+        hasPreviousLoopTime = false;
+        flightRecorder = recorder;
+    }
+
+    /**
+     * This stops recording, after everything recorded so far is written to the file. This can be run
+     * from another thread while a FollowerControlThread is updating the Follower.
+     *
+     * @throws IOException if the FlightRecorder couldn't write to the file.
+     */
+    public void stopFlightRecorder() throws IOException {
+        FlightRecorder recorder = flightRecorder;
+        if (recorder == null) return;
+        flightRecorder = null;
+        recorder.close();
+    }
+
+    /**
+     * This returns the FlightRecorder the Follower is recording into. If writing to the file failed,
+     * getError() of the FlightRecorder returns why, and nothing more is recorded.
+     *
+     * @return returns the FlightRecorder, or null if the Follower isn't recording.
+     */
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
     }
 
     /**
@@ -617,38 +893,22 @@ public class Follower {
 
     /**
      * This calculates an averaged approximate velocity and acceleration. This is used for a
-     * real-time correction of centripetal force, which is used in teleop.
+     * real-time correction of centripetal force, which is used in teleop. The velocities are kept
+     * by the AveragedVelocityEstimator, so this only reads out its running averages.
      */
     public void calculateAveragedVelocityAndAcceleration() {
-        averageVelocity = new Vector();
-        averagePreviousVelocity = new Vector();
-
-        for (int i = 0; i < velocities.size() / 2; i++) {
-            averageVelocity = MathFunctions.addVectors(averageVelocity, velocities.get(i));
-        }
-        averageVelocity = MathFunctions.scalarMultiplyVector(averageVelocity, 1.0 / ((double) velocities.size() / 2));
-
-        for (int i = velocities.size() / 2; i < velocities.size(); i++) {
-            averagePreviousVelocity = MathFunctions.addVectors(averagePreviousVelocity, velocities.get(i));
-        }
-        averagePreviousVelocity = MathFunctions.scalarMultiplyVector(averagePreviousVelocity, 1.0 / ((double) velocities.size() / 2));
-
-        accelerations.add(MathFunctions.subtractVectors(averageVelocity, averagePreviousVelocity));
-        accelerations.remove(accelerations.size() - 1);
-
-        averageAcceleration = new Vector();
-
-        for (int i = 0; i < accelerations.size(); i++) {
-            averageAcceleration = MathFunctions.addVectors(averageAcceleration, accelerations.get(i));
-        }
-        averageAcceleration = MathFunctions.scalarMultiplyVector(averageAcceleration, 1.0 / accelerations.size());
+        velocityEstimator.getAveragePreviousVelocity(averagePreviousVelocity);
+        velocityEstimator.getAverageAcceleration(averageAcceleration);
     }
 
     /**
      * This checks if any PathCallbacks should be run right now, and runs them if applicable.
      */
     public void updateCallbacks() {
-        for (PathCallback callback : currentPathChain.getCallbacks()) {
+        ArrayList<PathCallback> callbacks = currentPathChain.getCallbacks();
+        // this uses an index instead of a for-each loop so that no Iterator is created every loop
+        for (int i = 0; i < callbacks.size(); i++) {
+            PathCallback callback = callbacks.get(i);
             if (!callback.hasBeenRun()) {
                 if (callback.getType() == PathCallback.PARAMETRIC) {
                     // parametric call back
@@ -657,7 +917,7 @@ public class Follower {
                     }
                 } else {
                     // time based call back
-                    if (chainIndex >= callback.getIndex() && System.currentTimeMillis() - pathStartTimes[callback.getIndex()] > callback.getStartCondition()) {
+                    if (chainIndex >= callback.getIndex() && getTimeMillis() - pathStartTimes[callback.getIndex()] > callback.getStartCondition()) {
                         callback.run();
                     }
 
@@ -666,6 +926,56 @@ public class Follower {
         }
     }
 
+    /**
+     * This checks if the closest point search has gotten stuck on the wrong part of the PathChain,
+     * which can happen if the robot gets bumped or a Path loops back on itself. This only happens
+     * when the robot is far from the closest point, and then the PathChainIndex is used to find the
+     * closest point on the rest of the PathChain. If that is meaningfully closer, then the search is
+     * re-seeded from there, moving on to a later Path in the PathChain if needed. Moving on this way
+     * doesn't stop the robot or reset the PIDFs, since it is still following the same PathChain.
+     */
+    private void reseedClosestPoint() {
+        double residual = MathFunctions.distance(currentPose, closestPose);
+        if (residual < config.CLOSEST_POINT_RESEED_DISTANCE) return;
+
+        PathChainIndex index = currentPathChain.getIndex();
+        if (!index.findClosestSample(currentPose.getX(), currentPose.getY(), chainIndex)) return;
+        if (index.getClosestDistance() + PathChainIndex.SAMPLE_SPACING >= residual) return;
+
+        if (index.getClosestPathIndex() > chainIndex) {
+            runSkippedCallbacks(chainIndex, index.getClosestPathIndex());
+            while (chainIndex < index.getClosestPathIndex()) {
+                pathStartTimes[chainIndex] = getTimeMillis();
+                chainIndex++;
+            }
+            currentPath = currentPathChain.getPath(chainIndex);
+            reachedParametricPathEnd = false;
+            zeroVelocityDetectedTimer = null;
+        }
+
+        currentPath.seedClosestPointSearch(index.getClosestTValue());
+        currentPath.getClosestPoint(currentPose, BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
+    }
+
+    /**
+     * This runs the parametric PathCallbacks of Paths that are skipped over when the closest point
+     * search is re-seeded onto a later Path, since they would otherwise never run. Time based
+     * PathCallbacks still run on their own, since they only need the Path to have been started.
+     *
+     * @param fromIndex the index of the first Path skipped over.
+     * @param toIndex the index of the Path moved on to, which isn't skipped over.
+     */
+    private void runSkippedCallbacks(int fromIndex, int toIndex) {
+        ArrayList<PathCallback> callbacks = currentPathChain.getCallbacks();
+        for (int i = 0; i < callbacks.size(); i++) {
+            PathCallback callback = callbacks.get(i);
+            if (!callback.hasBeenRun() && callback.getType() == PathCallback.PARAMETRIC
+                    && callback.getIndex() >= fromIndex && callback.getIndex() < toIndex) {
+                callback.run();
+            }
+        }
+    }
+
     /**
      * This resets the PIDFs and stops following the current Path.
      */
@@ -701,12 +1011,7 @@ public class Follower {
         }
         driveKalmanFilter.reset();
 
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER; i++) {
-            velocities.add(new Vector());
-        }
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER / 2; i++) {
-            accelerations.add(new Vector());
-        }
+        velocityEstimator.reset();
         calculateAveragedVelocityAndAcceleration();
         teleopDriveValues = new double[3];
         teleopDriveVector = new Vector();
@@ -737,23 +1042,36 @@ public class Follower {
      * @return returns the drive vector.
      */
     public Vector getDriveVector() {
-        if (!useDrive) return new Vector();
+        updateDriveVector();
+        return MathFunctions.copyVector(driveVector);
+    }
+
+    /**
+     * This updates the drive Vector in place, so that nothing new is created. This is what the
+     * Follower uses every loop, and what getDriveVector() returns a copy of.
+     */
+    private void updateDriveVector() {
+        if (!config.useDrive) {
+            driveVector.setComponents(0, 0);
+            return;
+        }
+        currentPath.getClosestPointTangentVector(closestPointTangent);
         if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
-            return new Vector(1, currentPath.getClosestPointTangentVector().getTheta());
+            driveVector.setComponents(1, closestPointTangent.getTheta());
+            return;
         }
 
         driveError = getDriveVelocityError();
 
-        if (Math.abs(driveError) < drivePIDFSwitch && useSecondaryDrivePID) {
+        if (Math.abs(driveError) < config.drivePIDFSwitch && config.useSecondaryDrivePID) {
            // Log.d("Follower_logger_secondary::", "In secondary drive PIDF");
             secondaryDrivePIDF.updateError(driveError);
-            driveVector = new Vector(MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), currentPath.getClosestPointTangentVector().getTheta());
-            return MathFunctions.copyVector(driveVector);
+            driveVector.setComponents(MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + config.secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), closestPointTangent.getTheta());
+            return;
         }
 
         drivePIDF.updateError(driveError);
-        driveVector = new Vector(MathFunctions.clamp(drivePIDF.runPIDF() + drivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), currentPath.getClosestPointTangentVector().getTheta());
-        return MathFunctions.copyVector(driveVector);
+        driveVector.setComponents(MathFunctions.clamp(drivePIDF.runPIDF() + config.drivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), closestPointTangent.getTheta());
     }
 
     /**
@@ -765,34 +1083,36 @@ public class Follower {
     public double getDriveVelocityError() {
         double distanceToGoal;
         if (!currentPath.isAtParametricEnd()) {
-            distanceToGoal = currentPath.length() * (1 - currentPath.getClosestPointTValue());
+            distanceToGoal = currentPath.remainingLength(currentPath.getClosestPointTValue());
         } else {
-            Vector offset = new Vector();
-            offset.setOrthogonalComponents(getPose().getX() - currentPath.getLastControlPoint().getX(), getPose().getY() - currentPath.getLastControlPoint().getY());
-            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangent(), offset);
+            Point lastControlPoint = currentPath.getLastControlPoint();
+            endOffset.setOrthogonalComponents(currentPose.getX() - lastControlPoint.getX(), currentPose.getY() - lastControlPoint.getY());
+            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangent(endTangent), endOffset);
         }
 
-        Vector distanceToGoalVector = MathFunctions.scalarMultiplyVector(MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector()), distanceToGoal);
-        Vector velocity = new Vector(MathFunctions.dotProduct(getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta());
+        currentPath.getClosestPointTangentVector(closestPointTangent);
+        MathFunctions.normalizeVector(closestPointTangent, unitTangent);
+        MathFunctions.scalarMultiplyVector(unitTangent, distanceToGoal, distanceToGoalVector);
+        velocityAlongPath.setComponents(MathFunctions.dotProduct(currentVelocity, unitTangent), closestPointTangent.getTheta());
 
-        Vector forwardHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading());
-        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, velocity);
+        forwardHeadingVector.setComponents(1.0, currentPose.getHeading());
+        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, velocityAlongPath);
         double forwardDistanceToGoal = MathFunctions.dotProduct(forwardHeadingVector, distanceToGoalVector);
-        double forwardVelocityGoal = MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * forwardZeroPowerAcceleration * forwardDistanceToGoal));
-        double forwardVelocityZeroPowerDecay = forwardVelocity - MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(forwardVelocity, 2) + 2 * forwardZeroPowerAcceleration * forwardDistanceToGoal));
+        double forwardVelocityGoal = MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * config.forwardZeroPowerAcceleration * forwardDistanceToGoal));
+        double forwardVelocityZeroPowerDecay = forwardVelocity - MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(forwardVelocity, 2) + 2 * config.forwardZeroPowerAcceleration * forwardDistanceToGoal));
 
-        Vector lateralHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading() - Math.PI / 2);
-        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, velocity);
+        lateralHeadingVector.setComponents(1.0, currentPose.getHeading() - Math.PI / 2);
+        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, velocityAlongPath);
         double lateralDistanceToGoal = MathFunctions.dotProduct(lateralHeadingVector, distanceToGoalVector);
-        double lateralVelocityGoal = MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * lateralZeroPowerAcceleration * lateralDistanceToGoal));
-        double lateralVelocityZeroPowerDecay = lateralVelocity - MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(lateralVelocity, 2) + 2 * lateralZeroPowerAcceleration * lateralDistanceToGoal));
+        double lateralVelocityGoal = MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * config.lateralZeroPowerAcceleration * lateralDistanceToGoal));
+        double lateralVelocityZeroPowerDecay = lateralVelocity - MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(lateralVelocity, 2) + 2 * config.lateralZeroPowerAcceleration * lateralDistanceToGoal));
 
-        Vector forwardVelocityError = new Vector(forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardHeadingVector.getTheta());
-        Vector lateralVelocityError = new Vector(lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralHeadingVector.getTheta());
-        Vector velocityErrorVector = MathFunctions.addVectors(forwardVelocityError, lateralVelocityError);
+        forwardVelocityError.setComponents(forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardHeadingVector.getTheta());
+        lateralVelocityError.setComponents(lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralHeadingVector.getTheta());
+        MathFunctions.addVectors(forwardVelocityError, lateralVelocityError, velocityErrorVector);
 
         previousRawDriveError = rawDriveError;
-        rawDriveError =  velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, currentPath.getClosestPointTangentVector()));
+        rawDriveError =  velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, closestPointTangent));
 
         double projection = 2 * driveErrors[1] - driveErrors[0];
 
@@ -817,21 +1137,33 @@ public class Follower {
      * @return returns the heading vector.
      */
     public Vector getHeadingVector() {
-        if (!useHeading) return new Vector();
-        headingError = MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) * MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal());
-        if (Math.abs(headingError) < headingPIDFSwitch && useSecondaryHeadingPID) {
+        updateHeadingVector();
+        return MathFunctions.copyVector(headingVector);
+    }
+
+    /**
+     * This updates the heading Vector in place, so that nothing new is created. This is what the
+     * Follower uses every loop, and what getHeadingVector() returns a copy of.
+     */
+    private void updateHeadingVector() {
+        if (!config.useHeading) {
+            headingVector.setComponents(0, 0);
+            return;
+        }
+        double headingGoal = currentPath.getClosestPointHeadingGoal();
+        headingError = MathFunctions.getTurnDirection(currentPose.getHeading(), headingGoal) * MathFunctions.getSmallestAngleDifference(currentPose.getHeading(), headingGoal);
+        if (Math.abs(headingError) < config.headingPIDFSwitch && config.useSecondaryHeadingPID) {
 //            if(logDebug) {
 //                Log.d("Follower_logger", "using secondary heading PIDF controller, error: "
 //                        + String.format("%3.3f", Math.toDegrees(headingError)));
 //
 //            }
             secondaryHeadingPIDF.updateError(headingError);
-            headingVector = new Vector(MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -1, 1), poseUpdater.getPose().getHeading());
-            return MathFunctions.copyVector(headingVector);
+            headingVector.setComponents(MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + config.secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(currentPose.getHeading(), headingGoal), -1, 1), currentPose.getHeading());
+            return;
         }
         headingPIDF.updateError(headingError);
-        headingVector = new Vector(MathFunctions.clamp(headingPIDF.runPIDF() + headingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -1, 1), poseUpdater.getPose().getHeading());
-        return MathFunctions.copyVector(headingVector);
+        headingVector.setComponents(MathFunctions.clamp(headingPIDF.runPIDF() + config.headingPIDFFeedForward * MathFunctions.getTurnDirection(currentPose.getHeading(), headingGoal), -1, 1), currentPose.getHeading());
     }
 
     /**
@@ -843,17 +1175,24 @@ public class Follower {
      * @return returns the corrective vector.
      */
     public Vector getCorrectiveVector() {
-        Vector centripetal = getCentripetalForceCorrection();
-        Vector translational = getTranslationalCorrection();
-        Vector corrective = MathFunctions.addVectors(centripetal, translational);
+        updateCorrectiveVector();
+        return MathFunctions.copyVector(correctiveVector);
+    }
 
-        if (corrective.getMagnitude() > 1) {
-            return MathFunctions.addVectors(centripetal, MathFunctions.scalarMultiplyVector(translational, driveVectorScaler.findNormalizingScaling(centripetal, translational)));
+    /**
+     * This updates the corrective Vector, as well as the centripetal and translational correction
+     * Vectors it is made of, in place, so that nothing new is created. This is what the Follower
+     * uses every loop, and what getCorrectiveVector() returns a copy of.
+     */
+    private void updateCorrectiveVector() {
+        updateCentripetalForceCorrection();
+        updateTranslationalCorrection();
+        MathFunctions.addVectors(centripetalVector, translationalVector, correctiveVector);
+
+        if (correctiveVector.getMagnitude() > 1) {
+            MathFunctions.scalarMultiplyVector(translationalVector, driveVectorScaler.findNormalizingScaling(centripetalVector, translationalVector), correctiveVector);
+            MathFunctions.addVectors(centripetalVector, correctiveVector, correctiveVector);
         }
-
-        correctiveVector = MathFunctions.copyVector(corrective);
-
-        return corrective;
     }
 
     /**
@@ -865,42 +1204,58 @@ public class Follower {
      * @return returns the translational correction vector.
      */
     public Vector getTranslationalCorrection() {
-        if (!useTranslational) return new Vector();
-        Vector translationalVector = new Vector();
-        double x = closestPose.getX() - poseUpdater.getPose().getX();
-        double y = closestPose.getY() - poseUpdater.getPose().getY();
+        updateTranslationalCorrection();
+        return MathFunctions.copyVector(translationalVector);
+    }
+
+    /**
+     * This updates the translational correction Vector in place, so that nothing new is created.
+     * This is what the Follower uses every loop, and what getTranslationalCorrection() returns a
+     * copy of.
+     */
+    private void updateTranslationalCorrection() {
+        if (!config.useTranslational) {
+            translationalVector.setComponents(0, 0);
+            return;
+        }
+        double x = closestPose.getX() - currentPose.getX();
+        double y = closestPose.getY() - currentPose.getY();
         translationalVector.setOrthogonalComponents(x, y);
 
         if (!(currentPath.isAtParametricEnd() || currentPath.isAtParametricStart())) {
-            translationalVector = MathFunctions.subtractVectors(translationalVector, new Vector(MathFunctions.dotProduct(translationalVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+            currentPath.getClosestPointTangentVector(closestPointTangent);
+            MathFunctions.normalizeVector(closestPointTangent, unitTangent);
 
-            secondaryTranslationalIntegralVector = MathFunctions.subtractVectors(secondaryTranslationalIntegralVector, new Vector(MathFunctions.dotProduct(secondaryTranslationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
-            translationalIntegralVector = MathFunctions.subtractVectors(translationalIntegralVector, new Vector(MathFunctions.dotProduct(translationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+            projectionVector.setComponents(MathFunctions.dotProduct(translationalVector, unitTangent), closestPointTangent.getTheta());
+            MathFunctions.subtractVectors(translationalVector, projectionVector, translationalVector);
+
+            projectionVector.setComponents(MathFunctions.dotProduct(secondaryTranslationalIntegralVector, unitTangent), closestPointTangent.getTheta());
+            MathFunctions.subtractVectors(secondaryTranslationalIntegralVector, projectionVector, secondaryTranslationalIntegralVector);
+            projectionVector.setComponents(MathFunctions.dotProduct(translationalIntegralVector, unitTangent), closestPointTangent.getTheta());
+            MathFunctions.subtractVectors(translationalIntegralVector, projectionVector, translationalIntegralVector);
         }
 
-        if (MathFunctions.distance(poseUpdater.getPose(), closestPose) < translationalPIDFSwitch && useSecondaryTranslationalPID) {
+        if (MathFunctions.distance(currentPose, closestPose) < config.translationalPIDFSwitch && config.useSecondaryTranslationalPID) {
             secondaryTranslationalIntegral.updateError(translationalVector.getMagnitude());
-            secondaryTranslationalIntegralVector = MathFunctions.addVectors(secondaryTranslationalIntegralVector, new Vector(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalVector.getTheta()));
+            integralIncrementVector.setComponents(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalVector.getTheta());
+            MathFunctions.addVectors(secondaryTranslationalIntegralVector, integralIncrementVector, secondaryTranslationalIntegralVector);
             previousSecondaryTranslationalIntegral = secondaryTranslationalIntegral.runPIDF();
 
             secondaryTranslationalPIDF.updateError(translationalVector.getMagnitude());
-            translationalVector.setMagnitude(secondaryTranslationalPIDF.runPIDF() + secondaryTranslationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, secondaryTranslationalIntegralVector);
+            translationalVector.setMagnitude(secondaryTranslationalPIDF.runPIDF() + config.secondaryTranslationalPIDFFeedForward);
+            MathFunctions.addVectors(translationalVector, secondaryTranslationalIntegralVector, translationalVector);
         } else {
             translationalIntegral.updateError(translationalVector.getMagnitude());
-            translationalIntegralVector = MathFunctions.addVectors(translationalIntegralVector, new Vector(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalVector.getTheta()));
+            integralIncrementVector.setComponents(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalVector.getTheta());
+            MathFunctions.addVectors(translationalIntegralVector, integralIncrementVector, translationalIntegralVector);
             previousTranslationalIntegral = translationalIntegral.runPIDF();
 
             translationalPIDF.updateError(translationalVector.getMagnitude());
-            translationalVector.setMagnitude(translationalPIDF.runPIDF() + translationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, translationalIntegralVector);
+            translationalVector.setMagnitude(translationalPIDF.runPIDF() + config.translationalPIDFFeedForward);
+            MathFunctions.addVectors(translationalVector, translationalIntegralVector, translationalVector);
         }
 
         translationalVector.setMagnitude(MathFunctions.clamp(translationalVector.getMagnitude(), 0, 1));
-
-        this.translationalVector = MathFunctions.copyVector(translationalVector);
-
-        return translationalVector;
     }
 
     /**
@@ -925,18 +1280,53 @@ public class Follower {
      * @return returns the centripetal force correction vector.
      */
     public Vector getCentripetalForceCorrection() {
-        if (!useCentripetal) return new Vector();
-        double curvature;
-        if (!teleopDrive) {
-            curvature = currentPath.getClosestPointCurvature();
-        } else {
-            double yPrime = averageVelocity.getYComponent() / averageVelocity.getXComponent();
-            double yDoublePrime = averageAcceleration.getYComponent() / averageVelocity.getXComponent();
-            curvature = (yDoublePrime) / (Math.pow(Math.sqrt(1 + Math.pow(yPrime, 2)), 3));
+        updateCentripetalForceCorrection();
+        return MathFunctions.copyVector(centripetalVector);
+    }
+
+    /**
+     * This updates the centripetal force correction Vector in place, so that nothing new is created.
+     * This is what the Follower uses every loop, and what getCentripetalForceCorrection() returns a
+     * copy of.
+     */
+    private void updateCentripetalForceCorrection() {
+        if (!config.useCentripetal) {
+            centripetalVector.setComponents(0, 0);
+            return;
+        }
+        if (teleopDrive) {
+            updateTeleopCentripetalForceCorrection();
+            return;
+        }
+        double curvature = currentPath.getClosestPointCurvature();
+        if (Double.isNaN(curvature)) {
+            centripetalVector.setComponents(0, 0);
+            return;
         }
-        if (Double.isNaN(curvature)) return new Vector();
-        centripetalVector = new Vector(MathFunctions.clamp(FollowerConstants.centripetalScaling * FollowerConstants.mass * Math.pow(MathFunctions.dotProduct(poseUpdater.getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), 2) * curvature, -1, 1), currentPath.getClosestPointTangentVector().getTheta() + Math.PI / 2 * MathFunctions.getSign(currentPath.getClosestPointNormalVector().getTheta()));
-        return centripetalVector;
+        currentPath.getClosestPointTangentVector(closestPointTangent);
+        currentPath.getClosestPointNormalVector(closestPointNormal);
+        MathFunctions.normalizeVector(closestPointTangent, unitTangent);
+        centripetalVector.setComponents(MathFunctions.clamp(config.centripetalScaling * config.mass * Math.pow(MathFunctions.dotProduct(currentVelocity, unitTangent), 2) * curvature, -1, 1), closestPointTangent.getTheta() + Math.PI / 2 * MathFunctions.getSign(closestPointNormal.getTheta()));
+    }
+
+    /**
+     * This updates the centripetal force correction Vector in teleop, where there's no Path to get
+     * the curvature from. The curvature of the robot's own motion is used instead, from the
+     * averaged velocity and acceleration: (vx * ay - vy * ax) / |v|^3. This is signed, so the
+     * correction points to the left of the velocity when the robot turns left.
+     *
+     * The averaged acceleration is centered on the same loops as the average of the older half of
+     * the velocities, so that's the velocity the curvature is taken from. Like the curvature of a
+     * Path, it's then used with the current velocity.
+     */
+    private void updateTeleopCentripetalForceCorrection() {
+        double previousSpeed = averagePreviousVelocity.getMagnitude();
+        if (previousSpeed == 0) {
+            centripetalVector.setComponents(0, 0);
+            return;
+        }
+        double curvature = (averagePreviousVelocity.getXComponent() * averageAcceleration.getYComponent() - averagePreviousVelocity.getYComponent() * averageAcceleration.getXComponent()) / Math.pow(previousSpeed, 3);
+        centripetalVector.setComponents(MathFunctions.clamp(config.centripetalScaling * config.mass * Math.pow(currentVelocity.getMagnitude(), 2) * curvature, -1, 1), currentVelocity.getTheta() + Math.PI / 2);
     }
 
     /**
@@ -989,12 +1379,55 @@ public class Follower {
     }
 
     /**
-     * This returns a new PathBuilder object for easily building PathChains.
+     * This returns a new PathBuilder object for easily building PathChains. The Paths it makes
+     * take their defaults from this Follower's FollowerConfig.
      *
      * @return returns a new PathBuilder object.
      */
     public PathBuilder pathBuilder() {
-        return new PathBuilder();
+        return new PathBuilder(config);
+    }
+
+    /**
+     * This returns the FollowerConfig this Follower is using.
+     *
+     * @return returns the FollowerConfig.
+     */
+    public FollowerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * This switches the Follower to a new FollowerConfig without resetting it, so values like the
+     * PIDF coefficients can be tuned live, for example by passing in
+     * FollowerConfig.fromFollowerConstants() every loop. The motor names and the number of
+     * velocity samples only change for a new Follower, and Paths that were already made keep their
+     * own defaults. The DriveVectorScaler is only remade if the front left Vector changed.
+     *
+     * @param set the new FollowerConfig.
+     */
+    public void setConfig(FollowerConfig set) {
+        if (set == config) return;
+        boolean frontLeftVectorChanged = set.frontLeftVector.getXComponent() != config.frontLeftVector.getXComponent()
+                || set.frontLeftVector.getYComponent() != config.frontLeftVector.getYComponent();
+        config = set;
+        BEZIER_CURVE_BINARY_STEP_LIMIT = config.BEZIER_CURVE_BINARY_STEP_LIMIT;
+        holdPointTranslationalScaling = config.holdPointTranslationalScaling;
+        holdPointHeadingScaling = config.holdPointHeadingScaling;
+
+        secondaryTranslationalPIDF.setCoefficients(config.secondaryTranslationalPIDFCoefficients);
+        secondaryTranslationalIntegral.setCoefficients(config.secondaryTranslationalIntegral);
+        translationalPIDF.setCoefficients(config.translationalPIDFCoefficients);
+        translationalIntegral.setCoefficients(config.translationalIntegral);
+        secondaryHeadingPIDF.setCoefficients(config.secondaryHeadingPIDFCoefficients);
+        headingPIDF.setCoefficients(config.headingPIDFCoefficients);
+        secondaryDrivePIDF.setCoefficients(config.secondaryDrivePIDFCoefficients);
+        drivePIDF.setCoefficients(config.drivePIDFCoefficients);
+        driveKalmanFilter.setParameters(config.driveKalmanFilterParameters);
+
+        if (frontLeftVectorChanged) {
+            driveVectorScaler = new DriveVectorScaler(config.frontLeftVector);
+        }
     }
 
     /**
@@ -1026,7 +1459,7 @@ public class Follower {
         telemetry.addData("velocity heading", getVelocity().getTheta());
         driveKalmanFilter.debug(telemetry);
         telemetry.update();
-        if (drawOnDashboard) {
+        if (config.drawOnDashboard) {
             Drawing.drawDebug(this);
         }
     }
@@ -1075,13 +1508,23 @@ public class Follower {
         poseUpdater.resetIMU();
     }
 
+    /**
+     * This returns if the localizer is done with any calibration or reset it has started. Localizers
+     * calibrate in the background, so this can be polled in init while setting up other hardware.
+     *
+     * @return returns if the localizer is ready.
+     */
+    public boolean isLocalizerReady() {
+        return poseUpdater.isLocalizerReady();
+    }
+
     private void debugLog() {
         Log.d("Follower_logger::", "isAtParametricEnd:" + currentPath.isAtParametricEnd()
                 + " | isBusy: " + isBusy
                 + " | closestPose:" + new PoseMessage(closestPose)
                 + " | Pose: " + new PoseMessage(getPose())
                 + " | t-value: " + String.format("%3.5f",currentPath.getClosestPointTValue())
-                + " | zeroVelocityTimer: " +  String.format("%3.2f",(zeroVelocityDetectedTimer==null?0.0: zeroVelocityDetectedTimer.milliseconds()))
+                + " | zeroVelocityTimer: " +  String.format("%3.2f",(zeroVelocityDetectedTimer==null?0.0: (double) zeroVelocityDetectedTimer.getElapsedTime()))
                 + " | velocity: " + String.format("%3.2f",poseUpdater.getVelocity().getMagnitude())
                 + " | distance: " +  String.format("%3.2f",MathFunctions.distance(poseUpdater.getPose(), closestPose))
                 + " | heading (degree): " +  String.format("%3.2f",Math.toDegrees(MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal())))
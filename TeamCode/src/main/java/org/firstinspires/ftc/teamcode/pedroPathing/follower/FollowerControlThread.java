@@ -0,0 +1,595 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierPoint;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.LoopClock;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * This is the FollowerControlThread class. This is an opt in way of running a Follower, where the
+ * localization, the Follower, and the motor writes all run on their own high priority thread at a
+ * fixed rate instead of whenever the OpMode loop gets around to calling update(). This keeps the
+ * time between control loops steady no matter how much the rest of the OpMode is doing.
+ *
+ * Once this is started, the Follower belongs to this thread. Don't call update() or anything that
+ * changes the Follower from the OpMode thread. Instead, use the commands here, like followPath(),
+ * holdPoint(), and breakFollowing(), which are put on a lock free queue and run at the start of the
+ * next control loop. The pose, velocity, and status of the Follower are published back after every
+ * control loop and can be read from any thread with getPose(), getVelocity(), isBusy(), and so on.
+ *
+ * Each control loop sleeps until it is close to its deadline and then spins the rest of the way,
+ * since sleeping alone can wake up a few milliseconds late. If a control loop runs up to or past
+ * the next deadline, that deadline is counted as missed and the deadlines after it are skipped
+ * until the schedule is caught up, rather than running a burst of loops back to back.
+ *
+ * Drawing on the dashboard is turned off in the FollowerConfig of the Follower while this is
+ * running, since it is slow and not thread safe, and is turned back to what it was when this is
+ * stopped. Make sure to call stop() when the
+ * OpMode stops.
+ *
+ * The deadlines are kept with the same Clock the Follower gets the time from, so if the Follower
+ * uses a SimulatedClock, something else has to move that Clock forward for the control loop to
+ * run.
+ */
+public class FollowerControlThread {
+    /**
+     * This is how long before a deadline the control thread stops sleeping and starts spinning.
+     */
+    private static final long SPIN_TIME = TimeUnit.MICROSECONDS.toNanos(1500);
+
+    private final Follower follower;
+    private final Clock clock;
+    private final long period;
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final StampedLock statusLock = new StampedLock();
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile Throwable error;
+    private boolean originalDrawOnDashboard;
+
+    // The teleop inputs are written and read together under the status lock, so the control thread
+    // never uses some inputs from one call and some from the next.
+    private volatile boolean teleopInputsChanged;
+    private double teleopForward;
+    private double teleopLateral;
+    private double teleopHeading;
+    private boolean teleopRobotCentric;
+
+    private double x;
+    private double y;
+    private double heading;
+    private double xVelocity;
+    private double yVelocity;
+    private boolean busy;
+    private double pathNumber;
+    private double tValue;
+
+    private volatile long loopCount;
+    private volatile long missedDeadlines;
+    private volatile long maxOverrun;
+    private volatile long maxLoopTime;
+    private volatile long totalLoopTime;
+
+    /**
+     * This creates a new FollowerControlThread for a Follower. This doesn't start the thread.
+     *
+     * @param follower the Follower to run.
+     * @param frequency how many times a second to run the control loop.
+     */
+    public FollowerControlThread(Follower follower, double frequency) {
+        if (frequency <= 0) {
+            throw new IllegalArgumentException("The control loop frequency must be positive");
+        }
+        this.follower = follower;
+        // The Follower's LoopClock only changes once a loop, so the deadlines use the Clock it reads.
+        Clock followerClock = follower.getClock();
+        this.clock = followerClock instanceof LoopClock ? ((LoopClock) followerClock).getSource() : followerClock;
+        this.period = (long) (1e9 / frequency);
+        publishStatus();
+    }
+
+    /**
+     * This starts the control thread. This does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (running) return;
+        originalDrawOnDashboard = follower.getConfig().drawOnDashboard;
+        setDrawOnDashboard(false);
+        error = null;
+        running = true;
+        thread = new Thread(this::run, "FollowerControlThread");
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This stops the control thread and waits for it to finish. The control thread stops the
+     * motors on its way out.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        setDrawOnDashboard(originalDrawOnDashboard);
+    }
+
+    /**
+     * This switches the Follower to a copy of its FollowerConfig with drawing on the dashboard
+     * turned on or off. This is only safe to call while the control thread isn't running.
+     *
+     * @param drawOnDashboard if the Follower should draw on the dashboard.
+     */
+    private void setDrawOnDashboard(boolean drawOnDashboard) {
+        FollowerConfig.Builder builder = follower.getConfig().toBuilder();
+        builder.drawOnDashboard = drawOnDashboard;
+        follower.setConfig(builder.build());
+    }
+
+    /**
+     * This is the control loop. This runs the commands, updates the Follower, publishes its status,
+     * and then waits for the next deadline. However the control loop ends, even if something is
+     * thrown, the Follower stops following and the motors are set to 0, so the robot isn't left
+     * driving at its last powers.
+     */
+    private void run() {
+        long deadline = clock.nanoTime() + period;
+        try {
+            while (running) {
+                long loopStart = clock.nanoTime();
+
+                Runnable command;
+                while ((command = commands.poll()) != null) {
+                    command.run();
+                }
+                if (teleopInputsChanged) {
+                    applyTeleOpMovementVectors();
+                }
+                follower.update();
+                publishStatus();
+
+                long loopEnd = clock.nanoTime();
+                recordLoop(loopEnd - loopStart);
+                // A control loop that ends right at the deadline has missed it too, or else the next
+                // one would run at the same time, which happens with a Clock that moves in steps.
+                if (loopEnd >= deadline) {
+                    long overrun = loopEnd - deadline;
+                    long skipped = overrun / period + 1;
+                    missedDeadlines += skipped;
+                    if (overrun > maxOverrun) maxOverrun = overrun;
+                    deadline += skipped * period;
+                }
+
+                waitUntil(deadline);
+                deadline += period;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            error = t;
+            running = false;
+        } finally {
+            follower.breakFollowing();
+        }
+    }
+
+    /**
+     * This waits until a time by sleeping until it's almost there and then spinning the rest of
+     * the way.
+     *
+     * @param deadline the time to wait until, from the Clock.
+     * @throws InterruptedException if the thread is interrupted while sleeping.
+     */
+    private void waitUntil(long deadline) throws InterruptedException {
+        long remaining = deadline - clock.nanoTime();
+        if (remaining > SPIN_TIME) {
+            long sleepTime = remaining - SPIN_TIME;
+            Thread.sleep(sleepTime / 1000000, (int) (sleepTime % 1000000));
+        }
+        while (clock.nanoTime() < deadline && running) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * This adds the time a control loop took to the loop statistics.
+     *
+     * @param loopTime how long the control loop took in nanoseconds.
+     */
+    private void recordLoop(long loopTime) {
+        loopCount++;
+        totalLoopTime += loopTime;
+        if (loopTime > maxLoopTime) maxLoopTime = loopTime;
+    }
+
+    /**
+     * This gives the Follower the latest teleop inputs, all from the same call to
+     * setTeleOpMovementVectors().
+     */
+    private void applyTeleOpMovementVectors() {
+        double forwardDrive;
+        double lateralDrive;
+        double heading;
+        boolean robotCentric;
+        long stamp = statusLock.writeLock();
+        try {
+            forwardDrive = teleopForward;
+            lateralDrive = teleopLateral;
+            heading = teleopHeading;
+            robotCentric = teleopRobotCentric;
+            teleopInputsChanged = false;
+        } finally {
+            statusLock.unlockWrite(stamp);
+        }
+        follower.setTeleOpMovementVectors(forwardDrive, lateralDrive, heading, robotCentric);
+    }
+
+    /**
+     * This copies the pose and status of the Follower to where the other threads can read them.
+     * The readers use optimistic reads, so they never block the control loop.
+     */
+    private void publishStatus() {
+        Pose pose = follower.getPose();
+        Vector velocity = follower.getVelocity();
+        long stamp = statusLock.writeLock();
+        try {
+            x = pose.getX();
+            y = pose.getY();
+            heading = pose.getHeading();
+            xVelocity = velocity.getXComponent();
+            yVelocity = velocity.getYComponent();
+            busy = follower.isBusy();
+            pathNumber = follower.getCurrentPathNumber();
+            tValue = follower.getCurrentTValue();
+        } finally {
+            statusLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * This adds a command to be run on the control thread at the start of the next control loop.
+     * Commands are run in the order they are sent.
+     *
+     * @param command the command to run.
+     */
+    public void send(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * This makes the Follower follow a Path on the control thread.
+     *
+     * @param path the Path to follow.
+     * @param holdEnd if the Follower should hold the end of the Path.
+     */
+    public void followPath(final Path path, final boolean holdEnd) {
+        send(() -> follower.followPath(path, holdEnd));
+    }
+
+    /**
+     * This makes the Follower follow a Path on the control thread.
+     *
+     * @param path the Path to follow.
+     */
+    public void followPath(Path path) {
+        followPath(path, false);
+    }
+
+    /**
+     * This makes the Follower follow a PathChain on the control thread.
+     *
+     * @param pathChain the PathChain to follow.
+     * @param holdEnd if the Follower should hold the end of the PathChain.
+     */
+    public void followPath(final PathChain pathChain, final boolean holdEnd) {
+        send(() -> follower.followPath(pathChain, holdEnd));
+    }
+
+    /**
+     * This makes the Follower follow a PathChain on the control thread.
+     *
+     * @param pathChain the PathChain to follow.
+     */
+    public void followPath(PathChain pathChain) {
+        followPath(pathChain, false);
+    }
+
+    /**
+     * This makes the Follower hold a Point on the control thread.
+     *
+     * @param point the Point to stay at.
+     * @param heading the heading to face.
+     */
+    public void holdPoint(final BezierPoint point, final double heading) {
+        send(() -> follower.holdPoint(point, heading));
+    }
+
+    /**
+     * This makes the Follower hold a Point on the control thread.
+     *
+     * @param point the Point to stay at.
+     * @param heading the heading to face.
+     */
+    public void holdPoint(Point point, double heading) {
+        holdPoint(new BezierPoint(point), heading);
+    }
+
+    /**
+     * This makes the Follower stop following on the control thread.
+     */
+    public void breakFollowing() {
+        send(follower::breakFollowing);
+    }
+
+    /**
+     * This starts teleop drive on the control thread.
+     */
+    public void startTeleopDrive() {
+        send(follower::startTeleopDrive);
+    }
+
+    /**
+     * This sets the teleop drive vectors. Only the latest values are used by the control thread, so
+     * this can be called every OpMode loop without filling up the command queue.
+     *
+     * @param forwardDrive the forward drive vector, or the x-axis in field centric movement.
+     * @param lateralDrive the lateral drive vector, or the y-axis in field centric movement.
+     * @param heading the heading vector.
+     * @param robotCentric sets if the movement will be field or robot centric.
+     */
+    public void setTeleOpMovementVectors(double forwardDrive, double lateralDrive, double heading, boolean robotCentric) {
+        long stamp = statusLock.writeLock();
+        try {
+            teleopForward = forwardDrive;
+            teleopLateral = lateralDrive;
+            teleopHeading = heading;
+            teleopRobotCentric = robotCentric;
+            teleopInputsChanged = true;
+        } finally {
+            statusLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * This sets the teleop drive vectors. This defaults to robot centric.
+     *
+     * @param forwardDrive the forward drive vector.
+     * @param lateralDrive the lateral drive vector.
+     * @param heading the heading vector.
+     */
+    public void setTeleOpMovementVectors(double forwardDrive, double lateralDrive, double heading) {
+        setTeleOpMovementVectors(forwardDrive, lateralDrive, heading, true);
+    }
+
+    /**
+     * This sets the maximum power of the motors on the control thread.
+     *
+     * @param maxPower the new maximum power.
+     */
+    public void setMaxPower(final double maxPower) {
+        send(() -> follower.setMaxPower(maxPower));
+    }
+
+    /**
+     * This sets the current pose of the robot on the control thread.
+     *
+     * @param pose the new pose.
+     */
+    public void setPose(final Pose pose) {
+        send(() -> follower.setPose(pose));
+    }
+
+    /**
+     * This returns the pose of the robot as of the last control loop.
+     *
+     * @return returns the pose.
+     */
+    public Pose getPose() {
+        long stamp = statusLock.tryOptimisticRead();
+        double currentX = x;
+        double currentY = y;
+        double currentHeading = heading;
+        if (!statusLock.validate(stamp)) {
+            stamp = statusLock.readLock();
+            try {
+                currentX = x;
+                currentY = y;
+                currentHeading = heading;
+            } finally {
+                statusLock.unlockRead(stamp);
+            }
+        }
+        return new Pose(currentX, currentY, currentHeading);
+    }
+
+    /**
+     * This returns the velocity of the robot as of the last control loop.
+     *
+     * @return returns the velocity.
+     */
+    public Vector getVelocity() {
+        long stamp = statusLock.tryOptimisticRead();
+        double currentXVelocity = xVelocity;
+        double currentYVelocity = yVelocity;
+        if (!statusLock.validate(stamp)) {
+            stamp = statusLock.readLock();
+            try {
+                currentXVelocity = xVelocity;
+                currentYVelocity = yVelocity;
+            } finally {
+                statusLock.unlockRead(stamp);
+            }
+        }
+        Vector velocity = new Vector();
+        velocity.setOrthogonalComponents(currentXVelocity, currentYVelocity);
+        return velocity;
+    }
+
+    /**
+     * This returns if the Follower was busy as of the last control loop. Commands that haven't been
+     * run yet aren't counted, so this can still be false right after followPath() is called.
+     *
+     * @return returns if the Follower is busy.
+     */
+    public boolean isBusy() {
+        long stamp = statusLock.tryOptimisticRead();
+        boolean currentBusy = busy;
+        if (!statusLock.validate(stamp)) {
+            stamp = statusLock.readLock();
+            try {
+                currentBusy = busy;
+            } finally {
+                statusLock.unlockRead(stamp);
+            }
+        }
+        return currentBusy;
+    }
+
+    /**
+     * This returns if there are commands that haven't been run by the control thread yet.
+     *
+     * @return returns if there are commands waiting.
+     */
+    public boolean hasPendingCommands() {
+        return !commands.isEmpty();
+    }
+
+    /**
+     * This returns the current path number as of the last control loop.
+     *
+     * @return returns the current path number.
+     */
+    public double getCurrentPathNumber() {
+        long stamp = statusLock.tryOptimisticRead();
+        double currentPathNumber = pathNumber;
+        if (!statusLock.validate(stamp)) {
+            stamp = statusLock.readLock();
+            try {
+                currentPathNumber = pathNumber;
+            } finally {
+                statusLock.unlockRead(stamp);
+            }
+        }
+        return currentPathNumber;
+    }
+
+    /**
+     * This returns the t-value of the closest point on the current Path as of the last control loop.
+     *
+     * @return returns the t-value.
+     */
+    public double getCurrentTValue() {
+        long stamp = statusLock.tryOptimisticRead();
+        double currentTValue = tValue;
+        if (!statusLock.validate(stamp)) {
+            stamp = statusLock.readLock();
+            try {
+                currentTValue = tValue;
+            } finally {
+                statusLock.unlockRead(stamp);
+            }
+        }
+        return currentTValue;
+    }
+
+    /**
+     * This returns if the control thread is running.
+     *
+     * @return returns if the control thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * This returns what stopped the control thread if it stopped because something was thrown.
+     *
+     * @return returns what was thrown, or null if nothing was.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * This returns the time between control loop deadlines.
+     *
+     * @return returns the period in milliseconds.
+     */
+    public double getPeriod() {
+        return period / 1e6;
+    }
+
+    /**
+     * This returns how many control loops have run.
+     *
+     * @return returns the number of control loops.
+     */
+    public long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * This returns how many deadlines have been missed because a control loop ran too long.
+     *
+     * @return returns the number of missed deadlines.
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    /**
+     * This returns the longest a control loop has run past its deadline.
+     *
+     * @return returns the worst overrun in milliseconds.
+     */
+    public double getMaxOverrun() {
+        return maxOverrun / 1e6;
+    }
+
+    /**
+     * This returns the longest a control loop has taken to run, not counting waiting.
+     *
+     * @return returns the worst loop time in milliseconds.
+     */
+    public double getMaxLoopTime() {
+        return maxLoopTime / 1e6;
+    }
+
+    /**
+     * This returns the average time a control loop has taken to run, not counting waiting.
+     *
+     * @return returns the average loop time in milliseconds.
+     */
+    public double getAverageLoopTime() {
+        long loops = loopCount;
+        if (loops == 0) return 0;
+        return totalLoopTime / 1e6 / loops;
+    }
+
+    /**
+     * This resets the loop statistics. This is only safe to call while the control thread isn't
+     * running, since the statistics are only ever written by the control thread.
+     */
+    public void resetStatistics() {
+        loopCount = 0;
+        missedDeadlines = 0;
+        maxOverrun = 0;
+        maxLoopTime = 0;
+        totalLoopTime = 0;
+    }
+}
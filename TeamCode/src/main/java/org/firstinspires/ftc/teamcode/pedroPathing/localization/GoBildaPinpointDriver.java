@@ -39,7 +39,6 @@ import org.firstinspires.ftc.robotcore.external.navigation.Pose2D;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.Arrays;
 
 
 @I2cDeviceType
@@ -62,6 +61,22 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
     private float yVelocity    = 0;
     private float hVelocity    = 0;
 
+    //the bulk read is copied into this so it can be decoded without making any garbage
+    private static final int BULK_READ_LENGTH = 40;
+    private final byte[] bulkRead = new byte[BULK_READ_LENGTH];
+    private final ByteBuffer bulkReadBuffer = ByteBuffer.wrap(bulkRead).order(ByteOrder.LITTLE_ENDIAN);
+
+    //what adaptiveUpdate() has been asked to read, and how its reads have gone
+    private int requestedData        = 0;
+    private long lastBulkReadTime    = 0;
+    private long lastHeadingReadTime = 0;
+    private long bulkReadCount       = 0;
+    private long headingReadCount    = 0;
+    private long skippedReadCount    = 0;
+    private long totalBulkReadTime   = 0;
+    private long totalHeadingReadTime = 0;
+    private double savedReadTime     = 0;
+
     private static final float goBILDA_SWINGARM_POD = 13.26291192f; //ticks-per-mm for the goBILDA Swingarm Pod
     private static final float goBILDA_4_BAR_POD    = 19.89436789f; //ticks-per-mm for the goBILDA 4-Bar Pod
 
@@ -154,6 +169,20 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
         ONLY_UPDATE_HEADING,
     }
 
+    //enum that captures the kinds of data that can be requested from adaptiveUpdate()
+    public enum Data {
+        POSITION (1),
+        HEADING  (1 << 1),
+        VELOCITY (1 << 2),
+        STATUS   (1 << 3);
+
+        private final int bit;
+
+        Data(int bit){
+            this.bit = bit;
+        }
+    }
+
 
     /** Writes an int to the i2c device
      @param reg the register to write the int to
@@ -225,7 +254,7 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
      * @param s int to lookup
      * @return the Odometry Computer state
      */
-    private DeviceStatus lookupStatus (int s){
+    public static DeviceStatus lookupStatus (int s){
         if ((s & DeviceStatus.CALIBRATING.status) != 0){
             return DeviceStatus.CALIBRATING;
         }
@@ -254,19 +283,21 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
 
     /**
      * Call this once per loop to read new data from the Odometry Computer. Data will only update once this is called.
+     * The read is decoded straight out of a reused little-endian buffer, so this doesn't make any garbage besides
+     * the array the I2C read itself returns.
      */
     public void update(){
-        byte[] bArr   = deviceClient.read(Register.BULK_READ.bVal, 40);
-        deviceStatus  = byteArrayToInt(Arrays.copyOfRange  (bArr, 0, 4),  ByteOrder.LITTLE_ENDIAN);
-        loopTime      = byteArrayToInt(Arrays.copyOfRange  (bArr, 4, 8),  ByteOrder.LITTLE_ENDIAN);
-        xEncoderValue = byteArrayToInt(Arrays.copyOfRange  (bArr, 8, 12), ByteOrder.LITTLE_ENDIAN);
-        yEncoderValue = byteArrayToInt(Arrays.copyOfRange  (bArr, 12,16), ByteOrder.LITTLE_ENDIAN);
-        xPosition     = byteArrayToFloat(Arrays.copyOfRange(bArr, 16,20), ByteOrder.LITTLE_ENDIAN);
-        yPosition     = byteArrayToFloat(Arrays.copyOfRange(bArr, 20,24), ByteOrder.LITTLE_ENDIAN);
-        hOrientation  = byteArrayToFloat(Arrays.copyOfRange(bArr, 24,28), ByteOrder.LITTLE_ENDIAN);
-        xVelocity     = byteArrayToFloat(Arrays.copyOfRange(bArr, 28,32), ByteOrder.LITTLE_ENDIAN);
-        yVelocity     = byteArrayToFloat(Arrays.copyOfRange(bArr, 32,36), ByteOrder.LITTLE_ENDIAN);
-        hVelocity     = byteArrayToFloat(Arrays.copyOfRange(bArr, 36,40), ByteOrder.LITTLE_ENDIAN);
+        System.arraycopy(deviceClient.read(Register.BULK_READ.bVal, BULK_READ_LENGTH), 0, bulkRead, 0, BULK_READ_LENGTH);
+        deviceStatus  = bulkReadBuffer.getInt(0);
+        loopTime      = bulkReadBuffer.getInt(4);
+        xEncoderValue = bulkReadBuffer.getInt(8);
+        yEncoderValue = bulkReadBuffer.getInt(12);
+        xPosition     = bulkReadBuffer.getFloat(16);
+        yPosition     = bulkReadBuffer.getFloat(20);
+        hOrientation  = bulkReadBuffer.getFloat(24);
+        xVelocity     = bulkReadBuffer.getFloat(28);
+        yVelocity     = bulkReadBuffer.getFloat(32);
+        hVelocity     = bulkReadBuffer.getFloat(36);
     }
 
     /**
@@ -277,10 +308,96 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
      */
     public void update(readData data) {
         if (data == readData.ONLY_UPDATE_HEADING) {
-            hOrientation = byteArrayToFloat(deviceClient.read(Register.H_ORIENTATION.bVal, 4), ByteOrder.LITTLE_ENDIAN);
+            System.arraycopy(deviceClient.read(Register.H_ORIENTATION.bVal, 4), 0, bulkRead, 24, 4);
+            hOrientation = bulkReadBuffer.getFloat(24);
+        }
+    }
+
+    /**
+     * Asks the next adaptiveUpdate() to read a kind of data. Call this for everything that will be used this loop.
+     * @param data the kind of data that will be used
+     */
+    public void request(Data data){
+        requestedData |= data.bit;
+    }
+
+    /**
+     * Call this once per loop instead of update() to only read what was requested with request() since the last
+     * adaptiveUpdate(), and only if the Odometry Computer has had time to make new data. The Odometry Computer makes
+     * new data once per loop time, so any read sooner than that after the last one would just return the same data again
+     * and is skipped. If only the heading was requested, only the heading register is read, otherwise a bulk read is done.
+     * @return true if anything was read, false if the read was skipped
+     */
+    public boolean adaptiveUpdate(){
+        int data = requestedData;
+        requestedData = 0;
+        long now = System.nanoTime();
+        long devicePeriod = loopTime * 1000L;
+
+        if (data == Data.HEADING.bit) {
+            if (now - Math.max(lastBulkReadTime, lastHeadingReadTime) < devicePeriod) {
+                skippedReadCount++;
+                savedReadTime += getAverageHeadingReadTime();
+                return false;
+            }
+            update(readData.ONLY_UPDATE_HEADING);
+            lastHeadingReadTime = System.nanoTime();
+            headingReadCount++;
+            totalHeadingReadTime += lastHeadingReadTime - now;
+            if (bulkReadCount > 0) {
+                savedReadTime += Math.max(0, getAverageBulkReadTime() - getAverageHeadingReadTime());
+            }
+            return true;
+        }
+
+        if (data == 0 || now - lastBulkReadTime < devicePeriod) {
+            skippedReadCount++;
+            savedReadTime += getAverageBulkReadTime();
+            return false;
         }
+        update();
+        lastBulkReadTime = System.nanoTime();
+        bulkReadCount++;
+        totalBulkReadTime += lastBulkReadTime - now;
+        return true;
+    }
+
+    /**
+     * @return how many bulk reads adaptiveUpdate() has done
+     */
+    public long getBulkReadCount(){return bulkReadCount; }
+
+    /**
+     * @return how many heading only reads adaptiveUpdate() has done
+     */
+    public long getHeadingReadCount(){return headingReadCount; }
+
+    /**
+     * @return how many reads adaptiveUpdate() has skipped because the data would have been the same or wasn't needed
+     */
+    public long getSkippedReadCount(){return skippedReadCount; }
+
+    /**
+     * @return the average time a bulk read from adaptiveUpdate() has taken, in nanoseconds
+     */
+    public long getAverageBulkReadTime(){
+        return bulkReadCount == 0 ? 0 : totalBulkReadTime / bulkReadCount;
     }
 
+    /**
+     * @return the average time a heading only read from adaptiveUpdate() has taken, in nanoseconds
+     */
+    public long getAverageHeadingReadTime(){
+        return headingReadCount == 0 ? 0 : totalHeadingReadTime / headingReadCount;
+    }
+
+    /**
+     * Estimates how much time on the I2C bus adaptiveUpdate() has saved compared to doing a bulk read every loop,
+     * using the average times of the reads it did do.
+     * @return the estimated time saved in milliseconds
+     */
+    public double getSavedReadTime(){return savedReadTime / 1e6; }
+
     /**
      * Sets the odometry pod positions relative to the point that the odometry computer tracks around.<br><br>
      * The most common tracking position is the center of the robot. <br> <br>
@@ -419,6 +536,11 @@ public class GoBildaPinpointDriver extends I2cDeviceSynchDevice<I2cDeviceSynchSi
      */
     public DeviceStatus getDeviceStatus(){return lookupStatus(deviceStatus); }
 
+    /**
+     * @return the raw device status bits from the most recent update, which getDeviceStatus() turns into a DeviceStatus
+     */
+    public int getRawDeviceStatus(){return deviceStatus; }
+
     /**
      * Checks the Odometry Computer's most recent loop time.<br><br>
      * If values less than 500, or more than 1100 are commonly seen here, there may be something wrong with your device. Please reach out to tech@gobilda.com
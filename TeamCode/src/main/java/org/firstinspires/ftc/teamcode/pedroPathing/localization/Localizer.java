@@ -3,6 +3,7 @@ package org.firstinspires.ftc.teamcode.pedroPathing.localization;
 import com.qualcomm.robotcore.hardware.IMU;
 
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
 
 /**
  * This is the Localizer class. It is an abstract superclass of all localizers used in Pedro Pathing,
@@ -21,6 +22,22 @@ public abstract class Localizer {
      */
     public abstract Pose getPose();
 
+    /**
+     * This writes the current pose estimate from the Localizer into a specified Pose, so that
+     * nothing new is created. By default this copies getPose(), so Localizers that are read every
+     * loop should override this.
+     *
+     * @param output the Pose to write the pose into.
+     * @return returns the output Pose.
+     */
+    public Pose getPose(Pose output) {
+        Pose pose = getPose();
+        output.setX(pose.getX());
+        output.setY(pose.getY());
+        output.setHeading(pose.getHeading());
+        return output;
+    }
+
     /**
      * This returns the current velocity estimate from the Localizer.
      *
@@ -94,6 +111,38 @@ public abstract class Localizer {
      */
     public abstract void resetIMU();
 
+    /**
+     * This returns if the localizer is done with any calibration or reset it has started. Localizers
+     * that calibrate or reset in the background are overridden to check on that here, so this can
+     * be polled while doing other setup.
+     *
+     * @return returns if the localizer is ready
+     */
+    public boolean isReady() {
+        return true;
+    }
+
+    /**
+     * This returns if the localizer is in the middle of a calibration or reset, as of the last
+     * update. Unlike isReady(), this doesn't check on the calibration or reset, so it doesn't read
+     * the hardware and can be used right after update().
+     *
+     * @return returns if the localizer is calibrating or resetting
+     */
+    public boolean isCalibrating() {
+        return false;
+    }
+
+    /**
+     * This sets the Clock the localizer gets the time from, for localizers that keep track of time.
+     * The PoseUpdater sets this to its own Clock, so a localizer used by a Follower gets the time
+     * from the Follower. This does nothing by default.
+     *
+     * @param clock the Clock to get the time from
+     */
+    public void setClock(Clock clock) {
+    }
+
     /**
      * This is overridden to return the IMU, if there is one.
      *
@@ -10,7 +10,10 @@ import java.util.Arrays;
  *
  * @author Anyi Lin - 10158 Scott's Bots
  * @version 1.0, 4/2/2024
+ * @deprecated This creates new arrays for every product and copy, so it shouldn't be used in a
+ *             loop. Use Matrix2, Matrix3, or Matrix6, which work in place on flat double arrays.
  */
+@Deprecated
 public class Matrix {
     private double[][] matrix;
 
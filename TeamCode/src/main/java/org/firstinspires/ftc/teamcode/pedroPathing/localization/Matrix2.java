@@ -0,0 +1,213 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the Matrix2 class. This class has operations on 2x2 matrices and 2x1 vectors that are
+ * stored in flat double arrays, with 2x2 matrices stored row by row. Nothing is created by any of
+ * the operations, since the results are written into arrays that are passed in, so these are safe
+ * to use every loop.
+ *
+ * Unless it says otherwise, the output array of an operation can't be one of its inputs.
+ */
+public final class Matrix2 {
+    private Matrix2() {
+    }
+
+    /**
+     * This sets a 2x2 matrix to the identity matrix.
+     *
+     * @param output the matrix to write into.
+     */
+    public static void setIdentity(double[] output) {
+        setDiagonal(1, 1, output);
+    }
+
+    /**
+     * This sets a 2x2 matrix to a diagonal matrix.
+     *
+     * @param a the first entry on the diagonal.
+     * @param b the second entry on the diagonal.
+     * @param output the matrix to write into.
+     */
+    public static void setDiagonal(double a, double b, double[] output) {
+        output[0] = a;
+        output[1] = 0;
+        output[2] = 0;
+        output[3] = b;
+    }
+
+    /**
+     * This adds two 2x2 matrices. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the second matrix.
+     * @param output the matrix to write a + b into.
+     */
+    public static void add(double[] a, double[] b, double[] output) {
+        output[0] = a[0] + b[0];
+        output[1] = a[1] + b[1];
+        output[2] = a[2] + b[2];
+        output[3] = a[3] + b[3];
+    }
+
+    /**
+     * This subtracts one 2x2 matrix from another. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the matrix to subtract.
+     * @param output the matrix to write a - b into.
+     */
+    public static void subtract(double[] a, double[] b, double[] output) {
+        output[0] = a[0] - b[0];
+        output[1] = a[1] - b[1];
+        output[2] = a[2] - b[2];
+        output[3] = a[3] - b[3];
+    }
+
+    /**
+     * This multiplies a 2x2 matrix by a number. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param scalar the number.
+     * @param output the matrix to write scalar * a into.
+     */
+    public static void scale(double[] a, double scalar, double[] output) {
+        output[0] = a[0] * scalar;
+        output[1] = a[1] * scalar;
+        output[2] = a[2] * scalar;
+        output[3] = a[3] * scalar;
+    }
+
+    /**
+     * This multiplies two 2x2 matrices.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix.
+     * @param output the matrix to write a * b into.
+     */
+    public static void multiply(double[] a, double[] b, double[] output) {
+        output[0] = a[0] * b[0] + a[1] * b[2];
+        output[1] = a[0] * b[1] + a[1] * b[3];
+        output[2] = a[2] * b[0] + a[3] * b[2];
+        output[3] = a[2] * b[1] + a[3] * b[3];
+    }
+
+    /**
+     * This multiplies a 2x2 matrix by the transpose of another, without transposing it first.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix, which is transposed.
+     * @param output the matrix to write a * b^T into.
+     */
+    public static void multiplyTransposed(double[] a, double[] b, double[] output) {
+        output[0] = a[0] * b[0] + a[1] * b[1];
+        output[1] = a[0] * b[2] + a[1] * b[3];
+        output[2] = a[2] * b[0] + a[3] * b[1];
+        output[3] = a[2] * b[2] + a[3] * b[3];
+    }
+
+    /**
+     * This transposes a 2x2 matrix. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write a^T into.
+     */
+    public static void transpose(double[] a, double[] output) {
+        double a1 = a[1];
+        output[0] = a[0];
+        output[1] = a[2];
+        output[2] = a1;
+        output[3] = a[3];
+    }
+
+    /**
+     * This multiplies a 2x2 matrix by a 2x1 vector.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @param output the vector to write a * v into.
+     */
+    public static void multiplyVector(double[] a, double[] v, double[] output) {
+        double v0 = v[0];
+        double v1 = v[1];
+        output[0] = a[0] * v0 + a[1] * v1;
+        output[1] = a[2] * v0 + a[3] * v1;
+    }
+
+    /**
+     * This returns v^T * a * v for a 2x2 matrix and a 2x1 vector.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @return returns v^T * a * v.
+     */
+    public static double quadraticForm(double[] a, double[] v) {
+        return v[0] * (a[0] * v[0] + a[1] * v[1]) + v[1] * (a[2] * v[0] + a[3] * v[1]);
+    }
+
+    /**
+     * This returns the determinant of a 2x2 matrix.
+     *
+     * @param a the matrix.
+     * @return returns the determinant.
+     */
+    public static double determinant(double[] a) {
+        return a[0] * a[3] - a[1] * a[2];
+    }
+
+    /**
+     * This inverts a 2x2 matrix. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write the inverse of a into.
+     * @return returns false if a can't be inverted, in which case the output isn't changed.
+     */
+    public static boolean invert(double[] a, double[] output) {
+        double determinant = determinant(a);
+        if (determinant == 0 || Double.isNaN(determinant)) return false;
+        double inverse = 1 / determinant;
+        double a0 = a[0];
+        output[0] = a[3] * inverse;
+        output[1] = -a[1] * inverse;
+        output[2] = -a[2] * inverse;
+        output[3] = a0 * inverse;
+        return true;
+    }
+
+    /**
+     * This finds the Cholesky decomposition of a symmetric positive definite 2x2 matrix, which is
+     * the lower triangular matrix L where a = L * L^T. Only the lower triangle of a is read. The
+     * output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write L into.
+     * @return returns false if a isn't positive definite, in which case the output isn't changed.
+     */
+    public static boolean cholesky(double[] a, double[] output) {
+        double a2 = a[2];
+        double a3 = a[3];
+        if (!(a[0] > 0)) return false;
+        double l0 = Math.sqrt(a[0]);
+        double l2 = a2 / l0;
+        double d3 = a3 - l2 * l2;
+        if (!(d3 > 0)) return false;
+        output[0] = l0;
+        output[1] = 0;
+        output[2] = l2;
+        output[3] = Math.sqrt(d3);
+        return true;
+    }
+
+    /**
+     * This solves a * x = b for x, using the Cholesky decomposition L of a. The output can be b.
+     *
+     * @param l the Cholesky decomposition of a, from cholesky().
+     * @param b the 2x1 vector b.
+     * @param output the vector to write x into.
+     */
+    public static void solveCholesky(double[] l, double[] b, double[] output) {
+        double y0 = b[0] / l[0];
+        double y1 = (b[1] - l[2] * y0) / l[3];
+        output[1] = y1 / l[3];
+        output[0] = (y0 - l[2] * output[1]) / l[0];
+    }
+}
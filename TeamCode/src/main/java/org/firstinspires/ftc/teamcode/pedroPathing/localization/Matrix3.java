@@ -0,0 +1,260 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the Matrix3 class. This class has operations on 3x3 matrices and 3x1 vectors that are
+ * stored in flat double arrays, with 3x3 matrices stored row by row. Nothing is created by any of
+ * the operations, since the results are written into arrays that are passed in, so these are safe
+ * to use every loop, like in a Kalman filter.
+ *
+ * Unless it says otherwise, the output array of an operation can't be one of its inputs.
+ */
+public final class Matrix3 {
+    private Matrix3() {
+    }
+
+    /**
+     * This sets a 3x3 matrix to the identity matrix.
+     *
+     * @param output the matrix to write into.
+     */
+    public static void setIdentity(double[] output) {
+        setDiagonal(1, 1, 1, output);
+    }
+
+    /**
+     * This sets a 3x3 matrix to a diagonal matrix.
+     *
+     * @param a the first entry on the diagonal.
+     * @param b the second entry on the diagonal.
+     * @param c the third entry on the diagonal.
+     * @param output the matrix to write into.
+     */
+    public static void setDiagonal(double a, double b, double c, double[] output) {
+        output[0] = a;
+        output[1] = 0;
+        output[2] = 0;
+        output[3] = 0;
+        output[4] = b;
+        output[5] = 0;
+        output[6] = 0;
+        output[7] = 0;
+        output[8] = c;
+    }
+
+    /**
+     * This adds two 3x3 matrices. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the second matrix.
+     * @param output the matrix to write a + b into.
+     */
+    public static void add(double[] a, double[] b, double[] output) {
+        for (int i = 0; i < 9; i++) {
+            output[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * This subtracts one 3x3 matrix from another. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the matrix to subtract.
+     * @param output the matrix to write a - b into.
+     */
+    public static void subtract(double[] a, double[] b, double[] output) {
+        for (int i = 0; i < 9; i++) {
+            output[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * This multiplies a 3x3 matrix by a number. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param scalar the number.
+     * @param output the matrix to write scalar * a into.
+     */
+    public static void scale(double[] a, double scalar, double[] output) {
+        for (int i = 0; i < 9; i++) {
+            output[i] = a[i] * scalar;
+        }
+    }
+
+    /**
+     * This multiplies two 3x3 matrices.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix.
+     * @param output the matrix to write a * b into.
+     */
+    public static void multiply(double[] a, double[] b, double[] output) {
+        for (int row = 0; row < 9; row += 3) {
+            double a0 = a[row];
+            double a1 = a[row + 1];
+            double a2 = a[row + 2];
+            output[row] = a0 * b[0] + a1 * b[3] + a2 * b[6];
+            output[row + 1] = a0 * b[1] + a1 * b[4] + a2 * b[7];
+            output[row + 2] = a0 * b[2] + a1 * b[5] + a2 * b[8];
+        }
+    }
+
+    /**
+     * This multiplies a 3x3 matrix by the transpose of another, without transposing it first.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix, which is transposed.
+     * @param output the matrix to write a * b^T into.
+     */
+    public static void multiplyTransposed(double[] a, double[] b, double[] output) {
+        for (int row = 0; row < 9; row += 3) {
+            double a0 = a[row];
+            double a1 = a[row + 1];
+            double a2 = a[row + 2];
+            output[row] = a0 * b[0] + a1 * b[1] + a2 * b[2];
+            output[row + 1] = a0 * b[3] + a1 * b[4] + a2 * b[5];
+            output[row + 2] = a0 * b[6] + a1 * b[7] + a2 * b[8];
+        }
+    }
+
+    /**
+     * This transposes a 3x3 matrix. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write a^T into.
+     */
+    public static void transpose(double[] a, double[] output) {
+        double a1 = a[1];
+        double a2 = a[2];
+        double a5 = a[5];
+        output[0] = a[0];
+        output[1] = a[3];
+        output[2] = a[6];
+        output[3] = a1;
+        output[4] = a[4];
+        output[5] = a[7];
+        output[6] = a2;
+        output[7] = a5;
+        output[8] = a[8];
+    }
+
+    /**
+     * This multiplies a 3x3 matrix by a 3x1 vector.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @param output the vector to write a * v into.
+     */
+    public static void multiplyVector(double[] a, double[] v, double[] output) {
+        double v0 = v[0];
+        double v1 = v[1];
+        double v2 = v[2];
+        output[0] = a[0] * v0 + a[1] * v1 + a[2] * v2;
+        output[1] = a[3] * v0 + a[4] * v1 + a[5] * v2;
+        output[2] = a[6] * v0 + a[7] * v1 + a[8] * v2;
+    }
+
+    /**
+     * This returns v^T * a * v for a 3x3 matrix and a 3x1 vector. With the inverse of a covariance
+     * matrix, this is the squared Mahalanobis distance of v.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @return returns v^T * a * v.
+     */
+    public static double quadraticForm(double[] a, double[] v) {
+        double v0 = v[0];
+        double v1 = v[1];
+        double v2 = v[2];
+        return v0 * (a[0] * v0 + a[1] * v1 + a[2] * v2)
+                + v1 * (a[3] * v0 + a[4] * v1 + a[5] * v2)
+                + v2 * (a[6] * v0 + a[7] * v1 + a[8] * v2);
+    }
+
+    /**
+     * This returns the determinant of a 3x3 matrix.
+     *
+     * @param a the matrix.
+     * @return returns the determinant.
+     */
+    public static double determinant(double[] a) {
+        return a[0] * (a[4] * a[8] - a[5] * a[7])
+                - a[1] * (a[3] * a[8] - a[5] * a[6])
+                + a[2] * (a[3] * a[7] - a[4] * a[6]);
+    }
+
+    /**
+     * This inverts a 3x3 matrix using its adjugate.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write the inverse of a into.
+     * @return returns false if a can't be inverted, in which case the output isn't changed.
+     */
+    public static boolean invert(double[] a, double[] output) {
+        double c0 = a[4] * a[8] - a[5] * a[7];
+        double c1 = a[5] * a[6] - a[3] * a[8];
+        double c2 = a[3] * a[7] - a[4] * a[6];
+        double determinant = a[0] * c0 + a[1] * c1 + a[2] * c2;
+        if (determinant == 0 || Double.isNaN(determinant)) return false;
+        double inverse = 1 / determinant;
+        output[0] = c0 * inverse;
+        output[1] = (a[2] * a[7] - a[1] * a[8]) * inverse;
+        output[2] = (a[1] * a[5] - a[2] * a[4]) * inverse;
+        output[3] = c1 * inverse;
+        output[4] = (a[0] * a[8] - a[2] * a[6]) * inverse;
+        output[5] = (a[2] * a[3] - a[0] * a[5]) * inverse;
+        output[6] = c2 * inverse;
+        output[7] = (a[1] * a[6] - a[0] * a[7]) * inverse;
+        output[8] = (a[0] * a[4] - a[1] * a[3]) * inverse;
+        return true;
+    }
+
+    /**
+     * This finds the Cholesky decomposition of a symmetric positive definite 3x3 matrix, which is
+     * the lower triangular matrix L where a = L * L^T. Only the lower triangle of a is read. The
+     * output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write L into.
+     * @return returns false if a isn't positive definite, in which case the output isn't changed.
+     */
+    public static boolean cholesky(double[] a, double[] output) {
+        if (!(a[0] > 0)) return false;
+        double l0 = Math.sqrt(a[0]);
+        double l3 = a[3] / l0;
+        double l6 = a[6] / l0;
+        double d4 = a[4] - l3 * l3;
+        if (!(d4 > 0)) return false;
+        double l4 = Math.sqrt(d4);
+        double l7 = (a[7] - l6 * l3) / l4;
+        double d8 = a[8] - l6 * l6 - l7 * l7;
+        if (!(d8 > 0)) return false;
+        output[0] = l0;
+        output[1] = 0;
+        output[2] = 0;
+        output[3] = l3;
+        output[4] = l4;
+        output[5] = 0;
+        output[6] = l6;
+        output[7] = l7;
+        output[8] = Math.sqrt(d8);
+        return true;
+    }
+
+    /**
+     * This solves a * x = b for x, using the Cholesky decomposition L of a. The output can be b.
+     *
+     * @param l the Cholesky decomposition of a, from cholesky().
+     * @param b the 3x1 vector b.
+     * @param output the vector to write x into.
+     */
+    public static void solveCholesky(double[] l, double[] b, double[] output) {
+        double y0 = b[0] / l[0];
+        double y1 = (b[1] - l[3] * y0) / l[4];
+        double y2 = (b[2] - l[6] * y0 - l[7] * y1) / l[8];
+        double x2 = y2 / l[8];
+        double x1 = (y1 - l[7] * x2) / l[4];
+        output[0] = (y0 - l[3] * x1 - l[6] * x2) / l[0];
+        output[1] = x1;
+        output[2] = x2;
+    }
+}
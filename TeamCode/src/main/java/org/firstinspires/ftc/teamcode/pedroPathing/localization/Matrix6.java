@@ -0,0 +1,286 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the Matrix6 class. This class has operations on 6x6 matrices and 6x1 vectors that are
+ * stored in flat double arrays, with 6x6 matrices stored row by row. Nothing is created by any of
+ * the operations, since the results are written into arrays that are passed in, so these are safe
+ * to use every loop, like in a Kalman filter that keeps track of a pose and a velocity.
+ *
+ * Inverting is only done for symmetric positive definite matrices, like covariance matrices, using
+ * the Cholesky decomposition, since that can be done in place without any extra memory.
+ *
+ * Unless it says otherwise, the output array of an operation can't be one of its inputs.
+ */
+public final class Matrix6 {
+    private static final int SIZE = 6;
+    private static final int LENGTH = SIZE * SIZE;
+
+    private Matrix6() {
+    }
+
+    /**
+     * This sets a 6x6 matrix to the identity matrix.
+     *
+     * @param output the matrix to write into.
+     */
+    public static void setIdentity(double[] output) {
+        for (int i = 0; i < LENGTH; i++) {
+            output[i] = 0;
+        }
+        for (int i = 0; i < LENGTH; i += SIZE + 1) {
+            output[i] = 1;
+        }
+    }
+
+    /**
+     * This sets a 6x6 matrix to a diagonal matrix.
+     *
+     * @param diagonal the 6 entries on the diagonal.
+     * @param output the matrix to write into.
+     */
+    public static void setDiagonal(double[] diagonal, double[] output) {
+        for (int i = 0; i < LENGTH; i++) {
+            output[i] = 0;
+        }
+        for (int i = 0; i < SIZE; i++) {
+            output[i * (SIZE + 1)] = diagonal[i];
+        }
+    }
+
+    /**
+     * This adds two 6x6 matrices. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the second matrix.
+     * @param output the matrix to write a + b into.
+     */
+    public static void add(double[] a, double[] b, double[] output) {
+        for (int i = 0; i < LENGTH; i++) {
+            output[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * This subtracts one 6x6 matrix from another. The output can be one of the inputs.
+     *
+     * @param a the first matrix.
+     * @param b the matrix to subtract.
+     * @param output the matrix to write a - b into.
+     */
+    public static void subtract(double[] a, double[] b, double[] output) {
+        for (int i = 0; i < LENGTH; i++) {
+            output[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * This multiplies a 6x6 matrix by a number. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param scalar the number.
+     * @param output the matrix to write scalar * a into.
+     */
+    public static void scale(double[] a, double scalar, double[] output) {
+        for (int i = 0; i < LENGTH; i++) {
+            output[i] = a[i] * scalar;
+        }
+    }
+
+    /**
+     * This multiplies two 6x6 matrices.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix.
+     * @param output the matrix to write a * b into.
+     */
+    public static void multiply(double[] a, double[] b, double[] output) {
+        for (int row = 0; row < LENGTH; row += SIZE) {
+            double a0 = a[row];
+            double a1 = a[row + 1];
+            double a2 = a[row + 2];
+            double a3 = a[row + 3];
+            double a4 = a[row + 4];
+            double a5 = a[row + 5];
+            for (int column = 0; column < SIZE; column++) {
+                output[row + column] = a0 * b[column] + a1 * b[SIZE + column] + a2 * b[2 * SIZE + column]
+                        + a3 * b[3 * SIZE + column] + a4 * b[4 * SIZE + column] + a5 * b[5 * SIZE + column];
+            }
+        }
+    }
+
+    /**
+     * This multiplies a 6x6 matrix by the transpose of another, without transposing it first.
+     *
+     * @param a the left matrix.
+     * @param b the right matrix, which is transposed.
+     * @param output the matrix to write a * b^T into.
+     */
+    public static void multiplyTransposed(double[] a, double[] b, double[] output) {
+        for (int row = 0; row < LENGTH; row += SIZE) {
+            double a0 = a[row];
+            double a1 = a[row + 1];
+            double a2 = a[row + 2];
+            double a3 = a[row + 3];
+            double a4 = a[row + 4];
+            double a5 = a[row + 5];
+            for (int column = 0; column < LENGTH; column += SIZE) {
+                output[row + column / SIZE] = a0 * b[column] + a1 * b[column + 1] + a2 * b[column + 2]
+                        + a3 * b[column + 3] + a4 * b[column + 4] + a5 * b[column + 5];
+            }
+        }
+    }
+
+    /**
+     * This transposes a 6x6 matrix. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write a^T into.
+     */
+    public static void transpose(double[] a, double[] output) {
+        for (int row = 0; row < SIZE; row++) {
+            output[row * (SIZE + 1)] = a[row * (SIZE + 1)];
+            for (int column = row + 1; column < SIZE; column++) {
+                double upper = a[row * SIZE + column];
+                output[row * SIZE + column] = a[column * SIZE + row];
+                output[column * SIZE + row] = upper;
+            }
+        }
+    }
+
+    /**
+     * This multiplies a 6x6 matrix by a 6x1 vector.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @param output the vector to write a * v into.
+     */
+    public static void multiplyVector(double[] a, double[] v, double[] output) {
+        for (int row = 0; row < SIZE; row++) {
+            int offset = row * SIZE;
+            output[row] = a[offset] * v[0] + a[offset + 1] * v[1] + a[offset + 2] * v[2]
+                    + a[offset + 3] * v[3] + a[offset + 4] * v[4] + a[offset + 5] * v[5];
+        }
+    }
+
+    /**
+     * This returns v^T * a * v for a 6x6 matrix and a 6x1 vector. With the inverse of a covariance
+     * matrix, this is the squared Mahalanobis distance of v.
+     *
+     * @param a the matrix.
+     * @param v the vector.
+     * @return returns v^T * a * v.
+     */
+    public static double quadraticForm(double[] a, double[] v) {
+        double sum = 0;
+        for (int row = 0; row < SIZE; row++) {
+            int offset = row * SIZE;
+            sum += v[row] * (a[offset] * v[0] + a[offset + 1] * v[1] + a[offset + 2] * v[2]
+                    + a[offset + 3] * v[3] + a[offset + 4] * v[4] + a[offset + 5] * v[5]);
+        }
+        return sum;
+    }
+
+    /**
+     * This finds the Cholesky decomposition of a symmetric positive definite 6x6 matrix, which is
+     * the lower triangular matrix L where a = L * L^T. Only the lower triangle of a is read. The
+     * output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write L into.
+     * @return returns false if a isn't positive definite, in which case the output is partly
+     *         written.
+     */
+    public static boolean cholesky(double[] a, double[] output) {
+        for (int row = 0; row < SIZE; row++) {
+            int rowOffset = row * SIZE;
+            for (int column = 0; column <= row; column++) {
+                int columnOffset = column * SIZE;
+                double sum = a[rowOffset + column];
+                for (int k = 0; k < column; k++) {
+                    sum -= output[rowOffset + k] * output[columnOffset + k];
+                }
+                if (row == column) {
+                    if (!(sum > 0)) return false;
+                    output[rowOffset + row] = Math.sqrt(sum);
+                } else {
+                    output[rowOffset + column] = sum / output[columnOffset + column];
+                }
+            }
+            for (int column = row + 1; column < SIZE; column++) {
+                output[rowOffset + column] = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This solves a * x = b for x, using the Cholesky decomposition L of a. The output can be b.
+     *
+     * @param l the Cholesky decomposition of a, from cholesky().
+     * @param b the 6x1 vector b.
+     * @param output the vector to write x into.
+     */
+    public static void solveCholesky(double[] l, double[] b, double[] output) {
+        for (int row = 0; row < SIZE; row++) {
+            double sum = b[row];
+            for (int k = 0; k < row; k++) {
+                sum -= l[row * SIZE + k] * output[k];
+            }
+            output[row] = sum / l[row * (SIZE + 1)];
+        }
+        for (int row = SIZE - 1; row >= 0; row--) {
+            double sum = output[row];
+            for (int k = row + 1; k < SIZE; k++) {
+                sum -= l[k * SIZE + row] * output[k];
+            }
+            output[row] = sum / l[row * (SIZE + 1)];
+        }
+    }
+
+    /**
+     * This inverts a symmetric positive definite 6x6 matrix, like a covariance matrix. This finds the
+     * Cholesky decomposition L, inverts it, and then multiplies the inverse of L^T by the inverse of
+     * L, all in the output. The output can be the input.
+     *
+     * @param a the matrix.
+     * @param output the matrix to write the inverse of a into.
+     * @return returns false if a isn't positive definite, in which case the output is partly
+     *         written.
+     */
+    public static boolean invertSymmetric(double[] a, double[] output) {
+        if (!cholesky(a, output)) return false;
+
+        // This inverts L row by row. Every row above has already been inverted, and the entries
+        // of this row to the right of the one being found haven't been written over yet.
+        for (int row = 0; row < SIZE; row++) {
+            int rowOffset = row * SIZE;
+            double diagonal = 1 / output[rowOffset + row];
+            output[rowOffset + row] = diagonal;
+            for (int column = 0; column < row; column++) {
+                double sum = 0;
+                for (int k = column; k < row; k++) {
+                    sum += output[rowOffset + k] * output[k * SIZE + column];
+                }
+                output[rowOffset + column] = -sum * diagonal;
+            }
+        }
+
+        // This finds the lower triangle of L^-T * L^-1 row by row, with the diagonal last, since
+        // each entry only needs rows of L^-1 at or below its own row.
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column <= row; column++) {
+                double sum = 0;
+                for (int k = row; k < SIZE; k++) {
+                    sum += output[k * SIZE + row] * output[k * SIZE + column];
+                }
+                output[row * SIZE + column] = sum;
+            }
+        }
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = row + 1; column < SIZE; column++) {
+                output[row * SIZE + column] = output[column * SIZE + row];
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the PinpointSample class. This class holds one reading of the goBILDA Pinpoint, along with
+ * the System.nanoTime() it was taken at. The units are the same ones the GoBildaPinpointDriver uses,
+ * so positions are in mm, headings are in radians, and velocities are per second.
+ */
+public class PinpointSample {
+    private long timestamp;
+    private long sequence;
+    private int deviceStatus;
+    private int loopTime;
+    private int xEncoderValue;
+    private int yEncoderValue;
+    private double xPosition;
+    private double yPosition;
+    private double heading;
+    private double xVelocity;
+    private double yVelocity;
+    private double headingVelocity;
+
+    /**
+     * This copies the current readings of a GoBildaPinpointDriver into this PinpointSample.
+     *
+     * @param odo the GoBildaPinpointDriver to copy from.
+     * @param timestamp the System.nanoTime() the reading was taken at.
+     * @param sequence the number of the reading, counting up from 1.
+     */
+    void set(GoBildaPinpointDriver odo, long timestamp, long sequence) {
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+        deviceStatus = odo.getRawDeviceStatus();
+        loopTime = odo.getLoopTime();
+        xEncoderValue = odo.getEncoderX();
+        yEncoderValue = odo.getEncoderY();
+        xPosition = odo.getPosX();
+        yPosition = odo.getPosY();
+        heading = odo.getHeading();
+        xVelocity = odo.getVelX();
+        yVelocity = odo.getVelY();
+        headingVelocity = odo.getHeadingVelocity();
+    }
+
+    /**
+     * This returns the System.nanoTime() this reading was taken at. This is the middle of the I2C
+     * read, which is the best guess of when the Pinpoint actually made the reading.
+     *
+     * @return returns the timestamp in nanoseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * This returns the number of this reading. Every new reading has a higher number than the last,
+     * so this can be used to tell if a reading has been seen before.
+     *
+     * @return returns the sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * This returns the raw device status bits of the Pinpoint.
+     *
+     * @return returns the device status bits.
+     */
+    public int getDeviceStatus() {
+        return deviceStatus;
+    }
+
+    /**
+     * This returns the loop time the Pinpoint reported.
+     *
+     * @return returns the loop time in microseconds.
+     */
+    public int getLoopTime() {
+        return loopTime;
+    }
+
+    /**
+     * This returns the raw value of the X (forward) encoder.
+     *
+     * @return returns the encoder value in ticks.
+     */
+    public int getEncoderX() {
+        return xEncoderValue;
+    }
+
+    /**
+     * This returns the raw value of the Y (strafe) encoder.
+     *
+     * @return returns the encoder value in ticks.
+     */
+    public int getEncoderY() {
+        return yEncoderValue;
+    }
+
+    /**
+     * This returns the X position.
+     *
+     * @return returns the X position in mm.
+     */
+    public double getX() {
+        return xPosition;
+    }
+
+    /**
+     * This returns the Y position.
+     *
+     * @return returns the Y position in mm.
+     */
+    public double getY() {
+        return yPosition;
+    }
+
+    /**
+     * This returns the heading.
+     *
+     * @return returns the heading in radians.
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * This returns the X velocity.
+     *
+     * @return returns the X velocity in mm per second.
+     */
+    public double getXVelocity() {
+        return xVelocity;
+    }
+
+    /**
+     * This returns the Y velocity.
+     *
+     * @return returns the Y velocity in mm per second.
+     */
+    public double getYVelocity() {
+        return yVelocity;
+    }
+
+    /**
+     * This returns the heading velocity.
+     *
+     * @return returns the heading velocity in radians per second.
+     */
+    public double getHeadingVelocity() {
+        return headingVelocity;
+    }
+}
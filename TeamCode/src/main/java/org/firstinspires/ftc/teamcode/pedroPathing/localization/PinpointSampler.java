@@ -0,0 +1,152 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is the PinpointSampler class. This class reads the goBILDA Pinpoint over and over on its own
+ * background thread, so the I2C read doesn't happen in the control loop. Each reading is stamped with
+ * System.nanoTime() and published through a triple buffer, so the newest reading can be picked up at
+ * any time without locks, without waiting on the I2C bus, and without making any garbage.
+ *
+ * The background thread reads the Pinpoint as fast as it can, but not faster than the loop time the
+ * Pinpoint reports, since reading faster than that just reads the same data again.
+ *
+ * While this is running, this is the only thing that should call update() on the
+ * GoBildaPinpointDriver or read its values. Writes to the Pinpoint, like setPosition(), are fine.
+ * Only one thread should call getLatestSample().
+ */
+public class PinpointSampler {
+    private static final int NEW_SAMPLE = 4;
+    private static final int INDEX = 3;
+
+    private final GoBildaPinpointDriver odo;
+    private final PinpointSample[] samples = {new PinpointSample(), new PinpointSample(), new PinpointSample()};
+    private final AtomicInteger ready = new AtomicInteger(1);
+    private int writing = 0;
+    private int reading = 2;
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile Throwable error;
+    private volatile long sampleCount;
+    private volatile long totalReadTime;
+
+    /**
+     * This creates a new PinpointSampler for a GoBildaPinpointDriver. This doesn't start sampling.
+     *
+     * @param odo the GoBildaPinpointDriver to read.
+     */
+    public PinpointSampler(GoBildaPinpointDriver odo) {
+        this.odo = odo;
+    }
+
+    /**
+     * This starts the background thread. This does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (running) return;
+        error = null;
+        running = true;
+        thread = new Thread(this::run, "PinpointSampler");
+        thread.setPriority(Thread.MAX_PRIORITY - 1);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This stops the background thread and waits for it to finish its current read.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * This is the background thread. This reads the Pinpoint, publishes the reading, and then waits
+     * out whatever is left of the Pinpoint's loop time.
+     */
+    private void run() {
+        try {
+            while (running) {
+                long readStart = System.nanoTime();
+                odo.update();
+                long readEnd = System.nanoTime();
+
+                sampleCount++;
+                totalReadTime += readEnd - readStart;
+                samples[writing].set(odo, readStart + (readEnd - readStart) / 2, sampleCount);
+                writing = ready.getAndSet(writing | NEW_SAMPLE) & INDEX;
+
+                long wait = TimeUnit.MICROSECONDS.toNanos(odo.getLoopTime()) - (System.nanoTime() - readStart);
+                if (wait > 0) {
+                    Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            error = t;
+            running = false;
+        }
+    }
+
+    /**
+     * This returns the newest reading of the Pinpoint. The PinpointSample returned is reused, so it
+     * only stays the same until the next time this is called.
+     *
+     * @return returns the newest reading, or null if there hasn't been a reading yet.
+     */
+    public PinpointSample getLatestSample() {
+        if ((ready.get() & NEW_SAMPLE) != 0) {
+            reading = ready.getAndSet(reading) & INDEX;
+        }
+        PinpointSample sample = samples[reading];
+        return sample.getSequence() == 0 ? null : sample;
+    }
+
+    /**
+     * This returns if the background thread is running.
+     *
+     * @return returns if the background thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * This returns what stopped the background thread if it stopped because something was thrown.
+     *
+     * @return returns what was thrown, or null if nothing was.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * This returns how many times the Pinpoint has been read.
+     *
+     * @return returns the number of readings.
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * This returns the average time an I2C read of the Pinpoint has taken. This is the time taken
+     * out of the control loop by sampling in the background.
+     *
+     * @return returns the average read time in milliseconds.
+     */
+    public double getAverageReadTime() {
+        long samples = sampleCount;
+        if (samples == 0) return 0;
+        return totalReadTime / 1e6 / samples;
+    }
+}
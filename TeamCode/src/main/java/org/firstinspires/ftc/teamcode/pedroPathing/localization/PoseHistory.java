@@ -0,0 +1,354 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the PoseHistory class. This class keeps the last few poses and velocities of the robot,
+ * each with the time it was measured at, so things that are measured with a delay, like AprilTag
+ * detections, can find out where the robot was when they were measured instead of where it is now.
+ * The times are in nanoseconds from the Clock of the PoseUpdater that adds the samples, so they are
+ * only comparable with other times from that Clock. With a SimulatedClock, they are nothing like
+ * System.nanoTime().
+ *
+ * The poses are kept in a ring buffer of primitive arrays, so once the ring buffer is full, the
+ * oldest pose is written over and nothing new is created. Looking up a time is a binary search,
+ * and poses between two samples are interpolated along the SE(2) arc between them, which is the path
+ * the robot takes if it drives with a steady velocity and turning speed between the two samples.
+ */
+public class PoseHistory {
+    private final int capacity;
+    private final long[] times;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final double[] xVelocities;
+    private final double[] yVelocities;
+    private final double[] angularVelocities;
+
+    private int oldest;
+    private int size;
+
+    /**
+     * This creates a new PoseHistory that keeps a certain number of samples.
+     *
+     * @param capacity the number of samples to keep.
+     */
+    public PoseHistory(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("A PoseHistory needs to keep at least 2 samples");
+        }
+        this.capacity = capacity;
+        times = new long[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        headings = new double[capacity];
+        xVelocities = new double[capacity];
+        yVelocities = new double[capacity];
+        angularVelocities = new double[capacity];
+    }
+
+    /**
+     * This adds a sample to the PoseHistory, writing over the oldest sample if it is full. Samples
+     * have to be added in order of time.
+     *
+     * @param time the time from the Clock that the sample was measured at.
+     * @param x the x position.
+     * @param y the y position.
+     * @param heading the heading in radians.
+     * @param xVelocity the x velocity.
+     * @param yVelocity the y velocity.
+     * @param angularVelocity the angular velocity in radians per second.
+     */
+    public void add(long time, double x, double y, double heading, double xVelocity, double yVelocity, double angularVelocity) {
+        if (size > 0 && time < getNewestTime()) {
+            throw new IllegalArgumentException("Samples have to be added to a PoseHistory in order of time");
+        }
+        int index;
+        if (size < capacity) {
+            index = physicalIndex(size);
+            size++;
+        } else {
+            index = oldest;
+            oldest = (oldest + 1) % capacity;
+        }
+        times[index] = time;
+        xs[index] = x;
+        ys[index] = y;
+        headings[index] = heading;
+        xVelocities[index] = xVelocity;
+        yVelocities[index] = yVelocity;
+        angularVelocities[index] = angularVelocity;
+    }
+
+    /**
+     * This removes every sample.
+     */
+    public void clear() {
+        oldest = 0;
+        size = 0;
+    }
+
+    /**
+     * This returns the number of samples being kept right now.
+     *
+     * @return returns the number of samples.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This returns the most samples this PoseHistory can keep.
+     *
+     * @return returns the capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * This returns the time of the oldest sample.
+     *
+     * @return returns the time of the oldest sample, from the Clock.
+     */
+    public long getOldestTime() {
+        return times[oldest];
+    }
+
+    /**
+     * This returns the time of the newest sample.
+     *
+     * @return returns the time of the newest sample, from the Clock.
+     */
+    public long getNewestTime() {
+        return times[physicalIndex(size - 1)];
+    }
+
+    /**
+     * This returns if a time is between the oldest and newest samples, so it can be looked up.
+     *
+     * @param time the time from the Clock to check.
+     * @return returns if the time can be looked up.
+     */
+    public boolean contains(long time) {
+        return size > 0 && time >= getOldestTime() && time <= getNewestTime();
+    }
+
+    /**
+     * This writes the pose of the robot at a time into a Pose, interpolating between the samples
+     * on either side of it.
+     *
+     * @param time the time from the Clock to find the pose at.
+     * @param output the Pose to write the pose into.
+     * @return returns if the time was between the oldest and newest samples. If it wasn't, the
+     *         output Pose isn't changed.
+     */
+    public boolean getPoseAt(long time, Pose output) {
+        if (!contains(time)) return false;
+        int before = search(time);
+        int start = physicalIndex(before);
+        if (before == size - 1) {
+            output.setX(xs[start]);
+            output.setY(ys[start]);
+            output.setHeading(headings[start]);
+            return true;
+        }
+        int end = physicalIndex(before + 1);
+        interpolate(start, end, fraction(start, end, time), output);
+        return true;
+    }
+
+    /**
+     * This writes the velocity of the robot at a time into a Vector, interpolating linearly between
+     * the samples on either side of it.
+     *
+     * @param time the time from the Clock to find the velocity at.
+     * @param output the Vector to write the velocity into.
+     * @return returns if the time was between the oldest and newest samples. If it wasn't, the
+     *         output Vector isn't changed.
+     */
+    public boolean getVelocityAt(long time, Vector output) {
+        if (!contains(time)) return false;
+        int before = search(time);
+        int start = physicalIndex(before);
+        int end = before == size - 1 ? start : physicalIndex(before + 1);
+        double fraction = start == end ? 0 : fraction(start, end, time);
+        output.setOrthogonalComponents(xVelocities[start] + fraction * (xVelocities[end] - xVelocities[start]),
+                yVelocities[start] + fraction * (yVelocities[end] - yVelocities[start]));
+        return true;
+    }
+
+    /**
+     * This returns the angular velocity of the robot at a time, interpolating linearly between the
+     * samples on either side of it.
+     *
+     * @param time the time from the Clock to find the angular velocity at.
+     * @return returns the angular velocity in radians per second, or 0 if the time isn't between
+     *         the oldest and newest samples.
+     */
+    public double getAngularVelocityAt(long time) {
+        if (!contains(time)) return 0;
+        int before = search(time);
+        int start = physicalIndex(before);
+        if (before == size - 1) return angularVelocities[start];
+        int end = physicalIndex(before + 1);
+        return angularVelocities[start] + fraction(start, end, time) * (angularVelocities[end] - angularVelocities[start]);
+    }
+
+    /**
+     * This corrects the PoseHistory with a pose that was measured at some time in the past, like
+     * from an AprilTag. The robot is moved to the corrected pose at that time, and then everything
+     * the robot did since then is replayed on top of it, so every sample after that time is moved
+     * and turned the same way. The corrected newest pose is written into a Pose.
+     *
+     * @param time the time from the Clock that the corrected pose was measured at.
+     * @param correctedPose the pose the robot was actually at, at that time.
+     * @param output the Pose to write the corrected newest pose into.
+     * @return returns if the time was between the oldest and newest samples. If it wasn't, nothing
+     *         is changed.
+     */
+    public boolean correct(long time, Pose correctedPose, Pose output) {
+        if (!contains(time)) return false;
+        int before = search(time);
+        int start = physicalIndex(before);
+        double poseX;
+        double poseY;
+        double poseHeading;
+        if (before == size - 1) {
+            poseX = xs[start];
+            poseY = ys[start];
+            poseHeading = headings[start];
+        } else {
+            interpolate(start, physicalIndex(before + 1), fraction(start, physicalIndex(before + 1), time), output);
+            poseX = output.getX();
+            poseY = output.getY();
+            poseHeading = output.getHeading();
+        }
+
+        double rotation = signedAngleDifference(poseHeading, correctedPose.getHeading());
+        double cos = Math.cos(rotation);
+        double sin = Math.sin(rotation);
+        for (int i = time == times[start] ? before : before + 1; i < size; i++) {
+            int index = physicalIndex(i);
+            double dx = xs[index] - poseX;
+            double dy = ys[index] - poseY;
+            xs[index] = correctedPose.getX() + cos * dx - sin * dy;
+            ys[index] = correctedPose.getY() + sin * dx + cos * dy;
+            headings[index] = MathFunctions.normalizeAngle(headings[index] + rotation);
+            double xVelocity = xVelocities[index];
+            xVelocities[index] = cos * xVelocity - sin * yVelocities[index];
+            yVelocities[index] = sin * xVelocity + cos * yVelocities[index];
+        }
+
+        int newest = physicalIndex(size - 1);
+        output.setX(xs[newest]);
+        output.setY(ys[newest]);
+        output.setHeading(headings[newest]);
+        return true;
+    }
+
+    /**
+     * This finds the last sample at or before a time with a binary search. The time has to be
+     * between the oldest and newest samples.
+     *
+     * @param time the time from the Clock to search for.
+     * @return returns the logical index of the sample, where 0 is the oldest.
+     */
+    private int search(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (times[physicalIndex(middle)] <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This returns how far a time is between two samples.
+     *
+     * @param start the array index of the earlier sample.
+     * @param end the array index of the later sample.
+     * @param time the time from the Clock between them.
+     * @return returns the fraction, from 0 to 1.
+     */
+    private double fraction(int start, int end, long time) {
+        long span = times[end] - times[start];
+        if (span <= 0) return 0;
+        return (double) (time - times[start]) / span;
+    }
+
+    /**
+     * This interpolates between two samples along the SE(2) arc between them. The change from the
+     * first pose to the second is turned into the steady velocity and turning speed that would make
+     * it, and then the robot is driven that way for part of the time. The heading is normalized,
+     * since turning part of the way can cross 0.
+     *
+     * @param start the array index of the earlier sample.
+     * @param end the array index of the later sample.
+     * @param fraction how far between the samples to go, from 0 to 1.
+     * @param output the Pose to write the interpolated pose into.
+     */
+    private void interpolate(int start, int end, double fraction, Pose output) {
+        double heading = headings[start];
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double dx = xs[end] - xs[start];
+        double dy = ys[end] - ys[start];
+        double localX = cos * dx + sin * dy;
+        double localY = -sin * dx + cos * dy;
+        double turn = signedAngleDifference(heading, headings[end]);
+
+        double partialX;
+        double partialY;
+        if (Math.abs(turn) < 1e-9) {
+            partialX = fraction * localX;
+            partialY = fraction * localY;
+        } else {
+            double a = Math.sin(turn) / turn;
+            double b = (1 - Math.cos(turn)) / turn;
+            double determinant = a * a + b * b;
+            double twistX = (a * localX + b * localY) / determinant;
+            double twistY = (-b * localX + a * localY) / determinant;
+            double partialTurn = fraction * turn;
+            double partialA = 1;
+            double partialB = 0;
+            if (Math.abs(partialTurn) >= 1e-9) {
+                partialA = Math.sin(partialTurn) / partialTurn;
+                partialB = (1 - Math.cos(partialTurn)) / partialTurn;
+            }
+            partialX = fraction * (partialA * twistX - partialB * twistY);
+            partialY = fraction * (partialB * twistX + partialA * twistY);
+        }
+
+        output.setX(xs[start] + cos * partialX - sin * partialY);
+        output.setY(ys[start] + sin * partialX + cos * partialY);
+        output.setHeading(MathFunctions.normalizeAngle(heading + fraction * turn));
+    }
+
+    /**
+     * This returns the signed smallest angle to turn from one heading to another.
+     *
+     * @param from the heading to turn from.
+     * @param to the heading to turn to.
+     * @return returns the signed angle in radians, positive being counterclockwise.
+     */
+    private static double signedAngleDifference(double from, double to) {
+        return MathFunctions.getTurnDirection(from, to) * MathFunctions.getSmallestAngleDifference(from, to);
+    }
+
+    /**
+     * This turns a logical index, where 0 is the oldest sample, into an index in the arrays.
+     *
+     * @param logicalIndex the logical index.
+     * @return returns the array index.
+     */
+    private int physicalIndex(int logicalIndex) {
+        return (oldest + logicalIndex) % capacity;
+    }
+}
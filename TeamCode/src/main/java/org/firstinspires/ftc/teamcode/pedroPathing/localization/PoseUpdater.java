@@ -8,6 +8,7 @@ import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers.PinpointLocalizer;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
 
 /**
  * This is the PoseUpdater class. This class handles getting pose data from the localizer and returning
@@ -27,9 +28,12 @@ public class PoseUpdater {
 
     private Pose startingPose = new Pose(0,0,0);
 
-    private Pose currentPose = startingPose;
+    // This caches the raw pose from the Localizer for the current update. It is reused instead of
+    // getting a new Pose from the Localizer every update.
+    private final Pose currentPose = new Pose(0,0,0);
+    private boolean poseUpdated = true;
 
-    private Pose previousPose = startingPose;
+    private Pose previousPose = new Pose(0,0,0);
 
     private Vector currentVelocity = new Vector();
 
@@ -37,13 +41,30 @@ public class PoseUpdater {
 
     private Vector currentAcceleration = new Vector();
 
+    // These are false when the cached velocity and acceleration need to be recalculated for the
+    // current update. The cached Vectors are reused instead of being created every update.
+    private boolean velocityUpdated = true;
+    private boolean accelerationUpdated = true;
+
+    // This is reused to hold the current pose with offsets applied, so that nothing new is created.
+    private final Pose offsetPose = new Pose();
+
     private double xOffset = 0;
     private double yOffset = 0;
     private double headingOffset = 0;
 
+    private final Clock clock;
     private long previousPoseTime;
     private long currentPoseTime;
 
+    // This is how many updates of poses are kept for looking up where the robot was in the past.
+    private static final int POSE_HISTORY_CAPACITY = 256;
+
+    private final PoseHistory poseHistory = new PoseHistory(POSE_HISTORY_CAPACITY);
+    private final Vector historyVelocity = new Vector();
+    private final Vector predictionVelocity = new Vector();
+    private final Pose correctedCurrentPose = new Pose();
+
     /**
      * Creates a new PoseUpdater from a HardwareMap and a Localizer.
      *
@@ -51,13 +72,27 @@ public class PoseUpdater {
      * @param localizer the Localizer
      */
     public PoseUpdater(HardwareMap hardwareMap, Localizer localizer) {
+        this(hardwareMap, localizer, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new PoseUpdater from a HardwareMap and a Localizer, which gets the time of each
+     * update from a Clock.
+     *
+     * @param hardwareMap the HardwareMap
+     * @param localizer the Localizer
+     * @param clock the Clock to get the time from
+     */
+    public PoseUpdater(HardwareMap hardwareMap, Localizer localizer, Clock clock) {
         this.hardwareMap = hardwareMap;
+        this.clock = clock;
 
         for (LynxModule module : hardwareMap.getAll(LynxModule.class)) {
             module.setBulkCachingMode(LynxModule.BulkCachingMode.AUTO);
         }
 
         this.localizer = localizer;
+        localizer.setClock(clock);
         imu = localizer.getIMU();
     }
 
@@ -67,8 +102,18 @@ public class PoseUpdater {
      * @param hardwareMap the HardwareMap
      */
     public PoseUpdater(HardwareMap hardwareMap) {
+        this(hardwareMap, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new PoseUpdater from a HardwareMap, which gets the time of each update from a Clock.
+     *
+     * @param hardwareMap the HardwareMap
+     * @param clock the Clock to get the time from
+     */
+    public PoseUpdater(HardwareMap hardwareMap, Clock clock) {
         // TODO: replace the second argument with your preferred localizer
-        this(hardwareMap, new PinpointLocalizer(hardwareMap));
+        this(hardwareMap, new PinpointLocalizer(hardwareMap), clock);
     }
 
     /**
@@ -77,14 +122,19 @@ public class PoseUpdater {
      * the time stamps are updated as well.
      */
     public void update() {
-        previousVelocity = getVelocity();
-        previousPose = applyOffset(getRawPose());
-        currentPose = null;
-        currentVelocity = null;
-        currentAcceleration = null;
+        getVelocity(previousVelocity);
+        getPose(previousPose);
+        poseUpdated = false;
+        velocityUpdated = false;
+        accelerationUpdated = false;
         previousPoseTime = currentPoseTime;
-        currentPoseTime = System.nanoTime();
+        currentPoseTime = clock.nanoTime();
         localizer.update();
+
+        getPose(offsetPose);
+        getVelocity(historyVelocity);
+        poseHistory.add(currentPoseTime, offsetPose.getX(), offsetPose.getY(), offsetPose.getHeading(),
+                historyVelocity.getXComponent(), historyVelocity.getYComponent(), getAngularVelocity());
     }
 
     /**
@@ -94,10 +144,13 @@ public class PoseUpdater {
      */
     public void setStartingPose(Pose set) {
         startingPose = set;
-        previousPose = startingPose;
-        previousPoseTime = System.nanoTime();
-        currentPoseTime = System.nanoTime();
+        previousPose.setX(startingPose.getX());
+        previousPose.setY(startingPose.getY());
+        previousPose.setHeading(startingPose.getHeading());
+        previousPoseTime = clock.nanoTime();
+        currentPoseTime = previousPoseTime;
         localizer.setStartPose(set);
+        poseHistory.clear();
     }
 
     /**
@@ -108,7 +161,17 @@ public class PoseUpdater {
      * @param set The pose to set the current pose to.
      */
     public void setCurrentPoseWithOffset(Pose set) {
-        Pose currentPose = getRawPose();
+        setOffsetsFor(set);
+        poseHistory.clear();
+    }
+
+    /**
+     * This sets the offsets so that the current pose, with offsets applied, is a specified Pose.
+     *
+     * @param set The pose to set the current pose to.
+     */
+    private void setOffsetsFor(Pose set) {
+        Pose currentPose = updateRawPose();
         setXOffset(set.getX() - currentPose.getX());
         setYOffset(set.getY() - currentPose.getY());
         setHeadingOffset(MathFunctions.getTurnDirection(currentPose.getHeading(), set.getHeading()) * MathFunctions.getSmallestAngleDifference(currentPose.getHeading(), set.getHeading()));
@@ -197,12 +260,22 @@ public class PoseUpdater {
      * @return returns the current pose.
      */
     public Pose getPose() {
-        if (currentPose == null) {
-            currentPose = localizer.getPose();
-            return applyOffset(currentPose);
-        } else {
-            return applyOffset(currentPose);
-        }
+        return applyOffset(updateRawPose());
+    }
+
+    /**
+     * This writes the current pose, with offsets applied, into a specified Pose, so that nothing new
+     * is created. Like getPose(), the current pose is cached for the rest of the update.
+     *
+     * @param output the Pose to write the current pose into.
+     * @return returns the output Pose.
+     */
+    public Pose getPose(Pose output) {
+        Pose rawPose = updateRawPose();
+        output.setX(rawPose.getX() + xOffset);
+        output.setY(rawPose.getY() + yOffset);
+        output.setHeading(rawPose.getHeading() + headingOffset);
+        return output;
     }
 
     /**
@@ -213,12 +286,22 @@ public class PoseUpdater {
      * @return returns the raw pose.
      */
     public Pose getRawPose() {
-        if (currentPose == null) {
-            currentPose = localizer.getPose();
-            return currentPose;
-        } else {
-            return currentPose;
+        return updateRawPose().copy();
+    }
+
+    /**
+     * This gets the current raw pose from the Localizer, if it hasn't been gotten yet this update,
+     * and returns the cached raw pose. The cached Pose is written over every update, so it shouldn't
+     * be kept around or changed outside of the PoseUpdater.
+     *
+     * @return returns the cached raw pose.
+     */
+    private Pose updateRawPose() {
+        if (!poseUpdated) {
+            localizer.getPose(currentPose);
+            poseUpdated = true;
         }
+        return currentPose;
     }
 
     /**
@@ -229,6 +312,46 @@ public class PoseUpdater {
     public void setPose(Pose set) {
         resetOffset();
         localizer.setPose(set);
+        poseHistory.clear();
+    }
+
+    /**
+     * This writes where the robot was at some time in the past into a Pose, with offsets applied.
+     * This is interpolated from the poses of the last few updates, so the time has to be between
+     * the oldest one that is still kept and the latest update.
+     *
+     * @param time the time from the Clock to find the pose at.
+     * @param output the Pose to write the pose into.
+     * @return returns if the pose at that time is known. If it isn't, the output Pose isn't changed.
+     */
+    public boolean getPoseAt(long time, Pose output) {
+        return poseHistory.getPoseAt(time, output);
+    }
+
+    /**
+     * This corrects the current pose with a pose that was measured at some time in the past, like
+     * from an AprilTag. Everything the robot did since that time is replayed on top of the
+     * corrected pose to find where the robot is now, and then the current pose is set to that using
+     * offsets, like setCurrentPoseWithOffset(Pose).
+     *
+     * @param time the time from the Clock the pose was measured at.
+     * @param correctedPose the pose the robot was at, at that time.
+     * @return returns if the pose could be corrected. If the time is older than the oldest pose that
+     *         is still kept, nothing is changed.
+     */
+    public boolean correctPoseAt(long time, Pose correctedPose) {
+        if (!poseHistory.correct(time, correctedPose, correctedCurrentPose)) return false;
+        setOffsetsFor(correctedCurrentPose);
+        return true;
+    }
+
+    /**
+     * This returns the PoseHistory that keeps the poses of the last few updates.
+     *
+     * @return returns the PoseHistory.
+     */
+    public PoseHistory getPoseHistory() {
+        return poseHistory;
     }
 
     /**
@@ -259,15 +382,25 @@ public class PoseUpdater {
      * @return returns the velocity of the robot.
      */
     public Vector getVelocity() {
-        if (currentVelocity == null) {
-            currentVelocity = new Vector();
-            currentVelocity.setOrthogonalComponents(getPose().getX() - previousPose.getX(), getPose().getY() - previousPose.getY());
-            currentVelocity.setMagnitude(MathFunctions.distance(getPose(), previousPose) / ((currentPoseTime - previousPoseTime) / Math.pow(10.0, 9)));
+        return getVelocity(new Vector());
+    }
+
+    /**
+     * This writes the velocity of the robot into a specified Vector, so that nothing new is
+     * created. Like getVelocity(), the velocity is cached for the rest of the update.
+     *
+     * @param output the Vector to write the velocity into.
+     * @return returns the output Vector.
+     */
+    public Vector getVelocity(Vector output) {
+        if (!velocityUpdated) {
+            getPose(offsetPose);
+            currentVelocity.setOrthogonalComponents(offsetPose.getX() - previousPose.getX(), offsetPose.getY() - previousPose.getY());
+            currentVelocity.setMagnitude(MathFunctions.distance(offsetPose, previousPose) / ((currentPoseTime - previousPoseTime) / 1e9));
 //            currentVelocity = localizer.getVelocityVector();
-            return MathFunctions.copyVector(currentVelocity);
-        } else {
-            return MathFunctions.copyVector(currentVelocity);
+            velocityUpdated = true;
         }
+        return MathFunctions.copyVector(currentVelocity, output);
     }
 
     /**
@@ -276,7 +409,45 @@ public class PoseUpdater {
      * @return returns the angular velocity of the robot.
      */
     public double getAngularVelocity() {
-        return MathFunctions.getTurnDirection(previousPose.getHeading(), getPose().getHeading()) * MathFunctions.getSmallestAngleDifference(getPose().getHeading(), previousPose.getHeading()) / ((currentPoseTime-previousPoseTime)/Math.pow(10.0, 9));
+        getPose(offsetPose);
+        return MathFunctions.getTurnDirection(previousPose.getHeading(), offsetPose.getHeading()) * MathFunctions.getSmallestAngleDifference(offsetPose.getHeading(), previousPose.getHeading()) / ((currentPoseTime-previousPoseTime)/1e9);
+    }
+
+    /**
+     * This writes where the robot is predicted to be some time from now into a specified Pose. The
+     * current pose is moved forward assuming the robot keeps its current velocity relative to itself
+     * and its current angular velocity, so the velocity turns along with the robot and the robot
+     * drives along an arc. This is used to make up for the time between the localizer reading the
+     * robot's pose and the motors responding to the powers set from it.
+     *
+     * @param latency how far ahead to predict, in seconds.
+     * @param output the Pose to write the predicted pose into.
+     * @return returns the output Pose.
+     */
+    public Pose getPredictedPose(double latency, Pose output) {
+        getVelocity(predictionVelocity);
+        double angularVelocity = getAngularVelocity();
+        getPose(output);
+        if (!Double.isFinite(angularVelocity) || !Double.isFinite(predictionVelocity.getMagnitude())) return output;
+
+        double xVelocity = predictionVelocity.getXComponent();
+        double yVelocity = predictionVelocity.getYComponent();
+        double turn = angularVelocity * latency;
+        double dx;
+        double dy;
+        if (Math.abs(turn) < 1e-9) {
+            dx = xVelocity * latency;
+            dy = yVelocity * latency;
+        } else {
+            double a = Math.sin(turn) / angularVelocity;
+            double b = (1 - Math.cos(turn)) / angularVelocity;
+            dx = a * xVelocity - b * yVelocity;
+            dy = b * xVelocity + a * yVelocity;
+        }
+        output.setX(output.getX() + dx);
+        output.setY(output.getY() + dy);
+        output.setHeading(MathFunctions.normalizeAngle(output.getHeading() + turn));
+        return output;
     }
 
     /**
@@ -287,13 +458,23 @@ public class PoseUpdater {
      * @return returns the acceleration of the robot.
      */
     public Vector getAcceleration() {
-        if (currentAcceleration == null) {
-            currentAcceleration = MathFunctions.subtractVectors(getVelocity(), previousVelocity);
-            currentAcceleration.setMagnitude(currentAcceleration.getMagnitude() / ((currentPoseTime - previousPoseTime) / Math.pow(10.0, 9)));
-            return MathFunctions.copyVector(currentAcceleration);
-        } else {
-            return MathFunctions.copyVector(currentAcceleration);
+        return getAcceleration(new Vector());
+    }
+
+    /**
+     * This writes the acceleration of the robot into a specified Vector, so that nothing new is
+     * created. Like getAcceleration(), the acceleration is cached for the rest of the update.
+     *
+     * @param output the Vector to write the acceleration into.
+     * @return returns the output Vector.
+     */
+    public Vector getAcceleration(Vector output) {
+        if (!accelerationUpdated) {
+            MathFunctions.subtractVectors(getVelocity(output), previousVelocity, currentAcceleration);
+            currentAcceleration.setMagnitude(currentAcceleration.getMagnitude() / ((currentPoseTime - previousPoseTime) / 1e9));
+            accelerationUpdated = true;
         }
+        return MathFunctions.copyVector(currentAcceleration, output);
     }
 
     /**
@@ -337,6 +518,15 @@ public class PoseUpdater {
         return localizer.getTotalHeading();
     }
 
+    /**
+     * This returns the Clock this gets the time of each update from.
+     *
+     * @return the Clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
     /**
      * This returns the Localizer.
      *
@@ -347,9 +537,18 @@ public class PoseUpdater {
     }
 
     /**
-     *
+     * This resets the IMU of the localizer, if applicable.
      */
     public void resetIMU() {
         localizer.resetIMU();
     }
+
+    /**
+     * This returns if the localizer is done with any calibration or reset it has started.
+     *
+     * @return returns if the localizer is ready
+     */
+    public boolean isLocalizerReady() {
+        return localizer.isReady();
+    }
 }
\ No newline at end of file
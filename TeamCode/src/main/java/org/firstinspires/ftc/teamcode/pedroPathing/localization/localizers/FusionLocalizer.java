@@ -0,0 +1,829 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix3;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+
+import java.util.ArrayList;
+
+/**
+ * This is the FusionLocalizer class. This class extends the Localizer superclass and is a
+ * localizer that combines other localizers, an IMU, and poses measured some time in the past, like
+ * from AprilTags, with an extended Kalman filter. The filter keeps track of the pose of the robot
+ * as well as how sure it is of it, as a covariance matrix.
+ *
+ * Every update, each odometry localizer is updated and the movement it saw since the last update
+ * is found, relative to the robot. How much each one is trusted depends on how far the robot moved,
+ * so each gets a noise model of how many inches it gets off per inch driven and how many radians
+ * it gets off per radian turned. The movements are combined, trusting each one by how sure of it
+ * the noise model is, and the robot is moved by the combination. A movement that disagrees with
+ * the ones before it by much more than their noise models allow, like from a wheel slipping or an
+ * optical sensor losing the floor, is thrown out. The first odometry localizer added is trusted
+ * when they disagree, so it should be the most reliable one.
+ *
+ * The IMU heading and measured poses correct the pose. Measurements that are too far off for how
+ * sure the filter is of its pose, which is checked with the Mahalanobis distance, are thrown out.
+ * Measured poses can be added with the time they were measured at, from the same Clock this gets
+ * the time from. When this is used by a Follower, that is the Clock from getClock() of the Follower.
+ * The last updates of the filter are kept, so a measurement from the past is applied to the pose at
+ * the time it was measured, and then the movements since then are replayed on top of it.
+ *
+ * Nothing is created in an update except by the localizers and the IMU this reads.
+ */
+public class FusionLocalizer extends Localizer {
+    // These are the squared Mahalanobis distances that are too far, which are the 99th percentiles of
+    // the chi-squared distribution with 1 and 3 degrees of freedom.
+    private static final double GATE_ONE_DIMENSION = 6.635;
+    private static final double GATE_THREE_DIMENSIONS = 11.345;
+
+    // This is how many updates are kept for measurements from the past. At the usual loop times,
+    // this is at least a second.
+    private static final int HISTORY_CAPACITY = 128;
+
+    // These are how much the filter becomes less sure of the pose every update even when the
+    // robot doesn't move, in inches and radians, so it never becomes completely sure of it.
+    private static final double BASE_TRANSLATIONAL_NOISE = 0.001;
+    private static final double BASE_HEADING_NOISE = 0.0001;
+
+    // These are how sure the filter is of a pose that has been set, in inches and radians.
+    private static final double SET_POSE_TRANSLATIONAL_NOISE = 0.5;
+    private static final double SET_POSE_HEADING_NOISE = Math.toRadians(1);
+
+    private final ArrayList<OdometrySource> odometry = new ArrayList<>();
+
+    private IMU imu;
+    private double imuHeadingVariance;
+    private double imuOffset;
+    private boolean imuOffsetPending;
+
+    private final double[] state = new double[3];
+    private final double[] covariance = new double[9];
+    private final double[] savedState = new double[3];
+    private final double[] savedCovariance = new double[9];
+
+    private final double[] twist = new double[3];
+    private final double[] twistNoise = new double[3];
+    private final double[] jacobian = new double[9];
+    private final double[] scratch = new double[9];
+    private final double[] inverse = new double[9];
+    private final double[] gain = new double[9];
+    private final double[] innovation = new double[3];
+    private final double[] correction = new double[3];
+
+    private final long[] historyTimes = new long[HISTORY_CAPACITY];
+    private final double[] historyStates = new double[3 * HISTORY_CAPACITY];
+    private final double[] historyCovariances = new double[9 * HISTORY_CAPACITY];
+    private final double[] historyTwists = new double[3 * HISTORY_CAPACITY];
+    private final double[] historyTwistNoises = new double[3 * HISTORY_CAPACITY];
+    private final boolean[] historyHasHeading = new boolean[HISTORY_CAPACITY];
+    private final double[] historyHeadings = new double[HISTORY_CAPACITY];
+    private final double[] historyHeadingVariances = new double[HISTORY_CAPACITY];
+    private final boolean[] historyHasPose = new boolean[HISTORY_CAPACITY];
+    private final double[] historyPoses = new double[3 * HISTORY_CAPACITY];
+    private final double[] historyPoseVariances = new double[3 * HISTORY_CAPACITY];
+    private int historyOldest;
+    private int historySize;
+
+    private Clock clock = Clock.SYSTEM;
+    private long previousUpdateTime;
+    private boolean hasPreviousUpdateTime;
+    private double xVelocity;
+    private double yVelocity;
+    private double angularVelocity;
+    private double previousHeading;
+    private double totalHeading;
+
+    private long rejectedOdometryCount;
+    private long rejectedMeasurementCount;
+
+    /**
+     * This is the OdometrySource class. This holds an odometry localizer, its noise model, and the
+     * last pose it read.
+     */
+    private static final class OdometrySource {
+        private final Localizer localizer;
+        private final double translationalNoise;
+        private final double headingNoise;
+        private final Pose pose = new Pose();
+        private boolean hasPreviousPose;
+        private double previousX;
+        private double previousY;
+        private double previousHeading;
+
+        private OdometrySource(Localizer localizer, double translationalNoise, double headingNoise) {
+            this.localizer = localizer;
+            this.translationalNoise = translationalNoise;
+            this.headingNoise = headingNoise;
+        }
+    }
+
+    /**
+     * This creates a new FusionLocalizer from a HardwareMap, with a starting Pose at (0,0)
+     * facing 0 heading.
+     *
+     * @param map the HardwareMap
+     */
+    public FusionLocalizer(HardwareMap map) {
+        this(map, new Pose());
+    }
+
+    /**
+     * This creates a new FusionLocalizer from a HardwareMap and a Pose, with the Pose
+     * specifying the starting pose of the localizer.
+     *
+     * @param map the HardwareMap
+     * @param setStartPose the Pose to start from
+     */
+    public FusionLocalizer(HardwareMap map, Pose setStartPose) {
+        this(setStartPose);
+
+        // TODO: replace these with the odometry on your robot and your tuned noise models
+        // The first number is how many inches it gets off per inch driven, and the second is how
+        // many radians it gets off per radian turned. The first one added is trusted the most.
+        addOdometry(new PinpointLocalizer(map), 0.01, 0.002);
+        addOdometry(new OTOSLocalizer(map), 0.03, 0.01);
+
+        // TODO: uncomment this to also use the IMU of your hub, initialized so that its yaw goes up
+        //  when turning counterclockwise. The number is how many radians its heading is off by.
+        //setIMU(map.get(IMU.class, "imu"), Math.toRadians(2));
+    }
+
+    /**
+     * This creates a new FusionLocalizer without any sensors, with the Pose specifying the
+     * starting pose of the localizer. Sensors can be added with addOdometry() and setIMU().
+     *
+     * @param setStartPose the Pose to start from
+     */
+    public FusionLocalizer(Pose setStartPose) {
+        setStartPose(setStartPose);
+    }
+
+    /**
+     * This adds an odometry localizer. The FusionLocalizer updates it, so nothing else should.
+     *
+     * @param localizer the localizer to add.
+     * @param translationalNoise how many inches it gets off per inch driven.
+     * @param headingNoise how many radians it gets off per radian turned.
+     */
+    public void addOdometry(Localizer localizer, double translationalNoise, double headingNoise) {
+        odometry.add(new OdometrySource(localizer, translationalNoise, headingNoise));
+    }
+
+    /**
+     * This sets an IMU to correct the heading with. The IMU has to be initialized so that its yaw
+     * goes up when the robot turns counterclockwise. Its heading is lined up with the heading of the
+     * filter whenever a pose is set.
+     *
+     * @param imu the IMU, or null to stop using one.
+     * @param headingNoise how many radians its heading is off by.
+     */
+    public void setIMU(IMU imu, double headingNoise) {
+        this.imu = imu;
+        imuHeadingVariance = headingNoise * headingNoise;
+        imuOffsetPending = true;
+    }
+
+    /**
+     * This returns the current pose estimate.
+     *
+     * @return returns the current pose estimate as a Pose
+     */
+    @Override
+    public Pose getPose() {
+        return new Pose(state[0], state[1], state[2]);
+    }
+
+    /**
+     * This writes the current pose estimate into a specified Pose, so that nothing new is created.
+     *
+     * @param output the Pose to write the pose into.
+     * @return returns the output Pose.
+     */
+    @Override
+    public Pose getPose(Pose output) {
+        output.setX(state[0]);
+        output.setY(state[1]);
+        output.setHeading(state[2]);
+        return output;
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Pose
+     */
+    @Override
+    public Pose getVelocity() {
+        return new Pose(xVelocity, yVelocity, angularVelocity);
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Vector
+     */
+    @Override
+    public Vector getVelocityVector() {
+        Vector velocity = new Vector();
+        velocity.setOrthogonalComponents(xVelocity, yVelocity);
+        return velocity;
+    }
+
+    /**
+     * This sets the start pose. The filter is moved to it and becomes sure of it, and measurements
+     * from before it are forgotten.
+     *
+     * @param setStart the new start pose
+     */
+    @Override
+    public void setStartPose(Pose setStart) {
+        setPose(setStart);
+    }
+
+    /**
+     * This sets the current pose estimate. The filter is moved to it and becomes sure of it, and
+     * measurements from before it are forgotten.
+     *
+     * @param setPose the new current pose estimate
+     */
+    @Override
+    public void setPose(Pose setPose) {
+        state[0] = setPose.getX();
+        state[1] = setPose.getY();
+        state[2] = MathFunctions.normalizeAngle(setPose.getHeading());
+        Matrix3.setDiagonal(SET_POSE_TRANSLATIONAL_NOISE * SET_POSE_TRANSLATIONAL_NOISE,
+                SET_POSE_TRANSLATIONAL_NOISE * SET_POSE_TRANSLATIONAL_NOISE,
+                SET_POSE_HEADING_NOISE * SET_POSE_HEADING_NOISE, covariance);
+        historyOldest = 0;
+        historySize = 0;
+        previousHeading = state[2];
+        imuOffsetPending = true;
+    }
+
+    /**
+     * This updates the odometry localizers and moves the filter by what they saw, and then corrects
+     * the heading with the IMU, if there is one.
+     */
+    @Override
+    public void update() {
+        long now = clock.nanoTime();
+        combineOdometry();
+
+        double heading = state[2];
+        double deltaTime = hasPreviousUpdateTime ? (now - previousUpdateTime) / 1e9 : 0;
+        previousUpdateTime = now;
+        hasPreviousUpdateTime = true;
+        if (deltaTime > 0) {
+            double cos = Math.cos(heading);
+            double sin = Math.sin(heading);
+            xVelocity = (cos * twist[0] - sin * twist[1]) / deltaTime;
+            yVelocity = (sin * twist[0] + cos * twist[1]) / deltaTime;
+            angularVelocity = twist[2] / deltaTime;
+        }
+
+        predict(twist[0], twist[1], twist[2], twistNoise[0], twistNoise[1], twistNoise[2]);
+        int index = addHistory(now);
+
+        if (imu != null) {
+            double yaw = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            if (imuOffsetPending) {
+                imuOffset = state[2] - yaw;
+                imuOffsetPending = false;
+            } else {
+                double imuHeading = MathFunctions.normalizeAngle(yaw + imuOffset);
+                if (correctHeading(imuHeading, imuHeadingVariance, true)) {
+                    historyHasHeading[index] = true;
+                    historyHeadings[index] = imuHeading;
+                    historyHeadingVariances[index] = imuHeadingVariance;
+                } else {
+                    rejectedMeasurementCount++;
+                }
+            }
+        }
+
+        totalHeading += signedAngleDifference(previousHeading, state[2]);
+        previousHeading = state[2];
+    }
+
+    /**
+     * This adds a pose that was measured at some time, like from an AprilTag. If the time is before
+     * the last update, the pose is applied at that time and the updates since then are replayed.
+     *
+     * @param pose the measured pose.
+     * @param timestamp the time the pose was measured at, from the same Clock as the updates. For
+     *                  AprilTags, this is the frame acquisition time of the detection.
+     * @param translationalNoise how many inches the x and y of the measured pose are off by.
+     * @param headingNoise how many radians the heading of the measured pose is off by.
+     * @return returns if the pose was used. It isn't used if it is from before the oldest update
+     *         that is kept or if it is too far from where the filter thinks the robot was.
+     */
+    public boolean addPoseMeasurement(Pose pose, long timestamp, double translationalNoise, double headingNoise) {
+        if (historySize == 0 || timestamp < historyTimes[historyOldest]) return false;
+        double x = pose.getX();
+        double y = pose.getY();
+        double heading = MathFunctions.normalizeAngle(pose.getHeading());
+        double translationalVariance = translationalNoise * translationalNoise;
+        double headingVariance = headingNoise * headingNoise;
+
+        int logicalIndex = searchHistory(timestamp);
+        int index = physicalIndex(logicalIndex);
+        if (logicalIndex == historySize - 1) {
+            if (!correctPose(x, y, heading, translationalVariance, headingVariance, true)) {
+                rejectedMeasurementCount++;
+                return false;
+            }
+            mergePoseMeasurement(index, x, y, heading, translationalVariance, headingVariance);
+            return true;
+        }
+
+        System.arraycopy(state, 0, savedState, 0, 3);
+        System.arraycopy(covariance, 0, savedCovariance, 0, 9);
+        restoreHistory(index);
+        if (!correctPose(x, y, heading, translationalVariance, headingVariance, true)) {
+            System.arraycopy(savedState, 0, state, 0, 3);
+            System.arraycopy(savedCovariance, 0, covariance, 0, 9);
+            rejectedMeasurementCount++;
+            return false;
+        }
+
+        mergePoseMeasurement(index, x, y, heading, translationalVariance, headingVariance);
+        restoreHistory(index);
+        for (int i = logicalIndex + 1; i < historySize; i++) {
+            int replayIndex = physicalIndex(i);
+            predict(historyTwists[3 * replayIndex], historyTwists[3 * replayIndex + 1], historyTwists[3 * replayIndex + 2],
+                    historyTwistNoises[3 * replayIndex], historyTwistNoises[3 * replayIndex + 1], historyTwistNoises[3 * replayIndex + 2]);
+            System.arraycopy(state, 0, historyStates, 3 * replayIndex, 3);
+            System.arraycopy(covariance, 0, historyCovariances, 9 * replayIndex, 9);
+            applyHistoryMeasurements(replayIndex);
+        }
+        return true;
+    }
+
+    /**
+     * This updates every odometry localizer and combines the movements they saw into the twist,
+     * relative to the robot, and its noise. Localizers that are still calibrating or resetting
+     * after their update are left out until they are done.
+     */
+    private void combineOdometry() {
+        twist[0] = 0;
+        twist[1] = 0;
+        twist[2] = 0;
+        twistNoise[0] = BASE_TRANSLATIONAL_NOISE * BASE_TRANSLATIONAL_NOISE;
+        twistNoise[1] = twistNoise[0];
+        twistNoise[2] = BASE_HEADING_NOISE * BASE_HEADING_NOISE;
+        boolean combined = false;
+
+        for (int i = 0; i < odometry.size(); i++) {
+            OdometrySource source = odometry.get(i);
+            source.localizer.update();
+            if (source.localizer.isCalibrating()) {
+                source.hasPreviousPose = false;
+                continue;
+            }
+            Pose pose = source.localizer.getPose(source.pose);
+            boolean hasPreviousPose = source.hasPreviousPose;
+            double previousX = source.previousX;
+            double previousY = source.previousY;
+            double previousHeading = source.previousHeading;
+            source.hasPreviousPose = true;
+            source.previousX = pose.getX();
+            source.previousY = pose.getY();
+            source.previousHeading = pose.getHeading();
+            if (!hasPreviousPose) continue;
+
+            double cos = Math.cos(previousHeading);
+            double sin = Math.sin(previousHeading);
+            double dx = pose.getX() - previousX;
+            double dy = pose.getY() - previousY;
+            double forward = cos * dx + sin * dy;
+            double lateral = -sin * dx + cos * dy;
+            double turn = signedAngleDifference(previousHeading, pose.getHeading());
+
+            double translationalNoise = BASE_TRANSLATIONAL_NOISE + source.translationalNoise * Math.hypot(forward, lateral);
+            double headingNoise = BASE_HEADING_NOISE + source.headingNoise * Math.abs(turn);
+            double translationalVariance = translationalNoise * translationalNoise;
+            double headingVariance = headingNoise * headingNoise;
+
+            if (!combined) {
+                twist[0] = forward;
+                twist[1] = lateral;
+                twist[2] = turn;
+                twistNoise[0] = translationalVariance;
+                twistNoise[1] = translationalVariance;
+                twistNoise[2] = headingVariance;
+                combined = true;
+                continue;
+            }
+
+            double distance = square(forward - twist[0]) / (translationalVariance + twistNoise[0])
+                    + square(lateral - twist[1]) / (translationalVariance + twistNoise[1])
+                    + square(turn - twist[2]) / (headingVariance + twistNoise[2]);
+            if (distance > GATE_THREE_DIMENSIONS) {
+                rejectedOdometryCount++;
+                continue;
+            }
+            twist[0] = combine(twist[0], twistNoise[0], forward, translationalVariance);
+            twist[1] = combine(twist[1], twistNoise[1], lateral, translationalVariance);
+            twist[2] = combine(twist[2], twistNoise[2], turn, headingVariance);
+            twistNoise[0] = twistNoise[0] * translationalVariance / (twistNoise[0] + translationalVariance);
+            twistNoise[1] = twistNoise[1] * translationalVariance / (twistNoise[1] + translationalVariance);
+            twistNoise[2] = twistNoise[2] * headingVariance / (twistNoise[2] + headingVariance);
+        }
+    }
+
+    /**
+     * This moves the filter by a twist relative to the robot, and makes it less sure of its pose by
+     * the noise of the twist.
+     *
+     * @param forward the forward movement in inches.
+     * @param lateral the leftward movement in inches.
+     * @param turn the counterclockwise turn in radians.
+     * @param forwardVariance the variance of the forward movement.
+     * @param lateralVariance the variance of the leftward movement.
+     * @param turnVariance the variance of the turn.
+     */
+    private void predict(double forward, double lateral, double turn, double forwardVariance, double lateralVariance, double turnVariance) {
+        double cos = Math.cos(state[2]);
+        double sin = Math.sin(state[2]);
+
+        Matrix3.setIdentity(jacobian);
+        jacobian[2] = -sin * forward - cos * lateral;
+        jacobian[5] = cos * forward - sin * lateral;
+
+        state[0] += cos * forward - sin * lateral;
+        state[1] += sin * forward + cos * lateral;
+        state[2] = MathFunctions.normalizeAngle(state[2] + turn);
+
+        Matrix3.multiply(jacobian, covariance, scratch);
+        Matrix3.multiplyTransposed(scratch, jacobian, covariance);
+        double crossVariance = cos * sin * (forwardVariance - lateralVariance);
+        covariance[0] += cos * cos * forwardVariance + sin * sin * lateralVariance;
+        covariance[1] += crossVariance;
+        covariance[3] += crossVariance;
+        covariance[4] += sin * sin * forwardVariance + cos * cos * lateralVariance;
+        covariance[8] += turnVariance;
+    }
+
+    /**
+     * This corrects the filter with a measured heading.
+     *
+     * @param heading the measured heading.
+     * @param variance the variance of the measured heading.
+     * @param gate whether to throw out the heading if it is too far off.
+     * @return returns if the heading was used.
+     */
+    private boolean correctHeading(double heading, double variance, boolean gate) {
+        double headingInnovation = signedAngleDifference(state[2], heading);
+        double innovationVariance = covariance[8] + variance;
+        if (gate && headingInnovation * headingInnovation / innovationVariance > GATE_ONE_DIMENSION) return false;
+
+        double c0 = covariance[2];
+        double c1 = covariance[5];
+        double c2 = covariance[8];
+        state[0] += c0 / innovationVariance * headingInnovation;
+        state[1] += c1 / innovationVariance * headingInnovation;
+        state[2] = MathFunctions.normalizeAngle(state[2] + c2 / innovationVariance * headingInnovation);
+        covariance[0] -= c0 * c0 / innovationVariance;
+        covariance[1] -= c0 * c1 / innovationVariance;
+        covariance[2] -= c0 * c2 / innovationVariance;
+        covariance[3] -= c1 * c0 / innovationVariance;
+        covariance[4] -= c1 * c1 / innovationVariance;
+        covariance[5] -= c1 * c2 / innovationVariance;
+        covariance[6] -= c2 * c0 / innovationVariance;
+        covariance[7] -= c2 * c1 / innovationVariance;
+        covariance[8] -= c2 * c2 / innovationVariance;
+        return true;
+    }
+
+    /**
+     * This corrects the filter with a measured pose. The covariance is updated in Joseph form so it
+     * stays symmetric and positive.
+     *
+     * @param x the measured x.
+     * @param y the measured y.
+     * @param heading the measured heading.
+     * @param translationalVariance the variance of the measured x and y.
+     * @param headingVariance the variance of the measured heading.
+     * @param gate whether to throw out the pose if it is too far off.
+     * @return returns if the pose was used.
+     */
+    private boolean correctPose(double x, double y, double heading, double translationalVariance, double headingVariance, boolean gate) {
+        innovation[0] = x - state[0];
+        innovation[1] = y - state[1];
+        innovation[2] = signedAngleDifference(state[2], heading);
+
+        System.arraycopy(covariance, 0, scratch, 0, 9);
+        scratch[0] += translationalVariance;
+        scratch[4] += translationalVariance;
+        scratch[8] += headingVariance;
+        if (!Matrix3.invert(scratch, inverse)) return false;
+        if (gate && Matrix3.quadraticForm(inverse, innovation) > GATE_THREE_DIMENSIONS) return false;
+
+        Matrix3.multiply(covariance, inverse, gain);
+        Matrix3.multiplyVector(gain, innovation, correction);
+        state[0] += correction[0];
+        state[1] += correction[1];
+        state[2] = MathFunctions.normalizeAngle(state[2] + correction[2]);
+
+        Matrix3.setIdentity(jacobian);
+        Matrix3.subtract(jacobian, gain, jacobian);
+        Matrix3.multiply(jacobian, covariance, scratch);
+        Matrix3.multiplyTransposed(scratch, jacobian, covariance);
+        for (int row = 0; row < 9; row += 3) {
+            scratch[row] = gain[row] * translationalVariance;
+            scratch[row + 1] = gain[row + 1] * translationalVariance;
+            scratch[row + 2] = gain[row + 2] * headingVariance;
+        }
+        Matrix3.multiplyTransposed(scratch, gain, inverse);
+        Matrix3.add(covariance, inverse, covariance);
+        return true;
+    }
+
+    /**
+     * This adds the current state of the filter to the history, writing over the oldest update if it
+     * is full.
+     *
+     * @param time the time of the update, from the Clock.
+     * @return returns the array index of the update in the history.
+     */
+    private int addHistory(long time) {
+        int index;
+        if (historySize < HISTORY_CAPACITY) {
+            index = physicalIndex(historySize);
+            historySize++;
+        } else {
+            index = historyOldest;
+            historyOldest = (historyOldest + 1) % HISTORY_CAPACITY;
+        }
+        historyTimes[index] = time;
+        System.arraycopy(state, 0, historyStates, 3 * index, 3);
+        System.arraycopy(covariance, 0, historyCovariances, 9 * index, 9);
+        System.arraycopy(twist, 0, historyTwists, 3 * index, 3);
+        System.arraycopy(twistNoise, 0, historyTwistNoises, 3 * index, 3);
+        historyHasHeading[index] = false;
+        historyHasPose[index] = false;
+        return index;
+    }
+
+    /**
+     * This puts the filter back to the state it was in right after an update in the history, with
+     * the measurements of that update applied.
+     *
+     * @param index the array index of the update.
+     */
+    private void restoreHistory(int index) {
+        System.arraycopy(historyStates, 3 * index, state, 0, 3);
+        System.arraycopy(historyCovariances, 9 * index, covariance, 0, 9);
+        applyHistoryMeasurements(index);
+    }
+
+    /**
+     * This applies the measurements that were used in an update in the history again.
+     *
+     * @param index the array index of the update.
+     */
+    private void applyHistoryMeasurements(int index) {
+        if (historyHasHeading[index]) {
+            correctHeading(historyHeadings[index], historyHeadingVariances[index], false);
+        }
+        if (historyHasPose[index]) {
+            correctPose(historyPoses[3 * index], historyPoses[3 * index + 1], historyPoses[3 * index + 2],
+                    historyPoseVariances[3 * index], historyPoseVariances[3 * index + 2], false);
+        }
+    }
+
+    /**
+     * This saves a measured pose in an update in the history. If that update already has one, the
+     * two are combined into the one measurement that means the same as both of them.
+     *
+     * @param index the array index of the update.
+     * @param x the measured x.
+     * @param y the measured y.
+     * @param heading the measured heading.
+     * @param translationalVariance the variance of the measured x and y.
+     * @param headingVariance the variance of the measured heading.
+     */
+    private void mergePoseMeasurement(int index, double x, double y, double heading, double translationalVariance, double headingVariance) {
+        int offset = 3 * index;
+        if (!historyHasPose[index]) {
+            historyHasPose[index] = true;
+            historyPoses[offset] = x;
+            historyPoses[offset + 1] = y;
+            historyPoses[offset + 2] = heading;
+            historyPoseVariances[offset] = translationalVariance;
+            historyPoseVariances[offset + 1] = translationalVariance;
+            historyPoseVariances[offset + 2] = headingVariance;
+            return;
+        }
+        double oldTranslationalVariance = historyPoseVariances[offset];
+        double oldHeadingVariance = historyPoseVariances[offset + 2];
+        historyPoses[offset] = combine(historyPoses[offset], oldTranslationalVariance, x, translationalVariance);
+        historyPoses[offset + 1] = combine(historyPoses[offset + 1], oldTranslationalVariance, y, translationalVariance);
+        historyPoses[offset + 2] = MathFunctions.normalizeAngle(historyPoses[offset + 2]
+                + oldHeadingVariance / (oldHeadingVariance + headingVariance) * signedAngleDifference(historyPoses[offset + 2], heading));
+        historyPoseVariances[offset] = oldTranslationalVariance * translationalVariance / (oldTranslationalVariance + translationalVariance);
+        historyPoseVariances[offset + 1] = historyPoseVariances[offset];
+        historyPoseVariances[offset + 2] = oldHeadingVariance * headingVariance / (oldHeadingVariance + headingVariance);
+    }
+
+    /**
+     * This finds the last update in the history at or before a time with a binary search. The time
+     * can't be before the oldest update.
+     *
+     * @param time the time to search for, from the Clock.
+     * @return returns the logical index of the update, where 0 is the oldest.
+     */
+    private int searchHistory(long time) {
+        int low = 0;
+        int high = historySize - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (historyTimes[physicalIndex(middle)] <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This turns a logical index in the history, where 0 is the oldest update, into an array index.
+     *
+     * @param logicalIndex the logical index.
+     * @return returns the array index.
+     */
+    private int physicalIndex(int logicalIndex) {
+        return (historyOldest + logicalIndex) % HISTORY_CAPACITY;
+    }
+
+    /**
+     * This combines two measurements of the same thing, trusting each by its variance.
+     *
+     * @param a the first measurement.
+     * @param aVariance the variance of the first measurement.
+     * @param b the second measurement.
+     * @param bVariance the variance of the second measurement.
+     * @return returns the combined measurement.
+     */
+    private static double combine(double a, double aVariance, double b, double bVariance) {
+        return (a * bVariance + b * aVariance) / (aVariance + bVariance);
+    }
+
+    /**
+     * This returns the square of a number.
+     *
+     * @param value the number.
+     * @return returns the square.
+     */
+    private static double square(double value) {
+        return value * value;
+    }
+
+    /**
+     * This returns the signed smallest angle to turn from one heading to another.
+     *
+     * @param from the heading to turn from.
+     * @param to the heading to turn to.
+     * @return returns the signed angle in radians, positive being counterclockwise.
+     */
+    private static double signedAngleDifference(double from, double to) {
+        return MathFunctions.getTurnDirection(from, to) * MathFunctions.getSmallestAngleDifference(from, to);
+    }
+
+    /**
+     * This writes the covariance of the pose estimate into an array, row by row, in the order x, y,
+     * heading.
+     *
+     * @param output the array of 9 doubles to write into.
+     */
+    public void getCovariance(double[] output) {
+        System.arraycopy(covariance, 0, output, 0, 9);
+    }
+
+    /**
+     * This returns how many odometry movements were thrown out for disagreeing with the others.
+     *
+     * @return returns the number of odometry movements thrown out.
+     */
+    public long getRejectedOdometryCount() {
+        return rejectedOdometryCount;
+    }
+
+    /**
+     * This returns how many IMU headings and measured poses were thrown out for being too far off.
+     *
+     * @return returns the number of measurements thrown out.
+     */
+    public long getRejectedMeasurementCount() {
+        return rejectedMeasurementCount;
+    }
+
+    /**
+     * This returns the total number of radians the robot has turned.
+     *
+     * @return returns the total heading
+     */
+    @Override
+    public double getTotalHeading() {
+        return totalHeading;
+    }
+
+    /**
+     * This returns the forward multiplier of the first odometry localizer.
+     *
+     * @return returns the forward multiplier
+     */
+    @Override
+    public double getForwardMultiplier() {
+        return odometry.isEmpty() ? 1 : odometry.get(0).localizer.getForwardMultiplier();
+    }
+
+    /**
+     * This returns the lateral multiplier of the first odometry localizer.
+     *
+     * @return returns the lateral multiplier
+     */
+    @Override
+    public double getLateralMultiplier() {
+        return odometry.isEmpty() ? 1 : odometry.get(0).localizer.getLateralMultiplier();
+    }
+
+    /**
+     * This returns the turning multiplier of the first odometry localizer.
+     *
+     * @return returns the turning multiplier
+     */
+    @Override
+    public double getTurningMultiplier() {
+        return odometry.isEmpty() ? 1 : odometry.get(0).localizer.getTurningMultiplier();
+    }
+
+    /**
+     * This resets the IMUs of every odometry localizer and the IMU, if there is one.
+     */
+    @Override
+    public void resetIMU() {
+        for (int i = 0; i < odometry.size(); i++) {
+            odometry.get(i).localizer.resetIMU();
+        }
+        if (imu != null) {
+            imu.resetYaw();
+            imuOffsetPending = true;
+        }
+    }
+
+    /**
+     * This returns if every odometry localizer is ready.
+     *
+     * @return returns if the localizer is ready
+     */
+    @Override
+    public boolean isReady() {
+        for (int i = 0; i < odometry.size(); i++) {
+            if (!odometry.get(i).localizer.isReady()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This returns if any odometry localizer was calibrating or resetting as of the last update.
+     *
+     * @return returns if the localizer is calibrating or resetting
+     */
+    @Override
+    public boolean isCalibrating() {
+        for (int i = 0; i < odometry.size(); i++) {
+            if (odometry.get(i).localizer.isCalibrating()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * This sets the Clock the updates and measured poses get their time from. The PoseUpdater sets
+     * this to its own Clock, so when this is used by a Follower, it uses the time from the Follower.
+     *
+     * @param clock the Clock to get the time from
+     */
+    @Override
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * This returns the IMU, if there is one.
+     *
+     * @return returns the IMU if it exists
+     */
+    @Override
+    public IMU getIMU() {
+        return imu;
+    }
+}
@@ -34,6 +34,10 @@ import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
  *           V
  *    forward (x positive)
  *
+ * The IMU of the OTOS calibrates in the background instead of holding up the constructor. Until
+ * it is done, update() doesn't read the OTOS, and any pose that is set is written to the OTOS
+ * once the calibration finishes.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @version 1.0, 7/20/2024
  */
@@ -46,6 +50,13 @@ public class OTOSLocalizer extends Localizer {
     private SparkFunOTOS.Pose2D otosAcc;
     private double previousHeading;
     private double totalHeading;
+    private boolean calibrating;
+    private Pose pendingOTOSPose;
+
+    /**
+     * This is how many samples the OTOS takes to calibrate its IMU, which is the most it can take.
+     */
+    private static final int IMU_CALIBRATION_SAMPLES = 255;
 
     /**
      * This creates a new OTOSLocalizer from a HardwareMap, with a starting Pose at (0,0)
@@ -88,8 +99,8 @@ public class OTOSLocalizer extends Localizer {
         otos.setLinearScalar(1.0);
         otos.setAngularScalar(1.0);
 
-        otos.calibrateImu();
-        otos.resetTracking();
+        otos.calibrateImu(IMU_CALIBRATION_SAMPLES, false);
+        calibrating = true;
 
         setStartPose(setStartPose);
         otosPose = new SparkFunOTOS.Pose2D();
@@ -150,16 +161,33 @@ public class OTOSLocalizer extends Localizer {
      */
     @Override
     public void setPose(Pose setPose) {
-        resetOTOS();
         Pose setOTOSPose = MathFunctions.subtractPoses(setPose, startPose);
+        if (calibrating) {
+            pendingOTOSPose = setOTOSPose;
+            otosPose.x = setOTOSPose.getX();
+            otosPose.y = setOTOSPose.getY();
+            otosPose.h = setOTOSPose.getHeading();
+            return;
+        }
+        resetOTOS();
         otos.setPosition(new SparkFunOTOS.Pose2D(setOTOSPose.getX(), setOTOSPose.getY(), setOTOSPose.getHeading()));
     }
 
     /**
      * This updates the total heading of the robot. The OTOS handles all other updates itself.
+     * While the IMU is calibrating, this only checks if the calibration is done.
      */
     @Override
     public void update() {
+        if (calibrating) {
+            if (otos.getImuCalibrationProgress() > 0) return;
+            calibrating = false;
+            resetOTOS();
+            if (pendingOTOSPose != null) {
+                otos.setPosition(new SparkFunOTOS.Pose2D(pendingOTOSPose.getX(), pendingOTOSPose.getY(), pendingOTOSPose.getHeading()));
+                pendingOTOSPose = null;
+            }
+        }
         otos.getPosVelAcc(otosPose,otosVel,otosAcc);
         totalHeading += MathFunctions.getSmallestAngleDifference(otosPose.h, previousHeading);
         previousHeading = otosPose.h;
@@ -219,4 +247,26 @@ public class OTOSLocalizer extends Localizer {
      */
     public void resetIMU() {
     }
+
+    /**
+     * This returns if the IMU of the OTOS is done calibrating. This checks on the calibration, so it
+     * can be polled in init while setting up other hardware.
+     *
+     * @return returns if the OTOS is ready
+     */
+    @Override
+    public boolean isReady() {
+        if (calibrating) update();
+        return !calibrating;
+    }
+
+    /**
+     * This returns if the IMU of the OTOS was calibrating as of the last update.
+     *
+     * @return returns if the OTOS is calibrating
+     */
+    @Override
+    public boolean isCalibrating() {
+        return calibrating;
+    }
 }
\ No newline at end of file
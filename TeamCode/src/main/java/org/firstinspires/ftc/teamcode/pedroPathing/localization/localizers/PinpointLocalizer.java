@@ -12,6 +12,8 @@ import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 import org.firstinspires.ftc.robotcore.external.navigation.Pose2D;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.GoBildaPinpointDriver;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.PinpointSample;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.PinpointSampler;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
@@ -43,6 +45,17 @@ import org.firstinspires.ftc.teamcode.pedroPathing.util.PoseMessage;
  * With the pinpoint your readings will be used in mm
  * to use inches ensure to divide your mm value by 25.4
  *
+ * By default, update() reads the Pinpoint over I2C, which takes a few milliseconds of the control
+ * loop. After startSampling() is called, a PinpointSampler reads the Pinpoint on a background thread
+ * instead, and update() just picks up the newest reading. Otherwise, the Pinpoint is read with
+ * adaptiveUpdate(), which skips reads that would just return the same data as the last one.
+ *
+ * Setting the pose doesn't write to the Pinpoint. Instead, the readings of the Pinpoint are offset
+ * so that they line up with the pose that was set, which takes effect right away. The Pinpoint is
+ * only reset when this is made and by resetIMU(), which takes about 300 milliseconds while it
+ * recalibrates its IMU. Resets don't wait for that. Instead, update() checks the device status until
+ * the Pinpoint is ready again, and keeps using its readings in the meantime.
+ *
  * @author Logan Nash
  * @author Havish Sripada 12808 - RevAmped Robotics
  * @author Ethan Doak - Gobilda
@@ -55,9 +68,33 @@ public class PinpointLocalizer extends Localizer {
     private double previousHeading;
     private double totalHeading;
     private Pose previousPinpointPose;
+    private Pose velocity;
+    private PinpointSampler sampler;
+    private long resetTime;
+    private ResetState resetState = ResetState.IDLE;
+
+    // This is the last reading of the Pinpoint in inches, and the offset that lines it up with the
+    // pose that was last set. previousPinpointPose is the reading moved by the offset.
+    private final Pose rawPinpointPose = new Pose();
+    private final Pose pinpointOffset = new Pose();
 
     private ElapsedTime timer = new ElapsedTime(ElapsedTime.Resolution.MILLISECONDS);
 
+    /**
+     * This is how long to wait for the Pinpoint to start calibrating after a reset before assuming
+     * it already finished.
+     */
+    private static final double RESET_TIME = 300;
+
+    /**
+     * These are the steps of resetting the Pinpoint.
+     */
+    private enum ResetState {
+        IDLE,
+        WAITING_FOR_CALIBRATION,
+        WAITING_FOR_READY
+    }
+
     /**
      * This creates a new PinpointLocalizer from a HardwareMap, with a starting Pose at (0,0)
      * facing 0 heading.
@@ -95,11 +132,11 @@ public class PinpointLocalizer extends Localizer {
 
         setStartPose(setStartPose);
         totalHeading = 0;
-        previousHeading = startPose.getHeading();
-        previousPinpointPose = startPose;
+        previousHeading = 0;
+        previousPinpointPose = new Pose();
+        velocity = new Pose();
 
         resetPinpoint();
-        timer.reset();
     }
     /**
      * This returns the current pose estimate.
@@ -118,7 +155,25 @@ public class PinpointLocalizer extends Localizer {
 //        Log.d("PinpointLocalizer_logger", "PP pose heading false: " + new PoseMessage(pose1));
 //        Log.d("PinpointLocalizer_logger", "PP pose heading true: " + new PoseMessage(pose2));
         //return MathFunctions.addPoses(startPose, MathFunctions.rotatePose(pose, startPose.getHeading(), false));
-        return MathFunctions.addPoses(startPose, MathFunctions.rotatePose(previousPinpointPose, startPose.getHeading(), false));
+        return getPose(new Pose());
+    }
+
+    /**
+     * This writes the current pose estimate into a specified Pose, so that nothing new is created.
+     *
+     * @param output the Pose to write the pose into.
+     * @return returns the output Pose.
+     */
+    @Override
+    public Pose getPose(Pose output) {
+        double cos = Math.cos(startPose.getHeading());
+        double sin = Math.sin(startPose.getHeading());
+        double x = previousPinpointPose.getX();
+        double y = previousPinpointPose.getY();
+        output.setX(startPose.getX() + x * cos - y * sin);
+        output.setY(startPose.getY() + x * sin + y * cos);
+        output.setHeading(startPose.getHeading() + previousPinpointPose.getHeading());
+        return output;
     }
 
     /**
@@ -128,8 +183,7 @@ public class PinpointLocalizer extends Localizer {
      */
     @Override
     public Pose getVelocity() {
-        Pose2D pose = odo.getVelocity();
-        return new Pose(pose.getX(DistanceUnit.INCH), pose.getY(DistanceUnit.INCH), pose.getHeading(AngleUnit.RADIANS));
+        return velocity.copy();
     }
 
     /**
@@ -139,9 +193,8 @@ public class PinpointLocalizer extends Localizer {
      */
     @Override
     public Vector getVelocityVector() {
-        Pose2D pose = odo.getVelocity();
         Vector returnVector = new Vector();
-        returnVector.setOrthogonalComponents(pose.getX(DistanceUnit.INCH), pose.getY(DistanceUnit.INCH));
+        returnVector.setOrthogonalComponents(velocity.getX(), velocity.getY());
         return returnVector;
     }
 
@@ -156,27 +209,191 @@ public class PinpointLocalizer extends Localizer {
 
     /**
      * This sets the current pose estimate. Changing this should just change the robot's current
-     * pose estimate, not anything to do with the start pose.
+     * pose estimate, not anything to do with the start pose. This takes effect right away, since
+     * it only changes the offset the readings of the Pinpoint are moved by, and the readings after
+     * this keep moving on from the new pose.
      *
      * @param setPose the new current pose estimate
      */
     @Override
     public void setPose(Pose setPose) {
-        resetPinpoint();
-        Pose setPinpointPose = MathFunctions.subtractPoses(setPose, startPose);
-        odo.setPosition(new Pose2D(DistanceUnit.INCH, setPinpointPose.getX(), setPinpointPose.getY(), AngleUnit.RADIANS, setPinpointPose.getHeading()));
+        double cos = Math.cos(startPose.getHeading());
+        double sin = Math.sin(startPose.getHeading());
+        double x = setPose.getX() - startPose.getX();
+        double y = setPose.getY() - startPose.getY();
+        double offsetHeading = setPose.getHeading() - startPose.getHeading() - rawPinpointPose.getHeading();
+        double offsetCos = Math.cos(offsetHeading);
+        double offsetSin = Math.sin(offsetHeading);
+        pinpointOffset.setX(x * cos + y * sin - (rawPinpointPose.getX() * offsetCos - rawPinpointPose.getY() * offsetSin));
+        pinpointOffset.setY(-x * sin + y * cos - (rawPinpointPose.getX() * offsetSin + rawPinpointPose.getY() * offsetCos));
+        pinpointOffset.setHeading(offsetHeading);
+        applyOffset();
     }
 
     /**
      * This updates the total heading of the robot. The Pinpoint handles all other updates itself.
+     * When sampling in the background, this uses the newest reading from the PinpointSampler, and
+     * skips readings that were taken before the last reset of the Pinpoint.
+     * This also moves along a reset of the Pinpoint if one is happening.
      */
     @Override
     public void update() {
-        odo.update();
-        totalHeading += MathFunctions.getSmallestAngleDifference(odo.getHeading(), previousHeading);
-        previousHeading = odo.getHeading();
-        Pose2D rawPose = odo.getPosition();
-        previousPinpointPose = new Pose(rawPose.getX(DistanceUnit.INCH), rawPose.getY(DistanceUnit.INCH), rawPose.getHeading(AngleUnit.RADIANS));
+        if (sampler != null) {
+            PinpointSample sample = sampler.getLatestSample();
+            if (sample == null || sample.getTimestamp() < resetTime) return;
+            updateReset(GoBildaPinpointDriver.lookupStatus(sample.getDeviceStatus()));
+            update(sample.getX(), sample.getY(), sample.getHeading(), sample.getXVelocity(), sample.getYVelocity(), sample.getHeadingVelocity());
+            return;
+        }
+        odo.request(GoBildaPinpointDriver.Data.POSITION);
+        odo.request(GoBildaPinpointDriver.Data.HEADING);
+        odo.request(GoBildaPinpointDriver.Data.VELOCITY);
+        if (resetState != ResetState.IDLE) odo.request(GoBildaPinpointDriver.Data.STATUS);
+        odo.adaptiveUpdate();
+        updateReset(odo.getDeviceStatus());
+        update(odo.getPosX(), odo.getPosY(), odo.getHeading(), odo.getVelX(), odo.getVelY(), odo.getHeadingVelocity());
+    }
+
+    /**
+     * This moves a reset of the Pinpoint along based on the device status. The Pinpoint reports that
+     * it is calibrating while it resets, so the reset is done once it stops calibrating. If it never
+     * shows as calibrating, the reset is assumed done after RESET_TIME.
+     *
+     * @param status the latest device status of the Pinpoint.
+     */
+    private void updateReset(GoBildaPinpointDriver.DeviceStatus status) {
+        boolean calibrating = status == GoBildaPinpointDriver.DeviceStatus.CALIBRATING || status == GoBildaPinpointDriver.DeviceStatus.NOT_READY;
+        switch (resetState) {
+            case WAITING_FOR_CALIBRATION:
+                if (calibrating) {
+                    resetState = ResetState.WAITING_FOR_READY;
+                } else if (timer.milliseconds() >= RESET_TIME) {
+                    finishReset();
+                }
+                break;
+            case WAITING_FOR_READY:
+                if (!calibrating) finishReset();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This finishes a reset of the Pinpoint. The readings were already being used during the reset,
+     * so there is nothing to write to the Pinpoint.
+     */
+    private void finishReset() {
+        resetState = ResetState.IDLE;
+    }
+
+    /**
+     * This moves the last reading of the Pinpoint by the offset from the last time the pose was set,
+     * and updates the total heading with the change in heading.
+     */
+    private void applyOffset() {
+        double cos = Math.cos(pinpointOffset.getHeading());
+        double sin = Math.sin(pinpointOffset.getHeading());
+        double heading = pinpointOffset.getHeading() + rawPinpointPose.getHeading();
+        totalHeading += MathFunctions.getSmallestAngleDifference(heading, previousHeading);
+        previousHeading = heading;
+        previousPinpointPose.setX(pinpointOffset.getX() + rawPinpointPose.getX() * cos - rawPinpointPose.getY() * sin);
+        previousPinpointPose.setY(pinpointOffset.getY() + rawPinpointPose.getX() * sin + rawPinpointPose.getY() * cos);
+        previousPinpointPose.setHeading(heading);
+    }
+
+    /**
+     * This returns if the Pinpoint is done resetting. This checks on the reset, so it can be polled
+     * in init while setting up other hardware.
+     *
+     * @return returns if the Pinpoint is ready
+     */
+    @Override
+    public boolean isReady() {
+        if (resetState != ResetState.IDLE) update();
+        return resetState == ResetState.IDLE;
+    }
+
+    /**
+     * This returns if the Pinpoint was resetting as of the last update.
+     *
+     * @return returns if the Pinpoint is resetting
+     */
+    @Override
+    public boolean isCalibrating() {
+        return resetState != ResetState.IDLE;
+    }
+
+    /**
+     * This updates only the heading and total heading of the robot, which only needs a read of the
+     * heading register of the Pinpoint instead of a whole bulk read. This can be used instead of
+     * update() in loops that only need the heading, like field centric driving. The position and
+     * velocity stay what they were at the last update().
+     */
+    public void updateHeading() {
+        if (sampler != null || resetState != ResetState.IDLE) {
+            update();
+            return;
+        }
+        odo.request(GoBildaPinpointDriver.Data.HEADING);
+        odo.adaptiveUpdate();
+        rawPinpointPose.setHeading(odo.getHeading());
+        applyOffset();
+    }
+
+    /**
+     * This updates the pose, velocity, and total heading from a reading of the Pinpoint.
+     *
+     * @param x the X position in mm.
+     * @param y the Y position in mm.
+     * @param heading the heading in radians.
+     * @param xVelocity the X velocity in mm per second.
+     * @param yVelocity the Y velocity in mm per second.
+     * @param headingVelocity the heading velocity in radians per second.
+     */
+    private void update(double x, double y, double heading, double xVelocity, double yVelocity, double headingVelocity) {
+        rawPinpointPose.setX(DistanceUnit.INCH.fromUnit(DistanceUnit.MM, x));
+        rawPinpointPose.setY(DistanceUnit.INCH.fromUnit(DistanceUnit.MM, y));
+        rawPinpointPose.setHeading(heading);
+        applyOffset();
+
+        double cos = Math.cos(pinpointOffset.getHeading());
+        double sin = Math.sin(pinpointOffset.getHeading());
+        double rawXVelocity = DistanceUnit.INCH.fromUnit(DistanceUnit.MM, xVelocity);
+        double rawYVelocity = DistanceUnit.INCH.fromUnit(DistanceUnit.MM, yVelocity);
+        velocity.setX(rawXVelocity * cos - rawYVelocity * sin);
+        velocity.setY(rawXVelocity * sin + rawYVelocity * cos);
+        velocity.setHeading(headingVelocity);
+    }
+
+    /**
+     * This starts reading the Pinpoint on a background thread, which takes the I2C read out of
+     * update(). Make sure to call stopSampling() when the OpMode stops.
+     */
+    public void startSampling() {
+        if (sampler == null) {
+            sampler = new PinpointSampler(odo);
+            sampler.start();
+        }
+    }
+
+    /**
+     * This stops reading the Pinpoint on a background thread, so update() reads it again.
+     */
+    public void stopSampling() {
+        if (sampler != null) {
+            sampler.stop();
+            sampler = null;
+        }
+    }
+
+    /**
+     * This returns the PinpointSampler reading the Pinpoint in the background.
+     *
+     * @return returns the PinpointSampler, or null if not sampling in the background.
+     */
+    public PinpointSampler getSampler() {
+        return sampler;
     }
 
     /**
@@ -218,28 +435,38 @@ public class PinpointLocalizer extends Localizer {
     }
 
     /**
-     * This resets the IMU.
+     * This starts recalibrating the IMU. This doesn't wait for it to finish, since update() does
+     * that, and the Pinpoint holds its readings while it recalibrates.
      */
     public void resetIMU() {
+        if (resetState != ResetState.IDLE) return;
         odo.recalibrateIMU();
-
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        startReset();
     }
 
     /**
-     * This resets the pinpoint.
+     * This starts resetting the pinpoint. This doesn't wait for it to finish, since update() does
+     * that. The Pinpoint goes back to (0,0) facing 0 heading, so the offset is set to keep the pose
+     * where it was.
      */
     private void resetPinpoint() {
         odo.resetPosAndIMU();
+        rawPinpointPose.setX(0);
+        rawPinpointPose.setY(0);
+        rawPinpointPose.setHeading(0);
+        pinpointOffset.setX(previousPinpointPose.getX());
+        pinpointOffset.setY(previousPinpointPose.getY());
+        pinpointOffset.setHeading(previousPinpointPose.getHeading());
+        startReset();
+    }
 
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * This starts waiting for a reset that was just sent to the Pinpoint. Readings from the
+     * PinpointSampler that were taken before this are from before the reset, so they are skipped.
+     */
+    private void startReset() {
+        resetState = ResetState.WAITING_FOR_CALIBRATION;
+        resetTime = System.nanoTime();
+        timer.reset();
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.MecanumDrivetrainSimulator;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.SimulatorConstants;
+
+import java.util.Random;
+
+/**
+ * This is the SimulatedLocalizer class. This class extends the Localizer superclass and is a
+ * localizer that reads the pose of a MecanumDrivetrainSimulator. By default it always knows exactly
+ * where the simulated robot is, but it can also add random noise to every reading, like a real
+ * localizer would have. It doesn't move the simulated robot itself, so whatever runs the simulation
+ * needs to update the MecanumDrivetrainSimulator.
+ */
+public class SimulatedLocalizer extends Localizer {
+    private MecanumDrivetrainSimulator simulator;
+    private Random random;
+    private final Pose poseOffset = new Pose();
+    private final Pose currentPose = new Pose();
+    private final Pose currentVelocity = new Pose();
+    private double previousHeading;
+    private double totalHeading;
+
+    /**
+     * This creates a new SimulatedLocalizer from a MecanumDrivetrainSimulator.
+     *
+     * @param simulator the MecanumDrivetrainSimulator to read the pose of.
+     */
+    public SimulatedLocalizer(MecanumDrivetrainSimulator simulator) {
+        this(simulator, null);
+    }
+
+    /**
+     * This creates a new SimulatedLocalizer from a MecanumDrivetrainSimulator that adds noise to
+     * every reading. The noise is normally distributed, with the standard deviations set in
+     * SimulatorConstants.
+     *
+     * @param simulator the MecanumDrivetrainSimulator to read the pose of.
+     * @param random the Random to make the noise with, or null for no noise.
+     */
+    public SimulatedLocalizer(MecanumDrivetrainSimulator simulator, Random random) {
+        this.simulator = simulator;
+        this.random = random;
+        simulator.getPose(currentPose);
+        simulator.getVelocity(currentVelocity);
+        previousHeading = currentPose.getHeading();
+        totalHeading = 0;
+    }
+
+    /**
+     * This returns the current pose estimate.
+     *
+     * @return returns the current pose estimate as a Pose
+     */
+    @Override
+    public Pose getPose() {
+        return getPose(new Pose());
+    }
+
+    /**
+     * This writes the current pose estimate into a specified Pose, so that nothing new is created.
+     *
+     * @param output the Pose to write the pose into.
+     * @return returns the output Pose.
+     */
+    @Override
+    public Pose getPose(Pose output) {
+        output.setX(currentPose.getX() + poseOffset.getX());
+        output.setY(currentPose.getY() + poseOffset.getY());
+        output.setHeading(currentPose.getHeading() + poseOffset.getHeading());
+        return output;
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Pose
+     */
+    @Override
+    public Pose getVelocity() {
+        return currentVelocity.copy();
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Vector
+     */
+    @Override
+    public Vector getVelocityVector() {
+        return currentVelocity.getVector();
+    }
+
+    /**
+     * This sets the start pose. Since the simulated robot can be anywhere, this moves it there and
+     * stops it, and clears anything set with setPose.
+     *
+     * @param setStart the new start pose
+     */
+    @Override
+    public void setStartPose(Pose setStart) {
+        simulator.setPose(setStart);
+        setOffset(0, 0, 0);
+        update();
+        previousHeading = currentPose.getHeading();
+    }
+
+    /**
+     * This sets the current pose estimate. Changing this should just change the robot's current
+     * pose estimate, not where the simulated robot actually is.
+     *
+     * @param setPose the new current pose estimate
+     */
+    @Override
+    public void setPose(Pose setPose) {
+        setOffset(setPose.getX() - currentPose.getX(), setPose.getY() - currentPose.getY(),
+                setPose.getHeading() - currentPose.getHeading());
+    }
+
+    /**
+     * This sets the offset added to the pose of the simulated robot to get the pose estimate.
+     *
+     * @param x the x offset.
+     * @param y the y offset.
+     * @param heading the heading offset.
+     */
+    private void setOffset(double x, double y, double heading) {
+        poseOffset.setX(x);
+        poseOffset.setY(y);
+        poseOffset.setHeading(heading);
+    }
+
+    /**
+     * This reads the pose and velocity of the simulated robot, adds noise if there is any, and
+     * updates the total heading.
+     */
+    @Override
+    public void update() {
+        simulator.getPose(currentPose);
+        simulator.getVelocity(currentVelocity);
+        if (random != null) {
+            currentPose.setX(currentPose.getX() + random.nextGaussian() * SimulatorConstants.localizerTranslationalNoise);
+            currentPose.setY(currentPose.getY() + random.nextGaussian() * SimulatorConstants.localizerTranslationalNoise);
+            currentPose.setHeading(MathFunctions.normalizeAngle(currentPose.getHeading() + random.nextGaussian() * SimulatorConstants.localizerHeadingNoise));
+            currentVelocity.setX(currentVelocity.getX() + random.nextGaussian() * SimulatorConstants.localizerVelocityNoise);
+            currentVelocity.setY(currentVelocity.getY() + random.nextGaussian() * SimulatorConstants.localizerVelocityNoise);
+        }
+        totalHeading += MathFunctions.getSmallestAngleDifference(currentPose.getHeading(), previousHeading);
+        previousHeading = currentPose.getHeading();
+    }
+
+    /**
+     * This returns how far the robot has turned in radians, in a number not clamped between 0 and
+     * 2 * pi radians. This is used for some tuning things and nothing actually within the following.
+     *
+     * @return returns how far the robot has turned in total, in radians.
+     */
+    @Override
+    public double getTotalHeading() {
+        return totalHeading;
+    }
+
+    /**
+     * This returns 1, since the simulated pose is already in inches.
+     *
+     * @return returns the forward ticks to inches multiplier
+     */
+    @Override
+    public double getForwardMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated pose is already in inches.
+     *
+     * @return returns the lateral ticks to inches multiplier
+     */
+    @Override
+    public double getLateralMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated heading is already in radians.
+     *
+     * @return returns the turning ticks to radians multiplier
+     */
+    @Override
+    public double getTurningMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This does nothing, since there is no IMU to reset.
+     */
+    @Override
+    public void resetIMU() {
+    }
+}
@@ -144,6 +144,14 @@ public class SensorGoBildaPinpointExample extends LinearOpMode {
              */
             //odo.update(GoBildaPinpointDriver.readData.ONLY_UPDATE_HEADING);
 
+            /*
+            Optionally, you can request() the data you will use this loop and call adaptiveUpdate() instead. This
+            skips the read if the Pinpoint hasn't made new data since the last read, and only reads the heading
+            if that's all that was requested.
+             */
+            //odo.request(GoBildaPinpointDriver.Data.POSITION);
+            //odo.adaptiveUpdate();
+
 
             if (gamepad1.a){
                 odo.resetPosAndIMU(); //resets the position to 0 and recalibrates the IMU
@@ -1,7 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 
 
-import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
 
 import java.util.ArrayList;
 
@@ -24,14 +24,31 @@ public class BezierCurve {
     // This contains the control points for the Bezier curve
     private ArrayList<Point> controlPoints = new ArrayList<>();
 
+    // These contain the power basis (monomial) coefficients of the curve and its derivatives, so
+    // index i is the coefficient of t^i. These are evaluated with Horner's rule.
+    private double[] xCoefficients;
+    private double[] yCoefficients;
+    private double[] xDerivativeCoefficients;
+    private double[] yDerivativeCoefficients;
+    private double[] xSecondDerivativeCoefficients;
+    private double[] ySecondDerivativeCoefficients;
+
+    // This holds the roots found when solving for the closest point, so nothing new is created.
+    private final double[] closestPointRoots = new double[3];
+
     private Vector endTangent = new Vector();
 
-    private final int APPROXIMATION_STEPS = FollowerConstants.APPROXIMATION_STEPS;
+    private int APPROXIMATION_STEPS;
 
     private final int DASHBOARD_DRAWING_APPROXIMATION_STEPS = 100;
 
     private double[][] dashboardDrawingPoints;
 
+    // This is the cumulative arc length of the curve at each of the evenly spaced t-values used to
+    // approximate the length, so index i holds the distance along the curve from t = 0 to
+    // t = i / APPROXIMATION_STEPS.
+    private double[] arcLengthTable;
+
     private double UNIT_TO_TIME;
     private double length;
 
@@ -51,6 +68,20 @@ public class BezierCurve {
      * @param controlPoints This is the ArrayList of control points that define the BezierCurve.
      */
     public BezierCurve(ArrayList<Point> controlPoints) {
+        this(FollowerConfig.fromFollowerConstants(), controlPoints);
+    }
+
+    /**
+     * This creates a new BezierCurve with an ArrayList of control points and generates the curve,
+     * using the number of steps to approximate its length from a FollowerConfig.
+     * IMPORTANT NOTE: The order of the control points is important. That's the order the code will
+     * process them in, with the 0 index being the start point and the final index being the end point
+     *
+     * @param config the FollowerConfig to use.
+     * @param controlPoints This is the ArrayList of control points that define the BezierCurve.
+     */
+    public BezierCurve(FollowerConfig config, ArrayList<Point> controlPoints) {
+        APPROXIMATION_STEPS = config.APPROXIMATION_STEPS;
         if (controlPoints.size()<3) {
             try {
                 throw new Exception("Too few control points");
@@ -70,6 +101,20 @@ public class BezierCurve {
      * @param controlPoints This is the specified control points that define the BezierCurve.
      */
     public BezierCurve(Point... controlPoints) {
+        this(FollowerConfig.fromFollowerConstants(), controlPoints);
+    }
+
+    /**
+     * This creates a new Bezier curve with some specified control points and generates the curve,
+     * using the number of steps to approximate its length from a FollowerConfig.
+     * IMPORTANT NOTE: The order of the control points is important. That's the order the code will
+     * process them in, with the 0 index being the start point and the final index being the end point.
+     *
+     * @param config the FollowerConfig to use.
+     * @param controlPoints This is the specified control points that define the BezierCurve.
+     */
+    public BezierCurve(FollowerConfig config, Point... controlPoints) {
+        APPROXIMATION_STEPS = config.APPROXIMATION_STEPS;
         for (Point controlPoint : controlPoints) {
             this.controlPoints.add(controlPoint);
         }
@@ -88,6 +133,7 @@ public class BezierCurve {
      */
     public void initialize() {
         generateBezierCurve();
+        generatePowerBasisCoefficients();
         length = approximateLength();
         UNIT_TO_TIME = 1/length;
         endTangent.setOrthogonalComponents(controlPoints.get(controlPoints.size()-1).getX()-controlPoints.get(controlPoints.size()-2).getX(), controlPoints.get(controlPoints.size()-1).getY()-controlPoints.get(controlPoints.size()-2).getY());
@@ -132,6 +178,47 @@ public class BezierCurve {
         }
     }
 
+    /**
+     * This converts the Bezier curve from the Bernstein basis into the power basis, which is just a
+     * regular polynomial in t for each axis. The coefficient of t^j is
+     * nCr(n, j) * sum from i = 0 to j of (-1)^(j - i) * nCr(j, i) * P_i. The derivative and second
+     * derivative polynomials are then found by differentiating the power basis polynomials term by
+     * term. This is done once here so that points, derivatives, and second derivatives can be
+     * evaluated on the fly with Horner's rule, without any Math.pow calls.
+     */
+    public void generatePowerBasisCoefficients() {
+        int n = controlPoints.size()-1;
+        xCoefficients = new double[n + 1];
+        yCoefficients = new double[n + 1];
+
+        for (int j = 0; j <= n; j++) {
+            double xSum = 0;
+            double ySum = 0;
+            for (int i = 0; i <= j; i++) {
+                double sign = ((j - i) % 2 == 0) ? 1 : -1;
+                double coefficient = sign * MathFunctions.nCr(j, i);
+                xSum += coefficient * controlPoints.get(i).getX();
+                ySum += coefficient * controlPoints.get(i).getY();
+            }
+            xCoefficients[j] = MathFunctions.nCr(n, j) * xSum;
+            yCoefficients[j] = MathFunctions.nCr(n, j) * ySum;
+        }
+
+        xDerivativeCoefficients = new double[n];
+        yDerivativeCoefficients = new double[n];
+        for (int j = 0; j < n; j++) {
+            xDerivativeCoefficients[j] = (j + 1) * xCoefficients[j + 1];
+            yDerivativeCoefficients[j] = (j + 1) * yCoefficients[j + 1];
+        }
+
+        xSecondDerivativeCoefficients = new double[n - 1];
+        ySecondDerivativeCoefficients = new double[n - 1];
+        for (int j = 0; j < n - 1; j++) {
+            xSecondDerivativeCoefficients[j] = (j + 1) * xDerivativeCoefficients[j + 1];
+            ySecondDerivativeCoefficients[j] = (j + 1) * yDerivativeCoefficients[j + 1];
+        }
+    }
+
     /**
      * This returns the unit tangent Vector at the end of the BezierCurve.
      *
@@ -143,22 +230,80 @@ public class BezierCurve {
 
     /**
      * This approximates the length of the BezierCurve in APPROXIMATION_STEPS number of steps. It's
-     * like a Riemann's sum, but for a parametric function's arc length.
+     * like a Riemann's sum, but for a parametric function's arc length. The running total at each
+     * step is kept in the arc length table, which is used to convert between t-values and distance
+     * along the curve.
      *
      * @return returns the approximated length of the BezierCurve.
      */
     public double approximateLength() {
+        arcLengthTable = new double[APPROXIMATION_STEPS + 1];
         Point previousPoint = getPoint(0);
         Point currentPoint;
         double approxLength = 0;
         for (int i = 1; i <= APPROXIMATION_STEPS; i++) {
             currentPoint = getPoint(i/(double)APPROXIMATION_STEPS);
             approxLength += previousPoint.distanceFrom(currentPoint);
+            arcLengthTable[i] = approxLength;
             previousPoint = currentPoint;
         }
         return approxLength;
     }
 
+    /**
+     * This returns the distance along the BezierCurve from the start to a specified t-value. This
+     * is interpolated from the arc length table, so it accounts for the curve not moving at a
+     * constant speed with respect to t.
+     *
+     * @param t the t-value. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the distance along the curve to the t-value.
+     */
+    public double sAtT(double t) {
+        t = MathFunctions.clamp(t, 0, 1);
+        double index = t * APPROXIMATION_STEPS;
+        int lower = (int) Math.floor(index);
+        if (lower >= APPROXIMATION_STEPS) return arcLengthTable[APPROXIMATION_STEPS];
+        return arcLengthTable[lower] + (index - lower) * (arcLengthTable[lower + 1] - arcLengthTable[lower]);
+    }
+
+    /**
+     * This returns the t-value at a specified distance along the BezierCurve from the start. This
+     * does a binary search on the arc length table and then interpolates between the two closest
+     * entries.
+     *
+     * @param s the distance along the curve. s is clamped to be between 0 and the length inclusive.
+     * @return returns the t-value at that distance.
+     */
+    public double tAtS(double s) {
+        s = MathFunctions.clamp(s, 0, length);
+        int lower = 0;
+        int upper = APPROXIMATION_STEPS;
+
+        // finds the last entry in the table that is not past the specified distance
+        while (upper - lower > 1) {
+            int middle = (lower + upper) >>> 1;
+            if (arcLengthTable[middle] <= s) {
+                lower = middle;
+            } else {
+                upper = middle;
+            }
+        }
+
+        double segmentLength = arcLengthTable[upper] - arcLengthTable[lower];
+        double fraction = segmentLength == 0 ? 0 : (s - arcLengthTable[lower]) / segmentLength;
+        return (lower + MathFunctions.clamp(fraction, 0, 1)) / APPROXIMATION_STEPS;
+    }
+
+    /**
+     * This returns the distance left along the BezierCurve from a specified t-value to the end.
+     *
+     * @param t the t-value. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the remaining distance along the curve.
+     */
+    public double remainingLength(double t) {
+        return length() - sAtT(t);
+    }
+
     /**
      * This returns the point on the Bezier curve that is specified by the parametric t value. A
      * Bezier curve is a parametric function that returns points along it with t ranging from [0, 1],
@@ -170,19 +315,7 @@ public class BezierCurve {
      */
     public Point getPoint(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
-
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            xCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getX();
-        }
-
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            yCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getY();
-        }
-        return new Point(xCoordinate, yCoordinate, Point.CARTESIAN);
+        return new Point(MathFunctions.evaluatePolynomial(xCoefficients, t), MathFunctions.evaluatePolynomial(yCoefficients, t), Point.CARTESIAN);
     }
 
     /**
@@ -193,11 +326,14 @@ public class BezierCurve {
      */
     public double getCurvature(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        Vector derivative = getDerivative(t);
-        Vector secondDerivative = getSecondDerivative(t);
-
-        if (derivative.getMagnitude() == 0) return 0;
-        return (MathFunctions.crossProduct(derivative, secondDerivative))/Math.pow(derivative.getMagnitude(),3);
+        double xDerivative = MathFunctions.evaluatePolynomial(xDerivativeCoefficients, t);
+        double yDerivative = MathFunctions.evaluatePolynomial(yDerivativeCoefficients, t);
+        double xSecondDerivative = MathFunctions.evaluatePolynomial(xSecondDerivativeCoefficients, t);
+        double ySecondDerivative = MathFunctions.evaluatePolynomial(ySecondDerivativeCoefficients, t);
+        double derivativeMagnitude = Math.sqrt(xDerivative * xDerivative + yDerivative * yDerivative);
+
+        if (derivativeMagnitude == 0) return 0;
+        return (xDerivative * ySecondDerivative - yDerivative * xSecondDerivative)/Math.pow(derivativeMagnitude,3);
     }
 
     /**
@@ -208,6 +344,164 @@ public class BezierCurve {
      * @return this returns the derivative requested.
      */
     public Vector getDerivative(double t) {
+        t = MathFunctions.clamp(t, 0, 1);
+        Vector returnVector = new Vector();
+
+        returnVector.setOrthogonalComponents(MathFunctions.evaluatePolynomial(xDerivativeCoefficients, t), MathFunctions.evaluatePolynomial(yDerivativeCoefficients, t));
+
+        return returnVector;
+    }
+
+    /**
+     * This writes the derivative on the BezierCurve that is specified by the parametric t value
+     * into a specified Vector, so that nothing new is created.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Vector to write the derivative into.
+     * @return this returns the output Vector.
+     */
+    public Vector getDerivative(double t, Vector output) {
+        t = MathFunctions.clamp(t, 0, 1);
+        output.setOrthogonalComponents(MathFunctions.evaluatePolynomial(xDerivativeCoefficients, t), MathFunctions.evaluatePolynomial(yDerivativeCoefficients, t));
+        return output;
+    }
+
+    /**
+     * This returns the second derivative on the BezierCurve that is specified by the parametric t value.
+     * This is returned as a Vector, and this Vector is the acceleration on the BezierCurve.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return this returns the second derivative requested.
+     */
+    public Vector getSecondDerivative(double t) {
+        t = MathFunctions.clamp(t, 0, 1);
+        Vector returnVector = new Vector();
+
+        returnVector.setOrthogonalComponents(MathFunctions.evaluatePolynomial(xSecondDerivativeCoefficients, t), MathFunctions.evaluatePolynomial(ySecondDerivativeCoefficients, t));
+
+        return returnVector;
+    }
+
+    /**
+     * This writes the point, derivative, and second derivative of the BezierCurve at a specified
+     * t-value into an Array of doubles, in the order x, y, x', y', x'', y''. This is the same as
+     * calling getPoint, getDerivative, and getSecondDerivative, but without creating any new
+     * objects, so it is cheap enough to call many times in a loop.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Array of doubles to write into. This must have a length of at least 6.
+     */
+    public void getPointAndDerivatives(double t, double[] output) {
+        t = MathFunctions.clamp(t, 0, 1);
+        output[0] = MathFunctions.evaluatePolynomial(xCoefficients, t);
+        output[1] = MathFunctions.evaluatePolynomial(yCoefficients, t);
+        output[2] = MathFunctions.evaluatePolynomial(xDerivativeCoefficients, t);
+        output[3] = MathFunctions.evaluatePolynomial(yDerivativeCoefficients, t);
+        output[4] = MathFunctions.evaluatePolynomial(xSecondDerivativeCoefficients, t);
+        output[5] = MathFunctions.evaluatePolynomial(ySecondDerivativeCoefficients, t);
+    }
+
+    /**
+     * This returns the t-value of the closest point on the BezierCurve to a specified position, if
+     * it can be solved for directly. For a degree 2 Bezier curve, the derivative of the squared
+     * distance to the curve is a cubic in t, so its roots are found with the cubic formula and the
+     * closest of those and the two end points is returned. Higher degree curves don't have a closed
+     * form for this, so -1 is returned and the Path uses its iterative search instead.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns the t-value of the closest point, or -1 if it can't be solved for directly.
+     */
+    public double getAnalyticClosestPointTValue(double x, double y) {
+        if (controlPoints.size() != 3) return -1;
+
+        // B(t) - p = a*t^2 + b*t + c, so (B(t) - p) * B'(t) = (a*t^2 + b*t + c) * (2*a*t + b)
+        double ax = xCoefficients[2];
+        double ay = yCoefficients[2];
+        double bx = xCoefficients[1];
+        double by = yCoefficients[1];
+        double cx = xCoefficients[0] - x;
+        double cy = yCoefficients[0] - y;
+
+        int rootCount = MathFunctions.solveCubic(
+                2 * (ax * ax + ay * ay),
+                3 * (ax * bx + ay * by),
+                bx * bx + by * by + 2 * (ax * cx + ay * cy),
+                bx * cx + by * cy,
+                closestPointRoots);
+
+        double bestTValue = 0;
+        double bestDistance = getSquaredDistance(x, y, 0);
+        double endDistance = getSquaredDistance(x, y, 1);
+        if (endDistance < bestDistance) {
+            bestTValue = 1;
+            bestDistance = endDistance;
+        }
+
+        for (int i = 0; i < rootCount; i++) {
+            double root = closestPointRoots[i];
+            if (root > 0 && root < 1) {
+                double distance = getSquaredDistance(x, y, root);
+                if (distance < bestDistance) {
+                    bestTValue = root;
+                    bestDistance = distance;
+                }
+            }
+        }
+
+        return bestTValue;
+    }
+
+    /**
+     * This returns the squared distance from a specified position to the point on the BezierCurve
+     * at a specified t-value.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param t the t-value.
+     * @return returns the squared distance.
+     */
+    private double getSquaredDistance(double x, double y, double t) {
+        double xError = MathFunctions.evaluatePolynomial(xCoefficients, t) - x;
+        double yError = MathFunctions.evaluatePolynomial(yCoefficients, t) - y;
+        return xError * xError + yError * yError;
+    }
+
+    /**
+     * This returns the point on the Bezier curve that is specified by the parametric t value, but
+     * evaluated directly from the Bernstein polynomial summation instead of the power basis. This is
+     * slower than getPoint(double t), but it is kept around as a reference to check the accuracy of
+     * the power basis evaluation against.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return this returns the point requested.
+     */
+    public Point getBernsteinPoint(double t) {
+        t = MathFunctions.clamp(t, 0, 1);
+        double xCoordinate = 0;
+        double yCoordinate = 0;
+
+        // calculates the x coordinate of the point requested
+        for (int i = 0; i < controlPoints.size(); i++) {
+            xCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getX();
+        }
+
+        // calculates the y coordinate of the point requested
+        for (int i = 0; i < controlPoints.size(); i++) {
+            yCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getY();
+        }
+        return new Point(xCoordinate, yCoordinate, Point.CARTESIAN);
+    }
+
+    /**
+     * This returns the derivative on the BezierCurve that is specified by the parametric t value,
+     * evaluated directly from the Bernstein polynomial summation. This is kept as a reference to
+     * check the accuracy of getDerivative(double t) against.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return this returns the derivative requested.
+     */
+    public Vector getBernsteinDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
         double xCoordinate = 0;
         double yCoordinate = 0;
@@ -219,7 +513,7 @@ public class BezierCurve {
         }
 
         // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-1; i++) {;
+        for (int i = 0; i < controlPoints.size()-1; i++) {
             yCoordinate += pointCoefficients.get(i).getDerivativeValue(t) * (MathFunctions.subtractPoints(controlPoints.get(i+1), controlPoints.get(i)).getY());
         }
 
@@ -229,13 +523,14 @@ public class BezierCurve {
     }
 
     /**
-     * This returns the second derivative on the BezierCurve that is specified by the parametric t value.
-     * This is returned as a Vector, and this Vector is the acceleration on the BezierCurve.
+     * This returns the second derivative on the BezierCurve that is specified by the parametric t
+     * value, evaluated directly from the Bernstein polynomial summation. This is kept as a reference
+     * to check the accuracy of getSecondDerivative(double t) against.
      *
      * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
      * @return this returns the second derivative requested.
      */
-    public Vector getSecondDerivative(double t) {
+    public Vector getBernsteinSecondDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
         double xCoordinate = 0;
         double yCoordinate = 0;
@@ -271,6 +566,22 @@ public class BezierCurve {
         return new Vector(1, deltaCurrent - current);
     }
 
+    /**
+     * This writes the approximate second derivative from getApproxSecondDerivative(double t) into a
+     * specified Vector, so that nothing new is created.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Vector to write the approximated second derivative into.
+     * @return this returns the output Vector.
+     */
+    public Vector getApproxSecondDerivative(double t, Vector output) {
+        double current = getDerivative(t, output).getTheta();
+        double deltaCurrent = getDerivative(t + 0.0001, output).getTheta();
+
+        output.setComponents(1, deltaCurrent - current);
+        return output;
+    }
+
     /**
      * Returns the ArrayList of control points for this BezierCurve.
      *
@@ -60,6 +60,41 @@ public class BezierLine extends BezierCurve {
         return Math.sqrt(Math.pow(startPoint.getX() - endPoint.getX(), 2) + Math.pow(startPoint.getY() - endPoint.getY(), 2));
     }
 
+    /**
+     * This returns the distance along the BezierLine from the start to a specified t-value. Lines
+     * move at a constant speed with respect to t, so this is just proportional.
+     *
+     * @param t the t-value. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the distance along the line to the t-value.
+     */
+    @Override
+    public double sAtT(double t) {
+        return MathFunctions.clamp(t, 0, 1) * length;
+    }
+
+    /**
+     * This returns the t-value at a specified distance along the BezierLine from the start.
+     *
+     * @param s the distance along the line. s is clamped to be between 0 and the length inclusive.
+     * @return returns the t-value at that distance.
+     */
+    @Override
+    public double tAtS(double s) {
+        if (length == 0) return 0;
+        return MathFunctions.clamp(s, 0, length) * UNIT_TO_TIME;
+    }
+
+    /**
+     * This returns the distance left along the BezierLine from a specified t-value to the end.
+     *
+     * @param t the t-value. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the remaining distance along the line.
+     */
+    @Override
+    public double remainingLength(double t) {
+        return length - sAtT(t);
+    }
+
     /**
      * This returns the Point on the Bezier line that is specified by the parametric t value.
      *
@@ -111,6 +146,56 @@ public class BezierLine extends BezierCurve {
         return new Vector();
     }
 
+    /**
+     * This writes the derivative on the BezierLine into a specified Vector, so that nothing new is
+     * created. The t value doesn't really do anything, but it's there so I can override methods.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Vector to write the derivative into.
+     * @return this returns the output Vector.
+     */
+    @Override
+    public Vector getDerivative(double t, Vector output) {
+        output.setOrthogonalComponents(endPoint.getX() - startPoint.getX(), endPoint.getY() - startPoint.getY());
+        return output;
+    }
+
+    /**
+     * This returns the t-value of the closest Point on the BezierLine to a specified position. This
+     * is just the projection of the position onto the line, clamped to the ends of the line, so no
+     * searching is needed.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns the t-value of the closest Point.
+     */
+    @Override
+    public double getAnalyticClosestPointTValue(double x, double y) {
+        double xDirection = endPoint.getX() - startPoint.getX();
+        double yDirection = endPoint.getY() - startPoint.getY();
+        double lengthSquared = xDirection * xDirection + yDirection * yDirection;
+        if (lengthSquared == 0) return 0;
+        return MathFunctions.clamp(((x - startPoint.getX()) * xDirection + (y - startPoint.getY()) * yDirection) / lengthSquared, 0, 1);
+    }
+
+    /**
+     * This writes the point, derivative, and second derivative of the BezierLine at a specified
+     * t-value into an Array of doubles, in the order x, y, x', y', x'', y''.
+     *
+     * @param t this is the t value of the parametric line. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Array of doubles to write into. This must have a length of at least 6.
+     */
+    @Override
+    public void getPointAndDerivatives(double t, double[] output) {
+        t = MathFunctions.clamp(t, 0, 1);
+        output[2] = endPoint.getX() - startPoint.getX();
+        output[3] = endPoint.getY() - startPoint.getY();
+        output[0] = output[2] * t + startPoint.getX();
+        output[1] = output[3] * t + startPoint.getY();
+        output[4] = 0;
+        output[5] = 0;
+    }
+
     /**
      * This returns the zero Vector, but it's here so I can override the method in the BezierCurve
      * class.
@@ -123,6 +208,20 @@ public class BezierLine extends BezierCurve {
         return new Vector();
     }
 
+    /**
+     * This writes the zero Vector into a specified Vector, but it's here so I can override the
+     * method in the BezierCurve class.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param output the Vector to write the zero Vector into.
+     * @return this returns the output Vector.
+     */
+    @Override
+    public Vector getApproxSecondDerivative(double t, Vector output) {
+        output.setComponents(0, 0);
+        return output;
+    }
+
     /**
      * Returns the ArrayList of control points for this BezierLine.
      *
@@ -57,6 +57,41 @@ public class BezierPoint extends BezierCurve {
         return 0.0;
     }
 
+    /**
+     * This returns the distance along the BezierPoint to a specified t-value, which is always zero
+     * since Points don't have length.
+     *
+     * @param t the t-value.
+     * @return returns zero.
+     */
+    @Override
+    public double sAtT(double t) {
+        return 0.0;
+    }
+
+    /**
+     * This returns the t-value at a specified distance along the BezierPoint. Every t-value is at
+     * the same place on a Point, so this just returns zero.
+     *
+     * @param s the distance.
+     * @return returns zero.
+     */
+    @Override
+    public double tAtS(double s) {
+        return 0.0;
+    }
+
+    /**
+     * This returns the distance left along the BezierPoint, which is always zero.
+     *
+     * @param t the t-value.
+     * @return returns zero.
+     */
+    @Override
+    public double remainingLength(double t) {
+        return 0.0;
+    }
+
     /**
      * This returns the point on the BezierPoint that is specified by the parametric t value. Since
      * this is a Point, this just returns the one control point's position.
@@ -105,6 +140,49 @@ public class BezierPoint extends BezierCurve {
         return new Vector();
     }
 
+    /**
+     * This writes the derivative on the BezierPoint, which is the zero Vector since this is a Point,
+     * into a specified Vector, so that nothing new is created.
+     *
+     * @param t this is the t value of the parametric curve. This doesn't do anything for a Point.
+     * @param output the Vector to write the derivative into.
+     * @return this returns the output Vector.
+     */
+    @Override
+    public Vector getDerivative(double t, Vector output) {
+        return MathFunctions.copyVector(endTangent, output);
+    }
+
+    /**
+     * This returns the t-value of the closest Point on the BezierPoint to a specified position.
+     * Every t-value is at the same place on a Point, so this just returns zero.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns zero.
+     */
+    @Override
+    public double getAnalyticClosestPointTValue(double x, double y) {
+        return 0.0;
+    }
+
+    /**
+     * This writes the point, derivative, and second derivative of the BezierPoint into an Array of
+     * doubles, in the order x, y, x', y', x'', y''. The derivatives of a Point are all zero.
+     *
+     * @param t this is the t value of the parametric curve. This doesn't do anything for a Point.
+     * @param output the Array of doubles to write into. This must have a length of at least 6.
+     */
+    @Override
+    public void getPointAndDerivatives(double t, double[] output) {
+        output[0] = point.getX();
+        output[1] = point.getY();
+        output[2] = 0;
+        output[3] = 0;
+        output[4] = 0;
+        output[5] = 0;
+    }
+
     /**
      * This returns the zero Vector, but it's here so I can override the method in the BezierCurve
      * class.
@@ -117,6 +195,20 @@ public class BezierPoint extends BezierCurve {
         return new Vector();
     }
 
+    /**
+     * This writes the zero Vector into a specified Vector, but it's here so I can override the
+     * method in the BezierCurve class.
+     *
+     * @param t this is the t value of the parametric curve. This doesn't do anything for a Point.
+     * @param output the Vector to write the zero Vector into.
+     * @return this returns the output Vector.
+     */
+    @Override
+    public Vector getApproxSecondDerivative(double t, Vector output) {
+        output.setComponents(0, 0);
+        return output;
+    }
+
     /**
      * Returns the ArrayList of control points for this BezierPoint
      *
@@ -39,6 +39,92 @@ public class MathFunctions {
         return num / denom;
     }
 
+    /**
+     * This evaluates a polynomial at a specified input using Horner's rule. The coefficients are in
+     * the power basis, so the coefficient at index i multiplies into x^i. This takes one multiply and
+     * one add per coefficient and doesn't need any Math.pow calls.
+     *
+     * @param coefficients the coefficients of the polynomial, from the constant term up.
+     * @param x the input to evaluate the polynomial at.
+     * @return returns the value of the polynomial.
+     */
+    public static double evaluatePolynomial(double[] coefficients, double x) {
+        double value = 0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * x + coefficients[i];
+        }
+        return value;
+    }
+
+    /**
+     * This finds the real roots of a quadratic equation, a*x^2 + b*x + c = 0. If a is zero, then
+     * this solves the linear equation instead. The roots are written into the specified Array of
+     * doubles so that nothing new is created.
+     *
+     * @param a the x^2 coefficient.
+     * @param b the x coefficient.
+     * @param c the constant.
+     * @param roots the Array to write the roots into. This must have a length of at least 2.
+     * @return returns how many real roots were found.
+     */
+    public static int solveQuadratic(double a, double b, double c, double[] roots) {
+        if (Math.abs(a) < 1e-12) {
+            if (Math.abs(b) < 1e-12) return 0;
+            roots[0] = -c / b;
+            return 1;
+        }
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant < 0) return 0;
+        double squareRoot = Math.sqrt(discriminant);
+        roots[0] = (-b + squareRoot) / (2 * a);
+        roots[1] = (-b - squareRoot) / (2 * a);
+        return 2;
+    }
+
+    /**
+     * This finds the real roots of a cubic equation, a*x^3 + b*x^2 + c*x + d = 0, using Cardano's
+     * formula when there is one real root and the trigonometric method when there are three. If a
+     * is zero, then this solves the quadratic equation instead. The roots are written into the
+     * specified Array of doubles so that nothing new is created.
+     *
+     * @param a the x^3 coefficient.
+     * @param b the x^2 coefficient.
+     * @param c the x coefficient.
+     * @param d the constant.
+     * @param roots the Array to write the roots into. This must have a length of at least 3.
+     * @return returns how many real roots were found.
+     */
+    public static int solveCubic(double a, double b, double c, double d, double[] roots) {
+        if (Math.abs(a) < 1e-12) return solveQuadratic(b, c, d, roots);
+
+        // this turns the cubic into a depressed cubic, t^3 + p*t + q = 0, where x = t - shift
+        double b2 = b / a;
+        double c2 = c / a;
+        double d2 = d / a;
+        double shift = b2 / 3;
+        double p = c2 - b2 * b2 / 3;
+        double q = 2 * b2 * b2 * b2 / 27 - b2 * c2 / 3 + d2;
+        double discriminant = q * q / 4 + p * p * p / 27;
+
+        if (discriminant > 0) {
+            double squareRoot = Math.sqrt(discriminant);
+            roots[0] = Math.cbrt(-q / 2 + squareRoot) + Math.cbrt(-q / 2 - squareRoot) - shift;
+            return 1;
+        }
+
+        if (p == 0) {
+            roots[0] = -shift;
+            return 1;
+        }
+
+        double magnitude = 2 * Math.sqrt(-p / 3);
+        double angle = Math.acos(clamp(3 * q / (p * magnitude), -1, 1)) / 3;
+        for (int k = 0; k < 3; k++) {
+            roots[k] = magnitude * Math.cos(angle - 2 * Math.PI * k / 3) - shift;
+        }
+        return 3;
+    }
+
     /**
      * This returns the sign (positive/negative) of a number.
      *
@@ -218,7 +304,21 @@ public class MathFunctions {
      * @return returns the copied Vector.
      */
     public static Vector copyVector(Vector vector) {
-        return new Vector(vector.getMagnitude(), vector.getTheta());
+        Vector returnVector = new Vector();
+        returnVector.set(vector);
+        return returnVector;
+    }
+
+    /**
+     * Copies a Vector into another specified Vector, so that nothing new is created.
+     *
+     * @param vector Vector to be copied.
+     * @param result the Vector to copy into.
+     * @return returns the result Vector.
+     */
+    public static Vector copyVector(Vector vector, Vector result) {
+        result.set(vector);
+        return result;
     }
 
     /**
@@ -229,7 +329,25 @@ public class MathFunctions {
      * @return returns the scaled Vector.
      */
     public static Vector scalarMultiplyVector(Vector vector, double scalar) {
-        return new Vector(vector.getMagnitude() * scalar, vector.getTheta());
+        Vector returnVector = new Vector();
+        returnVector.set(vector);
+        returnVector.scale(scalar);
+        return returnVector;
+    }
+
+    /**
+     * This multiplies a Vector by a scalar and writes the result into a specified Vector, so that
+     * nothing new is created. The result can be the same Vector as the input.
+     *
+     * @param vector the Vector being multiplied.
+     * @param scalar the scalar multiplying into the Vector.
+     * @param result the Vector to write the scaled Vector into.
+     * @return returns the result Vector.
+     */
+    public static Vector scalarMultiplyVector(Vector vector, double scalar, Vector result) {
+        result.set(vector);
+        result.scale(scalar);
+        return result;
     }
 
     /**
@@ -240,11 +358,27 @@ public class MathFunctions {
      * @return returns the normalized (or zero) Vector.
      */
     public static Vector normalizeVector(Vector vector) {
+        return normalizeVector(vector, new Vector());
+    }
+
+    /**
+     * This normalizes a Vector to be of magnitude 1, unless the Vector is the zero Vector, and
+     * writes the result into a specified Vector, so that nothing new is created. The result can be
+     * the same Vector as the input.
+     *
+     * @param vector the Vector being normalized.
+     * @param result the Vector to write the normalized (or zero) Vector into.
+     * @return returns the result Vector.
+     */
+    public static Vector normalizeVector(Vector vector, Vector result) {
         if (vector.getMagnitude() == 0) {
-            return new Vector(0.0, vector.getTheta());
+            result.setComponents(0.0, vector.getTheta());
         } else {
-            return new Vector(vector.getMagnitude() / Math.abs(vector.getMagnitude()), vector.getTheta());
+            double scalar = 1 / vector.getMagnitude();
+            result.set(vector);
+            result.scale(scalar);
         }
+        return result;
     }
 
     /**
@@ -260,6 +394,20 @@ public class MathFunctions {
         return returnVector;
     }
 
+    /**
+     * This adds two Vectors and writes the sum into a specified Vector, so that nothing new is
+     * created. The result can be the same Vector as either input.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param result the Vector to write the sum into.
+     * @return returns the result Vector.
+     */
+    public static Vector addVectors(Vector one, Vector two, Vector result) {
+        result.setOrthogonalComponents(one.getXComponent() + two.getXComponent(), one.getYComponent() + two.getYComponent());
+        return result;
+    }
+
     /**
      * This subtracts the second Vector from the first Vector and returns the result as a Vector.
      * Do note that order matters here.
@@ -274,6 +422,21 @@ public class MathFunctions {
         return returnVector;
     }
 
+    /**
+     * This subtracts the second Vector from the first Vector and writes the result into a specified
+     * Vector, so that nothing new is created. The result can be the same Vector as either input.
+     * Do note that order matters here.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param result the Vector to write the difference into.
+     * @return returns the result Vector.
+     */
+    public static Vector subtractVectors(Vector one, Vector two, Vector result) {
+        result.setOrthogonalComponents(one.getXComponent() - two.getXComponent(), one.getYComponent() - two.getYComponent());
+        return result;
+    }
+
     /**
      * This computes the dot product of the two Vectors.
      *
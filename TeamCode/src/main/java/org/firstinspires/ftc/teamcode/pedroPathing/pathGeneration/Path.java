@@ -3,7 +3,7 @@ package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 import android.util.Log;
 
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
-import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
 
 import java.util.ArrayList;
 
@@ -26,12 +26,29 @@ public class Path {
     private double closestPointTValue;
     private double linearInterpolationEndTime;
 
-    private Vector closestPointTangentVector;
-    private Vector closestPointNormalVector;
+    private Vector closestPointTangentVector = new Vector();
+    private Vector closestPointNormalVector = new Vector();
+    private Vector endTangent;
 
     private boolean isTangentHeadingInterpolation = true;
     private boolean followTangentReversed;
 
+    // These are used by the closest point search. The search is warm started from the last closest
+    // point with Newton's method, and falls back to a binary search over the whole Path if that fails.
+    private boolean closestPointInitialized;
+    private int closestPointIterations;
+    private int newtonIterations;
+    private int closestPointFallbackCount;
+    private final double[] curveEvaluation = new double[6];
+    private int NEWTON_STEP_LIMIT;
+    private final double NEWTON_T_VALUE_TOLERANCE = 0.000001;
+    // This is how much further away, as a fraction of the squared distance, the Point Newton's
+    // method converges to can be than where it started before the search counts as diverged. It is
+    // also added on its own, so a search that starts right on the Path has some slack too.
+    private final double NEWTON_DISTANCE_TOLERANCE = 0.000001;
+    // This is the t-value step that getApproxSecondDerivative measures the turn of the tangent over.
+    private final double NORMAL_VECTOR_T_VALUE_STEP = 0.0001;
+
     // A multiplier for the zero power acceleration to change the speed the robot decelerates at
     // the end of paths.
     // Increasing this will cause the robot to try to decelerate faster, at the risk of overshoots
@@ -39,32 +56,32 @@ public class Path {
     // Decreasing this will cause the deceleration at the end of the Path to be slower, making the
     // robot slower but reducing risk of end-of-path overshoots or localization slippage.
     // This can be set individually for each Path, but this is the default.
-    private double zeroPowerAccelerationMultiplier = FollowerConstants.zeroPowerAccelerationMultiplier;
+    private double zeroPowerAccelerationMultiplier;
 
     // When the robot is at the end of its current Path or PathChain and the velocity goes
     // this value, then end the Path. This is in inches/second.
     // This can be custom set for each Path.
-    private double pathEndVelocityConstraint = FollowerConstants.pathEndVelocityConstraint;
+    private double pathEndVelocityConstraint;
 
     // When the robot is at the end of its current Path or PathChain and the translational error
     // goes below this value, then end the Path. This is in inches.
     // This can be custom set for each Path.
-    private double pathEndTranslationalConstraint = FollowerConstants.pathEndTranslationalConstraint;
+    private double pathEndTranslationalConstraint;
 
     // When the robot is at the end of its current Path or PathChain and the heading error goes
     // below this value, then end the Path. This is in radians.
     // This can be custom set for each Path.
-    private double pathEndHeadingConstraint = FollowerConstants.pathEndHeadingConstraint;
+    private double pathEndHeadingConstraint;
 
     // When the t-value of the closest point to the robot on the Path is greater than this value,
     // then the Path is considered at its end.
     // This can be custom set for each Path.
-    private double pathEndTValueConstraint = FollowerConstants.pathEndTValueConstraint;
+    private double pathEndTValueConstraint;
 
     // When the Path is considered at its end parametrically, then the Follower has this many
     // milliseconds to further correct by default.
     // This can be custom set for each Path.
-    private double pathEndTimeoutConstraint = FollowerConstants.pathEndTimeoutConstraint;
+    private double pathEndTimeoutConstraint;
 
     /**
      * Creates a new Path from a BezierCurve. The default heading interpolation is tangential.
@@ -72,7 +89,26 @@ public class Path {
      * @param curve the BezierCurve.
      */
     public Path(BezierCurve curve) {
+        this(curve, FollowerConfig.fromFollowerConstants());
+    }
+
+    /**
+     * Creates a new Path from a BezierCurve, with the default end constraints and deceleration
+     * from a FollowerConfig. The default heading interpolation is tangential.
+     *
+     * @param curve the BezierCurve.
+     * @param config the FollowerConfig to take the defaults from.
+     */
+    public Path(BezierCurve curve, FollowerConfig config) {
         this.curve = curve;
+        endTangent = curve.getEndTangent();
+        NEWTON_STEP_LIMIT = config.NEWTON_CLOSEST_POINT_STEP_LIMIT;
+        zeroPowerAccelerationMultiplier = config.zeroPowerAccelerationMultiplier;
+        pathEndVelocityConstraint = config.pathEndVelocityConstraint;
+        pathEndTranslationalConstraint = config.pathEndTranslationalConstraint;
+        pathEndHeadingConstraint = config.pathEndHeadingConstraint;
+        pathEndTValueConstraint = config.pathEndTValueConstraint;
+        pathEndTimeoutConstraint = config.pathEndTimeoutConstraint;
     }
 
     /**
@@ -126,46 +162,229 @@ public class Path {
     }
 
     /**
-     * This gets the closest Point from a specified pose to the BezierCurve with a binary search
-     * that is limited to some specified step limit.
+     * This gets the closest Point from a specified pose to the BezierCurve and returns it as a new
+     * Pose. This is the same as getClosestPoint(Pose pose, int searchStepLimit, Pose output).
      *
      * @param pose the pose.
      * @param searchStepLimit the binary search step limit.
      * @return returns the closest Point.
      */
     public Pose getClosestPoint(Pose pose, int searchStepLimit) {
+        return getClosestPoint(pose, searchStepLimit, new Pose());
+    }
+
+    /**
+     * This gets the closest Point from a specified pose to the BezierCurve. If the type of
+     * BezierCurve allows the closest Point to be solved for directly, like with lines and points,
+     * then that is used. Otherwise, the search is warm started from the previous closest Point and
+     * refined with a few Newton-Raphson iterations on the derivative of the distance to the
+     * BezierCurve. If there is no previous closest Point, or if Newton's method diverges, then a
+     * binary search that is limited to some specified step limit is run over the whole BezierCurve
+     * instead. The closest Point is written into a specified Pose, so that nothing new is created.
+     *
+     * @param pose the pose.
+     * @param searchStepLimit the binary search step limit.
+     * @param output the Pose to write the closest Point into.
+     * @return returns the output Pose.
+     */
+    public Pose getClosestPoint(Pose pose, int searchStepLimit, Pose output) {
+        double x = pose.getX();
+        double y = pose.getY();
+        double newtonTValue = -1;
+        int totalIterations = 0;
+        double analyticTValue = curve.getAnalyticClosestPointTValue(x, y);
+
+        if (analyticTValue >= 0) {
+            closestPointTValue = analyticTValue;
+            closestPointInitialized = true;
+        } else {
+            if (closestPointInitialized) {
+                newtonTValue = getNewtonClosestPointTValue(x, y, closestPointTValue);
+                totalIterations += newtonIterations;
+                if (newtonTValue < 0) closestPointFallbackCount++;
+            }
+
+            if (newtonTValue >= 0) {
+                closestPointTValue = newtonTValue;
+            } else {
+                closestPointTValue = getBinaryClosestPointTValue(x, y, searchStepLimit);
+                totalIterations += searchStepLimit;
+
+                // the binary search only gets close, so this polishes the result if Newton's method can
+                newtonTValue = getNewtonClosestPointTValue(x, y, closestPointTValue);
+                totalIterations += newtonIterations;
+                if (newtonTValue >= 0) closestPointTValue = newtonTValue;
+                closestPointInitialized = true;
+            }
+        }
+
+        closestPointIterations = totalIterations;
+
+        curve.getPointAndDerivatives(closestPointTValue, curveEvaluation);
+        updateClosestPointDerivatives();
+
+        output.setX(curveEvaluation[0]);
+        output.setY(curveEvaluation[1]);
+        output.setHeading(getClosestPointHeadingGoal());
+        return output;
+    }
+
+    /**
+     * This sets the tangent Vector, normal Vector, and curvature at the closest Point from the
+     * derivatives already in the curve evaluation Array, instead of evaluating the BezierCurve again.
+     * The normal Vector is the same one getApproxSecondDerivative of the BezierCurve approximates: a
+     * unit Vector whose theta is how far the tangent turns over a small step in t, or the zero
+     * Vector if the second derivative is zero, like on a BezierLine.
+     */
+    private void updateClosestPointDerivatives() {
+        double xDerivative = curveEvaluation[2];
+        double yDerivative = curveEvaluation[3];
+        double xSecondDerivative = curveEvaluation[4];
+        double ySecondDerivative = curveEvaluation[5];
+        closestPointTangentVector.setOrthogonalComponents(xDerivative, yDerivative);
+
+        double derivativeMagnitudeSquared = xDerivative * xDerivative + yDerivative * yDerivative;
+        if (derivativeMagnitudeSquared == 0 || (xSecondDerivative == 0 && ySecondDerivative == 0)) {
+            closestPointNormalVector.setComponents(0, 0);
+            closestPointCurvature = 0;
+            return;
+        }
+        double crossProduct = xDerivative * ySecondDerivative - yDerivative * xSecondDerivative;
+        closestPointNormalVector.setComponents(1, NORMAL_VECTOR_T_VALUE_STEP * crossProduct / derivativeMagnitudeSquared);
+        closestPointCurvature = crossProduct / Math.pow(derivativeMagnitudeSquared, 1.5);
+    }
+
+    /**
+     * This runs Newton's method to find the t-value of the closest Point on the BezierCurve to a
+     * specified position, starting from a specified t-value. This finds a root of the derivative of
+     * the squared distance to the BezierCurve, which is (B(t) - p) * B'(t), where B is the
+     * BezierCurve and p is the position. The number of iterations it took is put in
+     * newtonIterations.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param startTValue the t-value to start searching from.
+     * @return returns the t-value of the closest Point, or -1 if Newton's method diverged.
+     */
+    private double getNewtonClosestPointTValue(double x, double y, double startTValue) {
+        double t = MathFunctions.clamp(startTValue, 0, 1);
+        int iterations = 0;
+        newtonIterations = 0;
+
+        curve.getPointAndDerivatives(t, curveEvaluation);
+        double startDistanceSquared = distanceSquared(x, y);
+
+        while (iterations < NEWTON_STEP_LIMIT) {
+            iterations++;
+            newtonIterations = iterations;
+            double xError = curveEvaluation[0] - x;
+            double yError = curveEvaluation[1] - y;
+            double distanceDerivative = xError * curveEvaluation[2] + yError * curveEvaluation[3];
+            double distanceSecondDerivative = curveEvaluation[2] * curveEvaluation[2] + curveEvaluation[3] * curveEvaluation[3]
+                    + xError * curveEvaluation[4] + yError * curveEvaluation[5];
+
+            // if the distance isn't curving upwards, then this isn't heading towards a minimum
+            if (distanceSecondDerivative <= 0) {
+                if (distanceDerivative == 0) return t;
+                return -1;
+            }
+
+            double nextT = MathFunctions.clamp(t - distanceDerivative / distanceSecondDerivative, 0, 1);
+            boolean converged = Math.abs(nextT - t) < NEWTON_T_VALUE_TOLERANCE;
+            t = nextT;
+            curve.getPointAndDerivatives(t, curveEvaluation);
+
+            if (converged) {
+                // Newton's method can converge onto a maximum or jump past the nearby minimum
+                if (distanceSquared(x, y) > startDistanceSquared * (1 + NEWTON_DISTANCE_TOLERANCE) + NEWTON_DISTANCE_TOLERANCE) return -1;
+                return t;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This finds the t-value of the closest Point on the BezierCurve to a specified position with a
+     * binary search over the whole BezierCurve that is limited to some specified step limit.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param searchStepLimit the binary search step limit.
+     * @return returns the t-value of the closest Point.
+     */
+    private double getBinaryClosestPointTValue(double x, double y, int searchStepLimit) {
         double lower = 0;
         double upper = 1;
-        Point returnPoint;
 
         // we don't need to calculate the midpoint, so we start off at the 1/4 and 3/4 point
         for (int i = 0; i < searchStepLimit; i++) {
-            if (MathFunctions.distance(pose, getPoint(lower + 0.25 * (upper-lower))) > MathFunctions.distance(pose, getPoint(lower + 0.75 * (upper-lower)))) {
+            curve.getPointAndDerivatives(lower + 0.25 * (upper-lower), curveEvaluation);
+            double lowerDistanceSquared = distanceSquared(x, y);
+            curve.getPointAndDerivatives(lower + 0.75 * (upper-lower), curveEvaluation);
+            if (lowerDistanceSquared > distanceSquared(x, y)) {
                 lower += (upper-lower)/2.0;
             } else {
                 upper -= (upper-lower)/2.0;
             }
-
-//            Log.d("Path_logger", "l_distance: " + MathFunctions.distance(pose, getPoint(lower + 0.25 * (upper-lower))) +
-//                    " | h_distance: " + MathFunctions.distance(pose, getPoint(lower + 0.75 * (upper-lower)))
-//                   + " | lower: " + lower
-//                    + " | upper: " + upper
-//                    + " | ( " + getFirstControlPoint().getX() + ", " + getFirstControlPoint().getY() + ")"
-//                    + " | ( " + getLastControlPoint().getX() + ", " + getLastControlPoint().getY() + ")"
-//            );
         }
 
-        closestPointTValue = lower + 0.5 * (upper-lower);
+        return lower + 0.5 * (upper-lower);
+    }
 
-        returnPoint = getPoint(closestPointTValue);
+    /**
+     * This returns the squared distance from a specified position to the last Point written into
+     * the curve evaluation Array.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns the squared distance.
+     */
+    private double distanceSquared(double x, double y) {
+        double xError = curveEvaluation[0] - x;
+        double yError = curveEvaluation[1] - y;
+        return xError * xError + yError * yError;
+    }
 
-        closestPointTangentVector = curve.getDerivative(closestPointTValue);
+    /**
+     * This sets the t-value that the next closest Point search is warm started from. This is used
+     * to move the search to a different part of the Path, like when the PathChainIndex finds that
+     * the search has gotten stuck on the wrong part of it.
+     *
+     * @param t the t-value to start from.
+     */
+    public void seedClosestPointSearch(double t) {
+        closestPointTValue = MathFunctions.clamp(t, 0, 1);
+        closestPointInitialized = true;
+    }
 
-        closestPointNormalVector = curve.getApproxSecondDerivative(closestPointTValue);
+    /**
+     * This makes the next closest Point search start over with a search of the whole Path, instead
+     * of warm starting from the previous closest Point. This should be called whenever the Follower
+     * starts following this Path.
+     */
+    public void resetClosestPointSearch() {
+        closestPointInitialized = false;
+    }
 
-        closestPointCurvature = curve.getCurvature(closestPointTValue);
+    /**
+     * This returns how many iterations the last closest Point search took, including the binary
+     * search steps if it fell back to a binary search.
+     *
+     * @return returns the number of iterations.
+     */
+    public int getClosestPointIterations() {
+        return closestPointIterations;
+    }
 
-        return new Pose(returnPoint.getX(), returnPoint.getY(), getClosestPointHeadingGoal());
+    /**
+     * This returns how many times the warm started closest Point search has diverged and had to fall
+     * back to a binary search of the whole Path.
+     *
+     * @return returns the number of fallbacks.
+     */
+    public int getClosestPointFallbackCount() {
+        return closestPointFallbackCount;
     }
 
     /**
@@ -193,7 +412,18 @@ public class Path {
      * @return returns the end tangent Vector.
      */
     public Vector getEndTangent() {
-        return curve.getEndTangent();
+        return MathFunctions.copyVector(endTangent);
+    }
+
+    /**
+     * This writes the unit tangent Vector at the end of the BezierCurve into a specified Vector, so
+     * that nothing new is created.
+     *
+     * @param output the Vector to write the end tangent Vector into.
+     * @return returns the output Vector.
+     */
+    public Vector getEndTangent(Vector output) {
+        return MathFunctions.copyVector(endTangent, output);
     }
 
     /**
@@ -227,6 +457,36 @@ public class Path {
         return curve.length();
     }
 
+    /**
+     * This returns the distance along the BezierCurve from the start to a specified t-value.
+     *
+     * @param t the specified t-value.
+     * @return returns the distance along the BezierCurve to the t-value.
+     */
+    public double sAtT(double t) {
+        return curve.sAtT(t);
+    }
+
+    /**
+     * This returns the t-value at a specified distance along the BezierCurve from the start.
+     *
+     * @param s the specified distance.
+     * @return returns the t-value at the distance.
+     */
+    public double tAtS(double s) {
+        return curve.tAtS(s);
+    }
+
+    /**
+     * This returns the distance left along the BezierCurve from a specified t-value to the end.
+     *
+     * @param t the specified t-value.
+     * @return returns the remaining distance along the BezierCurve.
+     */
+    public double remainingLength(double t) {
+        return curve.remainingLength(t);
+    }
+
     /**
      * This returns the curvature of the BezierCurve at a specified t-value.
      *
@@ -255,6 +515,17 @@ public class Path {
         return MathFunctions.copyVector(closestPointNormalVector);
     }
 
+    /**
+     * This writes the normal Vector at the closest Point into a specified Vector, so that nothing
+     * new is created.
+     *
+     * @param output the Vector to write the normal Vector into.
+     * @return returns the output Vector.
+     */
+    public Vector getClosestPointNormalVector(Vector output) {
+        return MathFunctions.copyVector(closestPointNormalVector, output);
+    }
+
     /**
      * This returns the tangent Vector at the closest Point.
      *
@@ -264,6 +535,17 @@ public class Path {
         return MathFunctions.copyVector(closestPointTangentVector);
     }
 
+    /**
+     * This writes the tangent Vector at the closest Point into a specified Vector, so that nothing
+     * new is created.
+     *
+     * @param output the Vector to write the tangent Vector into.
+     * @return returns the output Vector.
+     */
+    public Vector getClosestPointTangentVector(Vector output) {
+        return MathFunctions.copyVector(closestPointTangentVector, output);
+    }
+
     /**
      * This returns the heading goal at the closest Point.
      *
@@ -1,5 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+
 import java.util.ArrayList;
 
 /**
@@ -18,6 +20,8 @@ public class PathBuilder {
 
     private ArrayList<PathCallback> callbacks = new ArrayList<>();
 
+    private FollowerConfig config;
+
     /**
      * This is an empty constructor for the PathBuilder class so it can get started.
      * The PathBuilder allows for easier construction of PathChains.
@@ -27,6 +31,16 @@ public class PathBuilder {
      * Of course, you can split up the method calls onto separate lines for readability.
      */
     public PathBuilder() {
+        this(FollowerConfig.fromFollowerConstants());
+    }
+
+    /**
+     * This creates a new PathBuilder that makes its Paths with the defaults from a FollowerConfig.
+     *
+     * @param config the FollowerConfig to take the Path defaults from.
+     */
+    public PathBuilder(FollowerConfig config) {
+        this.config = config;
     }
 
     /**
@@ -47,7 +61,7 @@ public class PathBuilder {
      * @return This returns itself with the updated data.
      */
     public PathBuilder addPath(BezierCurve curve) {
-        this.paths.add(new Path(curve));
+        this.paths.add(new Path(curve, config));
         return this;
     }
 
@@ -18,6 +18,8 @@ public class PathChain {
 
     private ArrayList<PathCallback> callbacks = new ArrayList<>();
 
+    private PathChainIndex index;
+
     /**
      * This creates a new PathChain from some specified Paths.
      *
@@ -30,6 +32,7 @@ public class PathChain {
         for (Path path : paths) {
             pathChain.add(path);
         }
+        index = new PathChainIndex(this);
     }
 
     /**
@@ -38,10 +41,14 @@ public class PathChain {
      * IMPORTANT NOTE: Order matters here. The order in which the Paths are input is the order in
      * which they will be run.
      *
+     * The ArrayList is copied, since the PathChainIndex is built over the Paths in it, so changing
+     * the ArrayList afterwards doesn't change the PathChain.
+     *
      * @param paths the ArrayList of Paths.
      */
     public PathChain(ArrayList<Path> paths) {
-        pathChain = paths;
+        pathChain = new ArrayList<>(paths);
+        index = new PathChainIndex(this);
     }
 
     /**
@@ -54,6 +61,16 @@ public class PathChain {
         return pathChain.get(index);
     }
 
+    /**
+     * This returns the PathChainIndex of this PathChain, which is used to find the closest point on
+     * the whole PathChain.
+     *
+     * @return returns the PathChainIndex.
+     */
+    public PathChainIndex getIndex() {
+        return index;
+    }
+
     /**
      * This returns the size of the PathChain.
      *
@@ -0,0 +1,236 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+/**
+ * This is the PathChainIndex class. This class holds a uniform grid of points sampled along every
+ * Path in a PathChain, each tagged with the index of its Path and its t-value. This allows for the
+ * closest point on the whole PathChain to be found quickly, which is used to re-seed the closest
+ * point search of the Follower when it gets stuck on the wrong part of a Path, like when the robot
+ * gets bumped or a Path loops back on itself.
+ *
+ * The grid is built once when the PathChain is created and is stored in flat Arrays, so searching
+ * it doesn't create anything new.
+ */
+public class PathChainIndex {
+    // This is the distance, in inches, between sampled points along each Path.
+    public static final double SAMPLE_SPACING = 1.0;
+
+    // This is the side length, in inches, of each square cell in the grid.
+    public static final double CELL_SIZE = 6.0;
+
+    private double[] sampleX;
+    private double[] sampleY;
+    private double[] sampleTValues;
+    private int[] samplePathIndices;
+
+    // The samples in cell c are cellSamples[cellStarts[c]] to cellSamples[cellStarts[c + 1] - 1].
+    private int[] cellStarts;
+    private int[] cellSamples;
+
+    private double minX;
+    private double minY;
+    private int columns;
+    private int rows;
+
+    private int closestSample;
+    private double closestDistance;
+
+    /**
+     * This creates a new PathChainIndex from the Paths of a PathChain.
+     *
+     * @param pathChain the PathChain to index.
+     */
+    public PathChainIndex(PathChain pathChain) {
+        int sampleCount = 0;
+        for (int i = 0; i < pathChain.size(); i++) {
+            sampleCount += getSampleCount(pathChain.getPath(i));
+        }
+
+        sampleX = new double[sampleCount];
+        sampleY = new double[sampleCount];
+        sampleTValues = new double[sampleCount];
+        samplePathIndices = new int[sampleCount];
+
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        int sample = 0;
+        for (int i = 0; i < pathChain.size(); i++) {
+            Path path = pathChain.getPath(i);
+            int pathSamples = getSampleCount(path);
+            for (int j = 0; j < pathSamples; j++) {
+                double t = pathSamples == 1 ? 0 : path.tAtS(path.length() * j / (pathSamples - 1));
+                Point point = path.getPoint(t);
+                sampleX[sample] = point.getX();
+                sampleY[sample] = point.getY();
+                sampleTValues[sample] = t;
+                samplePathIndices[sample] = i;
+                minX = Math.min(minX, point.getX());
+                minY = Math.min(minY, point.getY());
+                maxX = Math.max(maxX, point.getX());
+                maxY = Math.max(maxY, point.getY());
+                sample++;
+            }
+        }
+
+        if (sampleCount == 0) {
+            minX = 0;
+            minY = 0;
+            maxX = 0;
+            maxY = 0;
+        }
+
+        columns = (int) ((maxX - minX) / CELL_SIZE) + 1;
+        rows = (int) ((maxY - minY) / CELL_SIZE) + 1;
+
+        // this is a counting sort of the samples into their cells
+        cellStarts = new int[columns * rows + 1];
+        for (int i = 0; i < sampleCount; i++) {
+            cellStarts[getCell(sampleX[i], sampleY[i]) + 1]++;
+        }
+        for (int i = 0; i < columns * rows; i++) {
+            cellStarts[i + 1] += cellStarts[i];
+        }
+        cellSamples = new int[sampleCount];
+        int[] cellFill = new int[columns * rows];
+        for (int i = 0; i < sampleCount; i++) {
+            int cell = getCell(sampleX[i], sampleY[i]);
+            cellSamples[cellStarts[cell] + cellFill[cell]] = i;
+            cellFill[cell]++;
+        }
+
+        closestSample = -1;
+        closestDistance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * This returns how many points will be sampled along a Path.
+     *
+     * @param path the Path.
+     * @return returns the number of samples.
+     */
+    private int getSampleCount(Path path) {
+        return (int) Math.ceil(path.length() / SAMPLE_SPACING) + 1;
+    }
+
+    /**
+     * This returns the column of the grid that contains a specified x position, clamped to the grid.
+     *
+     * @param x the x position.
+     * @return returns the column.
+     */
+    private int getColumn(double x) {
+        return (int) MathFunctions.clamp(Math.floor((x - minX) / CELL_SIZE), 0, columns - 1);
+    }
+
+    /**
+     * This returns the row of the grid that contains a specified y position, clamped to the grid.
+     *
+     * @param y the y position.
+     * @return returns the row.
+     */
+    private int getRow(double y) {
+        return (int) MathFunctions.clamp(Math.floor((y - minY) / CELL_SIZE), 0, rows - 1);
+    }
+
+    /**
+     * This returns the index of the cell of the grid that contains a specified position.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns the cell index.
+     */
+    private int getCell(double x, double y) {
+        return getRow(y) * columns + getColumn(x);
+    }
+
+    /**
+     * This finds the closest sampled point to a specified position out of the Paths at or after a
+     * specified index in the PathChain. The search goes outwards in square rings of cells from the
+     * cell containing the position, and stops once no farther ring can have a closer point. The
+     * result can be read with getClosestPathIndex, getClosestTValue, and getClosestDistance.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param minimumPathIndex the lowest index of Path in the PathChain to consider.
+     * @return returns if a sampled point was found.
+     */
+    public boolean findClosestSample(double x, double y, int minimumPathIndex) {
+        int column = getColumn(x);
+        int row = getRow(y);
+        int maxRing = Math.max(columns, rows);
+        double bestDistanceSquared = Double.POSITIVE_INFINITY;
+        closestSample = -1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // every cell in this ring is at least (ring - 1) cells away from the position
+            if (closestSample >= 0) {
+                double ringDistance = (ring - 1) * CELL_SIZE;
+                if (ringDistance > 0 && ringDistance * ringDistance > bestDistanceSquared) break;
+            }
+
+            for (int cellRow = row - ring; cellRow <= row + ring; cellRow++) {
+                if (cellRow < 0 || cellRow >= rows) continue;
+                boolean edgeRow = cellRow == row - ring || cellRow == row + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int cellColumn = column - ring; cellColumn <= column + ring; cellColumn += step) {
+                    if (cellColumn < 0 || cellColumn >= columns) continue;
+                    int cell = cellRow * columns + cellColumn;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        int sample = cellSamples[i];
+                        if (samplePathIndices[sample] < minimumPathIndex) continue;
+                        double xError = sampleX[sample] - x;
+                        double yError = sampleY[sample] - y;
+                        double distanceSquared = xError * xError + yError * yError;
+                        if (distanceSquared < bestDistanceSquared) {
+                            bestDistanceSquared = distanceSquared;
+                            closestSample = sample;
+                        }
+                    }
+                }
+            }
+        }
+
+        closestDistance = Math.sqrt(bestDistanceSquared);
+        return closestSample >= 0;
+    }
+
+    /**
+     * This returns the index in the PathChain of the Path of the last closest sampled point found.
+     *
+     * @return returns the Path index, or -1 if nothing was found.
+     */
+    public int getClosestPathIndex() {
+        if (closestSample < 0) return -1;
+        return samplePathIndices[closestSample];
+    }
+
+    /**
+     * This returns the t-value on its Path of the last closest sampled point found.
+     *
+     * @return returns the t-value, or -1 if nothing was found.
+     */
+    public double getClosestTValue() {
+        if (closestSample < 0) return -1;
+        return sampleTValues[closestSample];
+    }
+
+    /**
+     * This returns the distance to the last closest sampled point found.
+     *
+     * @return returns the distance.
+     */
+    public double getClosestDistance() {
+        return closestDistance;
+    }
+
+    /**
+     * This returns the number of points sampled across the PathChain.
+     *
+     * @return returns the number of samples.
+     */
+    public int getSampleCount() {
+        return sampleX.length;
+    }
+}
@@ -7,6 +7,11 @@ package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
  * products of Points just don't seem right. Also, there are a few more methods in here that make
  * using Vectors a little easier than using a Point in polar coordinates.
  *
+ * Since most of the vector math in the Follower is done with the x and y components, those are
+ * what the Vector actually stores. The magnitude and theta are only calculated when they are asked
+ * for, and then kept until the Vector changes, so adding, subtracting, and taking dot products of
+ * Vectors doesn't need any trig.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
  * @author Harrison Womack - 10158 Scott's Bots
@@ -16,11 +21,14 @@ public class Vector {
 
     // IMPORTANT NOTE: theta is defined in radians.
     // These are the values of the coordinate defined by this Point, in both polar and
-    // Cartesian systems.
+    // Cartesian systems. The Cartesian values are always up to date, while the polar values are
+    // only up to date if their flags are set.
     private double magnitude;
     private double theta;
     private double xComponent;
     private double yComponent;
+    private boolean magnitudeValid;
+    private boolean thetaValid;
 
     /**
      * This creates a new Vector with zero magnitude and direction.
@@ -46,7 +54,6 @@ public class Vector {
      * @param theta sets the theta value of this Vector.
      */
     public void setComponents(double magnitude, double theta) {
-        double[] orthogonalComponents;
         if (magnitude<0) {
             this.magnitude = -magnitude;
             this.theta = MathFunctions.normalizeAngle(theta+Math.PI);
@@ -54,9 +61,11 @@ public class Vector {
             this.magnitude = magnitude;
             this.theta = MathFunctions.normalizeAngle(theta);
         }
-        orthogonalComponents = Point.polarToCartesian(magnitude, theta);
-        xComponent = orthogonalComponents[0];
-        yComponent = orthogonalComponents[1];
+        magnitudeValid = true;
+        thetaValid = true;
+        // this is the same as Point.polarToCartesian, but without creating an Array
+        xComponent = magnitude * Math.cos(theta);
+        yComponent = magnitude * Math.sin(theta);
     }
 
     /**
@@ -65,7 +74,7 @@ public class Vector {
      * @param magnitude sets the magnitude of this Vector.
      */
     public void setMagnitude(double magnitude) {
-        setComponents(magnitude, theta);
+        setComponents(magnitude, getTheta());
     }
 
     /**
@@ -74,7 +83,7 @@ public class Vector {
      * @param theta sets the angle, or theta value, of this Vector.
      */
     public void setTheta(double theta) {
-        setComponents(magnitude, theta);
+        setComponents(getMagnitude(), theta);
     }
 
     /**
@@ -83,7 +92,7 @@ public class Vector {
      * @param theta2 the angle to be added.
      */
     public void rotateVector(double theta2) {
-        setTheta(theta+theta2);
+        setTheta(getTheta()+theta2);
     }
 
     /**
@@ -95,12 +104,43 @@ public class Vector {
      * @param yComponent sets the y component of this Vector.
      */
     public void setOrthogonalComponents(double xComponent, double yComponent) {
-        double[] polarComponents;
         this.xComponent = xComponent;
         this.yComponent = yComponent;
-        polarComponents = Point.cartesianToPolar(xComponent, yComponent);
-        magnitude = polarComponents[0];
-        theta = polarComponents[1];
+
+        magnitudeValid = false;
+        thetaValid = false;
+    }
+
+    /**
+     * This copies another Vector into this Vector, including its polar values if they have already
+     * been calculated, so that nothing needs to be calculated again.
+     *
+     * @param vector the Vector to copy.
+     */
+    public void set(Vector vector) {
+        magnitude = vector.magnitude;
+        theta = vector.theta;
+        xComponent = vector.xComponent;
+        yComponent = vector.yComponent;
+        magnitudeValid = vector.magnitudeValid;
+        thetaValid = vector.thetaValid;
+    }
+
+    /**
+     * This multiplies this Vector by a scalar. If the polar values of this Vector are already
+     * calculated, then they are scaled too instead of being calculated again later.
+     *
+     * @param scalar the scalar multiplying into the Vector.
+     */
+    public void scale(double scalar) {
+        xComponent *= scalar;
+        yComponent *= scalar;
+        if (scalar < 0) {
+            magnitude *= -scalar;
+            if (thetaValid && (xComponent != 0 || yComponent != 0)) theta = MathFunctions.normalizeAngle(theta + Math.PI);
+        } else {
+            magnitude *= scalar;
+        }
     }
 
     /**
@@ -109,6 +149,10 @@ public class Vector {
      * @return returns the magnitude.
      */
     public double getMagnitude() {
+        if (!magnitudeValid) {
+            magnitude = Math.sqrt(xComponent * xComponent + yComponent * yComponent);
+            magnitudeValid = true;
+        }
         return magnitude;
     }
 
@@ -118,6 +162,19 @@ public class Vector {
      * @return returns the theta value.
      */
     public double getTheta() {
+        if (!thetaValid) {
+            // this is the same as Point.cartesianToPolar, but without creating an Array
+            if (xComponent == 0) {
+                theta = yComponent > 0 ? Math.PI / 2 : (3 * Math.PI) / 2;
+            } else if (xComponent < 0) {
+                theta = Math.PI + Math.atan(yComponent / xComponent);
+            } else if (yComponent > 0) {
+                theta = Math.atan(yComponent / xComponent);
+            } else {
+                theta = (2 * Math.PI) + Math.atan(yComponent / xComponent);
+            }
+            thetaValid = true;
+        }
         return theta;
     }
 
@@ -0,0 +1,172 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers.SimulatedLocalizer;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.SimulatedClock;
+
+import java.util.Random;
+
+/**
+ * This is the FollowerSimulation class. This puts a Follower on a MecanumDrivetrainSimulator, so
+ * Paths and PathChains can be run without a robot. Every loop, the simulated robot is moved for one
+ * loop time with the motor powers from the last loop, and then the Follower is updated, just like a
+ * real OpMode loop. The Follower gets its time from a SimulatedClock that moves forward one loop
+ * time every loop, so the simulation acts the same no matter how fast it actually runs.
+ */
+public class FollowerSimulation {
+    private MecanumDrivetrainSimulator simulator;
+    private SimulatedLocalizer localizer;
+    private Follower follower;
+    private final SimulatedClock clock = new SimulatedClock();
+    private double loopTime;
+    private long nextLoopTime;
+
+    /**
+     * This creates a new FollowerSimulation. The simulated drive motors are put into the HardwareMap
+     * for the Follower to find.
+     *
+     * @param hardwareMap the HardwareMap to make the Follower from.
+     */
+    public FollowerSimulation(HardwareMap hardwareMap) {
+        this(hardwareMap, null);
+    }
+
+    /**
+     * This creates a new FollowerSimulation where the Follower's localizer has noise. The simulated
+     * drive motors are put into the HardwareMap for the Follower to find.
+     *
+     * @param hardwareMap the HardwareMap to make the Follower from.
+     * @param random the Random to make the localizer noise with, or null for no noise.
+     */
+    public FollowerSimulation(HardwareMap hardwareMap, Random random) {
+        this(hardwareMap, random, FollowerConfig.fromFollowerConstants());
+    }
+
+    /**
+     * This creates a new FollowerSimulation where the Follower uses a FollowerConfig and its
+     * localizer has noise. The simulated drive motors are put into the HardwareMap for the Follower
+     * to find.
+     *
+     * @param hardwareMap the HardwareMap to make the Follower from.
+     * @param random the Random to make the localizer noise with, or null for no noise.
+     * @param config the FollowerConfig for the Follower to use.
+     */
+    public FollowerSimulation(HardwareMap hardwareMap, Random random, FollowerConfig config) {
+        simulator = new MecanumDrivetrainSimulator(config);
+        simulator.addMotorsTo(hardwareMap);
+        localizer = new SimulatedLocalizer(simulator, random);
+        follower = new Follower(hardwareMap, localizer, config, clock);
+        loopTime = SimulatorConstants.loopTime;
+    }
+
+    /**
+     * This moves the simulated robot to a Pose and starts the Follower from there.
+     *
+     * @param pose the starting Pose.
+     */
+    public void setStartingPose(Pose pose) {
+        follower.setStartingPose(pose);
+    }
+
+    /**
+     * This runs one loop: the simulated robot moves for one loop time and then the Follower updates.
+     * If SimulatorConstants.realTime is on, this first waits until one loop time has passed since the
+     * last loop.
+     */
+    public void update() {
+        if (SimulatorConstants.realTime) waitForNextLoop();
+        simulator.update(loopTime);
+        clock.advanceSeconds(loopTime);
+        follower.update();
+    }
+
+    /**
+     * This waits until one loop time has passed since the last loop. If a loop took longer than the
+     * loop time, then this doesn't wait and doesn't try to catch up.
+     */
+    private void waitForNextLoop() {
+        long now = System.nanoTime();
+        if (nextLoopTime != 0 && now < nextLoopTime) {
+            try {
+                Thread.sleep((nextLoopTime - now) / 1000000, (int) ((nextLoopTime - now) % 1000000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            now = System.nanoTime();
+        }
+        nextLoopTime = now + (long) (loopTime * 1e9);
+    }
+
+    /**
+     * This follows a Path until the Follower is done with it or the time runs out.
+     *
+     * @param path the Path to follow.
+     * @param holdEnd this makes the Follower hold the last Point on the Path.
+     * @param timeout the most simulated time to run for in seconds.
+     * @return returns the simulated time it took in seconds.
+     */
+    public double followPath(Path path, boolean holdEnd, double timeout) {
+        follower.followPath(path, holdEnd);
+        return runWhileBusy(timeout);
+    }
+
+    /**
+     * This follows a PathChain until the Follower is done with it or the time runs out.
+     *
+     * @param pathChain the PathChain to follow.
+     * @param holdEnd this makes the Follower hold the last Point on the PathChain.
+     * @param timeout the most simulated time to run for in seconds.
+     * @return returns the simulated time it took in seconds.
+     */
+    public double followPath(PathChain pathChain, boolean holdEnd, double timeout) {
+        follower.followPath(pathChain, holdEnd);
+        return runWhileBusy(timeout);
+    }
+
+    /**
+     * This runs loops until the Follower isn't busy anymore or the time runs out.
+     *
+     * @param timeout the most simulated time to run for in seconds.
+     * @return returns the simulated time it took in seconds.
+     */
+    private double runWhileBusy(double timeout) {
+        double startTime = simulator.getTime();
+        while (follower.isBusy() && simulator.getTime() - startTime < timeout) {
+            update();
+        }
+        return simulator.getTime() - startTime;
+    }
+
+    /**
+     * This returns the Follower running on the simulated robot.
+     *
+     * @return returns the Follower.
+     */
+    public Follower getFollower() {
+        return follower;
+    }
+
+    /**
+     * This returns the SimulatedClock the Follower gets its time from.
+     *
+     * @return returns the SimulatedClock.
+     */
+    public SimulatedClock getClock() {
+        return clock;
+    }
+
+    /**
+     * This returns the MecanumDrivetrainSimulator the Follower drives.
+     *
+     * @return returns the MecanumDrivetrainSimulator.
+     */
+    public MecanumDrivetrainSimulator getSimulator() {
+        return simulator;
+    }
+}
@@ -0,0 +1,353 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+import org.firstinspires.ftc.teamcode.utils.hardware.fake.DcMotorFake;
+
+/**
+ * This is the MecanumDrivetrainSimulator class. This simulates the physics of a mecanum drivetrain
+ * driven by four DcMotorFakes, so the Follower can be run without a robot. Each step, the power on
+ * each motor is turned into a wheel torque with a simple DC motor model, limited by the battery
+ * voltage and the stall torque, and the back EMF of the wheel speed. The torque becomes a force on
+ * the field along the direction of the mecanum rollers, which slips once it is more than the wheel
+ * can grip. The forces and the friction in the drivetrain then move the robot using its mass and
+ * rotational inertia. The wheel rotations are written back to the motors as encoder counts.
+ *
+ * The drive directions of the wheels come from the frontLeftVector of the FollowerConfig the
+ * simulator is made with, mirrored for the other wheels the same way the DriveVectorScaler does it.
+ * The rollers slip when strafing by the same ratio, so strafing is as much slower than driving
+ * forwards as it is on the real robot. The left side motors are mounted mirrored, which is why the
+ * Follower reverses them.
+ *
+ * Everything is stepped by a fixed time, so running the same Path with the same constants always
+ * gives the same result, and it can run as fast as the computer can go.
+ */
+public class MecanumDrivetrainSimulator {
+    private static final double METERS_PER_INCH = 0.0254;
+    private static final double GRAVITY = 9.81;
+
+    // the wheels are in the same order as the Follower's motors
+    private static final int LEFT_FRONT = 0;
+    private static final int LEFT_REAR = 1;
+    private static final int RIGHT_FRONT = 2;
+    private static final int RIGHT_REAR = 3;
+
+    private final FollowerConfig config;
+    private final DcMotorFake[] motors = new DcMotorFake[4];
+    private final boolean[] mirrored = {true, true, false, false};
+
+    // these are in meters, with x forwards and y to the left of the center of the robot
+    private final double[] wheelX = new double[4];
+    private final double[] wheelY = new double[4];
+
+    // this is how much sideways force each wheel makes for each unit of forward force
+    private final double[] rollerRatios = new double[4];
+
+    // this is how far each wheel turns for each unit of sideways movement. The rollers slip when
+    // strafing, so this is the inverse of the roller ratio instead of the same.
+    private final double[] slipRatios = new double[4];
+
+    private final double[] wheelAngles = new double[4];
+    private final double[] wheelSpeeds = new double[4];
+
+    private double wheelFreeSpeed;
+    private double wheelStallTorque;
+    private double maxVoltageRatio;
+    private double ticksPerRevolution;
+    private double wheelRadius;
+    private double mass;
+    private double momentOfInertia;
+    private double tractionLimit;
+    private double forwardFrictionDeceleration;
+    private double lateralFrictionDeceleration;
+    private double angularFrictionDeceleration;
+    private double physicsTimeStep;
+
+    // this is the state of the robot on the field in meters and radians
+    private double x;
+    private double y;
+    private double heading;
+    private double xVelocity;
+    private double yVelocity;
+    private double angularVelocity;
+
+    private double time;
+
+    /**
+     * This creates a new MecanumDrivetrainSimulator with new DcMotorFakes, using the values in
+     * SimulatorConstants and FollowerConstants. The robot starts at (0, 0) facing 0 heading and not
+     * moving.
+     */
+    public MecanumDrivetrainSimulator() {
+        this(FollowerConfig.fromFollowerConstants());
+    }
+
+    /**
+     * This creates a new MecanumDrivetrainSimulator with new DcMotorFakes, using the values in
+     * SimulatorConstants and the drive directions and motor names in a FollowerConfig. The robot
+     * starts at (0, 0) facing 0 heading and not moving.
+     *
+     * @param config the FollowerConfig of the Follower that will drive the simulator.
+     */
+    public MecanumDrivetrainSimulator(FollowerConfig config) {
+        this.config = config;
+        for (int i = 0; i < motors.length; i++) {
+            motors[i] = new DcMotorFake();
+        }
+
+        wheelFreeSpeed = SimulatorConstants.wheelFreeSpeed;
+        wheelStallTorque = SimulatorConstants.wheelStallTorque;
+        maxVoltageRatio = SimulatorConstants.batteryVoltage / SimulatorConstants.nominalVoltage;
+        ticksPerRevolution = SimulatorConstants.ticksPerRevolution;
+        wheelRadius = SimulatorConstants.wheelRadius * METERS_PER_INCH;
+        mass = SimulatorConstants.mass;
+        momentOfInertia = SimulatorConstants.momentOfInertia;
+        tractionLimit = SimulatorConstants.wheelFrictionCoefficient * mass * GRAVITY / 4;
+        forwardFrictionDeceleration = Math.abs(SimulatorConstants.forwardZeroPowerAcceleration) * METERS_PER_INCH;
+        lateralFrictionDeceleration = Math.abs(SimulatorConstants.lateralZeroPowerAcceleration) * METERS_PER_INCH;
+        physicsTimeStep = SimulatorConstants.physicsTimeStep;
+
+        double halfWheelBase = SimulatorConstants.wheelBase / 2 * METERS_PER_INCH;
+        double halfTrackWidth = SimulatorConstants.trackWidth / 2 * METERS_PER_INCH;
+        wheelX[LEFT_FRONT] = halfWheelBase;
+        wheelY[LEFT_FRONT] = halfTrackWidth;
+        wheelX[LEFT_REAR] = -halfWheelBase;
+        wheelY[LEFT_REAR] = halfTrackWidth;
+        wheelX[RIGHT_FRONT] = halfWheelBase;
+        wheelY[RIGHT_FRONT] = -halfTrackWidth;
+        wheelX[RIGHT_REAR] = -halfWheelBase;
+        wheelY[RIGHT_REAR] = -halfTrackWidth;
+
+        // the friction on the wheels slows down turning like the wheels are at the corners
+        angularFrictionDeceleration = forwardFrictionDeceleration / Math.hypot(halfWheelBase, halfTrackWidth);
+
+        double frontLeftRatio = config.frontLeftVector.getYComponent() / config.frontLeftVector.getXComponent();
+        rollerRatios[LEFT_FRONT] = frontLeftRatio;
+        rollerRatios[LEFT_REAR] = -frontLeftRatio;
+        rollerRatios[RIGHT_FRONT] = -frontLeftRatio;
+        rollerRatios[RIGHT_REAR] = frontLeftRatio;
+        for (int i = 0; i < rollerRatios.length; i++) {
+            slipRatios[i] = rollerRatios[i] == 0 ? 0 : 1 / rollerRatios[i];
+        }
+    }
+
+    /**
+     * This puts the simulated drive motors into a HardwareMap under the motor names in the
+     * FollowerConfig of this simulator, so a Follower made from that HardwareMap drives the
+     * simulator.
+     *
+     * @param hardwareMap the HardwareMap to put the motors into.
+     */
+    public void addMotorsTo(HardwareMap hardwareMap) {
+        addMotorsTo(hardwareMap, config);
+    }
+
+    /**
+     * This puts the simulated drive motors into a HardwareMap under the motor names in a
+     * FollowerConfig, so a Follower made from that HardwareMap and FollowerConfig drives the
+     * simulator.
+     *
+     * @param hardwareMap the HardwareMap to put the motors into.
+     * @param config the FollowerConfig to take the motor names from.
+     */
+    public void addMotorsTo(HardwareMap hardwareMap, FollowerConfig config) {
+        hardwareMap.put(config.leftFrontMotorName, motors[LEFT_FRONT]);
+        hardwareMap.put(config.leftRearMotorName, motors[LEFT_REAR]);
+        hardwareMap.put(config.rightFrontMotorName, motors[RIGHT_FRONT]);
+        hardwareMap.put(config.rightRearMotorName, motors[RIGHT_REAR]);
+    }
+
+    /**
+     * This returns one of the simulated drive motors, in the same order as the Follower uses:
+     * left front, left rear, right front, then right rear.
+     *
+     * @param index the index of the motor.
+     * @return returns the motor.
+     */
+    public DcMotorFake getMotor(int index) {
+        return motors[index];
+    }
+
+    /**
+     * This moves the simulated robot to a Pose and stops it.
+     *
+     * @param pose the Pose to move to, in inches and radians.
+     */
+    public void setPose(Pose pose) {
+        x = pose.getX() * METERS_PER_INCH;
+        y = pose.getY() * METERS_PER_INCH;
+        heading = MathFunctions.normalizeAngle(pose.getHeading());
+        xVelocity = 0;
+        yVelocity = 0;
+        angularVelocity = 0;
+    }
+
+    /**
+     * This runs the simulation forwards by some amount of time, using the motor powers that are set
+     * right now the whole time. The time is broken into physics steps no longer than the physics
+     * time step.
+     *
+     * @param seconds the amount of time to simulate.
+     */
+    public void update(double seconds) {
+        int steps = Math.max(1, (int) Math.ceil(seconds / physicsTimeStep));
+        double deltaTime = seconds / steps;
+        for (int i = 0; i < steps; i++) {
+            step(deltaTime);
+        }
+
+        for (int i = 0; i < motors.length; i++) {
+            motors[i].setCurrentPosition((int) Math.round(wheelAngles[i] / (2 * Math.PI) * ticksPerRevolution));
+            motors[i].setVelocity(wheelSpeeds[i], AngleUnit.RADIANS);
+        }
+    }
+
+    /**
+     * This runs one physics step of the simulation.
+     *
+     * @param deltaTime the length of the step in seconds.
+     */
+    private void step(double deltaTime) {
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+
+        // the forces are worked out relative to the robot
+        double forwardVelocity = cos * xVelocity + sin * yVelocity;
+        double lateralVelocity = -sin * xVelocity + cos * yVelocity;
+
+        double forwardForce = 0;
+        double lateralForce = 0;
+        double torque = 0;
+
+        for (int i = 0; i < motors.length; i++) {
+            double contactForwardVelocity = forwardVelocity - angularVelocity * wheelY[i];
+            double contactLateralVelocity = lateralVelocity + angularVelocity * wheelX[i];
+            wheelSpeeds[i] = (contactForwardVelocity + contactLateralVelocity * slipRatios[i]) / wheelRadius;
+            wheelAngles[i] += wheelSpeeds[i] * deltaTime;
+
+            double wheelForce = getWheelTorque(i) / wheelRadius;
+            double wheelForwardForce = wheelForce;
+            double wheelLateralForce = wheelForce * rollerRatios[i];
+
+            // the wheel slips if it pushes harder than it can grip
+            double wheelForceMagnitude = Math.hypot(wheelForwardForce, wheelLateralForce);
+            if (wheelForceMagnitude > tractionLimit) {
+                wheelForwardForce *= tractionLimit / wheelForceMagnitude;
+                wheelLateralForce *= tractionLimit / wheelForceMagnitude;
+            }
+
+            forwardForce += wheelForwardForce;
+            lateralForce += wheelLateralForce;
+            torque += wheelX[i] * wheelLateralForce - wheelY[i] * wheelForwardForce;
+        }
+
+        forwardVelocity += forwardForce / mass * deltaTime;
+        lateralVelocity += lateralForce / mass * deltaTime;
+        angularVelocity += torque / momentOfInertia * deltaTime;
+
+        forwardVelocity = applyFriction(forwardVelocity, forwardFrictionDeceleration * deltaTime);
+        lateralVelocity = applyFriction(lateralVelocity, lateralFrictionDeceleration * deltaTime);
+        angularVelocity = applyFriction(angularVelocity, angularFrictionDeceleration * deltaTime);
+
+        xVelocity = cos * forwardVelocity - sin * lateralVelocity;
+        yVelocity = sin * forwardVelocity + cos * lateralVelocity;
+
+        x += xVelocity * deltaTime;
+        y += yVelocity * deltaTime;
+        heading = MathFunctions.normalizeAngle(heading + angularVelocity * deltaTime);
+
+        time += deltaTime;
+    }
+
+    /**
+     * This returns the torque a wheel puts out right now. A floating motor with no power puts out
+     * nothing, and a braking motor with no power resists the wheel turning.
+     *
+     * @param wheel the index of the wheel.
+     * @return returns the torque in newton meters, positive pushing the robot forwards.
+     */
+    private double getWheelTorque(int wheel) {
+        DcMotorFake motor = motors[wheel];
+        // DcMotorFake gives its power in the direction the motor actually turns
+        double power = MathFunctions.clamp(motor.getPower() * (mirrored[wheel] ? -1 : 1), -1, 1);
+        if (power == 0 && motor.getZeroPowerBehavior() == DcMotor.ZeroPowerBehavior.FLOAT) {
+            return 0;
+        }
+        double torque = wheelStallTorque * (power * maxVoltageRatio - wheelSpeeds[wheel] / wheelFreeSpeed);
+        return MathFunctions.clamp(torque, -wheelStallTorque * maxVoltageRatio, wheelStallTorque * maxVoltageRatio);
+    }
+
+    /**
+     * This slows down a velocity by some amount without letting it change direction.
+     *
+     * @param velocity the velocity.
+     * @param decrease how much to slow it down by.
+     * @return returns the slowed down velocity.
+     */
+    private double applyFriction(double velocity, double decrease) {
+        if (Math.abs(velocity) <= decrease) {
+            return 0;
+        }
+        return velocity - MathFunctions.getSign(velocity) * decrease;
+    }
+
+    /**
+     * This returns the Pose of the simulated robot.
+     *
+     * @return returns the Pose in inches and radians.
+     */
+    public Pose getPose() {
+        return getPose(new Pose());
+    }
+
+    /**
+     * This writes the Pose of the simulated robot into a specified Pose, so that nothing new is
+     * created.
+     *
+     * @param output the Pose to write the Pose into.
+     * @return returns the output Pose.
+     */
+    public Pose getPose(Pose output) {
+        output.setX(x / METERS_PER_INCH);
+        output.setY(y / METERS_PER_INCH);
+        output.setHeading(heading);
+        return output;
+    }
+
+    /**
+     * This returns the velocity of the simulated robot relative to the field.
+     *
+     * @return returns the velocity as a Pose in inches/second and radians/second.
+     */
+    public Pose getVelocity() {
+        return getVelocity(new Pose());
+    }
+
+    /**
+     * This writes the velocity of the simulated robot relative to the field into a specified Pose,
+     * so that nothing new is created.
+     *
+     * @param output the Pose to write the velocity into.
+     * @return returns the output Pose.
+     */
+    public Pose getVelocity(Pose output) {
+        output.setX(xVelocity / METERS_PER_INCH);
+        output.setY(yVelocity / METERS_PER_INCH);
+        output.setHeading(angularVelocity);
+        return output;
+    }
+
+    /**
+     * This returns how long the simulation has run for.
+     *
+     * @return returns the simulated time in seconds.
+     */
+    public double getTime() {
+        return time;
+    }
+}
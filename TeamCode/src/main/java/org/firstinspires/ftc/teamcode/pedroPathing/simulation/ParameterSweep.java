@@ -0,0 +1,356 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This is the ParameterSweep class. This class tunes values in FollowerConstants without a robot by
+ * following PathChains over and over in FollowerSimulations. It tries a number of random sets of
+ * values for its SweepParameters, which is the Monte Carlo part, and follows every PathChain a
+ * number of times with each set, with noise in the localizer that is different every trial. Each
+ * set of values gets a SweepResult scoring it on how long the PathChains took, how far from the end
+ * the robot stopped, and how far past the end it went, and the results come back best first.
+ *
+ * The first set of values tried is always the values already in FollowerConstants, so there is
+ * something to compare against. Every set of values sees the same noise, so differences between
+ * them come from the values and not from luck.
+ *
+ * Each set of values is made into its own FollowerConfig, so every trial of every set can run at
+ * the same time in a ForkJoinPool, and FollowerConstants are never changed. Each Follower gets its
+ * time from the SimulatedClock of its FollowerSimulation, so with SimulatorConstants.realTime off,
+ * trials run as fast as the processors can go and give the same results every time.
+ */
+public class ParameterSweep {
+
+    /**
+     * This is the PathChainFactory interface. Paths keep track of the robot while they are followed,
+     * so every trial needs its own PathChain. The Paths should be made with the FollowerConfig of
+     * the trial, so their defaults come from the values being tried.
+     */
+    public interface PathChainFactory {
+        /**
+         * This makes a new PathChain to follow.
+         *
+         * @param config the FollowerConfig of the trial.
+         * @return returns the PathChain.
+         */
+        PathChain createPathChain(FollowerConfig config);
+    }
+
+    /**
+     * This is the HardwareMapFactory interface. Every trial puts its own simulated motors into a new
+     * HardwareMap for its Follower.
+     */
+    public interface HardwareMapFactory {
+        /**
+         * This makes a new, empty HardwareMap.
+         *
+         * @return returns the HardwareMap.
+         */
+        HardwareMap createHardwareMap();
+    }
+
+    private HardwareMapFactory hardwareMapFactory;
+    private SweepParameter[] parameters;
+    private ArrayList<PathChainFactory> pathChainFactories = new ArrayList<>();
+
+    private int configurations = 100;
+    private int trials = 10;
+    private double timeout = 10;
+    private double settleTime = 0.5;
+    private long seed = 0;
+    private double endErrorWeight = 1;
+    private double overshootWeight = 1;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * This creates a new ParameterSweep.
+     *
+     * @param hardwareMapFactory the HardwareMapFactory to make a HardwareMap for each trial with.
+     * @param parameters the SweepParameters to try values of.
+     */
+    public ParameterSweep(HardwareMapFactory hardwareMapFactory, SweepParameter... parameters) {
+        this.hardwareMapFactory = hardwareMapFactory;
+        this.parameters = parameters;
+    }
+
+    /**
+     * This adds a PathChain to follow in every trial. The robot starts each trial at the start of
+     * the PathChain, facing its starting heading.
+     *
+     * @param pathChainFactory the PathChainFactory to make the PathChain with.
+     */
+    public void addPathChain(PathChainFactory pathChainFactory) {
+        pathChainFactories.add(pathChainFactory);
+    }
+
+    /**
+     * This sets how many sets of values to try, including the values already in FollowerConstants.
+     *
+     * @param set the number of sets of values.
+     */
+    public void setConfigurations(int set) {
+        configurations = set;
+    }
+
+    /**
+     * This sets how many times each PathChain is followed with each set of values.
+     *
+     * @param set the number of trials.
+     */
+    public void setTrials(int set) {
+        trials = set;
+    }
+
+    /**
+     * This sets the most simulated time a trial can take before it counts as unfinished.
+     *
+     * @param set the timeout in seconds.
+     */
+    public void setTimeout(double set) {
+        timeout = set;
+    }
+
+    /**
+     * This sets how long the robot is simulated for after the Follower finishes, so any coasting
+     * past the end counts as overshoot and end error.
+     *
+     * @param set the settle time in seconds.
+     */
+    public void setSettleTime(double set) {
+        settleTime = set;
+    }
+
+    /**
+     * This sets the seed for the random values and localizer noise, so a ParameterSweep can be
+     * repeated.
+     *
+     * @param set the seed.
+     */
+    public void setSeed(long set) {
+        seed = set;
+    }
+
+    /**
+     * This sets how many seconds each inch of average end error adds to the score.
+     *
+     * @param set the end error weight.
+     */
+    public void setEndErrorWeight(double set) {
+        endErrorWeight = set;
+    }
+
+    /**
+     * This sets how many seconds each inch of average overshoot adds to the score.
+     *
+     * @param set the overshoot weight.
+     */
+    public void setOvershootWeight(double set) {
+        overshootWeight = set;
+    }
+
+    /**
+     * This sets how many trials can run at the same time.
+     *
+     * @param set the parallelism.
+     */
+    public void setParallelism(int set) {
+        parallelism = set;
+    }
+
+    /**
+     * This runs the ParameterSweep. The best SweepResult can be applied to FollowerConstants with
+     * SweepResult.apply, or its FollowerConfig can be given straight to a Follower.
+     *
+     * @return returns the SweepResults, sorted from best to worst.
+     */
+    public ArrayList<SweepResult> run() {
+        if (pathChainFactories.isEmpty()) {
+            throw new IllegalStateException("A ParameterSweep needs at least one PathChain to follow");
+        }
+
+        FollowerConfig.Builder baseBuilder = new FollowerConfig.Builder();
+        double[][] values = new double[configurations][parameters.length];
+        FollowerConfig[] configs = new FollowerConfig[configurations];
+        FollowerConfig[] trialConfigs = new FollowerConfig[configurations];
+        Random random = new Random(seed);
+        for (int configuration = 0; configuration < configurations; configuration++) {
+            FollowerConfig.Builder builder = new FollowerConfig.Builder();
+            for (int i = 0; i < parameters.length; i++) {
+                values[configuration][i] = configuration == 0 ? parameters[i].get(baseBuilder) : parameters[i].sample(random);
+                parameters[i].set(builder, values[configuration][i]);
+            }
+            configs[configuration] = builder.build();
+
+            // The simulated Followers don't draw on the dashboard, since it is slow and they would
+            // all draw over each other.
+            builder.drawOnDashboard = false;
+            trialConfigs[configuration] = builder.build();
+        }
+
+        int trialsPerConfiguration = pathChainFactories.size() * trials;
+        int count = configurations * trialsPerConfiguration;
+        double[] times = new double[count];
+        double[] endErrors = new double[count];
+        double[] overshoots = new double[count];
+        boolean[] finished = new boolean[count];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new TrialTask(0, count, trialConfigs, times, endErrors, overshoots, finished));
+        } finally {
+            pool.shutdown();
+        }
+
+        ArrayList<SweepResult> results = new ArrayList<>();
+        for (int configuration = 0; configuration < configurations; configuration++) {
+            double totalTime = 0;
+            double totalEndError = 0;
+            double totalOvershoot = 0;
+            int finishedCount = 0;
+            for (int i = configuration * trialsPerConfiguration; i < (configuration + 1) * trialsPerConfiguration; i++) {
+                totalTime += times[i];
+                totalEndError += endErrors[i];
+                totalOvershoot += overshoots[i];
+                if (finished[i]) finishedCount++;
+            }
+            double averageTime = totalTime / trialsPerConfiguration;
+            double averageEndError = totalEndError / trialsPerConfiguration;
+            double averageOvershoot = totalOvershoot / trialsPerConfiguration;
+            double score = averageTime + endErrorWeight * averageEndError + overshootWeight * averageOvershoot;
+            results.add(new SweepResult(parameters, values[configuration], configs[configuration], averageTime, averageEndError,
+                    averageOvershoot, (double) finishedCount / trialsPerConfiguration, score));
+        }
+
+        Collections.sort(results, new Comparator<SweepResult>() {
+            @Override
+            public int compare(SweepResult a, SweepResult b) {
+                return Double.compare(a.getScore(), b.getScore());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * This follows one PathChain once in a new FollowerSimulation and records how it went. The
+     * trials are numbered by set of values, then by PathChain, then by repeat.
+     *
+     * @param trial the index of the trial.
+     * @param configs the FollowerConfig for each set of values.
+     * @param times where to record how long the trial took.
+     * @param endErrors where to record how far from the end the robot stopped.
+     * @param overshoots where to record how far past the end the robot went.
+     * @param finished where to record if the trial finished before the timeout.
+     */
+    private void runTrial(int trial, FollowerConfig[] configs, double[] times, double[] endErrors, double[] overshoots, boolean[] finished) {
+        int trialsPerConfiguration = pathChainFactories.size() * trials;
+        int configurationTrial = trial % trialsPerConfiguration;
+        FollowerConfig config = configs[trial / trialsPerConfiguration];
+        PathChain pathChain = pathChainFactories.get(configurationTrial / trials).createPathChain(config);
+        FollowerSimulation simulation = new FollowerSimulation(hardwareMapFactory.createHardwareMap(), new Random(seed * 31 + configurationTrial), config);
+        MecanumDrivetrainSimulator simulator = simulation.getSimulator();
+        Follower follower = simulation.getFollower();
+
+        Path firstPath = pathChain.getPath(0);
+        Point start = firstPath.getFirstControlPoint();
+        simulation.setStartingPose(new Pose(start.getX(), start.getY(), firstPath.getHeadingGoal(0)));
+
+        Path lastPath = pathChain.getPath(pathChain.size() - 1);
+        Point end = lastPath.getLastControlPoint();
+        Vector endTangent = lastPath.getEndTangent();
+
+        follower.followPath(pathChain, false);
+        double startTime = simulator.getTime();
+        double overshoot = 0;
+        while (follower.isBusy() && simulator.getTime() - startTime < timeout) {
+            simulation.update();
+            overshoot = Math.max(overshoot, getDistancePastEnd(simulator.getPose(), end, endTangent));
+        }
+        times[trial] = simulator.getTime() - startTime;
+        finished[trial] = !follower.isBusy();
+
+        // the motors are stopped now, so this is just the robot coasting to a stop
+        simulator.update(settleTime);
+        Pose pose = simulator.getPose();
+        overshoots[trial] = Math.max(overshoot, getDistancePastEnd(pose, end, endTangent));
+        endErrors[trial] = Math.hypot(pose.getX() - end.getX(), pose.getY() - end.getY());
+    }
+
+    /**
+     * This returns how far a Pose is past the end of a PathChain, along the end tangent.
+     *
+     * @param pose the Pose.
+     * @param end the end Point of the PathChain.
+     * @param endTangent the unit tangent Vector at the end of the PathChain.
+     * @return returns the distance past the end, or 0 if the Pose is not past the end.
+     */
+    private static double getDistancePastEnd(Pose pose, Point end, Vector endTangent) {
+        double distance = (pose.getX() - end.getX()) * endTangent.getXComponent() + (pose.getY() - end.getY()) * endTangent.getYComponent();
+        return Math.max(0, distance);
+    }
+
+    /**
+     * This is the TrialTask class. It runs a range of trials by splitting the range in half until
+     * each half is a single trial, so the ForkJoinPool can spread the trials across its threads.
+     */
+    private class TrialTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int start;
+        private int end;
+        private FollowerConfig[] configs;
+        private double[] times;
+        private double[] endErrors;
+        private double[] overshoots;
+        private boolean[] finished;
+
+        /**
+         * This creates a new TrialTask for the trials from start up to, but not including, end.
+         *
+         * @param start the index of the first trial.
+         * @param end the index after the last trial.
+         * @param configs the FollowerConfig for each set of values.
+         * @param times where to record how long each trial took.
+         * @param endErrors where to record how far from the end the robot stopped.
+         * @param overshoots where to record how far past the end the robot went.
+         * @param finished where to record if each trial finished before the timeout.
+         */
+        TrialTask(int start, int end, FollowerConfig[] configs, double[] times, double[] endErrors, double[] overshoots, boolean[] finished) {
+            this.start = start;
+            this.end = end;
+            this.configs = configs;
+            this.times = times;
+            this.endErrors = endErrors;
+            this.overshoots = overshoots;
+            this.finished = finished;
+        }
+
+        /**
+         * This runs the trial if there is only one, and otherwise splits the trials in half.
+         */
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                if (end > start) runTrial(start, configs, times, endErrors, overshoots, finished);
+                return;
+            }
+            int middle = (start + end) / 2;
+            invokeAll(new TrialTask(start, middle, configs, times, endErrors, overshoots, finished),
+                    new TrialTask(middle, end, configs, times, endErrors, overshoots, finished));
+        }
+    }
+}
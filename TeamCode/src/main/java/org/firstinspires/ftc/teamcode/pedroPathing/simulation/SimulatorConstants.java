@@ -0,0 +1,75 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the SimulatorConstants class. It holds the physical parameters of the simulated mecanum
+ * drivetrain, so the simulator can be made to match a real robot. The defaults are for a robot with
+ * goBILDA 312 RPM motors driving 104mm mecanum wheels directly, and take the mass and zero power
+ * accelerations from FollowerConstants.
+ */
+@Config
+public class SimulatorConstants {
+
+    // Free speed of each wheel at the nominal voltage in radians/second
+    public static double wheelFreeSpeed = 312 * 2 * Math.PI / 60;
+
+    // Stall torque of each wheel at the nominal voltage in newton meters
+    public static double wheelStallTorque = 2.38;
+
+    // Voltage the free speed and stall torque are measured at
+    public static double nominalVoltage = 12;
+
+    // Voltage of the simulated battery, which limits how much voltage the motors can get
+    public static double batteryVoltage = 12.5;
+
+    // Encoder ticks per revolution of each wheel
+    public static double ticksPerRevolution = 537.7;
+
+    // Radius of the wheels in inches
+    public static double wheelRadius = 52.0 / 25.4;
+
+    // Distance between the left and right wheels in inches
+    public static double trackWidth = 14;
+
+    // Distance between the front and back wheels in inches
+    public static double wheelBase = 13;
+
+    // Mass of the robot in kilograms
+    public static double mass = FollowerConstants.mass;
+
+    // Rotational inertia of the robot about its center in kilogram meters^2
+    public static double momentOfInertia = 0.45;
+
+    // Friction coefficient between the wheels and the field tiles. Each wheel slips once the force
+    // it puts on the field is more than this times a quarter of the robot's weight.
+    public static double wheelFrictionCoefficient = 0.9;
+
+    // Deceleration from friction in the drivetrain when coasting in inches/second^2 (should be negative)
+    public static double forwardZeroPowerAcceleration = FollowerConstants.forwardZeroPowerAcceleration;
+
+    // Deceleration from friction in the drivetrain when coasting sideways in inches/second^2 (should be negative)
+    public static double lateralZeroPowerAcceleration = FollowerConstants.lateralZeroPowerAcceleration;
+
+    // Length of each physics step in seconds. The simulator breaks longer updates into steps of this length.
+    public static double physicsTimeStep = 0.001;
+
+    // Length of one simulated loop of the Follower in seconds
+    public static double loopTime = 0.015;
+
+    // Standard deviation of the noise a noisy SimulatedLocalizer adds to each x and y reading in inches
+    public static double localizerTranslationalNoise = 0.1;
+
+    // Standard deviation of the noise a noisy SimulatedLocalizer adds to each heading reading in radians
+    public static double localizerHeadingNoise = 0.003;
+
+    // Standard deviation of the noise a noisy SimulatedLocalizer adds to each velocity reading in inches/second
+    public static double localizerVelocityNoise = 0.5;
+
+    // Whether FollowerSimulation waits out each loop time so it runs at the speed of a real robot,
+    // like for watching it on FTC Dashboard. The Follower gets its time from a SimulatedClock, so it
+    // acts the same either way, and turning this off just runs the simulation as fast as it can go.
+    public static boolean realTime = false;
+}
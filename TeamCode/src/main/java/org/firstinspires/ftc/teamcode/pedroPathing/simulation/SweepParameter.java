@@ -0,0 +1,150 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+/**
+ * This is the SweepParameter class. This class handles one value in a FollowerConfig that a
+ * ParameterSweep tries different values of, along with the range of values to try. The value is
+ * named the same way it is in FollowerConstants, so either the name of a double, like
+ * "zeroPowerAccelerationMultiplier", or the name of a double inside of a set of coefficients, like
+ * "drivePIDFCoefficients.P".
+ */
+public class SweepParameter {
+    private String name;
+    private String[] parts;
+    private double minimum;
+    private double maximum;
+
+    /**
+     * This creates a new SweepParameter for a value in a FollowerConfig.
+     *
+     * @param name the name of the value, like "translationalPIDFCoefficients.P".
+     * @param minimum the lowest value to try.
+     * @param maximum the highest value to try.
+     */
+    public SweepParameter(String name, double minimum, double maximum) {
+        if (minimum > maximum) {
+            throw new IllegalArgumentException("The minimum of " + name + " is more than its maximum");
+        }
+        this.name = name;
+        this.minimum = minimum;
+        this.maximum = maximum;
+
+        parts = name.split("\\.");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException(name + " is not a value in FollowerConfig");
+        }
+        try {
+            Field field = FollowerConfig.Builder.class.getField(parts[0]);
+            if (parts.length == 2) field = field.getType().getField(parts[1]);
+            if (field.getType() != double.class) {
+                throw new IllegalArgumentException(name + " is not a double");
+            }
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(name + " is not a value in FollowerConfig", e);
+        }
+    }
+
+    /**
+     * This returns a random value in the range of this SweepParameter.
+     *
+     * @param random the Random to pick the value with.
+     * @return returns the value.
+     */
+    public double sample(Random random) {
+        return minimum + random.nextDouble() * (maximum - minimum);
+    }
+
+    /**
+     * This sets the value in a FollowerConfig Builder.
+     *
+     * @param builder the Builder.
+     * @param value the new value.
+     */
+    public void set(FollowerConfig.Builder builder, double value) {
+        set(FollowerConfig.Builder.class, builder, value);
+    }
+
+    /**
+     * This returns the value in a FollowerConfig Builder.
+     *
+     * @param builder the Builder.
+     * @return returns the value.
+     */
+    public double get(FollowerConfig.Builder builder) {
+        try {
+            Object owner = builder;
+            Field field = FollowerConfig.Builder.class.getField(parts[0]);
+            if (parts.length == 2) {
+                owner = field.get(owner);
+                field = owner.getClass().getField(parts[1]);
+            }
+            return field.getDouble(owner);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not get " + name, e);
+        }
+    }
+
+    /**
+     * This sets the value in FollowerConstants, so it is used by everything made afterwards that
+     * takes its values from FollowerConstants.
+     *
+     * @param value the new value.
+     */
+    public void setFollowerConstant(double value) {
+        set(FollowerConstants.class, null, value);
+    }
+
+    /**
+     * This sets the value on a FollowerConfig Builder or FollowerConstants, which have fields with
+     * the same names.
+     *
+     * @param type the class to find the value in.
+     * @param instance the instance to set the value on, or null for FollowerConstants.
+     * @param value the new value.
+     */
+    private void set(Class<?> type, Object instance, double value) {
+        try {
+            Object owner = instance;
+            Field field = type.getField(parts[0]);
+            if (parts.length == 2) {
+                owner = field.get(owner);
+                field = owner.getClass().getField(parts[1]);
+            }
+            field.setDouble(owner, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not set " + name, e);
+        }
+    }
+
+    /**
+     * This returns the name of the value.
+     *
+     * @return returns the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This returns the lowest value to try.
+     *
+     * @return returns the minimum.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * This returns the highest value to try.
+     *
+     * @return returns the maximum.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+}
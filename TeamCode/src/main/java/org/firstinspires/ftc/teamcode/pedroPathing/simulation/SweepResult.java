@@ -0,0 +1,147 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConfig;
+
+import java.util.Locale;
+
+/**
+ * This is the SweepResult class. This class holds how one set of values of the SweepParameters in a
+ * ParameterSweep did, averaged over every trial run with it. Trials that didn't finish before the
+ * timeout count as taking the whole timeout.
+ */
+public class SweepResult {
+    private SweepParameter[] parameters;
+    private double[] values;
+    private FollowerConfig config;
+    private double averageTime;
+    private double averageEndError;
+    private double averageOvershoot;
+    private double finishedFraction;
+    private double score;
+
+    /**
+     * This creates a new SweepResult.
+     *
+     * @param parameters the SweepParameters of the ParameterSweep.
+     * @param values the value of each SweepParameter.
+     * @param config the FollowerConfig the trials were run with.
+     * @param averageTime the average time the trials took in seconds.
+     * @param averageEndError the average distance from the end of the PathChain in inches.
+     * @param averageOvershoot the average distance the robot went past the end of the PathChain in inches.
+     * @param finishedFraction the fraction of trials that finished before the timeout.
+     * @param score the score, where lower is better.
+     */
+    public SweepResult(SweepParameter[] parameters, double[] values, FollowerConfig config, double averageTime, double averageEndError, double averageOvershoot, double finishedFraction, double score) {
+        this.parameters = parameters;
+        this.values = values;
+        this.config = config;
+        this.averageTime = averageTime;
+        this.averageEndError = averageEndError;
+        this.averageOvershoot = averageOvershoot;
+        this.finishedFraction = finishedFraction;
+        this.score = score;
+    }
+
+    /**
+     * This sets every SweepParameter in FollowerConstants to its value in this SweepResult.
+     */
+    public void apply() {
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i].setFollowerConstant(values[i]);
+        }
+    }
+
+    /**
+     * This returns the FollowerConfig the trials were run with, which can be given straight to a
+     * Follower.
+     *
+     * @return returns the FollowerConfig.
+     */
+    public FollowerConfig getFollowerConfig() {
+        return config;
+    }
+
+    /**
+     * This returns the values of this SweepResult as lines of Java that set them in
+     * FollowerConstants, so they can be copied into an OpMode or used to edit FollowerConstants.
+     *
+     * @return returns the lines of Java.
+     */
+    public String toFollowerConstants() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parameters.length; i++) {
+            builder.append(String.format(Locale.US, "FollowerConstants.%s = %s;%n", parameters[i].getName(), values[i]));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * This returns the value of the SweepParameter at an index.
+     *
+     * @param index the index of the SweepParameter.
+     * @return returns the value.
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * This returns the average time the trials took.
+     *
+     * @return returns the average time in seconds.
+     */
+    public double getAverageTime() {
+        return averageTime;
+    }
+
+    /**
+     * This returns the average distance from the end of the PathChain when the trials ended.
+     *
+     * @return returns the average end error in inches.
+     */
+    public double getAverageEndError() {
+        return averageEndError;
+    }
+
+    /**
+     * This returns the average of the farthest the robot went past the end of the PathChain.
+     *
+     * @return returns the average overshoot in inches.
+     */
+    public double getAverageOvershoot() {
+        return averageOvershoot;
+    }
+
+    /**
+     * This returns the fraction of the trials that finished before the timeout.
+     *
+     * @return returns the fraction, from 0 to 1.
+     */
+    public double getFinishedFraction() {
+        return finishedFraction;
+    }
+
+    /**
+     * This returns the score of this SweepResult. Lower is better.
+     *
+     * @return returns the score.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * This returns a summary of this SweepResult.
+     *
+     * @return returns the summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format(Locale.US, "score %.3f, time %.3f s, end error %.3f in, overshoot %.3f in, finished %.0f%%",
+                score, averageTime, averageEndError, averageOvershoot, finishedFraction * 100));
+        for (int i = 0; i < parameters.length; i++) {
+            builder.append(String.format(Locale.US, ", %s = %.5g", parameters[i].getName(), values[i]));
+        }
+        return builder.toString();
+    }
+}
@@ -66,6 +66,10 @@ public class Circle extends OpMode {
      */
     @Override
     public void loop() {
+        // this picks up any changes made to FollowerConstants on the dashboard
+        if (!follower.getConfig().matchesFollowerConstants()) {
+            follower.setConfig(FollowerConfig.fromFollowerConstants());
+        }
         follower.update();
         if (follower.atParametricEnd()) {
             follower.followPath(circle);
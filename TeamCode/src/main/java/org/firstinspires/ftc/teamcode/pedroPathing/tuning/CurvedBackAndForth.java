@@ -76,6 +76,10 @@ public class CurvedBackAndForth extends OpMode {
      */
     @Override
     public void loop() {
+        // this picks up any changes made to FollowerConstants on the dashboard
+        if (!follower.getConfig().matchesFollowerConstants()) {
+            follower.setConfig(FollowerConfig.fromFollowerConstants());
+        }
         follower.update();
         if (!follower.isBusy()) {
             if (forward) {
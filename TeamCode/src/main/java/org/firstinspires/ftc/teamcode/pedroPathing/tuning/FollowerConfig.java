@@ -0,0 +1,478 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.tuning;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CustomFilteredPIDFCoefficients;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CustomPIDFCoefficients;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.KalmanFilterParameters;
+
+/**
+ * This is the FollowerConfig class. It holds a snapshot of every value in FollowerConstants, which
+ * is given to the Follower, Paths, and BezierCurves when they are made. Since each Follower has its
+ * own FollowerConfig, Followers with different tunings can run at the same time, like in a
+ * simulation, and changing FollowerConstants on the dashboard doesn't change a FollowerConfig that
+ * was already made.
+ *
+ * A FollowerConfig can't be changed once it is made. The coefficients and the front left Vector in
+ * it are copies, so they must not be changed either. To make a FollowerConfig with some different
+ * values, use a Builder. The values mean the same things as in FollowerConstants.
+ */
+public final class FollowerConfig {
+    public final String leftFrontMotorName;
+    public final String leftRearMotorName;
+    public final String rightFrontMotorName;
+    public final String rightRearMotorName;
+    public final Vector frontLeftVector;
+    public final CustomPIDFCoefficients teleOpHeadingPIDFCoefficients;
+    public final CustomPIDFCoefficients translationalPIDFCoefficients;
+    public final CustomPIDFCoefficients translationalIntegral;
+    public final double translationalPIDFFeedForward;
+    public final CustomPIDFCoefficients teleOpTranslationalPIDFCoefficients;
+    public final CustomPIDFCoefficients headingPIDFCoefficients;
+    public final double headingPIDFFeedForward;
+    public final CustomFilteredPIDFCoefficients drivePIDFCoefficients;
+    public final double drivePIDFFeedForward;
+    public final KalmanFilterParameters driveKalmanFilterParameters;
+    public final double tunedDriveErrorVariance;
+    public final double tunedDriveErrorKalmanGain;
+    public final double mass;
+    public final double centripetalScaling;
+    public final double forwardZeroPowerAcceleration;
+    public final double lateralZeroPowerAcceleration;
+    public final double zeroPowerAccelerationMultiplier;
+    public final double pathEndVelocityConstraint;
+    public final double pathEndTranslationalConstraint;
+    public final double pathEndHeadingConstraint;
+    public final double pathEndTValueConstraint;
+    public final double pathEndTimeoutConstraint;
+    public final int APPROXIMATION_STEPS;
+    public final double holdPointTranslationalScaling;
+    public final double holdPointHeadingScaling;
+    public final int AVERAGED_VELOCITY_SAMPLE_NUMBER;
+    public final int BEZIER_CURVE_BINARY_STEP_LIMIT;
+    public final int NEWTON_CLOSEST_POINT_STEP_LIMIT;
+    public final double CLOSEST_POINT_RESEED_DISTANCE;
+    public final boolean usePredictedPose;
+    public final double POSE_PREDICTION_LATENCY;
+    public final double POSE_HISTORY_LENGTH;
+    public final double POSE_HISTORY_UPDATE_TIME;
+    public final double POSE_HISTORY_MIN_DISTANCE;
+    public final boolean drawOnDashboard;
+    public final boolean useTranslational;
+    public final boolean useCentripetal;
+    public final boolean useHeading;
+    public final boolean useDrive;
+    public final boolean useSecondaryTranslationalPID;
+    public final boolean useSecondaryHeadingPID;
+    public final boolean useSecondaryDrivePID;
+    public final double translationalPIDFSwitch;
+    public final CustomPIDFCoefficients secondaryTranslationalPIDFCoefficients;
+    public final CustomPIDFCoefficients secondaryTranslationalIntegral;
+    public final double secondaryTranslationalPIDFFeedForward;
+    public final double headingPIDFSwitch;
+    public final CustomPIDFCoefficients secondaryHeadingPIDFCoefficients;
+    public final double secondaryHeadingPIDFFeedForward;
+    public final double drivePIDFSwitch;
+    public final CustomFilteredPIDFCoefficients secondaryDrivePIDFCoefficients;
+    public final double secondaryDrivePIDFFeedForward;
+
+    /**
+     * This creates a new FollowerConfig from a Builder.
+     *
+     * @param builder the Builder to copy the values from.
+     */
+    private FollowerConfig(Builder builder) {
+        leftFrontMotorName = builder.leftFrontMotorName;
+        leftRearMotorName = builder.leftRearMotorName;
+        rightFrontMotorName = builder.rightFrontMotorName;
+        rightRearMotorName = builder.rightRearMotorName;
+        frontLeftVector = MathFunctions.copyVector(builder.frontLeftVector);
+        teleOpHeadingPIDFCoefficients = builder.teleOpHeadingPIDFCoefficients.copy();
+        translationalPIDFCoefficients = builder.translationalPIDFCoefficients.copy();
+        translationalIntegral = builder.translationalIntegral.copy();
+        translationalPIDFFeedForward = builder.translationalPIDFFeedForward;
+        teleOpTranslationalPIDFCoefficients = builder.teleOpTranslationalPIDFCoefficients.copy();
+        headingPIDFCoefficients = builder.headingPIDFCoefficients.copy();
+        headingPIDFFeedForward = builder.headingPIDFFeedForward;
+        drivePIDFCoefficients = builder.drivePIDFCoefficients.copy();
+        drivePIDFFeedForward = builder.drivePIDFFeedForward;
+        driveKalmanFilterParameters = builder.driveKalmanFilterParameters.copy();
+        tunedDriveErrorVariance = builder.tunedDriveErrorVariance;
+        tunedDriveErrorKalmanGain = builder.tunedDriveErrorKalmanGain;
+        mass = builder.mass;
+        centripetalScaling = builder.centripetalScaling;
+        forwardZeroPowerAcceleration = builder.forwardZeroPowerAcceleration;
+        lateralZeroPowerAcceleration = builder.lateralZeroPowerAcceleration;
+        zeroPowerAccelerationMultiplier = builder.zeroPowerAccelerationMultiplier;
+        pathEndVelocityConstraint = builder.pathEndVelocityConstraint;
+        pathEndTranslationalConstraint = builder.pathEndTranslationalConstraint;
+        pathEndHeadingConstraint = builder.pathEndHeadingConstraint;
+        pathEndTValueConstraint = builder.pathEndTValueConstraint;
+        pathEndTimeoutConstraint = builder.pathEndTimeoutConstraint;
+        APPROXIMATION_STEPS = builder.APPROXIMATION_STEPS;
+        holdPointTranslationalScaling = builder.holdPointTranslationalScaling;
+        holdPointHeadingScaling = builder.holdPointHeadingScaling;
+        AVERAGED_VELOCITY_SAMPLE_NUMBER = builder.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+        BEZIER_CURVE_BINARY_STEP_LIMIT = builder.BEZIER_CURVE_BINARY_STEP_LIMIT;
+        NEWTON_CLOSEST_POINT_STEP_LIMIT = builder.NEWTON_CLOSEST_POINT_STEP_LIMIT;
+        CLOSEST_POINT_RESEED_DISTANCE = builder.CLOSEST_POINT_RESEED_DISTANCE;
+        usePredictedPose = builder.usePredictedPose;
+        POSE_PREDICTION_LATENCY = builder.POSE_PREDICTION_LATENCY;
+        POSE_HISTORY_LENGTH = builder.POSE_HISTORY_LENGTH;
+        POSE_HISTORY_UPDATE_TIME = builder.POSE_HISTORY_UPDATE_TIME;
+        POSE_HISTORY_MIN_DISTANCE = builder.POSE_HISTORY_MIN_DISTANCE;
+        drawOnDashboard = builder.drawOnDashboard;
+        useTranslational = builder.useTranslational;
+        useCentripetal = builder.useCentripetal;
+        useHeading = builder.useHeading;
+        useDrive = builder.useDrive;
+        useSecondaryTranslationalPID = builder.useSecondaryTranslationalPID;
+        useSecondaryHeadingPID = builder.useSecondaryHeadingPID;
+        useSecondaryDrivePID = builder.useSecondaryDrivePID;
+        translationalPIDFSwitch = builder.translationalPIDFSwitch;
+        secondaryTranslationalPIDFCoefficients = builder.secondaryTranslationalPIDFCoefficients.copy();
+        secondaryTranslationalIntegral = builder.secondaryTranslationalIntegral.copy();
+        secondaryTranslationalPIDFFeedForward = builder.secondaryTranslationalPIDFFeedForward;
+        headingPIDFSwitch = builder.headingPIDFSwitch;
+        secondaryHeadingPIDFCoefficients = builder.secondaryHeadingPIDFCoefficients.copy();
+        secondaryHeadingPIDFFeedForward = builder.secondaryHeadingPIDFFeedForward;
+        drivePIDFSwitch = builder.drivePIDFSwitch;
+        secondaryDrivePIDFCoefficients = builder.secondaryDrivePIDFCoefficients.copy();
+        secondaryDrivePIDFFeedForward = builder.secondaryDrivePIDFFeedForward;
+    }
+
+    /**
+     * This creates a new FollowerConfig with the values currently in FollowerConstants.
+     *
+     * @return returns the FollowerConfig.
+     */
+    public static FollowerConfig fromFollowerConstants() {
+        return new Builder().build();
+    }
+
+    /**
+     * This returns if every value in this FollowerConfig is the same as in FollowerConstants right
+     * now. This doesn't create anything, so it can be checked every loop to only make a new
+     * FollowerConfig when something was changed on the dashboard.
+     *
+     * @return returns if this FollowerConfig matches FollowerConstants.
+     */
+    public boolean matchesFollowerConstants() {
+        return leftFrontMotorName.equals(FollowerConstants.leftFrontMotorName)
+                && leftRearMotorName.equals(FollowerConstants.leftRearMotorName)
+                && rightFrontMotorName.equals(FollowerConstants.rightFrontMotorName)
+                && rightRearMotorName.equals(FollowerConstants.rightRearMotorName)
+                && sameValues(frontLeftVector, FollowerConstants.frontLeftVector)
+                && sameValues(teleOpHeadingPIDFCoefficients, FollowerConstants.teleOpHeadingPIDFCoefficients)
+                && sameValues(translationalPIDFCoefficients, FollowerConstants.translationalPIDFCoefficients)
+                && sameValues(translationalIntegral, FollowerConstants.translationalIntegral)
+                && translationalPIDFFeedForward == FollowerConstants.translationalPIDFFeedForward
+                && sameValues(teleOpTranslationalPIDFCoefficients, FollowerConstants.teleOpTranslationalPIDFCoefficients)
+                && sameValues(headingPIDFCoefficients, FollowerConstants.headingPIDFCoefficients)
+                && headingPIDFFeedForward == FollowerConstants.headingPIDFFeedForward
+                && sameValues(drivePIDFCoefficients, FollowerConstants.drivePIDFCoefficients)
+                && drivePIDFFeedForward == FollowerConstants.drivePIDFFeedForward
+                && sameValues(driveKalmanFilterParameters, FollowerConstants.driveKalmanFilterParameters)
+                && tunedDriveErrorVariance == FollowerConstants.tunedDriveErrorVariance
+                && tunedDriveErrorKalmanGain == FollowerConstants.tunedDriveErrorKalmanGain
+                && mass == FollowerConstants.mass
+                && centripetalScaling == FollowerConstants.centripetalScaling
+                && forwardZeroPowerAcceleration == FollowerConstants.forwardZeroPowerAcceleration
+                && lateralZeroPowerAcceleration == FollowerConstants.lateralZeroPowerAcceleration
+                && zeroPowerAccelerationMultiplier == FollowerConstants.zeroPowerAccelerationMultiplier
+                && pathEndVelocityConstraint == FollowerConstants.pathEndVelocityConstraint
+                && pathEndTranslationalConstraint == FollowerConstants.pathEndTranslationalConstraint
+                && pathEndHeadingConstraint == FollowerConstants.pathEndHeadingConstraint
+                && pathEndTValueConstraint == FollowerConstants.pathEndTValueConstraint
+                && pathEndTimeoutConstraint == FollowerConstants.pathEndTimeoutConstraint
+                && APPROXIMATION_STEPS == FollowerConstants.APPROXIMATION_STEPS
+                && holdPointTranslationalScaling == FollowerConstants.holdPointTranslationalScaling
+                && holdPointHeadingScaling == FollowerConstants.holdPointHeadingScaling
+                && AVERAGED_VELOCITY_SAMPLE_NUMBER == FollowerConstants.AVERAGED_VELOCITY_SAMPLE_NUMBER
+                && BEZIER_CURVE_BINARY_STEP_LIMIT == FollowerConstants.BEZIER_CURVE_BINARY_STEP_LIMIT
+                && NEWTON_CLOSEST_POINT_STEP_LIMIT == FollowerConstants.NEWTON_CLOSEST_POINT_STEP_LIMIT
+                && CLOSEST_POINT_RESEED_DISTANCE == FollowerConstants.CLOSEST_POINT_RESEED_DISTANCE
+                && usePredictedPose == FollowerConstants.usePredictedPose
+                && POSE_PREDICTION_LATENCY == FollowerConstants.POSE_PREDICTION_LATENCY
+                && POSE_HISTORY_LENGTH == FollowerConstants.POSE_HISTORY_LENGTH
+                && POSE_HISTORY_UPDATE_TIME == FollowerConstants.POSE_HISTORY_UPDATE_TIME
+                && POSE_HISTORY_MIN_DISTANCE == FollowerConstants.POSE_HISTORY_MIN_DISTANCE
+                && drawOnDashboard == FollowerConstants.drawOnDashboard
+                && useTranslational == FollowerConstants.useTranslational
+                && useCentripetal == FollowerConstants.useCentripetal
+                && useHeading == FollowerConstants.useHeading
+                && useDrive == FollowerConstants.useDrive
+                && useSecondaryTranslationalPID == FollowerConstants.useSecondaryTranslationalPID
+                && useSecondaryHeadingPID == FollowerConstants.useSecondaryHeadingPID
+                && useSecondaryDrivePID == FollowerConstants.useSecondaryDrivePID
+                && translationalPIDFSwitch == FollowerConstants.translationalPIDFSwitch
+                && sameValues(secondaryTranslationalPIDFCoefficients, FollowerConstants.secondaryTranslationalPIDFCoefficients)
+                && sameValues(secondaryTranslationalIntegral, FollowerConstants.secondaryTranslationalIntegral)
+                && secondaryTranslationalPIDFFeedForward == FollowerConstants.secondaryTranslationalPIDFFeedForward
+                && headingPIDFSwitch == FollowerConstants.headingPIDFSwitch
+                && sameValues(secondaryHeadingPIDFCoefficients, FollowerConstants.secondaryHeadingPIDFCoefficients)
+                && secondaryHeadingPIDFFeedForward == FollowerConstants.secondaryHeadingPIDFFeedForward
+                && drivePIDFSwitch == FollowerConstants.drivePIDFSwitch
+                && sameValues(secondaryDrivePIDFCoefficients, FollowerConstants.secondaryDrivePIDFCoefficients)
+                && secondaryDrivePIDFFeedForward == FollowerConstants.secondaryDrivePIDFFeedForward;
+    }
+
+    /**
+     * This returns if two Vectors have the same components.
+     *
+     * @param one one of the Vectors.
+     * @param two the other Vector.
+     * @return returns if they are the same.
+     */
+    private static boolean sameValues(Vector one, Vector two) {
+        return one.getXComponent() == two.getXComponent() && one.getYComponent() == two.getYComponent();
+    }
+
+    /**
+     * This returns if two CustomPIDFCoefficients have the same coefficients and feedforward equation.
+     *
+     * @param one one of the CustomPIDFCoefficients.
+     * @param two the other CustomPIDFCoefficients.
+     * @return returns if they are the same.
+     */
+    private static boolean sameValues(CustomPIDFCoefficients one, CustomPIDFCoefficients two) {
+        return one.P == two.P && one.I == two.I && one.D == two.D && one.F == two.F
+                && one.feedForwardConstantEquation == two.feedForwardConstantEquation;
+    }
+
+    /**
+     * This returns if two CustomFilteredPIDFCoefficients have the same coefficients and feedforward
+     * equation.
+     *
+     * @param one one of the CustomFilteredPIDFCoefficients.
+     * @param two the other CustomFilteredPIDFCoefficients.
+     * @return returns if they are the same.
+     */
+    private static boolean sameValues(CustomFilteredPIDFCoefficients one, CustomFilteredPIDFCoefficients two) {
+        return one.P == two.P && one.I == two.I && one.D == two.D && one.T == two.T && one.F == two.F
+                && one.feedForwardConstantEquation == two.feedForwardConstantEquation;
+    }
+
+    /**
+     * This returns if two KalmanFilterParameters have the same covariances.
+     *
+     * @param one one of the KalmanFilterParameters.
+     * @param two the other KalmanFilterParameters.
+     * @return returns if they are the same.
+     */
+    private static boolean sameValues(KalmanFilterParameters one, KalmanFilterParameters two) {
+        return one.modelCovariance == two.modelCovariance && one.dataCovariance == two.dataCovariance;
+    }
+
+    /**
+     * This creates a new Builder starting with the values in this FollowerConfig.
+     *
+     * @return returns the Builder.
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * This is the Builder class. It holds values that can be changed before making a
+     * FollowerConfig out of them. A new Builder starts with the values currently in
+     * FollowerConstants.
+     */
+    public static class Builder {
+        public String leftFrontMotorName;
+        public String leftRearMotorName;
+        public String rightFrontMotorName;
+        public String rightRearMotorName;
+        public Vector frontLeftVector;
+        public CustomPIDFCoefficients teleOpHeadingPIDFCoefficients;
+        public CustomPIDFCoefficients translationalPIDFCoefficients;
+        public CustomPIDFCoefficients translationalIntegral;
+        public double translationalPIDFFeedForward;
+        public CustomPIDFCoefficients teleOpTranslationalPIDFCoefficients;
+        public CustomPIDFCoefficients headingPIDFCoefficients;
+        public double headingPIDFFeedForward;
+        public CustomFilteredPIDFCoefficients drivePIDFCoefficients;
+        public double drivePIDFFeedForward;
+        public KalmanFilterParameters driveKalmanFilterParameters;
+        public double tunedDriveErrorVariance;
+        public double tunedDriveErrorKalmanGain;
+        public double mass;
+        public double centripetalScaling;
+        public double forwardZeroPowerAcceleration;
+        public double lateralZeroPowerAcceleration;
+        public double zeroPowerAccelerationMultiplier;
+        public double pathEndVelocityConstraint;
+        public double pathEndTranslationalConstraint;
+        public double pathEndHeadingConstraint;
+        public double pathEndTValueConstraint;
+        public double pathEndTimeoutConstraint;
+        public int APPROXIMATION_STEPS;
+        public double holdPointTranslationalScaling;
+        public double holdPointHeadingScaling;
+        public int AVERAGED_VELOCITY_SAMPLE_NUMBER;
+        public int BEZIER_CURVE_BINARY_STEP_LIMIT;
+        public int NEWTON_CLOSEST_POINT_STEP_LIMIT;
+        public double CLOSEST_POINT_RESEED_DISTANCE;
+        public boolean usePredictedPose;
+        public double POSE_PREDICTION_LATENCY;
+        public double POSE_HISTORY_LENGTH;
+        public double POSE_HISTORY_UPDATE_TIME;
+        public double POSE_HISTORY_MIN_DISTANCE;
+        public boolean drawOnDashboard;
+        public boolean useTranslational;
+        public boolean useCentripetal;
+        public boolean useHeading;
+        public boolean useDrive;
+        public boolean useSecondaryTranslationalPID;
+        public boolean useSecondaryHeadingPID;
+        public boolean useSecondaryDrivePID;
+        public double translationalPIDFSwitch;
+        public CustomPIDFCoefficients secondaryTranslationalPIDFCoefficients;
+        public CustomPIDFCoefficients secondaryTranslationalIntegral;
+        public double secondaryTranslationalPIDFFeedForward;
+        public double headingPIDFSwitch;
+        public CustomPIDFCoefficients secondaryHeadingPIDFCoefficients;
+        public double secondaryHeadingPIDFFeedForward;
+        public double drivePIDFSwitch;
+        public CustomFilteredPIDFCoefficients secondaryDrivePIDFCoefficients;
+        public double secondaryDrivePIDFFeedForward;
+
+        /**
+         * This creates a new Builder with the values currently in FollowerConstants.
+         */
+        public Builder() {
+            leftFrontMotorName = FollowerConstants.leftFrontMotorName;
+            leftRearMotorName = FollowerConstants.leftRearMotorName;
+            rightFrontMotorName = FollowerConstants.rightFrontMotorName;
+            rightRearMotorName = FollowerConstants.rightRearMotorName;
+            frontLeftVector = MathFunctions.copyVector(FollowerConstants.frontLeftVector);
+            teleOpHeadingPIDFCoefficients = FollowerConstants.teleOpHeadingPIDFCoefficients.copy();
+            translationalPIDFCoefficients = FollowerConstants.translationalPIDFCoefficients.copy();
+            translationalIntegral = FollowerConstants.translationalIntegral.copy();
+            translationalPIDFFeedForward = FollowerConstants.translationalPIDFFeedForward;
+            teleOpTranslationalPIDFCoefficients = FollowerConstants.teleOpTranslationalPIDFCoefficients.copy();
+            headingPIDFCoefficients = FollowerConstants.headingPIDFCoefficients.copy();
+            headingPIDFFeedForward = FollowerConstants.headingPIDFFeedForward;
+            drivePIDFCoefficients = FollowerConstants.drivePIDFCoefficients.copy();
+            drivePIDFFeedForward = FollowerConstants.drivePIDFFeedForward;
+            driveKalmanFilterParameters = FollowerConstants.driveKalmanFilterParameters.copy();
+            tunedDriveErrorVariance = FollowerConstants.tunedDriveErrorVariance;
+            tunedDriveErrorKalmanGain = FollowerConstants.tunedDriveErrorKalmanGain;
+            mass = FollowerConstants.mass;
+            centripetalScaling = FollowerConstants.centripetalScaling;
+            forwardZeroPowerAcceleration = FollowerConstants.forwardZeroPowerAcceleration;
+            lateralZeroPowerAcceleration = FollowerConstants.lateralZeroPowerAcceleration;
+            zeroPowerAccelerationMultiplier = FollowerConstants.zeroPowerAccelerationMultiplier;
+            pathEndVelocityConstraint = FollowerConstants.pathEndVelocityConstraint;
+            pathEndTranslationalConstraint = FollowerConstants.pathEndTranslationalConstraint;
+            pathEndHeadingConstraint = FollowerConstants.pathEndHeadingConstraint;
+            pathEndTValueConstraint = FollowerConstants.pathEndTValueConstraint;
+            pathEndTimeoutConstraint = FollowerConstants.pathEndTimeoutConstraint;
+            APPROXIMATION_STEPS = FollowerConstants.APPROXIMATION_STEPS;
+            holdPointTranslationalScaling = FollowerConstants.holdPointTranslationalScaling;
+            holdPointHeadingScaling = FollowerConstants.holdPointHeadingScaling;
+            AVERAGED_VELOCITY_SAMPLE_NUMBER = FollowerConstants.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+            BEZIER_CURVE_BINARY_STEP_LIMIT = FollowerConstants.BEZIER_CURVE_BINARY_STEP_LIMIT;
+            NEWTON_CLOSEST_POINT_STEP_LIMIT = FollowerConstants.NEWTON_CLOSEST_POINT_STEP_LIMIT;
+            CLOSEST_POINT_RESEED_DISTANCE = FollowerConstants.CLOSEST_POINT_RESEED_DISTANCE;
+            usePredictedPose = FollowerConstants.usePredictedPose;
+            POSE_PREDICTION_LATENCY = FollowerConstants.POSE_PREDICTION_LATENCY;
+            POSE_HISTORY_LENGTH = FollowerConstants.POSE_HISTORY_LENGTH;
+            POSE_HISTORY_UPDATE_TIME = FollowerConstants.POSE_HISTORY_UPDATE_TIME;
+            POSE_HISTORY_MIN_DISTANCE = FollowerConstants.POSE_HISTORY_MIN_DISTANCE;
+            drawOnDashboard = FollowerConstants.drawOnDashboard;
+            useTranslational = FollowerConstants.useTranslational;
+            useCentripetal = FollowerConstants.useCentripetal;
+            useHeading = FollowerConstants.useHeading;
+            useDrive = FollowerConstants.useDrive;
+            useSecondaryTranslationalPID = FollowerConstants.useSecondaryTranslationalPID;
+            useSecondaryHeadingPID = FollowerConstants.useSecondaryHeadingPID;
+            useSecondaryDrivePID = FollowerConstants.useSecondaryDrivePID;
+            translationalPIDFSwitch = FollowerConstants.translationalPIDFSwitch;
+            secondaryTranslationalPIDFCoefficients = FollowerConstants.secondaryTranslationalPIDFCoefficients.copy();
+            secondaryTranslationalIntegral = FollowerConstants.secondaryTranslationalIntegral.copy();
+            secondaryTranslationalPIDFFeedForward = FollowerConstants.secondaryTranslationalPIDFFeedForward;
+            headingPIDFSwitch = FollowerConstants.headingPIDFSwitch;
+            secondaryHeadingPIDFCoefficients = FollowerConstants.secondaryHeadingPIDFCoefficients.copy();
+            secondaryHeadingPIDFFeedForward = FollowerConstants.secondaryHeadingPIDFFeedForward;
+            drivePIDFSwitch = FollowerConstants.drivePIDFSwitch;
+            secondaryDrivePIDFCoefficients = FollowerConstants.secondaryDrivePIDFCoefficients.copy();
+            secondaryDrivePIDFFeedForward = FollowerConstants.secondaryDrivePIDFFeedForward;
+        }
+
+        /**
+         * This creates a new Builder with the values in a FollowerConfig.
+         *
+         * @param config the FollowerConfig to copy the values from.
+         */
+        public Builder(FollowerConfig config) {
+            leftFrontMotorName = config.leftFrontMotorName;
+            leftRearMotorName = config.leftRearMotorName;
+            rightFrontMotorName = config.rightFrontMotorName;
+            rightRearMotorName = config.rightRearMotorName;
+            frontLeftVector = MathFunctions.copyVector(config.frontLeftVector);
+            teleOpHeadingPIDFCoefficients = config.teleOpHeadingPIDFCoefficients.copy();
+            translationalPIDFCoefficients = config.translationalPIDFCoefficients.copy();
+            translationalIntegral = config.translationalIntegral.copy();
+            translationalPIDFFeedForward = config.translationalPIDFFeedForward;
+            teleOpTranslationalPIDFCoefficients = config.teleOpTranslationalPIDFCoefficients.copy();
+            headingPIDFCoefficients = config.headingPIDFCoefficients.copy();
+            headingPIDFFeedForward = config.headingPIDFFeedForward;
+            drivePIDFCoefficients = config.drivePIDFCoefficients.copy();
+            drivePIDFFeedForward = config.drivePIDFFeedForward;
+            driveKalmanFilterParameters = config.driveKalmanFilterParameters.copy();
+            tunedDriveErrorVariance = config.tunedDriveErrorVariance;
+            tunedDriveErrorKalmanGain = config.tunedDriveErrorKalmanGain;
+            mass = config.mass;
+            centripetalScaling = config.centripetalScaling;
+            forwardZeroPowerAcceleration = config.forwardZeroPowerAcceleration;
+            lateralZeroPowerAcceleration = config.lateralZeroPowerAcceleration;
+            zeroPowerAccelerationMultiplier = config.zeroPowerAccelerationMultiplier;
+            pathEndVelocityConstraint = config.pathEndVelocityConstraint;
+            pathEndTranslationalConstraint = config.pathEndTranslationalConstraint;
+            pathEndHeadingConstraint = config.pathEndHeadingConstraint;
+            pathEndTValueConstraint = config.pathEndTValueConstraint;
+            pathEndTimeoutConstraint = config.pathEndTimeoutConstraint;
+            APPROXIMATION_STEPS = config.APPROXIMATION_STEPS;
+            holdPointTranslationalScaling = config.holdPointTranslationalScaling;
+            holdPointHeadingScaling = config.holdPointHeadingScaling;
+            AVERAGED_VELOCITY_SAMPLE_NUMBER = config.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+            BEZIER_CURVE_BINARY_STEP_LIMIT = config.BEZIER_CURVE_BINARY_STEP_LIMIT;
+            NEWTON_CLOSEST_POINT_STEP_LIMIT = config.NEWTON_CLOSEST_POINT_STEP_LIMIT;
+            CLOSEST_POINT_RESEED_DISTANCE = config.CLOSEST_POINT_RESEED_DISTANCE;
+            usePredictedPose = config.usePredictedPose;
+            POSE_PREDICTION_LATENCY = config.POSE_PREDICTION_LATENCY;
+            POSE_HISTORY_LENGTH = config.POSE_HISTORY_LENGTH;
+            POSE_HISTORY_UPDATE_TIME = config.POSE_HISTORY_UPDATE_TIME;
+            POSE_HISTORY_MIN_DISTANCE = config.POSE_HISTORY_MIN_DISTANCE;
+            drawOnDashboard = config.drawOnDashboard;
+            useTranslational = config.useTranslational;
+            useCentripetal = config.useCentripetal;
+            useHeading = config.useHeading;
+            useDrive = config.useDrive;
+            useSecondaryTranslationalPID = config.useSecondaryTranslationalPID;
+            useSecondaryHeadingPID = config.useSecondaryHeadingPID;
+            useSecondaryDrivePID = config.useSecondaryDrivePID;
+            translationalPIDFSwitch = config.translationalPIDFSwitch;
+            secondaryTranslationalPIDFCoefficients = config.secondaryTranslationalPIDFCoefficients.copy();
+            secondaryTranslationalIntegral = config.secondaryTranslationalIntegral.copy();
+            secondaryTranslationalPIDFFeedForward = config.secondaryTranslationalPIDFFeedForward;
+            headingPIDFSwitch = config.headingPIDFSwitch;
+            secondaryHeadingPIDFCoefficients = config.secondaryHeadingPIDFCoefficients.copy();
+            secondaryHeadingPIDFFeedForward = config.secondaryHeadingPIDFFeedForward;
+            drivePIDFSwitch = config.drivePIDFSwitch;
+            secondaryDrivePIDFCoefficients = config.secondaryDrivePIDFCoefficients.copy();
+            secondaryDrivePIDFFeedForward = config.secondaryDrivePIDFFeedForward;
+        }
+
+        /**
+         * This creates a new FollowerConfig with the values in this Builder. Changing this Builder
+         * afterwards doesn't change the FollowerConfig.
+         *
+         * @return returns the FollowerConfig.
+         */
+        public FollowerConfig build() {
+            return new FollowerConfig(this);
+        }
+    }
+}
@@ -166,6 +166,40 @@ public class FollowerConstants {
     // time.
     public static int BEZIER_CURVE_BINARY_STEP_LIMIT = 10;
 
+    // This is the number of Newton's method iterations the closest point search can use when warm
+    // starting from the previous closest point before falling back to the binary search. Close to the
+    // previous point this usually converges in two or three iterations.
+    public static int NEWTON_CLOSEST_POINT_STEP_LIMIT = 6;
+
+    // This is how far, in inches, the robot can get from the closest point on the current Path before
+    // the Follower checks the whole PathChain for a closer point to re-seed the closest point search.
+    // This catches the search getting stuck on the wrong part of a Path after the robot gets bumped.
+    public static double CLOSEST_POINT_RESEED_DISTANCE = 4;
+
+    // This makes the Follower correct against where the robot will be when the motor powers it sets
+    // actually take effect, instead of where the localizer last saw it. The pose is moved forward by
+    // the current velocity and angular velocity for POSE_PREDICTION_LATENCY milliseconds, which is
+    // the time from the localizer reading to the motors responding. Use the LatencyTuner to measure it.
+    public static boolean usePredictedPose = false;
+    public static double POSE_PREDICTION_LATENCY = 15;
+
+    // This is how long, in milliseconds, the pose history drawn on FTC Dashboard goes back, and how
+    // often, in milliseconds, a pose is added to it. A pose is only added once the robot has moved
+    // POSE_HISTORY_MIN_DISTANCE inches from the last one, so that standing still doesn't use up the
+    // history. Set this to 0 to add a pose every time.
+    public static double POSE_HISTORY_LENGTH = 1500;
+    public static double POSE_HISTORY_UPDATE_TIME = 50;
+    public static double POSE_HISTORY_MIN_DISTANCE = 0;
+
+    // These turn the parts of the Follower on and off. Turning one off zeroes its Vector, which is
+    // useful for tuning the others one at a time. drawOnDashboard turns off drawing the robot and its
+    // pose history on FTC Dashboard, which is slow.
+    public static boolean drawOnDashboard = true;
+    public static boolean useTranslational = true;
+    public static boolean useCentripetal = true;
+    public static boolean useHeading = true;
+    public static boolean useDrive = true;
+
     // These activate / deactivate the secondary PIDs. These take over at errors under a set limit for
     // the translational, heading, and drive PIDs.
     public static boolean useSecondaryTranslationalPID = true;
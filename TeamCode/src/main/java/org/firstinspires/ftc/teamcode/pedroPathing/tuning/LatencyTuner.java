@@ -0,0 +1,148 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.tuning;
+
+import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.leftFrontMotorName;
+import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.leftRearMotorName;
+import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.rightFrontMotorName;
+import static org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants.rightRearMotorName;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.PoseUpdater;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.LatencyEstimator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is the LatencyTuner autonomous tuning OpMode. This drives the robot forwards and backwards
+ * with steps of power, logging the power set and the forward velocity the localizer measures. At
+ * the end, the LatencyEstimator finds the latency between setting a power and the localizer seeing
+ * the robot respond, which is what POSE_PREDICTION_LATENCY in FollowerConstants should be set to.
+ * It is recommended to run this a few times and use the average, and to run it with the same
+ * localizer and loop as the rest of your code, since both change the latency.
+ * You can adjust the power and timing on FTC Dashboard: 192/168/43/1:8080/dash
+ */
+@Config
+@Disabled
+@Autonomous (name = "Latency Tuner", group = "Autonomous Pathing Tuning")
+public class LatencyTuner extends OpMode {
+    private DcMotorEx leftFront;
+    private DcMotorEx leftRear;
+    private DcMotorEx rightFront;
+    private DcMotorEx rightRear;
+    private List<DcMotorEx> motors;
+
+    private PoseUpdater poseUpdater;
+    private final LatencyEstimator estimator = new LatencyEstimator();
+    private final Pose pose = new Pose();
+    private final Vector velocity = new Vector();
+
+    public static double POWER = 0.5;
+    public static double STEP_TIME = 0.6;
+    public static double CYCLES = 4;
+    public static double MAX_LATENCY = 100;
+
+    // The powers are stepped through in this order, so the robot ends up about where it started.
+    private static final double[] POWER_STEPS = {1, 0, -1, 0};
+
+    private Telemetry telemetryA;
+
+    private long startTime;
+    private boolean end;
+
+    /**
+     * This initializes the drive motors as well as the FTC Dashboard telemetry.
+     */
+    @Override
+    public void init() {
+        poseUpdater = new PoseUpdater(hardwareMap);
+
+        leftFront = hardwareMap.get(DcMotorEx.class, leftFrontMotorName);
+        leftRear = hardwareMap.get(DcMotorEx.class, leftRearMotorName);
+        rightRear = hardwareMap.get(DcMotorEx.class, rightRearMotorName);
+        rightFront = hardwareMap.get(DcMotorEx.class, rightFrontMotorName);
+
+        // TODO: Make sure that this is the direction your motors need to be reversed in.
+        leftFront.setDirection(DcMotorSimple.Direction.REVERSE);
+        leftRear.setDirection(DcMotorSimple.Direction.REVERSE);
+
+        motors = Arrays.asList(leftFront, leftRear, rightFront, rightRear);
+
+        for (DcMotorEx motor : motors) {
+            motor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        }
+
+        telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
+        telemetryA.addLine("The robot will drive forwards and backwards with steps of " + POWER + " power for about "
+                + (STEP_TIME * POWER_STEPS.length * CYCLES) + " seconds.");
+        telemetryA.addLine("Make sure you have some room in front of and behind the robot.");
+        telemetryA.addLine("After that, the robot will stop and display the latency it measured.");
+        telemetryA.addLine("Press CROSS or A on game pad 1 to stop.");
+        telemetryA.update();
+    }
+
+    /**
+     * This starts the OpMode by clearing the log and starting the timer.
+     */
+    @Override
+    public void start() {
+        estimator.clear();
+        startTime = poseUpdater.getClock().nanoTime();
+        end = false;
+    }
+
+    /**
+     * This runs the OpMode. At any point during the running of the OpMode, pressing CROSS or A on
+     * game pad 1 will stop the OpMode. Every loop, this logs the forward velocity of the robot and
+     * then sets the next power. Once every step is done, the robot stops and the latency is
+     * estimated and printed.
+     */
+    @Override
+    public void loop() {
+        if (gamepad1.cross || gamepad1.a) {
+            requestOpModeStop();
+        }
+
+        poseUpdater.update();
+        if (!end) {
+            double time = (poseUpdater.getClock().nanoTime() - startTime) / 1e9;
+            int step = (int) (time / STEP_TIME);
+            double power = 0;
+            if (step < POWER_STEPS.length * CYCLES) {
+                power = POWER * POWER_STEPS[step % POWER_STEPS.length];
+            } else {
+                end = true;
+                estimator.estimate(MAX_LATENCY / 1000.0);
+            }
+
+            poseUpdater.getPose(pose);
+            poseUpdater.getVelocity(velocity);
+            double forwardVelocity = velocity.getXComponent() * Math.cos(pose.getHeading()) + velocity.getYComponent() * Math.sin(pose.getHeading());
+            if (!end) {
+                estimator.addSample(time, power, forwardVelocity);
+            }
+
+            for (DcMotorEx motor : motors) {
+                motor.setPower(power);
+            }
+        } else {
+            telemetryA.addData("latency (ms)", estimator.getLatency() * 1000);
+            telemetryA.addData("time constant (s)", estimator.getTimeConstant());
+            telemetryA.addData("velocity at full power", estimator.getGain());
+            telemetryA.addData("fit error", estimator.getFitError());
+            telemetryA.addData("samples", estimator.size());
+            telemetryA.update();
+        }
+    }
+}
@@ -95,6 +95,10 @@ public class StraightBackAndForth extends OpMode {
      */
     @Override
     public void loop() {
+        // this picks up any changes made to FollowerConstants on the dashboard
+        if (!follower.getConfig().matchesFollowerConstants()) {
+            follower.setConfig(FollowerConfig.fromFollowerConstants());
+        }
         follower.update();
         if (!follower.isBusy()) {
             if (forward) {
@@ -59,6 +59,10 @@ public class TurnTest extends OpMode {
      */
     @Override
     public void loop() {
+        // this picks up any changes made to FollowerConstants on the dashboard
+        if (!follower.getConfig().matchesFollowerConstants()) {
+            follower.setConfig(FollowerConfig.fromFollowerConstants());
+        }
         follower.update();
         follower.telemetryDebug(telemetryA);
     }
@@ -0,0 +1,233 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the AveragedVelocityEstimator class. This class keeps the last few velocities of the
+ * robot and averages them to approximate the velocity and acceleration, which the Follower does
+ * in teleop.
+ *
+ * The velocity is the average of the newer half of the velocities, and the acceleration is the
+ * average of the last few differences between the newer half and the older half, each divided by
+ * the time between the middles of the two halves. That makes the acceleration in inches per
+ * second squared no matter how fast the loop runs. The velocities, their times and the
+ * differences are kept in ring buffers of primitive arrays with running sums, so adding a
+ * velocity takes the same short time no matter how many are kept, and nothing new is created.
+ * The running sums are added up again from scratch every time the ring buffer wraps around, so
+ * rounding errors can't build up.
+ */
+public class AveragedVelocityEstimator {
+    private final int sampleNumber;
+    private final int newerCount;
+    private final int olderCount;
+    private final double[] xVelocities;
+    private final double[] yVelocities;
+    private final double[] times;
+    private int velocityHead;
+    private int addedCount;
+    private long firstTime;
+    private double newerXSum;
+    private double newerYSum;
+    private double newerTimeSum;
+    private double olderXSum;
+    private double olderYSum;
+    private double olderTimeSum;
+
+    private final int accelerationNumber;
+    private final double[] xAccelerations;
+    private final double[] yAccelerations;
+    private int accelerationHead;
+    private double xAccelerationSum;
+    private double yAccelerationSum;
+
+    /**
+     * This creates a new AveragedVelocityEstimator. It starts as if every velocity kept was zero,
+     * and the acceleration stays zero until that many velocities have been added.
+     *
+     * @param sampleNumber the number of velocities to keep. The velocity is averaged over half of
+     *                     them, and the acceleration is averaged over half as many differences.
+     */
+    public AveragedVelocityEstimator(int sampleNumber) {
+        if (sampleNumber < 2) {
+            throw new IllegalArgumentException("An AveragedVelocityEstimator needs to keep at least 2 velocities");
+        }
+        this.sampleNumber = sampleNumber;
+        newerCount = sampleNumber / 2;
+        olderCount = sampleNumber - newerCount;
+        xVelocities = new double[sampleNumber];
+        yVelocities = new double[sampleNumber];
+        times = new double[sampleNumber];
+        accelerationNumber = sampleNumber / 2;
+        xAccelerations = new double[accelerationNumber];
+        yAccelerations = new double[accelerationNumber];
+    }
+
+    /**
+     * This resets every velocity and acceleration kept to zero.
+     */
+    public void reset() {
+        for (int i = 0; i < sampleNumber; i++) {
+            xVelocities[i] = 0;
+            yVelocities[i] = 0;
+            times[i] = 0;
+        }
+        for (int i = 0; i < accelerationNumber; i++) {
+            xAccelerations[i] = 0;
+            yAccelerations[i] = 0;
+        }
+        velocityHead = 0;
+        accelerationHead = 0;
+        addedCount = 0;
+        newerXSum = 0;
+        newerYSum = 0;
+        newerTimeSum = 0;
+        olderXSum = 0;
+        olderYSum = 0;
+        olderTimeSum = 0;
+        xAccelerationSum = 0;
+        yAccelerationSum = 0;
+    }
+
+    /**
+     * This adds the newest velocity, dropping the oldest one, and then adds the newest difference
+     * between the newer and older halves, dropping the oldest difference.
+     *
+     * @param velocity the newest velocity.
+     * @param nanoTime the time the velocity was measured at, in nanoseconds.
+     */
+    public void add(Vector velocity, long nanoTime) {
+        add(velocity.getXComponent(), velocity.getYComponent(), nanoTime);
+    }
+
+    /**
+     * This adds the newest velocity, dropping the oldest one, and then adds the newest difference
+     * between the newer and older halves, dropping the oldest difference.
+     *
+     * @param xVelocity the x component of the newest velocity.
+     * @param yVelocity the y component of the newest velocity.
+     * @param nanoTime the time the velocity was measured at, in nanoseconds.
+     */
+    public void add(double xVelocity, double yVelocity, long nanoTime) {
+        // The times are kept in seconds since the first velocity after a reset, so that the
+        // running sums of them stay small enough to keep their precision.
+        if (addedCount == 0) firstTime = nanoTime;
+        if (addedCount < sampleNumber) addedCount++;
+        double time = (nanoTime - firstTime) / 1e9;
+
+        // The velocity at the head is the oldest one, and the one newerCount before it is the
+        // oldest of the newer half, which moves into the older half.
+        int moving = velocityHead - newerCount;
+        if (moving < 0) moving += sampleNumber;
+        newerXSum += xVelocity - xVelocities[moving];
+        newerYSum += yVelocity - yVelocities[moving];
+        newerTimeSum += time - times[moving];
+        olderXSum += xVelocities[moving] - xVelocities[velocityHead];
+        olderYSum += yVelocities[moving] - yVelocities[velocityHead];
+        olderTimeSum += times[moving] - times[velocityHead];
+        xVelocities[velocityHead] = xVelocity;
+        yVelocities[velocityHead] = yVelocity;
+        times[velocityHead] = time;
+        velocityHead++;
+        if (velocityHead == sampleNumber) {
+            velocityHead = 0;
+            sumVelocities();
+        }
+
+        if (accelerationNumber == 0) return;
+        // Until every velocity kept has been added since the reset, some of them are the zeros
+        // from the reset, which don't have real times, so the difference counts as zero.
+        double xAcceleration = 0;
+        double yAcceleration = 0;
+        double timeDifference = newerTimeSum / newerCount - olderTimeSum / olderCount;
+        if (addedCount == sampleNumber && timeDifference > 0) {
+            xAcceleration = (newerXSum / newerCount - olderXSum / olderCount) / timeDifference;
+            yAcceleration = (newerYSum / newerCount - olderYSum / olderCount) / timeDifference;
+        }
+        xAccelerationSum += xAcceleration - xAccelerations[accelerationHead];
+        yAccelerationSum += yAcceleration - yAccelerations[accelerationHead];
+        xAccelerations[accelerationHead] = xAcceleration;
+        yAccelerations[accelerationHead] = yAcceleration;
+        accelerationHead++;
+        if (accelerationHead == accelerationNumber) {
+            accelerationHead = 0;
+            xAccelerationSum = 0;
+            yAccelerationSum = 0;
+            for (int i = 0; i < accelerationNumber; i++) {
+                xAccelerationSum += xAccelerations[i];
+                yAccelerationSum += yAccelerations[i];
+            }
+        }
+    }
+
+    /**
+     * This adds up the running sums of the newer and older halves of the velocities and their
+     * times again from scratch. This is only called when the head is at 0, so the newer half is
+     * at the end of the arrays.
+     */
+    private void sumVelocities() {
+        newerXSum = 0;
+        newerYSum = 0;
+        newerTimeSum = 0;
+        olderXSum = 0;
+        olderYSum = 0;
+        olderTimeSum = 0;
+        for (int i = 0; i < olderCount; i++) {
+            olderXSum += xVelocities[i];
+            olderYSum += yVelocities[i];
+            olderTimeSum += times[i];
+        }
+        for (int i = olderCount; i < sampleNumber; i++) {
+            newerXSum += xVelocities[i];
+            newerYSum += yVelocities[i];
+            newerTimeSum += times[i];
+        }
+    }
+
+    /**
+     * This writes the average of the newer half of the velocities into a Vector.
+     *
+     * @param output the Vector to write into.
+     * @return returns the output Vector.
+     */
+    public Vector getAverageVelocity(Vector output) {
+        output.setOrthogonalComponents(newerXSum / newerCount, newerYSum / newerCount);
+        return output;
+    }
+
+    /**
+     * This writes the average of the older half of the velocities into a Vector.
+     *
+     * @param output the Vector to write into.
+     * @return returns the output Vector.
+     */
+    public Vector getAveragePreviousVelocity(Vector output) {
+        output.setOrthogonalComponents(olderXSum / olderCount, olderYSum / olderCount);
+        return output;
+    }
+
+    /**
+     * This writes the average of the differences between the newer and older halves of the
+     * velocities, each divided by the time between the middles of the halves, into a Vector.
+     * This is the acceleration in inches per second squared.
+     *
+     * @param output the Vector to write into.
+     * @return returns the output Vector.
+     */
+    public Vector getAverageAcceleration(Vector output) {
+        if (accelerationNumber == 0) {
+            output.setOrthogonalComponents(0, 0);
+        } else {
+            output.setOrthogonalComponents(xAccelerationSum / accelerationNumber, yAccelerationSum / accelerationNumber);
+        }
+        return output;
+    }
+
+    /**
+     * This returns the number of velocities kept.
+     *
+     * @return returns the number of velocities.
+     */
+    public int getSampleNumber() {
+        return sampleNumber;
+    }
+}
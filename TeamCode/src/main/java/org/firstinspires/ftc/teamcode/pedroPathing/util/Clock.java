@@ -0,0 +1,28 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the Clock interface. This is where the Follower, the PoseUpdater, the PIDFs, and the
+ * timers get the current time from, so that they can all be run on something other than the real
+ * time, like a SimulatedClock for running the Follower faster than real time in a simulation.
+ *
+ * The time is in nanoseconds, and only differences between times mean anything, like with
+ * System.nanoTime(). The time must never go backwards.
+ */
+public interface Clock {
+    /**
+     * This is the Clock that uses the real time, from System.nanoTime().
+     */
+    Clock SYSTEM = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * This returns the current time in nanoseconds.
+     *
+     * @return returns the current time.
+     */
+    long nanoTime();
+}
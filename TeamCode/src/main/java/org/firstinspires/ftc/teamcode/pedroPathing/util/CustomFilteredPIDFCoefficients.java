@@ -67,4 +67,14 @@ public class CustomFilteredPIDFCoefficients {
         if (!usingEquation) return F;
         return feedForwardConstantEquation.getConstant(input);
     }
+
+    /**
+     * This returns a copy of this CustomFilteredPIDFCoefficients.
+     *
+     * @return returns the copy.
+     */
+    public CustomFilteredPIDFCoefficients copy() {
+        if (usingEquation) return new CustomFilteredPIDFCoefficients(P, I, D, T, feedForwardConstantEquation);
+        return new CustomFilteredPIDFCoefficients(P, I, D, T, F);
+    }
 }
@@ -64,4 +64,14 @@ public class CustomPIDFCoefficients {
         if (!usingEquation) return F;
         return feedForwardConstantEquation.getConstant(input);
     }
+
+    /**
+     * This returns a copy of this CustomPIDFCoefficients.
+     *
+     * @return returns the copy.
+     */
+    public CustomPIDFCoefficients copy() {
+        if (usingEquation) return new CustomPIDFCoefficients(P, I, D, feedForwardConstantEquation);
+        return new CustomPIDFCoefficients(P, I, D, F);
+    }
 }
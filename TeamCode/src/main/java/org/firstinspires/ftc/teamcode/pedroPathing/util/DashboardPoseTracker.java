@@ -1,5 +1,6 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.util;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.PoseUpdater;
 
 /**
@@ -7,67 +8,226 @@ import org.firstinspires.ftc.teamcode.pedroPathing.localization.PoseUpdater;
  * PoseUpdater, adding to the pose history at specified increments of time and storing the history
  * for a specified length of time.
  *
+ * The pose history is kept in a ring buffer, so adding a pose only writes over the oldest one
+ * instead of moving every pose down by one. This means a long pose history, like a whole autonomous,
+ * costs the same to keep up as a short one. The pose history can be read in order without copying
+ * through getXPosition() and getYPosition(). FTC Dashboard can only draw a line from whole arrays,
+ * so getXPositionsArray() and getYPositionsArray() put the pose history in order into arrays, but
+ * only once for each time a pose has been added since they were last put in order.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @version 1.0, 5/13/2024
  */
 public class DashboardPoseTracker {
-    private double[] xPositions;
-    private double[] yPositions;
+    public static final double DEFAULT_TRACKING_LENGTH = 1500;
+    public static final double DEFAULT_UPDATE_TIME = 50;
+
+    private final double[] xPositions;
+    private final double[] yPositions;
+    private final int trackingSize;
+    private int head;
+
+    // These are two sets of arrays with the pose history in order, which are switched between every
+    // time the pose history is put in order. This way, the arrays given to the last telemetry packet
+    // aren't written over while FTC Dashboard might still be sending them.
+    private final double[][] orderedXPositions;
+    private final double[][] orderedYPositions;
+    private int orderedIndex;
+    private boolean orderedChanged;
+
     private PoseUpdater poseUpdater;
+    private final Pose currentPose = new Pose();
+    private final Clock clock;
     private long lastUpdateTime;
-    private final int TRACKING_LENGTH = 1500;
-    private final long UPDATE_TIME = 50;
-    private final int TRACKING_SIZE = TRACKING_LENGTH / (int) UPDATE_TIME;
+    private final long updateTime;
+    private final double minDistanceSquared;
 
     /**
-     * This creates a new DashboardPoseTracker from a PoseUpdater.
+     * This creates a new DashboardPoseTracker from a PoseUpdater. This keeps 1.5 seconds of pose
+     * history with a pose every 50 milliseconds.
      *
      * @param poseUpdater the PoseUpdater
      */
     public DashboardPoseTracker(PoseUpdater poseUpdater) {
+        this(poseUpdater, DEFAULT_TRACKING_LENGTH, DEFAULT_UPDATE_TIME, 0);
+    }
+
+    /**
+     * This creates a new DashboardPoseTracker from a PoseUpdater, with a specified length of pose
+     * history and time between poses.
+     *
+     * @param poseUpdater the PoseUpdater
+     * @param trackingLength how long the pose history goes back, in milliseconds
+     * @param updateTime the time between poses in the pose history, in milliseconds
+     * @param minDistance how far the robot has to move from the last pose in the pose history, in
+     *                    inches, before another pose is added. Set this to 0 to add a pose every
+     *                    time the update time passes.
+     */
+    public DashboardPoseTracker(PoseUpdater poseUpdater, double trackingLength, double updateTime, double minDistance) {
+        this(poseUpdater, trackingLength, updateTime, minDistance, Clock.SYSTEM);
+    }
+
+    /**
+     * This creates a new DashboardPoseTracker from a PoseUpdater, with a specified length of pose
+     * history and time between poses, which gets the time from a Clock.
+     *
+     * @param poseUpdater the PoseUpdater
+     * @param trackingLength how long the pose history goes back, in milliseconds
+     * @param updateTime the time between poses in the pose history, in milliseconds
+     * @param minDistance how far the robot has to move from the last pose in the pose history, in
+     *                    inches, before another pose is added. Set this to 0 to add a pose every
+     *                    time the update time passes.
+     * @param clock the Clock to get the time from
+     */
+    public DashboardPoseTracker(PoseUpdater poseUpdater, double trackingLength, double updateTime, double minDistance, Clock clock) {
+        if (!(updateTime > 0)) {
+            throw new IllegalArgumentException("The DashboardPoseTracker update time must be positive");
+        }
         this.poseUpdater = poseUpdater;
-        xPositions = new double[TRACKING_SIZE];
-        yPositions = new double[TRACKING_SIZE];
+        this.clock = clock;
+        this.updateTime = (long) updateTime;
+        minDistanceSquared = minDistance * minDistance;
+        trackingSize = Math.max(1, (int) Math.ceil(trackingLength / updateTime));
+        xPositions = new double[trackingSize];
+        yPositions = new double[trackingSize];
+        orderedXPositions = new double[2][trackingSize];
+        orderedYPositions = new double[2][trackingSize];
 
-        for (int i = 0; i < TRACKING_SIZE; i++) {
-            xPositions[i] = poseUpdater.getPose().getX();
-            yPositions[i] = poseUpdater.getPose().getY();
+        poseUpdater.getPose(currentPose);
+        for (int i = 0; i < trackingSize; i++) {
+            xPositions[i] = currentPose.getX();
+            yPositions[i] = currentPose.getY();
         }
+        orderedChanged = true;
 
-        lastUpdateTime = System.currentTimeMillis() - UPDATE_TIME;
+        lastUpdateTime = getTimeMillis() - this.updateTime;
     }
 
     /**
      * This updates the DashboardPoseTracker. When the specified update time has passed from the last
-     * pose history log, another pose can be logged. The least recent log is also removed.
+     * pose history log, another pose can be logged, as long as the robot has moved far enough from
+     * the last one. The least recent log is also removed.
      */
     public void update() {
-        if (System.currentTimeMillis() - lastUpdateTime > UPDATE_TIME) {
-            lastUpdateTime = System.currentTimeMillis();
-            for (int i = TRACKING_SIZE - 1; i > 0; i--) {
-                xPositions[i] = xPositions[i - 1];
-                yPositions[i] = yPositions[i - 1];
+        long now = getTimeMillis();
+        if (now - lastUpdateTime > updateTime) {
+            lastUpdateTime = now;
+            poseUpdater.getPose(currentPose);
+
+            if (minDistanceSquared > 0) {
+                int newest = head == 0 ? trackingSize - 1 : head - 1;
+                double dx = currentPose.getX() - xPositions[newest];
+                double dy = currentPose.getY() - yPositions[newest];
+                if (dx * dx + dy * dy < minDistanceSquared) return;
             }
-            xPositions[0] = poseUpdater.getPose().getX();
-            yPositions[0] = poseUpdater.getPose().getY();
+
+            xPositions[head] = currentPose.getX();
+            yPositions[head] = currentPose.getY();
+            head++;
+            if (head == trackingSize) head = 0;
+            orderedChanged = true;
+        }
+    }
+
+    /**
+     * This returns the current time of the Clock in milliseconds.
+     *
+     * @return returns the current time in milliseconds
+     */
+    private long getTimeMillis() {
+        return clock.nanoTime() / 1000000;
+    }
+
+    /**
+     * This returns the number of poses in the pose history.
+     *
+     * @return returns the number of poses
+     */
+    public int size() {
+        return trackingSize;
+    }
+
+    /**
+     * This returns the x position of a pose in the pose history, without copying anything.
+     *
+     * @param index the index of the pose, where 0 is the most recent one
+     * @return returns the x position of the pose
+     */
+    public double getXPosition(int index) {
+        return xPositions[toRingIndex(index)];
+    }
+
+    /**
+     * This returns the y position of a pose in the pose history, without copying anything.
+     *
+     * @param index the index of the pose, where 0 is the most recent one
+     * @return returns the y position of the pose
+     */
+    public double getYPosition(int index) {
+        return yPositions[toRingIndex(index)];
+    }
+
+    /**
+     * This turns an index in the pose history, where 0 is the most recent pose, into an index in the
+     * ring buffer.
+     *
+     * @param index the index in the pose history
+     * @return returns the index in the ring buffer
+     */
+    private int toRingIndex(int index) {
+        if (index < 0 || index >= trackingSize) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of a pose history of size " + trackingSize);
+        }
+        int ringIndex = head - 1 - index;
+        if (ringIndex < 0) ringIndex += trackingSize;
+        return ringIndex;
+    }
+
+    /**
+     * This puts the pose history in order into the next set of ordered arrays, if a pose has been
+     * added since it was last put in order.
+     */
+    private void updateOrderedPositions() {
+        if (!orderedChanged) return;
+        orderedChanged = false;
+        orderedIndex = 1 - orderedIndex;
+        double[] xOrdered = orderedXPositions[orderedIndex];
+        double[] yOrdered = orderedYPositions[orderedIndex];
+
+        // The most recent pose is just before the head, so the poses from the head back to the start
+        // of the ring buffer come first, and then the ones from the end back to the head.
+        int i = 0;
+        for (int ringIndex = head - 1; ringIndex >= 0; ringIndex--, i++) {
+            xOrdered[i] = xPositions[ringIndex];
+            yOrdered[i] = yPositions[ringIndex];
+        }
+        for (int ringIndex = trackingSize - 1; ringIndex >= head; ringIndex--, i++) {
+            xOrdered[i] = xPositions[ringIndex];
+            yOrdered[i] = yPositions[ringIndex];
         }
     }
 
     /**
-     * This returns the x positions of the pose history as an Array of doubles.
+     * This returns the x positions of the pose history as an Array of doubles, with the most recent
+     * pose first. This Array is written over the second time the pose history changes after this is
+     * called, so don't keep it around.
      *
      * @return returns the x positions of the pose history
      */
     public double[] getXPositionsArray() {
-        return xPositions;
+        updateOrderedPositions();
+        return orderedXPositions[orderedIndex];
     }
 
     /**
-     * This returns the y positions of the pose history as an Array of doubles.
+     * This returns the y positions of the pose history as an Array of doubles, with the most recent
+     * pose first. This Array is written over the second time the pose history changes after this is
+     * called, so don't keep it around.
      *
      * @return returns the y positions of the pose history
      */
     public double[] getYPositionsArray() {
-        return yPositions;
+        updateOrderedPositions();
+        return orderedYPositions[orderedIndex];
     }
 }
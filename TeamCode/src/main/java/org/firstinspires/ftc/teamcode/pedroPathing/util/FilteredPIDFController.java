@@ -21,6 +21,7 @@ public class FilteredPIDFController {
     private double filteredDerivative;
     private double feedForwardInput;
 
+    private final Clock clock;
     private long previousUpdateTimeNano;
     private long deltaTimeNano;
 
@@ -30,6 +31,18 @@ public class FilteredPIDFController {
      * @param set the coefficients to use.
      */
     public FilteredPIDFController(CustomFilteredPIDFCoefficients set) {
+        this(set, Clock.SYSTEM);
+    }
+
+    /**
+     * This creates a new filtered PIDFController from a CustomPIDFCoefficients, which gets the time
+     * from a Clock.
+     *
+     * @param set the coefficients to use.
+     * @param clock the Clock to get the time from.
+     */
+    public FilteredPIDFController(CustomFilteredPIDFCoefficients set, Clock clock) {
+        this.clock = clock;
         setCoefficients(set);
         reset();
     }
@@ -55,12 +68,15 @@ public class FilteredPIDFController {
         previousError = error;
         error = targetPosition - position;
 
-        deltaTimeNano = System.nanoTime() - previousUpdateTimeNano;
-        previousUpdateTimeNano = System.nanoTime();
+        long now = clock.nanoTime();
+        deltaTimeNano = now - previousUpdateTimeNano;
+        previousUpdateTimeNano = now;
+        if (deltaTimeNano <= 0) return;
 
-        errorIntegral += error * (deltaTimeNano / Math.pow(10.0, 9));
+        double deltaTime = deltaTimeNano / 1e9;
+        errorIntegral += error * deltaTime;
         previousDerivative = filteredDerivative;
-        errorDerivative = (error - previousError) / (deltaTimeNano / Math.pow(10.0, 9));
+        errorDerivative = (error - previousError) / deltaTime;
         filteredDerivative = T() * previousDerivative + (1 - T()) * errorDerivative;
     }
 
@@ -74,12 +90,15 @@ public class FilteredPIDFController {
         previousError = this.error;
         this.error = error;
 
-        deltaTimeNano = System.nanoTime() - previousUpdateTimeNano;
-        previousUpdateTimeNano = System.nanoTime();
+        long now = clock.nanoTime();
+        deltaTimeNano = now - previousUpdateTimeNano;
+        previousUpdateTimeNano = now;
+        if (deltaTimeNano <= 0) return;
 
-        errorIntegral += error * (deltaTimeNano / Math.pow(10.0, 9));
+        double deltaTime = deltaTimeNano / 1e9;
+        errorIntegral += error * deltaTime;
         previousDerivative = errorDerivative;
-        errorDerivative = (error - previousError) / (deltaTimeNano / Math.pow(10.0, 9));
+        errorDerivative = (error - previousError) / deltaTime;
         filteredDerivative = T() * previousDerivative + (1 - T()) * errorDerivative;
     }
 
@@ -104,7 +123,7 @@ public class FilteredPIDFController {
         errorDerivative = 0;
         previousDerivative = 0;
         filteredDerivative = 0;
-        previousUpdateTimeNano = System.nanoTime();
+        previousUpdateTimeNano = clock.nanoTime();
     }
 
     /**
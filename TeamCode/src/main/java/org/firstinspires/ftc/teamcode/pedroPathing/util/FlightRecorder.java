@@ -0,0 +1,294 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the FlightRecorder class. This records a fixed size binary record every loop into a ring
+ * buffer that is made once up front, and a background thread writes the records out to a file.
+ * Recording a loop only copies a few numbers into the ring buffer, so it takes microseconds instead
+ * of the milliseconds that building log strings takes, and unlike logcat, no record is silently
+ * lost. If the background thread falls so far behind that the ring buffer fills up, new records are
+ * dropped and counted instead of making the loop wait. If the background thread can't write to the
+ * file, it stops, every record after that is dropped and counted, and getError() returns why.
+ *
+ * Every record has the time it was recorded at, a sequence number, an int tag, and a fixed number of
+ * doubles. The file starts with a header that has the names of the doubles, so it can be decoded
+ * without knowing what was recorded. Everything is little endian. The layout is:
+ *
+ *     header: the MAGIC bytes, int VERSION, int number of doubles, and then for every double, a
+ *             short byte length and the UTF-8 bytes of its name
+ *     record: long time in nanoseconds, int sequence number, int tag, and the doubles
+ *
+ * The FlightRecordDecoder in the benchmarks module turns a file into a CSV on a computer.
+ */
+public class FlightRecorder {
+    public static final byte[] MAGIC = {'P', 'P', 'F', 'R'};
+    public static final int VERSION = 1;
+    public static final int RECORD_HEADER_SIZE = 16;
+
+    // This is how long the background thread waits between writes when there is nothing to write.
+    private static final long DRAIN_PERIOD_NANOS = 10000000;
+
+    private final String[] names;
+    private final int recordSize;
+    private final int capacity;
+    private final ByteBuffer buffer;
+    private final ByteBuffer drainView;
+    private final FileChannel channel;
+
+    // These count records, and only ever go up. The ring buffer index of a record is its count
+    // modulo the capacity. Only the loop writes written, and only the background thread writes read.
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong read = new AtomicLong();
+    private long dropped;
+    private int sequence;
+    private boolean closed;
+
+    private volatile boolean running;
+    private volatile IOException error;
+    private Thread thread;
+
+    /**
+     * This creates a new FlightRecorder that writes to a file, and writes the header. Nothing else is
+     * written until start() is run.
+     *
+     * @param file the file to write to. If it already exists, it is written over.
+     * @param names the names of the doubles in every record.
+     * @param capacity how many records the ring buffer can hold before new ones are dropped.
+     * @throws IOException if the file can't be opened or the header can't be written.
+     */
+    public FlightRecorder(File file, String[] names, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A FlightRecorder needs room for at least one record");
+        }
+        this.names = names.clone();
+        this.capacity = capacity;
+        recordSize = RECORD_HEADER_SIZE + 8 * names.length;
+        buffer = ByteBuffer.allocateDirect(recordSize * capacity).order(ByteOrder.LITTLE_ENDIAN);
+        drainView = buffer.duplicate();
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(createHeader(this.names));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This makes the header of a file with the names of the doubles in every record.
+     *
+     * @param names the names of the doubles.
+     * @return returns the header, ready to be written.
+     */
+    private static ByteBuffer createHeader(String[] names) {
+        Charset utf8 = Charset.forName("UTF-8");
+        byte[][] encodedNames = new byte[names.length][];
+        int size = MAGIC.length + 8;
+        for (int i = 0; i < names.length; i++) {
+            encodedNames[i] = names[i].getBytes(utf8);
+            size += 2 + encodedNames[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(names.length);
+        for (byte[] name : encodedNames) {
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+        header.flip();
+        return header;
+    }
+
+    /**
+     * This starts the background thread that writes the records to the file.
+     */
+    public synchronized void start() {
+        if (thread != null || closed) return;
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "FlightRecorder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This records one loop. This copies the values into the ring buffer and doesn't create
+     * anything, so it is safe to run every loop. This should only be run from one thread, but
+     * close() can be run from another thread, and waits for a record in progress to finish.
+     *
+     * @param time the time of the loop, in nanoseconds.
+     * @param tag an int to record with the values, like the index of the current Path.
+     * @param values the values to record. There must be one for every name.
+     * @return returns false if the record was dropped because the ring buffer was full or the
+     *         file couldn't be written to, or if the FlightRecorder is closed.
+     */
+    public synchronized boolean record(long time, int tag, double[] values) {
+        if (closed) return false;
+        long index = written.get();
+        sequence++;
+        if (error != null || index - read.get() >= capacity) {
+            dropped++;
+            return false;
+        }
+
+        int position = (int) (index % capacity) * recordSize;
+        buffer.putLong(position, time);
+        buffer.putInt(position + 8, sequence);
+        buffer.putInt(position + 12, tag);
+        position += RECORD_HEADER_SIZE;
+        for (int i = 0; i < names.length; i++, position += 8) {
+            buffer.putDouble(position, values[i]);
+        }
+
+        // This makes the record visible to the background thread only after it is fully written.
+        written.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * This is what the background thread runs. It writes out every record that has been recorded,
+     * and then waits a bit if there was nothing to write, until the FlightRecorder is closed or a
+     * write fails.
+     */
+    private void drainLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(this, DRAIN_PERIOD_NANOS);
+                }
+            }
+            drain();
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+            running = false;
+        }
+    }
+
+    /**
+     * This writes out the records that have been recorded but not written yet, in at most two
+     * writes, since the ones at the end of the ring buffer and the ones that wrapped around to the
+     * start are written separately.
+     *
+     * @return returns the number of records written.
+     * @throws IOException if the records can't be written.
+     */
+    private int drain() throws IOException {
+        long start = read.get();
+        long end = written.get();
+        if (end == start) return 0;
+
+        long index = start;
+        while (index < end) {
+            int ringIndex = (int) (index % capacity);
+            int count = (int) Math.min(end - index, capacity - ringIndex);
+            drainView.limit((ringIndex + count) * recordSize);
+            drainView.position(ringIndex * recordSize);
+            writeFully(drainView);
+            index += count;
+            read.lazySet(index);
+        }
+        return (int) (end - start);
+    }
+
+    /**
+     * This writes everything left in a ByteBuffer to the file.
+     *
+     * @param source the ByteBuffer to write.
+     * @throws IOException if it can't be written.
+     */
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    /**
+     * This stops the background thread after it writes out every record left, and closes the file.
+     * Anything recorded after this is ignored.
+     *
+     * @throws IOException if the background thread couldn't write to the file.
+     */
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (thread != null) {
+                running = false;
+                LockSupport.unpark(thread);
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                thread = null;
+            } else if (error == null) {
+                drain();
+            }
+        } finally {
+            channel.close();
+        }
+        if (error != null) throw error;
+    }
+
+    /**
+     * This returns the names of the doubles in every record.
+     *
+     * @return returns a copy of the names.
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * This returns the size of every record in bytes.
+     *
+     * @return returns the record size.
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * This returns how many records have been put into the ring buffer.
+     *
+     * @return returns the number of records recorded.
+     */
+    public long getRecordCount() {
+        return written.get();
+    }
+
+    /**
+     * This returns how many records were dropped because the ring buffer was full.
+     *
+     * @return returns the number of records dropped.
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * This returns why the background thread couldn't write to the file, if it couldn't.
+     *
+     * @return returns the error, or null if every write so far worked.
+     */
+    public IOException getError() {
+        return error;
+    }
+}
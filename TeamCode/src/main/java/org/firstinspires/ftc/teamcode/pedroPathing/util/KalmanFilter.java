@@ -38,6 +38,10 @@ public class KalmanFilter {
         reset(0, 1, 1);
     }
 
+    public void setParameters(KalmanFilterParameters parameters) {
+        this.parameters = parameters;
+    }
+
     public void update(double updateData, double updateProjection) {
         state = previousState + updateData;
         variance = previousVariance + parameters.modelCovariance;
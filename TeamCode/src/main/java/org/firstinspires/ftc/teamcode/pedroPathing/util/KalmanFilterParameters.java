@@ -22,4 +22,13 @@ public class KalmanFilterParameters {
         this.modelCovariance = modelCovariance;
         this.dataCovariance = dataCovariance;
     }
+
+    /**
+     * This returns a copy of this KalmanFilterParameters.
+     *
+     * @return returns the copy.
+     */
+    public KalmanFilterParameters copy() {
+        return new KalmanFilterParameters(modelCovariance, dataCovariance);
+    }
 }
@@ -0,0 +1,261 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This is the LatencyEstimator class. This class estimates the latency between a command, like the
+ * power set to the drive motors, and the response to it measured by the localizer, like the robot's
+ * velocity, from logged samples of both.
+ *
+ * The drivetrain doesn't just respond late, it also speeds up gradually, so simply lining up the
+ * command and the response would count the time it takes the robot to speed up as latency. Instead,
+ * this fits a first order model with a dead time to the data,
+ *     response'(t) = (gain * command(t - latency) - response(t)) / timeConstant + offset,
+ * and finds the dead time that fits best. The speeding up goes into the time constant, and what is
+ * left in the dead time is the actual latency from the localizer reading to the motors responding.
+ *
+ * The model is fit in its integrated form, so the response doesn't have to be differentiated and
+ * noise in it mostly averages out. The samples don't have to be evenly spaced, since they are
+ * resampled onto an even grid first, holding each command until the next one and interpolating the
+ * response linearly.
+ */
+public class LatencyEstimator {
+    private double[] times = new double[256];
+    private double[] commands = new double[256];
+    private double[] responses = new double[256];
+    private int size;
+
+    private double latency = Double.NaN;
+    private double gain = Double.NaN;
+    private double timeConstant = Double.NaN;
+    private double fitError = Double.NaN;
+
+    /**
+     * This adds a logged sample. Samples have to be added in order of time.
+     *
+     * @param time the time of the sample in seconds.
+     * @param command the command that was set at that time, like a motor power.
+     * @param response the response that was measured at that time, like a velocity.
+     */
+    public void addSample(double time, double command, double response) {
+        if (size > 0 && time <= times[size - 1]) {
+            throw new IllegalArgumentException("Samples have to be added to a LatencyEstimator in order of time");
+        }
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            commands = Arrays.copyOf(commands, size * 2);
+            responses = Arrays.copyOf(responses, size * 2);
+        }
+        times[size] = time;
+        commands[size] = command;
+        responses[size] = response;
+        size++;
+    }
+
+    /**
+     * This removes every sample and the last estimate.
+     */
+    public void clear() {
+        size = 0;
+        latency = Double.NaN;
+        gain = Double.NaN;
+        timeConstant = Double.NaN;
+        fitError = Double.NaN;
+    }
+
+    /**
+     * This returns the number of samples added.
+     *
+     * @return returns the number of samples.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This estimates the latency, trying every latency from 0 up to a maximum in 1 millisecond steps
+     * and then refining the best one between the steps.
+     *
+     * @param maxLatency the longest latency to try, in seconds.
+     * @return returns the estimated latency in seconds, or NaN if there isn't enough data.
+     */
+    public double estimate(double maxLatency) {
+        return estimate(maxLatency, 0.001);
+    }
+
+    /**
+     * This estimates the latency, trying every latency from 0 up to a maximum in steps of a certain
+     * resolution and then refining the best one between the steps. The gain, time constant, and fit
+     * error of the best fit can be gotten afterwards.
+     *
+     * @param maxLatency the longest latency to try, in seconds.
+     * @param resolution the step between latencies tried, in seconds. This is also the spacing of
+     *                   the grid the samples are resampled onto.
+     * @return returns the estimated latency in seconds, or NaN if there isn't enough data.
+     */
+    public double estimate(double maxLatency, double resolution) {
+        latency = Double.NaN;
+        gain = Double.NaN;
+        timeConstant = Double.NaN;
+        fitError = Double.NaN;
+        if (size < 2 || resolution <= 0) return latency;
+
+        int maxShift = (int) Math.round(maxLatency / resolution);
+        int gridSize = (int) Math.floor((times[size - 1] - times[0]) / resolution) + 1;
+        if (gridSize <= maxShift + 3) return latency;
+
+        double[] command = new double[gridSize];
+        double[] response = new double[gridSize];
+        int sample = 0;
+        for (int i = 0; i < gridSize; i++) {
+            double time = times[0] + i * resolution;
+            while (sample < size - 2 && times[sample + 1] <= time) sample++;
+            double fraction = Math.min(1, (time - times[sample]) / (times[sample + 1] - times[sample]));
+            command[i] = time >= times[sample + 1] ? commands[sample + 1] : commands[sample];
+            response[i] = responses[sample] + fraction * (responses[sample + 1] - responses[sample]);
+        }
+
+        double[] errors = new double[maxShift + 1];
+        double[] fit = new double[3];
+        int best = 0;
+        for (int shift = 0; shift <= maxShift; shift++) {
+            errors[shift] = fit(command, response, shift, maxShift, resolution, fit);
+            if (errors[shift] < errors[best]) best = shift;
+        }
+
+        double refinedShift = best;
+        if (best > 0 && best < maxShift) {
+            double curvature = errors[best - 1] - 2 * errors[best] + errors[best + 1];
+            if (curvature > 0) {
+                refinedShift += 0.5 * (errors[best - 1] - errors[best + 1]) / curvature;
+            }
+        }
+
+        fitError = Math.sqrt(fit(command, response, best, maxShift, resolution, fit) / (gridSize - maxShift - 1));
+        if (fit[1] < 0) {
+            timeConstant = -1 / fit[1];
+            gain = -fit[0] / fit[1];
+        }
+        latency = refinedShift * resolution;
+        return latency;
+    }
+
+    /**
+     * This fits the integrated model for one latency with least squares, where
+     *     response(t) - response(start) = a * integral of command(t - latency) + b * integral of
+     *     response(t) + c * (t - start).
+     * Every latency is fit over the same stretch of the grid, so their errors can be compared.
+     *
+     * @param command the resampled commands.
+     * @param response the resampled responses.
+     * @param shift the latency in grid steps.
+     * @param start the grid index to start fitting at.
+     * @param step the grid spacing in seconds.
+     * @param output the array to write a, b, and c into.
+     * @return returns the sum of the squared errors of the fit.
+     */
+    private static double fit(double[] command, double[] response, int shift, int start, double step, double[] output) {
+        double s11 = 0, s12 = 0, s13 = 0, s22 = 0, s23 = 0, s33 = 0;
+        double t1 = 0, t2 = 0, t3 = 0, tt = 0;
+        double commandIntegral = 0;
+        double responseIntegral = 0;
+        for (int i = start + 1; i < command.length; i++) {
+            commandIntegral += command[i - 1 - shift] * step;
+            responseIntegral += 0.5 * (response[i - 1] + response[i]) * step;
+            double elapsed = (i - start) * step;
+            double target = response[i] - response[start];
+            s11 += commandIntegral * commandIntegral;
+            s12 += commandIntegral * responseIntegral;
+            s13 += commandIntegral * elapsed;
+            s22 += responseIntegral * responseIntegral;
+            s23 += responseIntegral * elapsed;
+            s33 += elapsed * elapsed;
+            t1 += commandIntegral * target;
+            t2 += responseIntegral * target;
+            t3 += elapsed * target;
+            tt += target * target;
+        }
+
+        double determinant = s11 * (s22 * s33 - s23 * s23) - s12 * (s12 * s33 - s23 * s13) + s13 * (s12 * s23 - s22 * s13);
+        if (Math.abs(determinant) < 1e-12) {
+            output[0] = 0;
+            output[1] = 0;
+            output[2] = 0;
+            return tt;
+        }
+        output[0] = (t1 * (s22 * s33 - s23 * s23) - s12 * (t2 * s33 - s23 * t3) + s13 * (t2 * s23 - s22 * t3)) / determinant;
+        output[1] = (s11 * (t2 * s33 - s23 * t3) - t1 * (s12 * s33 - s23 * s13) + s13 * (s12 * t3 - t2 * s13)) / determinant;
+        output[2] = (s11 * (s22 * t3 - t2 * s23) - s12 * (s12 * t3 - t2 * s13) + t1 * (s12 * s23 - s22 * s13)) / determinant;
+
+        // The squared error is expanded from the sums so the integrals don't have to be kept.
+        return tt - output[0] * t1 - output[1] * t2 - output[2] * t3;
+    }
+
+    /**
+     * This returns the latency found by the last estimate.
+     *
+     * @return returns the latency in seconds, or NaN if there isn't an estimate.
+     */
+    public double getLatency() {
+        return latency;
+    }
+
+    /**
+     * This returns the gain of the best fit, which is how much response a command of 1 gets once
+     * the response has settled.
+     *
+     * @return returns the gain, or NaN if there isn't an estimate.
+     */
+    public double getGain() {
+        return gain;
+    }
+
+    /**
+     * This returns the time constant of the best fit, which is how long it takes the response to get
+     * about 63% of the way to where it settles after the command changes.
+     *
+     * @return returns the time constant in seconds, or NaN if there isn't an estimate.
+     */
+    public double getTimeConstant() {
+        return timeConstant;
+    }
+
+    /**
+     * This returns the root mean square error of the best fit. If this is large compared to the
+     * response, the model doesn't fit the data well and the latency shouldn't be trusted.
+     *
+     * @return returns the fit error in the units of the response, or NaN if there isn't an estimate.
+     */
+    public double getFitError() {
+        return fitError;
+    }
+
+    /**
+     * This creates a LatencyEstimator from logged comma separated values, with one sample per line.
+     * Lines that don't have numbers in the columns, like a header, are skipped.
+     *
+     * @param reader the reader to read the lines from.
+     * @param timeColumn the column of the time in seconds, counting from 0.
+     * @param commandColumn the column of the command.
+     * @param responseColumn the column of the response.
+     * @return returns the LatencyEstimator with every sample added.
+     * @throws IOException if the reader throws one.
+     */
+    public static LatencyEstimator fromCsv(BufferedReader reader, int timeColumn, int commandColumn, int responseColumn) throws IOException {
+        LatencyEstimator estimator = new LatencyEstimator();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] columns = line.split(",");
+            try {
+                estimator.addSample(Double.parseDouble(columns[timeColumn].trim()),
+                        Double.parseDouble(columns[commandColumn].trim()),
+                        Double.parseDouble(columns[responseColumn].trim()));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // This isn't a sample, so it is skipped.
+            }
+        }
+        return estimator;
+    }
+}
@@ -0,0 +1,48 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the LoopClock class. This is a Clock that only reads the time from another Clock when it
+ * is updated, which is once at the start of every loop. This way, everything that reads the time
+ * during a loop gets the same time, so the time between loops is measured the same way everywhere.
+ */
+public class LoopClock implements Clock {
+    private final Clock source;
+    private long time;
+
+    /**
+     * This creates a new LoopClock that reads the time from another Clock. The time is read once
+     * here, so it can be used before the first loop.
+     *
+     * @param source the Clock to read the time from.
+     */
+    public LoopClock(Clock source) {
+        this.source = source;
+        update();
+    }
+
+    /**
+     * This reads the time from the source Clock. This should be run once at the start of every loop.
+     */
+    public void update() {
+        time = source.nanoTime();
+    }
+
+    /**
+     * This returns the time from the last update.
+     *
+     * @return returns the time from the last update, in nanoseconds.
+     */
+    @Override
+    public long nanoTime() {
+        return time;
+    }
+
+    /**
+     * This returns the Clock this reads the time from.
+     *
+     * @return returns the source Clock.
+     */
+    public Clock getSource() {
+        return source;
+    }
+}
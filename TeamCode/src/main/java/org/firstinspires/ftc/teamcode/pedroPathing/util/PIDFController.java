@@ -23,6 +23,7 @@ public class PIDFController {
     private double errorDerivative;
     private double feedForwardInput;
 
+    private final Clock clock;
     private long previousUpdateTimeNano;
     private long deltaTimeNano;
 
@@ -32,6 +33,18 @@ public class PIDFController {
      * @param set the coefficients to use.
      */
     public PIDFController(CustomPIDFCoefficients set) {
+        this(set, Clock.SYSTEM);
+    }
+
+    /**
+     * This creates a new PIDFController from a CustomPIDFCoefficients, which gets the time from a
+     * Clock.
+     *
+     * @param set the coefficients to use.
+     * @param clock the Clock to get the time from.
+     */
+    public PIDFController(CustomPIDFCoefficients set, Clock clock) {
+        this.clock = clock;
         setCoefficients(set);
         reset();
     }
@@ -57,11 +70,7 @@ public class PIDFController {
         previousError = error;
         error = targetPosition - position;
 
-        deltaTimeNano = System.nanoTime() - previousUpdateTimeNano;
-        previousUpdateTimeNano = System.nanoTime();
-
-        errorIntegral += error * (deltaTimeNano / Math.pow(10.0, 9));
-        errorDerivative = (error - previousError) / (deltaTimeNano / Math.pow(10.0, 9));
+        updateTime();
     }
 
     /**
@@ -74,11 +83,23 @@ public class PIDFController {
         previousError = this.error;
         this.error = error;
 
-        deltaTimeNano = System.nanoTime() - previousUpdateTimeNano;
-        previousUpdateTimeNano = System.nanoTime();
+        updateTime();
+    }
+
+    /**
+     * This reads the time once and updates the integral and derivative of the error with the time
+     * since the last update. If no time has passed, like when the PIDF is updated twice in one loop
+     * of a LoopClock, then the integral and derivative are left as they are.
+     */
+    private void updateTime() {
+        long now = clock.nanoTime();
+        deltaTimeNano = now - previousUpdateTimeNano;
+        previousUpdateTimeNano = now;
+        if (deltaTimeNano <= 0) return;
 
-        errorIntegral += error * (deltaTimeNano / Math.pow(10.0, 9));
-        errorDerivative = (error - previousError) / (deltaTimeNano / Math.pow(10.0, 9));
+        double deltaTime = deltaTimeNano / 1e9;
+        errorIntegral += error * deltaTime;
+        errorDerivative = (error - previousError) / deltaTime;
     }
 
     /**
@@ -100,7 +121,7 @@ public class PIDFController {
         targetPosition = 0;
         errorIntegral = 0;
         errorDerivative = 0;
-        previousUpdateTimeNano = System.nanoTime();
+        previousUpdateTimeNano = clock.nanoTime();
     }
 
     /**
@@ -0,0 +1,58 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the SimulatedClock class. This is a Clock where time only passes when it is told to, so
+ * the Follower can be run in a simulation as fast as the computer can go, and runs the same way
+ * every time no matter how long each loop actually takes. The time can be read from another thread
+ * than the one moving it forward, like the thread of a FollowerControlThread.
+ */
+public class SimulatedClock implements Clock {
+    private volatile long time;
+
+    /**
+     * This creates a new SimulatedClock that starts at a time of 0.
+     */
+    public SimulatedClock() {
+        this(0);
+    }
+
+    /**
+     * This creates a new SimulatedClock that starts at a specified time.
+     *
+     * @param startTime the time to start at, in nanoseconds.
+     */
+    public SimulatedClock(long startTime) {
+        time = startTime;
+    }
+
+    /**
+     * This moves the time forward.
+     *
+     * @param nanoseconds how far to move the time forward, in nanoseconds.
+     */
+    public void advance(long nanoseconds) {
+        if (nanoseconds < 0) {
+            throw new IllegalArgumentException("A SimulatedClock can't go backwards");
+        }
+        time += nanoseconds;
+    }
+
+    /**
+     * This moves the time forward.
+     *
+     * @param seconds how far to move the time forward, in seconds.
+     */
+    public void advanceSeconds(double seconds) {
+        advance(Math.round(seconds * 1e9));
+    }
+
+    /**
+     * This returns the current simulated time.
+     *
+     * @return returns the current time, in nanoseconds.
+     */
+    @Override
+    public long nanoTime() {
+        return time;
+    }
+}
@@ -1,8 +1,8 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.util;
 
 /**
- * This is the Timer class. It is an elapsed time clock with millisecond precision, or at least as
- * precise as the System.currentTimeMillis() is.
+ * This is the Timer class. It is an elapsed time clock with millisecond precision. It gets the time
+ * from a Clock, which is the real time unless another Clock is given.
  *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
@@ -10,20 +10,32 @@ package org.firstinspires.ftc.teamcode.pedroPathing.util;
  * @version 1.0, 3/5/2024
  */
 public class Timer {
+    private final Clock clock;
     private long startTime;
 
     /**
      * This creates a new Timer with the start time set to its creation time.
      */
     public Timer() {
+        this(Clock.SYSTEM);
+    }
+
+    /**
+     * This creates a new Timer that gets the time from a Clock, with the start time set to its
+     * creation time.
+     *
+     * @param clock the Clock to get the time from.
+     */
+    public Timer(Clock clock) {
+        this.clock = clock;
         resetTimer();
     }
 
     /**
-     * This resets the Timer's start time to the current time using System.currentTimeMillis().
+     * This resets the Timer's start time to the current time of its Clock.
      */
     public void resetTimer() {
-        startTime = System.currentTimeMillis();
+        startTime = clock.nanoTime();
     }
 
     /**
@@ -32,7 +44,7 @@ public class Timer {
      * @return this returns the elapsed time in milliseconds.
      */
     public long getElapsedTime() {
-        return System.currentTimeMillis() - startTime;
+        return (clock.nanoTime() - startTime) / 1000000;
     }
 
     /**
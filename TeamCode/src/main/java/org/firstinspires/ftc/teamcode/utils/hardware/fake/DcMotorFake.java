@@ -14,6 +14,7 @@ public class DcMotorFake extends HardwareDeviceFake implements DcMotorEx {
     private int position = 0;
     private double velocity = 0;
     private Direction direction = Direction.FORWARD;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
     private MotorConfigurationType motorType = new MotorConfigurationType();
 
     @Override
@@ -133,12 +134,12 @@ public class DcMotorFake extends HardwareDeviceFake implements DcMotorEx {
 
     @Override
     public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
-
+        this.zeroPowerBehavior = zeroPowerBehavior;
     }
 
     @Override
     public ZeroPowerBehavior getZeroPowerBehavior() {
-        return null;
+        return zeroPowerBehavior;
     }
 
     @Override
@@ -171,6 +172,10 @@ public class DcMotorFake extends HardwareDeviceFake implements DcMotorEx {
         return position;
     }
 
+    public void setCurrentPosition(int position) {
+        this.position = position;
+    }
+
     @Override
     public void setMode(RunMode mode) {
 
@@ -1,78 +1,361 @@
 package org.firstinspires.ftc.teamcode.utils.software;
 
-import org.apache.commons.math3.stat.StatUtils;
-
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.concurrent.locks.StampedLock;
 
+/**
+ * Keeps the last few values added in a ring buffer of doubles, and also keeps them sorted in a treap
+ * so that the median and trimmed means can be found without sorting or removing anything.
+ * <p>
+ * Each value in the ring buffer is also a node of the treap, at the same index, and every node keeps
+ * the number of values and their sum in its subtree. Adding a value takes O(log n), the mean takes
+ * O(1), and the median and trimmed means take O(log n).
+ * <p>
+ * Values can be added from one thread and read from others. Reads don't take a lock, and only fall
+ * back to one if a value was added while they were reading.
+ */
 public class MovingArrayList {
+    private static final int NONE = -1;
+
+    private final int size;
+    private final double[] values;
+    private final int[] left;
+    private final int[] right;
+    private final int[] priorities;
+    private final int[] subtreeSizes;
+    private final double[] subtreeSums;
+    private int root = NONE;
+    private int oldest;
+    private volatile int count;
+    private int seed = 0x9E3779B9;
 
-    private ArrayList<Double> arrayList;
-    private int size;
+    private final StampedLock lock = new StampedLock();
 
     public MovingArrayList(int size) {
         if (size <= 0) {
             throw new IllegalArgumentException("Size must be greater than zero");
         }
         this.size = size;
-        this.arrayList = new ArrayList<>(size);
+        values = new double[size];
+        left = new int[size];
+        right = new int[size];
+        priorities = new int[size];
+        subtreeSizes = new int[size];
+        subtreeSums = new double[size];
     }
 
-    public synchronized void add(double value) {
-        if (arrayList.size() == size) {
-            arrayList.remove(0); // Remove the oldest element if the size exceeds the limit
+    public void add(double value) {
+        long stamp = lock.writeLock();
+        try {
+            addUnlocked(value);
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        arrayList.add(value);
     }
 
+    private void addUnlocked(double value) {
+        int node;
+        if (count == size) {
+            // The oldest value is written over, so it's taken out of the treap first
+            node = oldest;
+            root = delete(root, node);
+            oldest = oldest + 1 == size ? 0 : oldest + 1;
+        } else {
+            node = oldest + count;
+            if (node >= size) node -= size;
+            count++;
+        }
+        values[node] = value;
+        left[node] = NONE;
+        right[node] = NONE;
+        priorities[node] = nextPriority();
+        update(node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Returns a copy of the values, oldest first
+     */
     public ArrayList<Double> getArrayList() {
-        return new ArrayList<>(arrayList); // Return a copy to prevent external modifications
+        long stamp = lock.readLock();
+        try {
+            ArrayList<Double> copy = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                copy.add(values[(oldest + i) % size]);
+            }
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
-    public synchronized double getMean() {
-        if(size > 5 && arrayList.size() > (size -5)) {
-            removeMinMax();
+    /**
+     * Returns the mean, leaving out the smallest and largest values once the list is nearly full.
+     * Nothing is removed from the list.
+     */
+    public double getMean() {
+        long stamp = lock.tryOptimisticRead();
+        double mean = mean();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                mean = mean();
+            } finally {
+                lock.unlockRead(stamp);
+            }
         }
+        return mean;
+    }
 
-        double[] array = arrayList.stream()
-                .mapToDouble(Double::doubleValue)
-                .toArray();
+    private double mean() {
+        int n = count;
+        if (size > 5 && n > (size - 5)) {
+            return trimmedMean(n, 1);
+        }
+        return n == 0 ? Double.NaN : sumOf(root) / n;
+    }
 
-        return StatUtils.mean(array);
+    /**
+     * Returns the mean, leaving out the smallest and largest values if there are more than 3.
+     * Nothing is removed from the list.
+     */
+    public double getAvg() {
+        long stamp = lock.tryOptimisticRead();
+        double avg = avg();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                avg = avg();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return avg;
     }
 
-    public synchronized double getAvg() {
-        if(arrayList.size() > 3) {
-            removeMinMax();
+    private double avg() {
+        int n = count;
+        if (n > 3) {
+            return trimmedMean(n, 1);
         }
+        return n == 0 ? 0.0 : sumOf(root) / n;
+    }
 
-        return arrayList.stream()
-                .mapToDouble(Double::doubleValue).average().orElse(0.0);
+    /**
+     * Returns the mean, leaving out the given number of smallest and largest values. At least one
+     * value is always kept. Nothing is removed from the list.
+     */
+    public double getTrimmedMean(int trim) {
+        long stamp = lock.tryOptimisticRead();
+        double mean = trimmedMean(count, trim);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                mean = trimmedMean(count, trim);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return mean;
     }
 
-    public void removeMinMax() {
-        if (arrayList == null || arrayList.size() < 3) {
-            throw new IllegalArgumentException("List must have at least 3 elements");
+    private double trimmedMean(int n, int trim) {
+        if (n == 0) return Double.NaN;
+        trim = Math.max(0, Math.min(trim, (n - 1) / 2));
+        return (sumOfSmallest(n - trim) - sumOfSmallest(trim)) / (n - 2 * trim);
+    }
+
+    public double getMedian() {
+        long stamp = lock.tryOptimisticRead();
+        double median = median();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                median = median();
+            } finally {
+                lock.unlockRead(stamp);
+            }
         }
+        return median;
+    }
 
-        // Find the indices of the min and max values
-        int minIndex = arrayList.indexOf(Collections.min(arrayList));
-        int maxIndex = arrayList.indexOf(Collections.max(arrayList));
+    private double median() {
+        int n = count;
+        if (n == 0) return Double.NaN;
+        if (n % 2 == 1) return select(n / 2);
+        return (select(n / 2 - 1) + select(n / 2)) / 2;
+    }
 
-        // Remove the min and max values
-        arrayList.remove(minIndex);
-        arrayList.remove(maxIndex > minIndex ? maxIndex - 1 : maxIndex); // Adjust index if max was after min
+    /**
+     * Removes the smallest and largest values from the list. The means and the median leave these
+     * out without removing them, so this is only needed to actually drop them.
+     */
+    public void removeMinMax() {
+        long stamp = lock.writeLock();
+        try {
+            if (count < 3) {
+                throw new IllegalArgumentException("List must have at least 3 elements");
+            }
+
+            int minIndex = 0;
+            int maxIndex = 0;
+            for (int i = 1; i < count; i++) {
+                double value = values[(oldest + i) % size];
+                if (value < values[(oldest + minIndex) % size]) minIndex = i;
+                if (value > values[(oldest + maxIndex) % size]) maxIndex = i;
+            }
+            if (minIndex == maxIndex) maxIndex = minIndex == 0 ? 1 : 0;
+
+            double[] kept = new double[count - 2];
+            int keptCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (i != minIndex && i != maxIndex) kept[keptCount++] = values[(oldest + i) % size];
+            }
+            clearUnlocked();
+            for (double value : kept) {
+                addUnlocked(value);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public int size() {
-        return arrayList.size();
+        return count;
     }
 
     public boolean isEmpty() {
-        return arrayList.isEmpty();
+        return count == 0;
     }
 
     public void clear() {
-        arrayList.clear();
+        long stamp = lock.writeLock();
+        try {
+            clearUnlocked();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void clearUnlocked() {
+        root = NONE;
+        oldest = 0;
+        count = 0;
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private boolean isBefore(int a, int b) {
+        int compare = Double.compare(values[a], values[b]);
+        return compare < 0 || (compare == 0 && a < b);
+    }
+
+    private int sizeOf(int node) {
+        return node == NONE ? 0 : subtreeSizes[node];
+    }
+
+    private double sumOf(int node) {
+        return node == NONE ? 0 : subtreeSums[node];
+    }
+
+    private void update(int node) {
+        subtreeSizes[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+        subtreeSums[node] = sumOf(left[node]) + sumOf(right[node]) + values[node];
+    }
+
+    private int rotateRight(int node) {
+        int child = left[node];
+        left[node] = right[child];
+        right[child] = node;
+        update(node);
+        update(child);
+        return child;
+    }
+
+    private int rotateLeft(int node) {
+        int child = right[node];
+        right[node] = left[child];
+        left[child] = node;
+        update(node);
+        update(child);
+        return child;
+    }
+
+    private int insert(int subtree, int node) {
+        if (subtree == NONE) return node;
+        if (isBefore(node, subtree)) {
+            left[subtree] = insert(left[subtree], node);
+            if (priorities[left[subtree]] > priorities[subtree]) return rotateRight(subtree);
+        } else {
+            right[subtree] = insert(right[subtree], node);
+            if (priorities[right[subtree]] > priorities[subtree]) return rotateLeft(subtree);
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    private int delete(int subtree, int node) {
+        if (subtree == node) return merge(left[node], right[node]);
+        if (isBefore(node, subtree)) {
+            left[subtree] = delete(left[subtree], node);
+        } else {
+            right[subtree] = delete(right[subtree], node);
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    // These walk down from the root without recursing. If a value is added while they are running
+    // without the lock, the tree can be broken for a moment, so they give up after as many steps as
+    // there are nodes, and the caller's validate() then fails and runs them again under the lock.
+
+    private double select(int rank) {
+        int node = root;
+        for (int steps = 0; node != NONE && steps < size; steps++) {
+            int leftSize = sizeOf(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return values[node];
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        return Double.NaN;
+    }
+
+    private double sumOfSmallest(int n) {
+        double sum = 0;
+        int node = root;
+        for (int steps = 0; n > 0 && node != NONE && steps < size; steps++) {
+            int leftSize = sizeOf(left[node]);
+            if (n <= leftSize) {
+                node = left[node];
+            } else {
+                sum += sumOf(left[node]) + values[node];
+                n -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        return sum;
     }
 }
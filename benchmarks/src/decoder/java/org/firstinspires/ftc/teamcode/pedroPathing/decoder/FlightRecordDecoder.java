@@ -0,0 +1,139 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.decoder;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.util.FlightRecorder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is the FlightRecordDecoder class. This turns a file recorded by a FlightRecorder, like the
+ * one the Follower records with startFlightRecorder(), into a CSV with a column for the time in
+ * seconds from the first record, the sequence number, the tag, and every recorded value. The names
+ * of the values are read from the file, so this works for anything recorded with a FlightRecorder.
+ *
+ * If the robot lost power while recording, the last record can be cut off, so it is left out. If
+ * records were dropped because the FlightRecorder fell behind, the sequence numbers skip, and the
+ * number dropped is printed at the end.
+ *
+ * Run it with:
+ *     ./gradlew :benchmarks:decodeFlightRecord --args="input [output.csv]"
+ */
+public class FlightRecordDecoder {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: FlightRecordDecoder input [output.csv]");
+            System.exit(1);
+        }
+        File input = new File(args[0]);
+        File output = new File(args.length == 2 ? args[1] : args[0] + ".csv");
+
+        long records = decode(input, output);
+        System.out.println("Decoded " + records + " records into " + output);
+    }
+
+    /**
+     * This decodes a file recorded by a FlightRecorder into a CSV.
+     *
+     * @param input the recorded file.
+     * @param output the CSV to write.
+     * @return returns the number of records decoded.
+     * @throws IOException if the recorded file can't be read, isn't from a FlightRecorder, or the
+     *                     CSV can't be written.
+     */
+    public static long decode(File input, File output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), Charset.forName("UTF-8")))) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            String[] names = readHeader(buffer, input);
+            int recordSize = FlightRecorder.RECORD_HEADER_SIZE + 8 * names.length;
+
+            writer.write("time,sequence,tag");
+            for (String name : names) {
+                writer.write(',');
+                writer.write(name);
+            }
+            writer.write('\n');
+
+            long records = 0;
+            long dropped = 0;
+            long startTime = 0;
+            int previousSequence = 0;
+            StringBuilder line = new StringBuilder();
+            while (buffer.remaining() >= recordSize) {
+                long time = buffer.getLong();
+                int sequence = buffer.getInt();
+                int tag = buffer.getInt();
+                if (records == 0) {
+                    startTime = time;
+                } else {
+                    dropped += sequence - previousSequence - 1;
+                }
+                previousSequence = sequence;
+
+                line.setLength(0);
+                line.append((time - startTime) / 1e9).append(',').append(sequence).append(',').append(tag);
+                for (int i = 0; i < names.length; i++) {
+                    line.append(',').append(buffer.getDouble());
+                }
+                line.append('\n');
+                writer.append(line);
+                records++;
+            }
+
+            if (buffer.hasRemaining()) {
+                System.err.println("Left out a cut off record of " + buffer.remaining() + " bytes at the end of " + input);
+            }
+            if (dropped > 0) {
+                System.err.println(dropped + " records were dropped while recording " + input);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * This reads the header of a file recorded by a FlightRecorder, leaving the buffer at the first
+     * record.
+     *
+     * @param buffer the contents of the file.
+     * @param input the file, for error messages.
+     * @return returns the names of the values in every record.
+     * @throws IOException if the file isn't from a FlightRecorder or is from a different version.
+     */
+    private static String[] readHeader(MappedByteBuffer buffer, File input) throws IOException {
+        byte[] magic = new byte[FlightRecorder.MAGIC.length];
+        if (buffer.remaining() < magic.length + 8) {
+            throw new IOException(input + " is too short to be a flight record");
+        }
+        buffer.get(magic);
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != FlightRecorder.MAGIC[i]) {
+                throw new IOException(input + " is not a flight record");
+            }
+        }
+        int version = buffer.getInt();
+        if (version != FlightRecorder.VERSION) {
+            throw new IOException(input + " is flight record version " + version + ", but only version "
+                    + FlightRecorder.VERSION + " can be decoded");
+        }
+
+        Charset utf8 = Charset.forName("UTF-8");
+        String[] names = new String[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            names[i] = new String(name, utf8);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,72 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierLine;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+import java.util.ArrayList;
+
+/**
+ * This is the BenchmarkPaths class. This class makes the BezierCurves, Paths and robot Poses that
+ * the benchmarks run on, so every benchmark uses the same field-sized curves.
+ */
+public class BenchmarkPaths {
+
+    /**
+     * This creates a BezierCurve of a specified degree. A degree of 1 gives a BezierLine, and
+     * higher degrees give a curve that weaves back and forth across about 72 inches of field.
+     *
+     * @param degree the degree of the curve.
+     * @return returns the BezierCurve.
+     */
+    public static BezierCurve createCurve(int degree) {
+        if (degree <= 1) {
+            return new BezierLine(new Point(0, 0, Point.CARTESIAN), new Point(48, 24, Point.CARTESIAN));
+        }
+        ArrayList<Point> controlPoints = new ArrayList<>();
+        for (int i = 0; i <= degree; i++) {
+            double y = i == 0 || i == degree ? 0 : (i % 2 == 0 ? -12 : 36);
+            controlPoints.add(new Point(72.0 * i / degree, y, Point.CARTESIAN));
+        }
+        return new BezierCurve(controlPoints);
+    }
+
+    /**
+     * This creates a Path along a BezierCurve of a specified degree.
+     *
+     * @param degree the degree of the curve.
+     * @return returns the Path.
+     */
+    public static Path createPath(int degree) {
+        return new Path(createCurve(degree));
+    }
+
+    /**
+     * This creates robot Poses next to a BezierCurve, going from the start to the end and back again, so
+     * that looping through them never jumps across the curve. Each Pose is a little off the curve
+     * and faces along it, like a robot following it would.
+     *
+     * @param curve the BezierCurve.
+     * @param count the number of Poses going each way.
+     * @param offset how far off the curve, in inches, each Pose is.
+     * @return returns the Poses.
+     */
+    public static Pose[] createPoses(BezierCurve curve, int count, double offset) {
+        Pose[] poses = new Pose[2 * count];
+        for (int i = 0; i < count; i++) {
+            double t = (double) i / (count - 1);
+            Point point = curve.getPoint(t);
+            Vector tangent = MathFunctions.normalizeVector(curve.getDerivative(t));
+            double side = i % 2 == 0 ? offset : -offset;
+            double x = point.getX() - tangent.getYComponent() * side;
+            double y = point.getY() + tangent.getXComponent() * side;
+            poses[i] = new Pose(x, y, tangent.getTheta());
+            poses[2 * count - 1 - i] = new Pose(x, y, tangent.getTheta());
+        }
+        return poses;
+    }
+}
@@ -0,0 +1,60 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This is the BezierCurveBenchmark class. This benchmarks evaluating a BezierCurve, its derivative
+ * and its curvature at t-values spread along the curve, for lines and curves of a few degrees.
+ */
+@State(Scope.Thread)
+public class BezierCurveBenchmark {
+    private static final int T_VALUE_COUNT = 1024;
+
+    @Param({"1", "3", "5", "7"})
+    public int degree;
+
+    private BezierCurve curve;
+    private final double[] tValues = new double[T_VALUE_COUNT];
+    private final Vector derivative = new Vector();
+    private int index;
+
+    @Setup
+    public void setup() {
+        curve = BenchmarkPaths.createCurve(degree);
+        for (int i = 0; i < T_VALUE_COUNT; i++) {
+            tValues[i] = (double) i / (T_VALUE_COUNT - 1);
+        }
+    }
+
+    /**
+     * This returns the next t-value to evaluate the curve at.
+     *
+     * @return returns the t-value.
+     */
+    private double nextTValue() {
+        index = (index + 1) % T_VALUE_COUNT;
+        return tValues[index];
+    }
+
+    @Benchmark
+    public Point getPoint() {
+        return curve.getPoint(nextTValue());
+    }
+
+    @Benchmark
+    public Vector getDerivative() {
+        return curve.getDerivative(nextTValue(), derivative);
+    }
+
+    @Benchmark
+    public double getCurvature() {
+        return curve.getCurvature(nextTValue());
+    }
+}
@@ -0,0 +1,47 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.DriveVectorScaler;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * This is the DriveVectorScalerBenchmark class. This benchmarks turning the corrective, heading
+ * and pathing Vectors into wheel powers, with a spread of Vectors that sometimes need scaling down
+ * and sometimes don't.
+ */
+@State(Scope.Thread)
+public class DriveVectorScalerBenchmark {
+    private static final int INPUT_COUNT = 256;
+
+    private DriveVectorScaler driveVectorScaler;
+    private final Vector[] correctivePowers = new Vector[INPUT_COUNT];
+    private final Vector[] headingPowers = new Vector[INPUT_COUNT];
+    private final Vector[] pathingPowers = new Vector[INPUT_COUNT];
+    private final double[] robotHeadings = new double[INPUT_COUNT];
+    private final double[] wheelPowers = new double[4];
+    private int index;
+
+    @Setup
+    public void setup() {
+        driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
+        Random random = new Random(10158);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            correctivePowers[i] = new Vector(0.5 * random.nextDouble(), 2 * Math.PI * random.nextDouble());
+            headingPowers[i] = new Vector(0.5 * random.nextDouble(), random.nextBoolean() ? 0 : Math.PI);
+            pathingPowers[i] = new Vector(random.nextDouble(), 2 * Math.PI * random.nextDouble());
+            robotHeadings[i] = 2 * Math.PI * random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double[] getDrivePowers() {
+        index = (index + 1) % INPUT_COUNT;
+        return driveVectorScaler.getDrivePowers(correctivePowers[index], headingPowers[index], pathingPowers[index], robotHeadings[index], wheelPowers);
+    }
+}
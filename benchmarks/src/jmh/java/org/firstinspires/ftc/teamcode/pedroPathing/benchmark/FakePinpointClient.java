@@ -0,0 +1,61 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import com.qualcomm.robotcore.hardware.I2cAddr;
+import com.qualcomm.robotcore.hardware.I2cDeviceSynchSimple;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This is the FakePinpointClient class. This is the I2C connection to a pretend goBILDA Pinpoint,
+ * so a real GoBildaPinpointDriver can be made on top of it. It answers bulk reads with whatever
+ * pose and velocity it was last given and ignores writes.
+ */
+public class FakePinpointClient implements I2cDeviceSynchSimple {
+    private static final int BULK_READ_LENGTH = 40;
+    private static final int READY = 1;
+    private static final double MM_PER_INCH = 25.4;
+
+    private final byte[] bulkRead = new byte[BULK_READ_LENGTH];
+    private final ByteBuffer bulkReadBuffer = ByteBuffer.wrap(bulkRead).order(ByteOrder.LITTLE_ENDIAN);
+
+    public FakePinpointClient() {
+        bulkReadBuffer.putInt(0, READY);
+    }
+
+    /**
+     * This sets the pose and velocity the Pinpoint will report, in the same units the Follower
+     * uses.
+     *
+     * @param x the x position in inches.
+     * @param y the y position in inches.
+     * @param heading the heading in radians.
+     * @param xVelocity the x velocity in inches per second.
+     * @param yVelocity the y velocity in inches per second.
+     * @param headingVelocity the heading velocity in radians per second.
+     */
+    public void setPose(double x, double y, double heading, double xVelocity, double yVelocity, double headingVelocity) {
+        bulkReadBuffer.putFloat(16, (float) (x * MM_PER_INCH));
+        bulkReadBuffer.putFloat(20, (float) (y * MM_PER_INCH));
+        bulkReadBuffer.putFloat(24, (float) heading);
+        bulkReadBuffer.putFloat(28, (float) (xVelocity * MM_PER_INCH));
+        bulkReadBuffer.putFloat(32, (float) (yVelocity * MM_PER_INCH));
+        bulkReadBuffer.putFloat(36, (float) headingVelocity);
+    }
+
+    @Override
+    public void setI2cAddress(I2cAddr address) {
+    }
+
+    @Override
+    public byte[] read(int register, int count) {
+        if (count == BULK_READ_LENGTH) {
+            return bulkRead;
+        }
+        return new byte[count];
+    }
+
+    @Override
+    public void write(int register, byte[] data) {
+    }
+}
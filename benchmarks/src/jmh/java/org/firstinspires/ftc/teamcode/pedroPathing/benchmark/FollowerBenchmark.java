@@ -0,0 +1,67 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.GoBildaPinpointDriver;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.utils.hardware.fake.DcMotorFake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This is the FollowerBenchmark class. This benchmarks one whole Follower update, from reading the
+ * Pinpoint through the PinpointLocalizer to setting the motor powers. The pretend Pinpoint reports
+ * the robot moving along the Path at a steady speed, and the Path is followed again every time the
+ * robot gets back to the start.
+ */
+@State(Scope.Thread)
+public class FollowerBenchmark {
+    private static final int POSE_COUNT = 512;
+    private static final double SPEED = 30;
+
+    @Param({"1", "3", "5", "7"})
+    public int degree;
+
+    private FakePinpointClient pinpoint;
+    private Follower follower;
+    private Path path;
+    private Pose[] poses;
+    private int index;
+
+    @Setup
+    public void setup() {
+        HardwareMap hardwareMap = new HardwareMap();
+        hardwareMap.put(FollowerConstants.leftFrontMotorName, new DcMotorFake());
+        hardwareMap.put(FollowerConstants.leftRearMotorName, new DcMotorFake());
+        hardwareMap.put(FollowerConstants.rightFrontMotorName, new DcMotorFake());
+        hardwareMap.put(FollowerConstants.rightRearMotorName, new DcMotorFake());
+        pinpoint = new FakePinpointClient();
+        hardwareMap.put("odo", new GoBildaPinpointDriver(pinpoint, true));
+
+        follower = new Follower(hardwareMap);
+        BezierCurve curve = BenchmarkPaths.createCurve(degree);
+        path = new Path(curve);
+        poses = BenchmarkPaths.createPoses(curve, POSE_COUNT, 0.5);
+        index = -1;
+    }
+
+    @Benchmark
+    public void update() {
+        index = (index + 1) % poses.length;
+        if (index == 0) {
+            follower.followPath(path, true);
+        }
+        Pose pose = poses[index];
+        double direction = index < POSE_COUNT ? 1 : -1;
+        pinpoint.setPose(pose.getX(), pose.getY(), pose.getHeading(),
+                direction * SPEED * Math.cos(pose.getHeading()), direction * SPEED * Math.sin(pose.getHeading()), 0);
+        follower.update();
+    }
+}
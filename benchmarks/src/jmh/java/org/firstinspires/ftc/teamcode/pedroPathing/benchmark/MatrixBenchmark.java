@@ -0,0 +1,133 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix3;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix6;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * This is the MatrixBenchmark class. This benchmarks the old Matrix against the fixed size
+ * Matrix3 and Matrix6 operations on flat arrays, for a plain product and for the covariance
+ * prediction step of a Kalman filter, F * P * F^T + Q. Inverting and decomposing a 6x6 covariance
+ * matrix are benchmarked on their own, since Matrix can't do either.
+ */
+@SuppressWarnings("deprecation")
+@State(Scope.Thread)
+public class MatrixBenchmark {
+    private Matrix legacyA3;
+    private Matrix legacyB3;
+    private Matrix legacyA6;
+    private Matrix legacyB6;
+    private Matrix legacyJacobian;
+    private Matrix legacyJacobianTransposed;
+    private Matrix legacyCovariance;
+    private Matrix legacyNoise;
+
+    private final double[] a3 = new double[9];
+    private final double[] b3 = new double[9];
+    private final double[] product3 = new double[9];
+    private final double[] a6 = new double[36];
+    private final double[] b6 = new double[36];
+    private final double[] product6 = new double[36];
+    private final double[] jacobian = new double[9];
+    private final double[] covariance = new double[9];
+    private final double[] noise = new double[9];
+    private final double[] scratch = new double[9];
+    private final double[] covariance6 = new double[36];
+    private final double[] output6 = new double[36];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(10158);
+        for (int i = 0; i < 9; i++) {
+            a3[i] = random.nextGaussian();
+            b3[i] = random.nextGaussian();
+        }
+        for (int i = 0; i < 36; i++) {
+            a6[i] = random.nextGaussian();
+            b6[i] = random.nextGaussian();
+        }
+
+        Matrix3.setIdentity(jacobian);
+        jacobian[2] = -0.3;
+        jacobian[5] = 0.4;
+        Matrix3.setDiagonal(0.25, 0.25, 0.001, covariance);
+        Matrix3.setDiagonal(1e-4, 1e-4, 1e-6, noise);
+
+        // This is a * a^T with a bit added to the diagonal, which is a covariance matrix.
+        Matrix6.multiplyTransposed(a6, a6, covariance6);
+        for (int i = 0; i < 36; i += 7) {
+            covariance6[i] += 1;
+        }
+
+        legacyA3 = new Matrix(toRows(a3, 3));
+        legacyB3 = new Matrix(toRows(b3, 3));
+        legacyA6 = new Matrix(toRows(a6, 6));
+        legacyB6 = new Matrix(toRows(b6, 6));
+        legacyJacobian = new Matrix(toRows(jacobian, 3));
+        Matrix3.transpose(jacobian, scratch);
+        legacyJacobianTransposed = new Matrix(toRows(scratch, 3));
+        legacyCovariance = new Matrix(toRows(covariance, 3));
+        legacyNoise = new Matrix(toRows(noise, 3));
+    }
+
+    private static double[][] toRows(double[] flat, int size) {
+        double[][] rows = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(flat, i * size, rows[i], 0, size);
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public Matrix legacyMultiply3() {
+        return Matrix.multiply(legacyA3, legacyB3);
+    }
+
+    @Benchmark
+    public double[] multiply3() {
+        Matrix3.multiply(a3, b3, product3);
+        return product3;
+    }
+
+    @Benchmark
+    public Matrix legacyMultiply6() {
+        return Matrix.multiply(legacyA6, legacyB6);
+    }
+
+    @Benchmark
+    public double[] multiply6() {
+        Matrix6.multiply(a6, b6, product6);
+        return product6;
+    }
+
+    @Benchmark
+    public Matrix legacyCovariancePredict() {
+        Matrix predicted = Matrix.multiply(Matrix.multiply(legacyJacobian, legacyCovariance), legacyJacobianTransposed);
+        predicted.add(legacyNoise);
+        return predicted;
+    }
+
+    @Benchmark
+    public double[] covariancePredict() {
+        Matrix3.multiply(jacobian, covariance, scratch);
+        Matrix3.multiplyTransposed(scratch, jacobian, product3);
+        Matrix3.add(product3, noise, product3);
+        return product3;
+    }
+
+    @Benchmark
+    public boolean cholesky6() {
+        return Matrix6.cholesky(covariance6, output6);
+    }
+
+    @Benchmark
+    public boolean invertSymmetric6() {
+        return Matrix6.invertSymmetric(covariance6, output6);
+    }
+}
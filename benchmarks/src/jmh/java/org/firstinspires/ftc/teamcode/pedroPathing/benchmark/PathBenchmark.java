@@ -0,0 +1,41 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This is the PathBenchmark class. This benchmarks the closest point search of a Path the way the
+ * Follower uses it, with a robot Pose that moves a little along the Path between every search.
+ */
+@State(Scope.Thread)
+public class PathBenchmark {
+    private static final int POSE_COUNT = 512;
+
+    @Param({"1", "3", "5", "7"})
+    public int degree;
+
+    private Path path;
+    private Pose[] poses;
+    private final Pose closestPose = new Pose();
+    private int index;
+
+    @Setup
+    public void setup() {
+        BezierCurve curve = BenchmarkPaths.createCurve(degree);
+        path = new Path(curve);
+        poses = BenchmarkPaths.createPoses(curve, POSE_COUNT, 0.5);
+    }
+
+    @Benchmark
+    public Pose getClosestPoint() {
+        index = (index + 1) % poses.length;
+        return path.getClosestPoint(poses[index], FollowerConstants.BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
+    }
+}
@@ -0,0 +1,48 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.GoBildaPinpointDriver;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers.PinpointLocalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This is the PinpointBenchmark class. This benchmarks decoding a bulk read of the Pinpoint, both
+ * on its own in the GoBildaPinpointDriver and through the PinpointLocalizer. The pretend Pinpoint
+ * answers instantly, so this only measures the decoding and the garbage it makes.
+ */
+@State(Scope.Thread)
+public class PinpointBenchmark {
+    private FakePinpointClient pinpoint;
+    private GoBildaPinpointDriver odo;
+    private PinpointLocalizer localizer;
+    private double x;
+
+    @Setup
+    public void setup() {
+        pinpoint = new FakePinpointClient();
+        odo = new GoBildaPinpointDriver(pinpoint, true);
+        HardwareMap hardwareMap = new HardwareMap();
+        hardwareMap.put("odo", odo);
+        localizer = new PinpointLocalizer(hardwareMap);
+    }
+
+    @Benchmark
+    public double driverUpdate() {
+        x += 0.01;
+        pinpoint.setPose(x, 0, 0, 30, 0, 0);
+        odo.update();
+        return odo.getPosX();
+    }
+
+    @Benchmark
+    public double localizerUpdate() {
+        x += 0.01;
+        pinpoint.setPose(x, 0, 0, 30, 0, 0);
+        localizer.update();
+        return localizer.getTotalHeading();
+    }
+}
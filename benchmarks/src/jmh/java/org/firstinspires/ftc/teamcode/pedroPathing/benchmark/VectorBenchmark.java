@@ -0,0 +1,105 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.benchmark;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * This is the VectorBenchmark class. This benchmarks the Vector math the Follower does every loop,
+ * the old way and the new way. The old way creates a new Vector for every result and copies and
+ * scales Vectors through their magnitude and theta, which needs trig every time. The new way writes
+ * into Vectors that are reused and works on the x and y components. Every call starts from Vectors
+ * that were just set from x and y components, like the ones the Follower gets from the Path, so the
+ * old way can't reuse a cached magnitude or theta. Every Vector made along the way is handed to the
+ * Blackhole, like the Follower keeps its Vectors in fields, so the JIT compiler can't optimize the
+ * old way's new Vectors out.
+ */
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private static final int INPUT_COUNT = 256;
+
+    private final double[] xComponents = new double[INPUT_COUNT];
+    private final double[] yComponents = new double[INPUT_COUNT];
+    private int index;
+
+    private final Vector one = new Vector();
+    private final Vector two = new Vector();
+    private final Vector three = new Vector();
+    private final Vector sum = new Vector();
+    private final Vector difference = new Vector();
+    private final Vector scaled = new Vector();
+    private final Vector copy = new Vector();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(10158);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            xComponents[i] = 2 * random.nextDouble() - 1;
+            yComponents[i] = 2 * random.nextDouble() - 1;
+        }
+    }
+
+    /**
+     * This sets the input Vectors to the next x and y components.
+     */
+    private void nextInputs() {
+        index = (index + 3) % INPUT_COUNT;
+        one.setOrthogonalComponents(xComponents[index], yComponents[index]);
+        two.setOrthogonalComponents(xComponents[(index + 1) % INPUT_COUNT], yComponents[(index + 1) % INPUT_COUNT]);
+        three.setOrthogonalComponents(xComponents[(index + 2) % INPUT_COUNT], yComponents[(index + 2) % INPUT_COUNT]);
+    }
+
+    @Benchmark
+    public double legacyAddSubtractScaleDot(Blackhole blackhole) {
+        nextInputs();
+        Vector legacySum = MathFunctions.addVectors(one, two);
+        Vector legacyDifference = MathFunctions.subtractVectors(legacySum, three);
+        Vector legacyScaled = new Vector(legacyDifference.getMagnitude() * 0.5, legacyDifference.getTheta());
+        blackhole.consume(legacySum);
+        blackhole.consume(legacyDifference);
+        blackhole.consume(legacyScaled);
+        return MathFunctions.dotProduct(legacyScaled, one);
+    }
+
+    @Benchmark
+    public double addSubtractScaleDot(Blackhole blackhole) {
+        nextInputs();
+        MathFunctions.addVectors(one, two, sum);
+        MathFunctions.subtractVectors(sum, three, difference);
+        MathFunctions.scalarMultiplyVector(difference, 0.5, scaled);
+        blackhole.consume(sum);
+        blackhole.consume(difference);
+        blackhole.consume(scaled);
+        return MathFunctions.dotProduct(scaled, one);
+    }
+
+    @Benchmark
+    public Vector legacyCopy() {
+        nextInputs();
+        return new Vector(one.getMagnitude(), one.getTheta());
+    }
+
+    @Benchmark
+    public Vector copy() {
+        nextInputs();
+        return MathFunctions.copyVector(one, copy);
+    }
+
+    @Benchmark
+    public Vector legacyNormalize() {
+        nextInputs();
+        return new Vector(1, one.getTheta());
+    }
+
+    @Benchmark
+    public Vector normalize() {
+        nextInputs();
+        return MathFunctions.normalizeVector(one, copy);
+    }
+}
@@ -0,0 +1,26 @@
+package android.util;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public final class Log {
+    private Log() {
+    }
+
+    public static int d(String tag, String message) {
+        return 0;
+    }
+
+    public static int i(String tag, String message) {
+        return 0;
+    }
+
+    public static int w(String tag, String message) {
+        return 0;
+    }
+
+    public static int e(String tag, String message) {
+        return 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.acmerobotics.dashboard.config;
+
+/**
+ * Desktop stand-in for the FTC SDK annotation of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public @interface Config {
+    String value() default "";
+}
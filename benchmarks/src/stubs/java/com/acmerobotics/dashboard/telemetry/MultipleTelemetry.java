@@ -0,0 +1,27 @@
+package com.acmerobotics.dashboard.telemetry;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class MultipleTelemetry implements Telemetry {
+    public MultipleTelemetry(Telemetry... telemetries) {
+    }
+
+    @Override
+    public Item addData(String caption, Object value) {
+        return null;
+    }
+
+    @Override
+    public Item addData(String caption, String format, Object... args) {
+        return null;
+    }
+
+    @Override
+    public boolean update() {
+        return true;
+    }
+}
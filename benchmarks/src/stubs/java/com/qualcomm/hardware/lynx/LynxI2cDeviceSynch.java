@@ -0,0 +1,13 @@
+package com.qualcomm.hardware.lynx;
+
+import com.qualcomm.robotcore.hardware.I2cDeviceSynchSimple;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface LynxI2cDeviceSynch extends I2cDeviceSynchSimple {
+    enum BusSpeed { STANDARD_100K, FAST_400K }
+
+    void setBusSpeed(BusSpeed busSpeed);
+}
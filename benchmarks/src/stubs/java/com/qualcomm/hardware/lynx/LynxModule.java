@@ -0,0 +1,17 @@
+package com.qualcomm.hardware.lynx;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class LynxModule implements HardwareDevice {
+    public enum BulkCachingMode { OFF, AUTO, MANUAL }
+
+    public void setBulkCachingMode(BulkCachingMode mode) {
+    }
+
+    public void clearBulkCache() {
+    }
+}
@@ -0,0 +1,88 @@
+package com.qualcomm.hardware.sparkfun;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class SparkFunOTOS implements HardwareDevice {
+    public static class Pose2D {
+        public double x;
+        public double y;
+        public double h;
+
+        public Pose2D() {
+        }
+
+        public Pose2D(double x, double y, double h) {
+            this.x = x;
+            this.y = y;
+            this.h = h;
+        }
+    }
+
+    private final Pose2D position = new Pose2D();
+    private double linearScalar = 1;
+    private double angularScalar = 1;
+
+    public void setLinearUnit(DistanceUnit unit) {
+    }
+
+    public void setAngularUnit(AngleUnit unit) {
+    }
+
+    public void setOffset(Pose2D offset) {
+    }
+
+    public boolean setLinearScalar(double scalar) {
+        linearScalar = scalar;
+        return true;
+    }
+
+    public double getLinearScalar() {
+        return linearScalar;
+    }
+
+    public boolean setAngularScalar(double scalar) {
+        angularScalar = scalar;
+        return true;
+    }
+
+    public double getAngularScalar() {
+        return angularScalar;
+    }
+
+    public boolean calibrateImu() {
+        return true;
+    }
+
+    public boolean calibrateImu(int numSamples, boolean waitUntilDone) {
+        return true;
+    }
+
+    public int getImuCalibrationProgress() {
+        return 0;
+    }
+
+    public void resetTracking() {
+        position.x = 0;
+        position.y = 0;
+        position.h = 0;
+    }
+
+    public void setPosition(Pose2D pose) {
+        position.x = pose.x;
+        position.y = pose.y;
+        position.h = pose.h;
+    }
+
+    public void getPosVelAcc(Pose2D pose, Pose2D velocity, Pose2D acceleration) {
+        pose.x = position.x;
+        pose.y = position.y;
+        pose.h = position.h;
+    }
+}
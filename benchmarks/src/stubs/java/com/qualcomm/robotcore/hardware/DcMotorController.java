@@ -0,0 +1,8 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface DcMotorController extends HardwareDevice {
+}
@@ -0,0 +1,48 @@
+package com.qualcomm.robotcore.hardware;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface DcMotorEx extends DcMotor {
+    void setMotorEnable();
+
+    void setMotorDisable();
+
+    boolean isMotorEnabled();
+
+    void setVelocity(double angularRate);
+
+    void setVelocity(double angularRate, AngleUnit unit);
+
+    double getVelocity();
+
+    double getVelocity(AngleUnit unit);
+
+    void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients);
+
+    void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients);
+
+    void setVelocityPIDFCoefficients(double p, double i, double d, double f);
+
+    void setPositionPIDFCoefficients(double p);
+
+    PIDCoefficients getPIDCoefficients(RunMode mode);
+
+    PIDFCoefficients getPIDFCoefficients(RunMode mode);
+
+    void setTargetPositionTolerance(int tolerance);
+
+    int getTargetPositionTolerance();
+
+    double getCurrent(CurrentUnit unit);
+
+    double getCurrentAlert(CurrentUnit unit);
+
+    void setCurrentAlert(double current, CurrentUnit unit);
+
+    boolean isOverCurrent();
+}
@@ -0,0 +1,17 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface DcMotorSimple extends HardwareDevice {
+    enum Direction { FORWARD, REVERSE }
+
+    void setDirection(Direction direction);
+
+    Direction getDirection();
+
+    void setPower(double power);
+
+    double getPower();
+}
@@ -0,0 +1,31 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface HardwareDevice {
+    enum Manufacturer { Unknown, Other, Lynx }
+
+    default Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    default String getDeviceName() {
+        return getClass().getSimpleName();
+    }
+
+    default String getConnectionInfo() {
+        return "";
+    }
+
+    default int getVersion() {
+        return 1;
+    }
+
+    default void resetDeviceConfigurationForOpMode() {
+    }
+
+    default void close() {
+    }
+}
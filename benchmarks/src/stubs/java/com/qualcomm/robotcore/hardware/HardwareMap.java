@@ -0,0 +1,36 @@
+package com.qualcomm.robotcore.hardware;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class HardwareMap {
+    private final Map<String, HardwareDevice> devices = new LinkedHashMap<>();
+
+    public void put(String deviceName, HardwareDevice device) {
+        devices.put(deviceName, device);
+    }
+
+    public <T> T get(Class<? extends T> classOrInterface, String deviceName) {
+        HardwareDevice device = devices.get(deviceName);
+        if (!classOrInterface.isInstance(device)) {
+            throw new IllegalArgumentException("Unable to find a hardware device with name \"" + deviceName + "\" and type " + classOrInterface.getSimpleName());
+        }
+        return classOrInterface.cast(device);
+    }
+
+    public <T> List<T> getAll(Class<? extends T> classOrInterface) {
+        List<T> result = new ArrayList<>();
+        for (HardwareDevice device : devices.values()) {
+            if (classOrInterface.isInstance(device)) {
+                result.add(classOrInterface.cast(device));
+            }
+        }
+        return result;
+    }
+}
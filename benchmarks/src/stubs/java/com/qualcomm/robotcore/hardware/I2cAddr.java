@@ -0,0 +1,21 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class I2cAddr {
+    private final int address7Bit;
+
+    private I2cAddr(int address7Bit) {
+        this.address7Bit = address7Bit;
+    }
+
+    public static I2cAddr create7bit(int address7Bit) {
+        return new I2cAddr(address7Bit);
+    }
+
+    public int get7Bit() {
+        return address7Bit;
+    }
+}
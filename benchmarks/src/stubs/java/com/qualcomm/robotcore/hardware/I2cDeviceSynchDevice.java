@@ -0,0 +1,24 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public abstract class I2cDeviceSynchDevice<DEVICE_CLIENT extends HardwareDevice> implements HardwareDevice {
+    protected DEVICE_CLIENT deviceClient;
+    protected boolean deviceClientIsOwned;
+
+    protected I2cDeviceSynchDevice(DEVICE_CLIENT deviceClient, boolean deviceClientIsOwned) {
+        this.deviceClient = deviceClient;
+        this.deviceClientIsOwned = deviceClientIsOwned;
+    }
+
+    protected void registerArmingStateCallback(boolean doInitialize) {
+    }
+
+    public boolean initialize() {
+        return doInitialize();
+    }
+
+    protected abstract boolean doInitialize();
+}
@@ -0,0 +1,13 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface I2cDeviceSynchSimple extends HardwareDevice {
+    void setI2cAddress(I2cAddr address);
+
+    byte[] read(int register, int count);
+
+    void write(int register, byte[] data);
+}
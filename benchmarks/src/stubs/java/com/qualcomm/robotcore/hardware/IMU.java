@@ -0,0 +1,13 @@
+package com.qualcomm.robotcore.hardware;
+
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface IMU extends HardwareDevice {
+    YawPitchRollAngles getRobotYawPitchRollAngles();
+
+    void resetYaw();
+}
@@ -0,0 +1,12 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class PIDFCoefficients {
+    public double p;
+    public double i;
+    public double d;
+    public double f;
+}
@@ -0,0 +1,26 @@
+package com.qualcomm.robotcore.hardware.configuration.typecontainers;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class MotorConfigurationType implements Cloneable {
+    private double achieveableMaxRPMFraction = 0.85;
+
+    public void setAchieveableMaxRPMFraction(double achieveableMaxRPMFraction) {
+        this.achieveableMaxRPMFraction = achieveableMaxRPMFraction;
+    }
+
+    public double getAchieveableMaxRPMFraction() {
+        return achieveableMaxRPMFraction;
+    }
+
+    @Override
+    public MotorConfigurationType clone() {
+        try {
+            return (MotorConfigurationType) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
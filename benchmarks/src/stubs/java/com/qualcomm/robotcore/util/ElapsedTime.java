@@ -0,0 +1,35 @@
+package com.qualcomm.robotcore.util;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class ElapsedTime {
+    public enum Resolution { SECONDS, MILLISECONDS }
+
+    private long startTime;
+
+    public ElapsedTime() {
+        reset();
+    }
+
+    public ElapsedTime(Resolution resolution) {
+        this();
+    }
+
+    public void reset() {
+        startTime = System.nanoTime();
+    }
+
+    public double nanoseconds() {
+        return System.nanoTime() - startTime;
+    }
+
+    public double milliseconds() {
+        return nanoseconds() / 1e6;
+    }
+
+    public double seconds() {
+        return nanoseconds() / 1e9;
+    }
+}
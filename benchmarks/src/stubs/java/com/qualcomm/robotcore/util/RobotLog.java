@@ -0,0 +1,19 @@
+package com.qualcomm.robotcore.util;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public final class RobotLog {
+    private RobotLog() {
+    }
+
+    public static void d(String format, Object... args) {
+    }
+
+    public static void i(String format, Object... args) {
+    }
+
+    public static void e(String format, Object... args) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.qualcomm.robotcore.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public final class TypeConversion {
+    private TypeConversion() {
+    }
+
+    public static byte[] intToByteArray(int integer, ByteOrder byteOrder) {
+        return ByteBuffer.allocate(4).order(byteOrder).putInt(integer).array();
+    }
+
+    public static int byteArrayToInt(byte[] byteArray, ByteOrder byteOrder) {
+        return ByteBuffer.wrap(byteArray).order(byteOrder).getInt();
+    }
+}
@@ -0,0 +1,8 @@
+package kotlin.jvm;
+
+/**
+ * Desktop stand-in for the FTC SDK annotation of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public @interface JvmField {
+}
@@ -0,0 +1,16 @@
+package org.firstinspires.ftc.robotcore.external;
+
+/**
+ * Desktop stand-in for the FTC SDK interface of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public interface Telemetry {
+    interface Item {
+    }
+
+    Item addData(String caption, Object value);
+
+    Item addData(String caption, String format, Object... args);
+
+    boolean update();
+}
@@ -0,0 +1,21 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Desktop stand-in for the FTC SDK enum of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public enum AngleUnit {
+    DEGREES, RADIANS;
+
+    public double fromRadians(double radians) {
+        return this == RADIANS ? radians : Math.toDegrees(radians);
+    }
+
+    public double toRadians(double angle) {
+        return this == RADIANS ? angle : Math.toRadians(angle);
+    }
+
+    public double fromUnit(AngleUnit unit, double angle) {
+        return fromRadians(unit.toRadians(angle));
+    }
+}
@@ -0,0 +1,9 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Desktop stand-in for the FTC SDK enum of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public enum CurrentUnit {
+    AMPS, MILLIAMPS
+}
@@ -0,0 +1,23 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Desktop stand-in for the FTC SDK enum of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public enum DistanceUnit {
+    METER(1), CM(0.01), MM(0.001), INCH(0.0254);
+
+    private final double meters;
+
+    DistanceUnit(double meters) {
+        this.meters = meters;
+    }
+
+    public double fromUnit(DistanceUnit unit, double value) {
+        return value * unit.meters / meters;
+    }
+
+    public double toUnit(DistanceUnit unit, double value) {
+        return unit.fromUnit(this, value);
+    }
+}
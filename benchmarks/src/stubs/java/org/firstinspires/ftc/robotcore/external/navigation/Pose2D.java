@@ -0,0 +1,33 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class Pose2D {
+    protected final double x;
+    protected final double y;
+    protected final DistanceUnit distanceUnit;
+    protected final double heading;
+    protected final AngleUnit headingUnit;
+
+    public Pose2D(DistanceUnit distanceUnit, double x, double y, AngleUnit headingUnit, double heading) {
+        this.x = x;
+        this.y = y;
+        this.distanceUnit = distanceUnit;
+        this.heading = heading;
+        this.headingUnit = headingUnit;
+    }
+
+    public double getX(DistanceUnit unit) {
+        return unit.fromUnit(distanceUnit, x);
+    }
+
+    public double getY(DistanceUnit unit) {
+        return unit.fromUnit(distanceUnit, y);
+    }
+
+    public double getHeading(AngleUnit unit) {
+        return unit.fromUnit(headingUnit, heading);
+    }
+}
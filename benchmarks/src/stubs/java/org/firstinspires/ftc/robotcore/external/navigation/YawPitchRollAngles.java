@@ -0,0 +1,19 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Desktop stand-in for the FTC SDK class of the same name, with only what the pedroPathing sources
+ * use. This is never packaged onto the robot.
+ */
+public class YawPitchRollAngles {
+    private final AngleUnit angleUnit;
+    private final double yaw;
+
+    public YawPitchRollAngles(AngleUnit angleUnit, double yaw) {
+        this.angleUnit = angleUnit;
+        this.yaw = yaw;
+    }
+
+    public double getYaw(AngleUnit unit) {
+        return unit.fromUnit(angleUnit, yaw);
+    }
+}
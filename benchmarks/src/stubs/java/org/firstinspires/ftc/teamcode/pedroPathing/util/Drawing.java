@@ -0,0 +1,10 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * Desktop stand-in for the Drawing class in TeamCode, which needs the FTC Dashboard canvas. The
+ * benchmarks never draw anything, so this does nothing. This is never packaged onto the robot.
+ */
+public class Drawing {
+    public static void drawDebug(Object follower) {
+    }
+}
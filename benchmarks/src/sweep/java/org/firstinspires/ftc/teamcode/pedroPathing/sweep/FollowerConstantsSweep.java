@@ -0,0 +1,71 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.sweep;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierLine;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.ParameterSweep;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.SweepParameter;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.SweepResult;
+
+import java.util.ArrayList;
+
+/**
+ * This is the FollowerConstantsSweep class. This runs a ParameterSweep over the translational and
+ * drive PIDFs, the zero power acceleration multiplier, and the PIDF switch thresholds on a straight
+ * line, an S curve, and a PathChain with a corner, and then prints the best few sets of values and
+ * the FollowerConstants lines for the best one.
+ *
+ * Run it with:
+ *     ./gradlew :benchmarks:sweep --args="configurations trials parallelism"
+ */
+public class FollowerConstantsSweep {
+    private static final int RESULTS_SHOWN = 10;
+
+    public static void main(String[] args) {
+        ParameterSweep sweep = new ParameterSweep(HardwareMap::new,
+                new SweepParameter("translationalPIDFCoefficients.P", 0.05, 0.4),
+                new SweepParameter("translationalPIDFCoefficients.D", 0, 0.05),
+                new SweepParameter("drivePIDFCoefficients.P", 0.005, 0.05),
+                new SweepParameter("drivePIDFCoefficients.D", 0, 0.002),
+                new SweepParameter("zeroPowerAccelerationMultiplier", 1, 6),
+                new SweepParameter("translationalPIDFSwitch", 1, 6),
+                new SweepParameter("headingPIDFSwitch", Math.PI / 40, Math.PI / 10),
+                new SweepParameter("drivePIDFSwitch", 4, 20));
+
+        sweep.addPathChain(config -> {
+            Path line = new Path(new BezierLine(new Point(0, 0, Point.CARTESIAN), new Point(48, 0, Point.CARTESIAN)), config);
+            line.setConstantHeadingInterpolation(0);
+            return new PathChain(line);
+        });
+        sweep.addPathChain(config -> {
+            Path curve = new Path(new BezierCurve(config, new Point(0, 0, Point.CARTESIAN), new Point(36, 0, Point.CARTESIAN),
+                    new Point(24, 36, Point.CARTESIAN), new Point(60, 36, Point.CARTESIAN)), config);
+            curve.setTangentHeadingInterpolation();
+            return new PathChain(curve);
+        });
+        sweep.addPathChain(config -> {
+            Path first = new Path(new BezierLine(new Point(0, 0, Point.CARTESIAN), new Point(36, 0, Point.CARTESIAN)), config);
+            first.setConstantHeadingInterpolation(0);
+            Path second = new Path(new BezierLine(new Point(36, 0, Point.CARTESIAN), new Point(36, 36, Point.CARTESIAN)), config);
+            second.setLinearHeadingInterpolation(0, Math.PI / 2);
+            return new PathChain(first, second);
+        });
+
+        if (args.length > 0) sweep.setConfigurations(Integer.parseInt(args[0]));
+        if (args.length > 1) sweep.setTrials(Integer.parseInt(args[1]));
+        if (args.length > 2) sweep.setParallelism(Integer.parseInt(args[2]));
+
+        ArrayList<SweepResult> results = sweep.run();
+
+        for (int i = 0; i < Math.min(RESULTS_SHOWN, results.size()); i++) {
+            System.out.println((i + 1) + ". " + results.get(i));
+        }
+        System.out.println();
+        System.out.println("Best FollowerConstants:");
+        System.out.print(results.get(0).toFollowerConstants());
+    }
+}
@@ -0,0 +1,104 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierPoint;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.FollowerSimulation;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * This checks that a Follower update allocates nothing while following a Path, holding a point, or
+ * driving in teleop, on the drivetrain simulator. The JMH benchmarks report the bytes allocated per
+ * update, but this fails the build if that ever stops being zero.
+ */
+public class FollowerAllocationTest {
+    private static final int WARMUP_LOOPS = 50;
+    private static final int MEASURED_LOOPS = 100;
+
+    @Test
+    public void followingPathAllocatesNothing() {
+        FollowerSimulation simulation = createSimulation();
+        simulation.getFollower().followPath(createPath(), true);
+        runLoops(simulation, WARMUP_LOOPS);
+
+        assertTrue(simulation.getFollower().isBusy());
+        assertEquals(0, allocatedBytes(simulation, MEASURED_LOOPS));
+        assertTrue(simulation.getFollower().isBusy());
+    }
+
+    @Test
+    public void holdingPointAllocatesNothing() {
+        FollowerSimulation simulation = createSimulation();
+        simulation.getFollower().holdPoint(new BezierPoint(new Point(0, 0, Point.CARTESIAN)), 0);
+        runLoops(simulation, WARMUP_LOOPS);
+
+        assertEquals(0, allocatedBytes(simulation, MEASURED_LOOPS));
+    }
+
+    @Test
+    public void teleopAllocatesNothing() {
+        FollowerSimulation simulation = createSimulation();
+        simulation.getFollower().startTeleopDrive();
+        simulation.getFollower().setTeleOpMovementVectors(0.5, 0.2, 0.1);
+        runLoops(simulation, WARMUP_LOOPS);
+
+        assertEquals(0, allocatedBytes(simulation, MEASURED_LOOPS));
+    }
+
+    @Test
+    public void drivePowersDontChangeInputs() {
+        DriveVectorScaler driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
+        Vector correctivePower = new Vector(2, 0.3);
+        Vector headingPower = new Vector(1.5, 0);
+        Vector pathingPower = new Vector(3, 1);
+
+        driveVectorScaler.getDrivePowers(correctivePower, headingPower, pathingPower, 0.5, new double[4]);
+
+        assertEquals(2, correctivePower.getMagnitude(), 1e-12);
+        assertEquals(1.5, headingPower.getMagnitude(), 1e-12);
+        assertEquals(3, pathingPower.getMagnitude(), 1e-12);
+    }
+
+    private static FollowerSimulation createSimulation() {
+        FollowerSimulation simulation = new FollowerSimulation(new HardwareMap());
+        simulation.setStartingPose(new Pose(0, 0, 0));
+        return simulation;
+    }
+
+    private static Path createPath() {
+        return new Path(new BezierCurve(new Point(0, 0, Point.CARTESIAN), new Point(60, 0, Point.CARTESIAN),
+                new Point(60, 60, Point.CARTESIAN)));
+    }
+
+    private static void runLoops(FollowerSimulation simulation, int loops) {
+        for (int i = 0; i < loops; i++) {
+            simulation.update();
+        }
+    }
+
+    private static long allocatedBytes(FollowerSimulation simulation, int loops) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        long thread = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(thread);
+        runLoops(simulation, loops);
+        return threadBean.getThreadAllocatedBytes(thread) - before;
+    }
+}